@@ -1255,4 +1255,173 @@ public void test0100() throws JavaModelException {
 		new Problem("",	"The method foo() from the type N1.N2.N3 is deprecated",
 			M1Path, 217, 222, CategorizedProblem.CAT_DEPRECATION, IMarker.SEVERITY_WARNING));
 }
+// the dependents of a changed type are found again after the types referencing it changed in previous incremental builds
+public void testDependentsAfterIncrementalBuilds() throws JavaModelException {
+	IPath projectPath = env.addProject("Project"); //$NON-NLS-1$
+	env.addExternalJars(projectPath, Util.getJavaClassLibs());
+	env.removePackageFragmentRoot(projectPath, ""); //$NON-NLS-1$
+	IPath root = env.addPackageFragmentRoot(projectPath, "src"); //$NON-NLS-1$
+	env.setOutputFolder(projectPath, "bin"); //$NON-NLS-1$
+
+	env.addClass(root, "p1", "A", //$NON-NLS-1$ //$NON-NLS-2$
+		"package p1;\n" + //$NON-NLS-1$
+		"public class A {\n" + //$NON-NLS-1$
+		"	public void foo() {}\n" + //$NON-NLS-1$
+		"}\n" //$NON-NLS-1$
+	);
+	env.addClass(root, "p2", "B", //$NON-NLS-1$ //$NON-NLS-2$
+		"package p2;\n" + //$NON-NLS-1$
+		"public class B {\n" + //$NON-NLS-1$
+		"	void bar(p1.A a) { a.foo(); }\n" + //$NON-NLS-1$
+		"}\n" //$NON-NLS-1$
+	);
+	env.addClass(root, "p2", "C", //$NON-NLS-1$ //$NON-NLS-2$
+		"package p2;\n" + //$NON-NLS-1$
+		"public class C {\n" + //$NON-NLS-1$
+		"}\n" //$NON-NLS-1$
+	);
+	fullBuild(projectPath);
+	expectingNoProblems();
+
+	// B no longer references A, C now does
+	env.addClass(root, "p2", "B", //$NON-NLS-1$ //$NON-NLS-2$
+		"package p2;\n" + //$NON-NLS-1$
+		"public class B {\n" + //$NON-NLS-1$
+		"}\n" //$NON-NLS-1$
+	);
+	IPath cPath = env.addClass(root, "p2", "C", //$NON-NLS-1$ //$NON-NLS-2$
+		"package p2;\n" + //$NON-NLS-1$
+		"public class C {\n" + //$NON-NLS-1$
+		"	void bar(p1.A a) { a.foo(); }\n" + //$NON-NLS-1$
+		"}\n" //$NON-NLS-1$
+	);
+	incrementalBuild(projectPath);
+	expectingNoProblems();
+
+	env.addClass(root, "p1", "A", //$NON-NLS-1$ //$NON-NLS-2$
+		"package p1;\n" + //$NON-NLS-1$
+		"public class A {\n" + //$NON-NLS-1$
+		"}\n" //$NON-NLS-1$
+	);
+	incrementalBuild(projectPath);
+	expectingCompiledClasses(new String[] {"p1.A", "p2.C"}); //$NON-NLS-1$ //$NON-NLS-2$
+	expectingOnlyProblemsFor(cPath);
+	expectingSpecificProblemFor(cPath, new Problem("C", "The method foo() is undefined for the type A", cPath, 51, 54, CategorizedProblem.CAT_MEMBER, IMarker.SEVERITY_ERROR)); //$NON-NLS-1$ //$NON-NLS-2$
+}
+
+public void testMemberChangeDependents() throws JavaModelException {
+	IPath projectPath = env.addProject("Project"); //$NON-NLS-1$
+	env.addExternalJars(projectPath, Util.getJavaClassLibs());
+	env.removePackageFragmentRoot(projectPath, ""); //$NON-NLS-1$
+	IPath root = env.addPackageFragmentRoot(projectPath, "src"); //$NON-NLS-1$
+	env.setOutputFolder(projectPath, "bin"); //$NON-NLS-1$
+
+	env.addClass(root, "p1", "A", //$NON-NLS-1$ //$NON-NLS-2$
+		"package p1;\n" + //$NON-NLS-1$
+		"public class A {\n" + //$NON-NLS-1$
+		"	public int x;\n" + //$NON-NLS-1$
+		"	public void foo() {}\n" + //$NON-NLS-1$
+		"}\n" //$NON-NLS-1$
+	);
+	IPath bPath = env.addClass(root, "p2", "B", //$NON-NLS-1$ //$NON-NLS-2$
+		"package p2;\n" + //$NON-NLS-1$
+		"public class B {\n" + //$NON-NLS-1$
+		"	void bar(p1.A a) { a.foo(); }\n" + //$NON-NLS-1$
+		"}\n" //$NON-NLS-1$
+	);
+	env.addClass(root, "p2", "C", //$NON-NLS-1$ //$NON-NLS-2$
+		"package p2;\n" + //$NON-NLS-1$
+		"public class C {\n" + //$NON-NLS-1$
+		"	int bar(p1.A a) { return a.x; }\n" + //$NON-NLS-1$
+		"}\n" //$NON-NLS-1$
+	);
+	env.addClass(root, "p2", "D", //$NON-NLS-1$ //$NON-NLS-2$
+		"package p2;\n" + //$NON-NLS-1$
+		"public class D extends p1.A {\n" + //$NON-NLS-1$
+		"}\n" //$NON-NLS-1$
+	);
+	env.addClass(root, "p2", "E", //$NON-NLS-1$ //$NON-NLS-2$
+		"package p2;\n" + //$NON-NLS-1$
+		"public class E {\n" + //$NON-NLS-1$
+		"	p1.A a;\n" + //$NON-NLS-1$
+		"}\n" //$NON-NLS-1$
+	);
+	fullBuild(projectPath);
+	expectingNoProblems();
+
+	// only the subclass can be affected by a new method
+	env.addClass(root, "p1", "A", //$NON-NLS-1$ //$NON-NLS-2$
+		"package p1;\n" + //$NON-NLS-1$
+		"public class A {\n" + //$NON-NLS-1$
+		"	public int x;\n" + //$NON-NLS-1$
+		"	public void foo() {}\n" + //$NON-NLS-1$
+		"	public void baz() {}\n" + //$NON-NLS-1$
+		"}\n" //$NON-NLS-1$
+	);
+	incrementalBuild(projectPath);
+	expectingCompiledClasses(new String[] {"p1.A", "p2.D"}); //$NON-NLS-1$ //$NON-NLS-2$
+	expectingNoProblems();
+
+	env.addClass(root, "p1", "A", //$NON-NLS-1$ //$NON-NLS-2$
+		"package p1;\n" + //$NON-NLS-1$
+		"public class A {\n" + //$NON-NLS-1$
+		"	public int x;\n" + //$NON-NLS-1$
+		"	public void baz() {}\n" + //$NON-NLS-1$
+		"}\n" //$NON-NLS-1$
+	);
+	incrementalBuild(projectPath);
+	expectingCompiledClasses(new String[] {"p1.A", "p2.B", "p2.D"}); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+	expectingOnlyProblemsFor(bPath);
+	expectingSpecificProblemFor(bPath, new Problem("B", "The method foo() is undefined for the type A", bPath, 51, 54, CategorizedProblem.CAT_MEMBER, IMarker.SEVERITY_ERROR)); //$NON-NLS-1$ //$NON-NLS-2$
+
+	// a type level change affects all the dependents
+	env.addClass(root, "p1", "A", //$NON-NLS-1$ //$NON-NLS-2$
+		"package p1;\n" + //$NON-NLS-1$
+		"public class A implements java.io.Serializable {\n" + //$NON-NLS-1$
+		"	public int x;\n" + //$NON-NLS-1$
+		"	public void foo() {}\n" + //$NON-NLS-1$
+		"	public void baz() {}\n" + //$NON-NLS-1$
+		"}\n" //$NON-NLS-1$
+	);
+	incrementalBuild(projectPath);
+	expectingCompiledClasses(new String[] {"p1.A", "p2.B", "p2.C", "p2.D", "p2.E"}); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$
+	expectingNoProblems();
+}
+
+// the close() method invoked by a try-with-resources statement is a member reference of the unit
+public void testMemberChangeTryWithResources() throws JavaModelException {
+	IPath projectPath = env.addProject("Project", "1.8"); //$NON-NLS-1$ //$NON-NLS-2$
+	env.addExternalJars(projectPath, Util.getJavaClassLibs());
+	env.removePackageFragmentRoot(projectPath, ""); //$NON-NLS-1$
+	IPath root = env.addPackageFragmentRoot(projectPath, "src"); //$NON-NLS-1$
+	env.setOutputFolder(projectPath, "bin"); //$NON-NLS-1$
+
+	env.addClass(root, "p1", "R", //$NON-NLS-1$ //$NON-NLS-2$
+		"package p1;\n" + //$NON-NLS-1$
+		"public class R implements AutoCloseable {\n" + //$NON-NLS-1$
+		"	public void close() {}\n" + //$NON-NLS-1$
+		"}\n" //$NON-NLS-1$
+	);
+	IPath uPath = env.addClass(root, "p2", "U", //$NON-NLS-1$ //$NON-NLS-2$
+		"package p2;\n" + //$NON-NLS-1$
+		"public class U {\n" + //$NON-NLS-1$
+		"	void foo() {\n" + //$NON-NLS-1$
+		"		try (p1.R r = new p1.R()) {}\n" + //$NON-NLS-1$
+		"	}\n" + //$NON-NLS-1$
+		"}\n" //$NON-NLS-1$
+	);
+	fullBuild(projectPath);
+	expectingNoProblems();
+
+	env.addClass(root, "p1", "R", //$NON-NLS-1$ //$NON-NLS-2$
+		"package p1;\n" + //$NON-NLS-1$
+		"public class R implements AutoCloseable {\n" + //$NON-NLS-1$
+		"	public void close() throws Exception {}\n" + //$NON-NLS-1$
+		"}\n" //$NON-NLS-1$
+	);
+	incrementalBuild(projectPath);
+	expectingCompiledClasses(new String[] {"p1.R", "p2.U"}); //$NON-NLS-1$ //$NON-NLS-2$
+	expectingOnlyProblemsFor(uPath);
+	expectingSpecificProblemFor(uPath, new Problem("U", "Unhandled exception type Exception thrown by automatic close() invocation on r", uPath, 55, 56, CategorizedProblem.CAT_TYPE, IMarker.SEVERITY_ERROR)); //$NON-NLS-1$ //$NON-NLS-2$
+}
 }
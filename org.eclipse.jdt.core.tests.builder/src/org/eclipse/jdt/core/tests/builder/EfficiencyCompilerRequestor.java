@@ -27,7 +27,8 @@ public class EfficiencyCompilerRequestor implements IDebugRequestor {
 	private ArrayList<ClassFile> classes = new ArrayList<>();
 
 
-	public void acceptDebugResult(CompilationResult result){
+	// synchronized as the projects of a workspace may be built concurrently
+	public synchronized void acceptDebugResult(CompilationResult result){
 		this.compiledFiles.add(new String(result.fileName));
 		ClassFile[] classFiles = result.getClassFiles();
 		Util.sort(classFiles, new Util.Comparer() {
@@ -45,18 +46,18 @@ public class EfficiencyCompilerRequestor implements IDebugRequestor {
 		}
 	}
 
-	String[] getCompiledClasses(){
+	synchronized String[] getCompiledClasses(){
 		return this.compiledClasses.toArray(new String[this.compiledClasses.size()]);
 	}
 
-	String[] getCompiledFiles(){
+	synchronized String[] getCompiledFiles(){
 		return this.compiledFiles.toArray(new String[this.compiledFiles.size()]);
 	}
-	public ClassFile[] getClassFiles() {
+	public synchronized ClassFile[] getClassFiles() {
 		return this.classes.toArray(new ClassFile[this.classes.size()]);
 	}
 
-	public void clearResult(){
+	public synchronized void clearResult(){
 		this.compiledClasses.clear();
 		this.compiledFiles.clear();
 		this.classes.clear();
@@ -1285,4 +1285,53 @@ public class IncrementalTests extends BuilderTests {
 		env.removeProject(projectPath);
 	}
 
+	public void testCompileThreads() throws JavaModelException {
+		IPath projectPath = env.addProject("Project");
+		env.addExternalJars(projectPath, Util.getJavaClassLibs());
+
+		// remove old package fragment root so that names don't collide
+		env.removePackageFragmentRoot(projectPath, "");
+
+		IPath root = env.addPackageFragmentRoot(projectPath, "src");
+		env.setOutputFolder(projectPath, "bin");
+
+		for (int i = 0; i < 12; i++) {
+			env.addClass(root, "p", "A" + i,
+				"package p;\n"+
+				"public class A" + i + " { public int foo() { return " + i + "; } }\n");
+			env.addClass(root, "q", "B" + i,
+				"package q;\n"+
+				"public class B" + i + " { public int bar() { return " + i + "; } }\n");
+		}
+		IPath pathToR = env.addClass(root, "r", "R",
+			"package r;\n"+
+			"public class R { int foo() { return new p.A0().foo(); } }\n");
+
+		fullBuild(projectPath); // records the references used to group the units of the next builds
+		expectingNoProblems();
+
+		int previous = org.eclipse.jdt.internal.core.builder.AbstractImageBuilder.MAX_COMPILE_THREADS;
+		org.eclipse.jdt.internal.core.builder.AbstractImageBuilder.MAX_COMPILE_THREADS = 2; // compiles p with r, and q
+		try {
+			fullBuild(projectPath);
+			expectingNoProblems();
+
+			// q now refers to p, which the recorded references do not tell
+			env.addClass(root, "q", "B1",
+				"package q;\n"+
+				"public class B1 { public int bar() { return new p.A1().foo(); } }\n");
+			env.addClass(root, "r", "R",
+				"package r;\n"+
+				"public class R { int foo() { return new p.A0().baz(); } }\n");
+			fullBuild(projectPath);
+			expectingProblemsFor(
+				pathToR,
+				"Problem : The method baz() is undefined for the type A0 [ resource : </Project/src/r/R.java> range : <58,60> category : <50> severity : <2>]"
+			);
+		} finally {
+			org.eclipse.jdt.internal.core.builder.AbstractImageBuilder.MAX_COMPILE_THREADS = previous;
+		}
+		env.removeProject(projectPath);
+	}
+
 }
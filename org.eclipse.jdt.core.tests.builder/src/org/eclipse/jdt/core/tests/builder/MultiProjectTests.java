@@ -13,13 +13,19 @@
  *******************************************************************************/
 package org.eclipse.jdt.core.tests.builder;
 
+import java.util.Collections;
 import java.util.Hashtable;
 
+import org.eclipse.core.internal.resources.Workspace;
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IMarker;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IWorkspaceDescription;
+import org.eclipse.core.resources.IncrementalProjectBuilder;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IPath;
 import org.eclipse.core.runtime.Path;
+import org.eclipse.core.runtime.jobs.ISchedulingRule;
 import org.eclipse.jdt.core.IAccessRule;
 import org.eclipse.jdt.core.JavaCore;
 import org.eclipse.jdt.core.JavaModelException;
@@ -2208,4 +2214,132 @@ public void test461074_error() throws JavaModelException {
 	env.removeProject(p2);
 	env.removeProject(p3);
 }
+
+	private static final String PROJECT_SCHEDULING_RULES = "org.eclipse.jdt.core.builder.projectSchedulingRules"; //$NON-NLS-1$
+
+	private ISchedulingRule getJavaBuilderRule(IPath projectPath) throws CoreException {
+		IProject project = env.getProject(projectPath);
+		return ((Workspace) env.getWorkspace()).getBuildManager().getRule(project.getActiveBuildConfig(),
+				IncrementalProjectBuilder.INCREMENTAL_BUILD, JavaCore.BUILDER_ID, Collections.emptyMap());
+	}
+
+	public void testSchedulingRules() throws CoreException {
+		IPath plain = env.addProject("Plain"); //$NON-NLS-1$
+		IPath library = env.addProject("Library"); //$NON-NLS-1$
+		IPath user = env.addProject("User"); //$NON-NLS-1$
+		IPath cycle1 = env.addProject("Cycle1"); //$NON-NLS-1$
+		IPath cycle2 = env.addProject("Cycle2"); //$NON-NLS-1$
+		String previous = System.getProperty(PROJECT_SCHEDULING_RULES);
+		try {
+			env.addRequiredProject(plain, library);
+			// the jar of User is held by Library, which is not one of its prerequisites
+			env.addEntry(user, JavaCore.newLibraryEntry(library.append("lib.jar"), null, null)); //$NON-NLS-1$
+			env.addRequiredProject(cycle1, cycle2);
+			env.addRequiredProject(cycle2, cycle1);
+			fullBuild(cycle1);
+			env.waitForAutoBuild();
+
+			System.clearProperty(PROJECT_SCHEDULING_RULES);
+			assertEquals("Should lock the workspace by default", env.getWorkspace().getRoot(), getJavaBuilderRule(plain));
+
+			System.setProperty(PROJECT_SCHEDULING_RULES, "true"); //$NON-NLS-1$
+			assertEquals("Should only lock the project", env.getProject(plain), getJavaBuilderRule(plain));
+
+			ISchedulingRule rule = getJavaBuilderRule(user);
+			assertTrue("Should lock the project", rule.contains(env.getProject(user)));
+			assertTrue("Should lock the project holding the library", rule.contains(env.getProject(library)));
+			assertFalse("Should not lock the workspace", rule.contains(env.getWorkspace().getRoot()));
+			assertFalse("Should not lock the other projects", rule.contains(env.getProject(plain)));
+
+			assertEquals("Should lock the workspace for a cycle", env.getWorkspace().getRoot(), getJavaBuilderRule(cycle1));
+		} finally {
+			if (previous == null)
+				System.clearProperty(PROJECT_SCHEDULING_RULES);
+			else
+				System.setProperty(PROJECT_SCHEDULING_RULES, previous);
+			env.removeProject(plain);
+			env.removeProject(library);
+			env.removeProject(user);
+			env.removeProject(cycle1);
+			env.removeProject(cycle2);
+		}
+	}
+
+	public void testConcurrentBuilds() throws CoreException {
+		IPath lib1 = env.addProject("Lib1"); //$NON-NLS-1$
+		env.addExternalJars(lib1, Util.getJavaClassLibs());
+		IPath root1 = env.getPackageFragmentRootPath(lib1, ""); //$NON-NLS-1$
+		env.addClass(root1, "", "A", //$NON-NLS-1$ //$NON-NLS-2$
+			"public class A {\n" + //$NON-NLS-1$
+			"	public int foo() { return 0; }\n" + //$NON-NLS-1$
+			"}\n" //$NON-NLS-1$
+			);
+		IPath app1 = env.addProject("App1"); //$NON-NLS-1$
+		env.addExternalJars(app1, Util.getJavaClassLibs());
+		env.addRequiredProject(app1, lib1);
+		IPath pathToB = env.addClass(env.getPackageFragmentRootPath(app1, ""), "", "B", //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+			"public class B {\n" + //$NON-NLS-1$
+			"	int x = new A().foo();\n" + //$NON-NLS-1$
+			"}\n" //$NON-NLS-1$
+			);
+		IPath lib2 = env.addProject("Lib2"); //$NON-NLS-1$
+		env.addExternalJars(lib2, Util.getJavaClassLibs());
+		IPath root2 = env.getPackageFragmentRootPath(lib2, ""); //$NON-NLS-1$
+		env.addClass(root2, "", "C", //$NON-NLS-1$ //$NON-NLS-2$
+			"public class C {\n" + //$NON-NLS-1$
+			"	public int bar() { return 0; }\n" + //$NON-NLS-1$
+			"}\n" //$NON-NLS-1$
+			);
+		IPath app2 = env.addProject("App2"); //$NON-NLS-1$
+		env.addExternalJars(app2, Util.getJavaClassLibs());
+		env.addRequiredProject(app2, lib2);
+		IPath pathToD = env.addClass(env.getPackageFragmentRootPath(app2, ""), "", "D", //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+			"public class D {\n" + //$NON-NLS-1$
+			"	int x = new C().bar();\n" + //$NON-NLS-1$
+			"}\n" //$NON-NLS-1$
+			);
+
+		String previous = System.getProperty(PROJECT_SCHEDULING_RULES);
+		IWorkspaceDescription description = env.getWorkspace().getDescription();
+		int previousMaxConcurrentBuilds = description.getMaxConcurrentBuilds();
+		try {
+			System.setProperty(PROJECT_SCHEDULING_RULES, "true"); //$NON-NLS-1$
+			description.setMaxConcurrentBuilds(2);
+			env.getWorkspace().setDescription(description);
+
+			env.waitForManualRefresh();
+			fullBuild();
+			env.waitForAutoBuild();
+			expectingNoProblems();
+
+			env.addClass(root1, "", "A", //$NON-NLS-1$ //$NON-NLS-2$
+				"public class A {\n" + //$NON-NLS-1$
+				"}\n" //$NON-NLS-1$
+				);
+			env.addClass(root2, "", "C", //$NON-NLS-1$ //$NON-NLS-2$
+				"public class C {\n" + //$NON-NLS-1$
+				"}\n" //$NON-NLS-1$
+				);
+			env.waitForManualRefresh();
+			incrementalBuild();
+			env.waitForAutoBuild();
+			expectingCompiledClasses(new String[] {"A", "B", "C", "D"}); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+			expectingProblemsFor(
+				new IPath[] {pathToB, pathToD},
+				"Problem : The method foo() is undefined for the type A [ resource : </App1/B.java> range : <34,36> category : <50> severity : <2>]\n" + //$NON-NLS-1$
+				"Problem : The method bar() is undefined for the type C [ resource : </App2/D.java> range : <34,36> category : <50> severity : <2>]" //$NON-NLS-1$
+			);
+		} finally {
+			if (previous == null)
+				System.clearProperty(PROJECT_SCHEDULING_RULES);
+			else
+				System.setProperty(PROJECT_SCHEDULING_RULES, previous);
+			description.setMaxConcurrentBuilds(previousMaxConcurrentBuilds);
+			env.getWorkspace().setDescription(description);
+			env.removeProject(lib1);
+			env.removeProject(app1);
+			env.removeProject(lib2);
+			env.removeProject(app2);
+		}
+	}
 }
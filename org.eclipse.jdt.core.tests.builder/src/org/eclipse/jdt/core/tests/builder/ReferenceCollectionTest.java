@@ -46,6 +46,11 @@ public class ReferenceCollectionTest extends BuilderTests {
 			super(qualifiedNameReferences, simpleNameReferences, rootReferences);
 		}
 
+		protected TestableReferenceCollection(char[][][] qualifiedNameReferences, char[][] simpleNameReferences,
+				char[][] rootReferences, char[][] memberReferences) {
+			super(qualifiedNameReferences, simpleNameReferences, rootReferences, memberReferences);
+		}
+
 		char[][][] getQualifiedNameReferences() {
 			try {
 				Field fld = ReferenceCollection.class.getDeclaredField("qualifiedNameReferences");
@@ -369,4 +374,57 @@ public class ReferenceCollectionTest extends BuilderTests {
 
 		assertTrue("Should include", collection.includes(qualifiedNames, simpleNames, rootNames));
 	}
+
+	public void testIncludesMember() {
+		char[][] memberNames = new char[][] {
+			"foo".toCharArray(), "x".toCharArray(), "A".toCharArray()
+		};
+		ReferenceCollection collection = new TestableReferenceCollection(null, null, null, memberNames);
+		assertTrue("Should include foo", collection.includesMember(ReferenceCollection.internSimpleNames(new char[][] {
+			"bar".toCharArray(), "foo".toCharArray()
+		}, false)));
+		assertTrue("Should include A", collection.includesMember(ReferenceCollection.internSimpleNames(new char[][] {
+			"A".toCharArray(), "bar".toCharArray()
+		}, false)));
+		assertFalse("Should not include bar", collection.includesMember(ReferenceCollection.internSimpleNames(new char[][] {
+			"bar".toCharArray(), "B".toCharArray()
+		}, false)));
+
+		// unknown members
+		ReferenceCollection other = new TestableReferenceCollection(null, null, null);
+		assertTrue("Should include bar", other.includesMember(ReferenceCollection.internSimpleNames(new char[][] {
+			"bar".toCharArray()
+		}, false)));
+		collection.addDependencies(new String[] { "p.B" });
+		assertTrue("Should include bar after adding dependencies", collection.includesMember(ReferenceCollection.internSimpleNames(new char[][] {
+			"bar".toCharArray()
+		}, false)));
+	}
+
+	public void testInternNamesConcurrently() throws Exception {
+		int threadCount = 4;
+		int nameCount = 2000; // enough for the interned sets to be rehashed while the threads add to them
+		char[][][][] results = new char[threadCount][][][];
+		Thread[] threads = new Thread[threadCount];
+		for (int t = 0; t < threadCount; t++) {
+			int thread = t;
+			threads[t] = new Thread(() -> {
+				char[][][] qualifiedNames = new char[nameCount][][];
+				for (int i = 0; i < nameCount; i++)
+					qualifiedNames[i] = new char[][] {"concurrent".toCharArray(), ("Name" + i).toCharArray()};
+				results[thread] = ReferenceCollection.internQualifiedNames(qualifiedNames, false);
+			});
+		}
+		for (Thread thread : threads)
+			thread.start();
+		for (Thread thread : threads)
+			thread.join();
+		for (int t = 1; t < threadCount; t++) {
+			assertEquals(nameCount, results[t].length);
+			for (int i = 0; i < nameCount; i++) {
+				assertSame("Should intern the same qualified name", results[0][i], results[t][i]);
+				assertSame("Should intern the same simple name", results[0][i][1], results[t][i][1]);
+			}
+		}
+	}
 }
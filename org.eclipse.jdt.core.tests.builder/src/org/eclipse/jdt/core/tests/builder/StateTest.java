@@ -144,6 +144,82 @@ public class StateTest extends BuilderTests {
 		writeReadAndCompareTestBinaryLocations(project);
 	}
 
+	public void testWriteStateWithUndecodedReferences() throws JavaModelException, Exception {
+		IPath projectPath = env.addProject("Undecoded"); //$NON-NLS-1$
+		env.addExternalJars(projectPath, Util.getJavaClassLibs());
+
+		env.addClass(projectPath, "a", "WithOther", //$NON-NLS-1$ //$NON-NLS-2$
+			"package a;\n" +
+			"class Other {\n" +
+			"	java.util.List<String> names;\n" +
+			"}\n" +
+			"public class WithOther {\n" +
+			"	Other other;\n" +
+			"	int size() { return other.names.size(); }\n" +
+			"}" //$NON-NLS-1$
+		);
+		fullBuild();
+
+		JavaModelManager javaModelManager = JavaModelManager.getJavaModelManager();
+		IProject project = env.getProject(projectPath);
+		PerProjectInfo info = javaModelManager.getPerProjectInfoCheckExistence(project);
+		State savedState = (State) info.savedState;
+		ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+		JavaBuilder.writeState(savedState, new DataOutputStream(outputStream));
+		byte[] bytes = outputStream.toByteArray();
+		State readState = JavaBuilder.readState(project, new DataInputStream(new ByteArrayInputStream(bytes)));
+
+		// the references of the read state are saved again before being decoded
+		outputStream = new ByteArrayOutputStream();
+		JavaBuilder.writeState(readState, new DataOutputStream(outputStream));
+		assertArrayEquals(bytes, outputStream.toByteArray());
+		State rereadState = JavaBuilder.readState(project, new DataInputStream(new ByteArrayInputStream(outputStream.toByteArray())));
+		assertEqualLookupTables(savedState.getReferences(), rereadState.getReferences());
+		assertEqualTypeLocators(savedState.typeLocators, rereadState.typeLocators);
+	}
+
+	public void testTruncatedReferences() throws JavaModelException, Exception {
+		IPath projectPath = env.addProject("Truncated"); //$NON-NLS-1$
+		env.addExternalJars(projectPath, Util.getJavaClassLibs());
+
+		env.addClass(projectPath, "a", "WithOther", //$NON-NLS-1$ //$NON-NLS-2$
+			"package a;\n" +
+			"class Other {\n" +
+			"	java.util.List<String> names;\n" +
+			"}\n" +
+			"public class WithOther {\n" +
+			"	Other other;\n" +
+			"}" //$NON-NLS-1$
+		);
+		fullBuild();
+
+		JavaModelManager javaModelManager = JavaModelManager.getJavaModelManager();
+		IProject project = env.getProject(projectPath);
+		PerProjectInfo info = javaModelManager.getPerProjectInfoCheckExistence(project);
+		ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+		JavaBuilder.writeState(info.savedState, new DataOutputStream(outputStream));
+		byte[] bytes = outputStream.toByteArray();
+		assertNotNull(JavaBuilder.readState(project, new DataInputStream(new ByteArrayInputStream(bytes))));
+
+		// the references table ends the state, its last var int is cut short
+		byte[] truncated = bytes.clone();
+		truncated[truncated.length - 1] |= 0x80;
+		try {
+			JavaBuilder.readState(project, new DataInputStream(new ByteArrayInputStream(truncated)));
+			fail("A state whose references table is truncated should not be read"); //$NON-NLS-1$
+		} catch (IOException e) {
+			// expected, the state is answered as missing and the project is fully built
+		}
+
+		truncated = Arrays.copyOf(bytes, bytes.length - 1);
+		try {
+			JavaBuilder.readState(project, new DataInputStream(new ByteArrayInputStream(truncated)));
+			fail("A truncated state should not be read"); //$NON-NLS-1$
+		} catch (IOException e) {
+			// expected
+		}
+	}
+
 	private void writeReadAndCompareTestBinaryLocations(IPath projectPath)
 			throws JavaModelException, IOException, CoreException {
 		JavaModelManager javaModelManager = JavaModelManager.getJavaModelManager();
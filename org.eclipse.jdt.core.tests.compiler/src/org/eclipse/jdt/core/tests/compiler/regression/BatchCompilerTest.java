@@ -37,15 +37,22 @@
 package org.eclipse.jdt.core.tests.compiler.regression;
 
 import java.io.ByteArrayInputStream;
+import java.io.DataOutputStream;
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.net.InetAddress;
+import java.net.Socket;
 import java.text.MessageFormat;
+import java.util.Enumeration;
 import java.util.Iterator;
 import java.util.List;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
 
 import javax.lang.model.SourceVersion;
 
@@ -55,11 +62,15 @@ import org.eclipse.jdt.core.JavaCore;
 import org.eclipse.jdt.core.compiler.CharOperation;
 import org.eclipse.jdt.core.tests.util.AbstractCompilerTest;
 import org.eclipse.jdt.core.tests.util.Util;
+import org.eclipse.jdt.internal.compiler.batch.ClassFileJarWriter;
 import org.eclipse.jdt.internal.compiler.batch.ClasspathDirectory;
 import org.eclipse.jdt.internal.compiler.batch.ClasspathJar;
+import org.eclipse.jdt.internal.compiler.batch.CompilerServer;
 import org.eclipse.jdt.internal.compiler.batch.FileSystem;
 import org.eclipse.jdt.internal.compiler.batch.Main;
 import org.eclipse.jdt.internal.compiler.batch.FileSystem.Classpath;
+import org.eclipse.jdt.internal.compiler.classfmt.ClassFileReaderCache;
+import org.eclipse.jdt.internal.compiler.env.IBinaryType;
 import org.eclipse.jdt.internal.compiler.env.NameEnvironmentAnswer;
 import org.eclipse.jdt.internal.compiler.lookup.TypeConstants;
 import org.eclipse.jdt.internal.compiler.util.ManifestAnalyzer;
@@ -630,6 +641,7 @@ public void test012(){
         "    -d <dir>           destination directory (if omitted, no directory is\n" +
         "                       created); this option can be overridden per source\n" +
         "                       directory\n" +
+        "    -d <file>.jar|zip  write all .class files into the given archive\n" +
         "    -d none            generate no .class files\n" +
         "    -encoding <enc>    specify default encoding for all source files. Each\n" +
         "                       file/directory can override it when suffixed with\n" +
@@ -13227,4 +13239,560 @@ public void testUnusedObjectAllocation() {
 		true);
 
 }
+// method bodies parsed ahead by worker threads must report their problems against the right unit
+public void testWorkerThreads() {
+	String setting = System.getProperty("jdt.compiler.workerThreads");
+	try {
+		System.setProperty("jdt.compiler.workerThreads", "2");
+		this.runNegativeTest(
+			new String[] {
+				"X.java",
+				"public class X {\n" +
+				"	int foo() {\n" +
+				"		return new Y().bar() + new Z().baz();\n" +
+				"	}\n" +
+				"}\n",
+				"Y.java",
+				"public class Y {\n" +
+				"	int bar() {\n" +
+				"		return 1\n" +
+				"	}\n" +
+				"}\n",
+				"Z.java",
+				"public class Z {\n" +
+				"	int baz() {\n" +
+				"		return zork;\n" +
+				"	}\n" +
+				"}\n"
+			},
+			"\"" + OUTPUT_DIR +  File.separator + "X.java\""
+			+ " \"" + OUTPUT_DIR +  File.separator + "Y.java\""
+			+ " \"" + OUTPUT_DIR +  File.separator + "Z.java\""
+			+ " -1.5 -proc:none"
+			+ " -d \"" + OUTPUT_DIR + File.separator + "bin/\"",
+			"",
+			"----------\n" +
+			"1. ERROR in ---OUTPUT_DIR_PLACEHOLDER---/Y.java (at line 3)\n" +
+			"	return 1\n" +
+			"	       ^\n" +
+			"Syntax error, insert \";\" to complete BlockStatements\n" +
+			"----------\n" +
+			"----------\n" +
+			"2. ERROR in ---OUTPUT_DIR_PLACEHOLDER---/Z.java (at line 3)\n" +
+			"	return zork;\n" +
+			"	       ^^^^\n" +
+			"zork cannot be resolved to a variable\n" +
+			"----------\n" +
+			"2 problems (2 errors)\n",
+			true);
+	} finally {
+		if (setting == null)
+			System.clearProperty("jdt.compiler.workerThreads");
+		else
+			System.setProperty("jdt.compiler.workerThreads", setting);
+	}
+}
+// the compiler server compiles successive requests in the same process and answers the compiler output
+public void testCompilerServer() throws IOException, InterruptedException {
+	Util.writeToFile(
+		"public class X {\n" +
+		"	Y y;\n" +
+		"}\n",
+		OUTPUT_DIR + File.separator + "X.java");
+	Util.writeToFile(
+		"public class Y {\n" +
+		"	Zork z;\n" +
+		"}\n",
+		OUTPUT_DIR + File.separator + "Y.java");
+	final CompilerServer server = new CompilerServer(0);
+	Thread thread = new Thread(new Runnable() {
+		@Override
+		public void run() {
+			server.serve();
+		}
+	});
+	thread.start();
+	try {
+		String[] args = new String[] {
+			"-1.5", "-proc:none", "-d", OUTPUT_DIR + File.separator + "bin",
+			"-sourcepath", OUTPUT_DIR, OUTPUT_DIR + File.separator + "X.java"
+		};
+		StringWriter out = new StringWriter();
+		StringWriter err = new StringWriter();
+		assertEquals("Unexpected exit code", -1, CompilerServer.compile(server.getPort(), server.getSecret(), args, new PrintWriter(out), new PrintWriter(err)));
+		assertEquals("Unexpected output", "", out.toString());
+		assertTrue("Unexpected error output: " + err, err.toString().indexOf("Zork cannot be resolved to a type") != -1);
+
+		Util.writeToFile(
+			"public class Y {\n" +
+			"}\n",
+			OUTPUT_DIR + File.separator + "Y.java");
+		out = new StringWriter();
+		err = new StringWriter();
+		assertEquals("Unexpected exit code", 0, CompilerServer.compile(server.getPort(), server.getSecret(), args, new PrintWriter(out), new PrintWriter(err)));
+		assertEquals("Unexpected error output", "", err.toString());
+		assertTrue("Missing class file", new File(OUTPUT_DIR + File.separator + "bin" + File.separator + "Y.class").exists());
+
+		assertEquals("Unexpected exit code", 2, CompilerServer.compile(server.getPort(), "wrong secret", args, new PrintWriter(out), new PrintWriter(err)));
+
+		// malformed requests close their connection, the server goes on serving
+		sendCompilerServerRequest(server.getPort(), null, -1);
+		sendCompilerServerRequest(server.getPort(), null, Integer.MAX_VALUE);
+		sendCompilerServerRequest(server.getPort(), server.getSecret(), Integer.MAX_VALUE);
+		sendCompilerServerRequest(server.getPort(), server.getSecret(), 0, -1);
+		sendCompilerServerRequest(server.getPort(), server.getSecret(), 0, Integer.MAX_VALUE);
+		sendCompilerServerRequest(server.getPort(), server.getSecret(), 0, 1, -1);
+		out = new StringWriter();
+		err = new StringWriter();
+		assertEquals("Unexpected exit code", 0, CompilerServer.compile(server.getPort(), server.getSecret(), args, new PrintWriter(out), new PrintWriter(err)));
+		assertEquals("Unexpected error output", "", err.toString());
+	} finally {
+		server.close();
+		thread.join();
+	}
+}
+// sends a request of the protocol version, the given secret unless null, and the given values
+private void sendCompilerServerRequest(int port, String secret, int... values) {
+	try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), port)) {
+		DataOutputStream out = new DataOutputStream(socket.getOutputStream());
+		out.writeInt(1);
+		if (secret != null) {
+			out.writeInt(secret.length());
+			out.writeBytes(secret);
+		}
+		for (int value : values)
+			out.writeInt(value);
+		out.flush();
+		socket.shutdownOutput();
+		InputStream in = socket.getInputStream();
+		while (in.read() != -1) {
+			// wait for the server to close the connection
+		}
+	} catch (IOException e) {
+		// the server may reset the connection
+	}
+}
+// the metrics of each unit are written as JSON lines when jdt.compiler.metrics is set
+public void testCompilerMetrics() {
+	String metricsFile = OUTPUT_DIR + File.separator + "metrics.json";
+	String setting = System.getProperty("jdt.compiler.metrics");
+	try {
+		System.setProperty("jdt.compiler.metrics", metricsFile);
+		this.runConformTest(
+			new String[] {
+				"X.java",
+				"import java.util.*;\n" +
+				"public class X {\n" +
+				"	List<String> foo() {\n" +
+				"		return Collections.emptyList();\n" +
+				"	}\n" +
+				"}\n",
+				"Y.java",
+				"public class Y {\n" +
+				"}\n"
+			},
+			"\"" + OUTPUT_DIR +  File.separator + "X.java\""
+			+ " \"" + OUTPUT_DIR +  File.separator + "Y.java\""
+			+ " -1.8 -proc:none"
+			+ " -d \"" + OUTPUT_DIR + File.separator + "bin/\"",
+			"",
+			"",
+			true);
+	} finally {
+		if (setting == null)
+			System.clearProperty("jdt.compiler.metrics");
+		else
+			System.setProperty("jdt.compiler.metrics", setting);
+	}
+	String[] lines = Util.fileContent(metricsFile).split("\n");
+	assertEquals("Unexpected number of units", 2, lines.length);
+	assertTrue("Unexpected metrics: " + lines[0], lines[0].startsWith("{\"file\":\"") && lines[0].contains("X.java\",\"parse\":{\"nanos\":"));
+	assertTrue("Unexpected metrics: " + lines[0], lines[0].contains(",\"inferences\":1,\"classFiles\":1,"));
+	assertTrue("Unexpected metrics: " + lines[1], lines[1].contains("Y.java\"") && lines[1].contains(",\"inferences\":0,\"classFiles\":1,"));
+}
+// identical invocations of a generic method are only inferred once
+public void testInferenceCacheMetrics() {
+	String metricsFile = OUTPUT_DIR + File.separator + "metrics.json";
+	String setting = System.getProperty("jdt.compiler.metrics");
+	try {
+		System.setProperty("jdt.compiler.metrics", metricsFile);
+		this.runConformTest(
+			new String[] {
+				"X.java",
+				"import java.util.*;\n" +
+				"public class X {\n" +
+				"	void foo(String a, String b) {\n" +
+				"		Arrays.asList(a, b).size();\n" +
+				"		Arrays.asList(a, b).size();\n" +
+				"		Arrays.asList(a, b).size();\n" +
+				"	}\n" +
+				"}\n"
+			},
+			"\"" + OUTPUT_DIR +  File.separator + "X.java\""
+			+ " -1.8 -proc:none"
+			+ " -d \"" + OUTPUT_DIR + File.separator + "bin/\"",
+			"",
+			"",
+			true);
+	} finally {
+		if (setting == null)
+			System.clearProperty("jdt.compiler.metrics");
+		else
+			System.setProperty("jdt.compiler.metrics", setting);
+	}
+	String[] lines = Util.fileContent(metricsFile).split("\n");
+	assertEquals("Unexpected number of units", 1, lines.length);
+	assertTrue("Unexpected metrics: " + lines[0], lines[0].contains(",\"inferenceCacheHits\":2,"));
+}
+// the overload chosen for a repeated invocation is the one chosen for the first
+public void testInferenceCacheOverload() {
+	runInferenceCacheTest(
+		"	void foo(String a, String b, List raw) {\n" +
+		"		Y.pick(a, b).length();\n" +
+		"		Y.pick(a, b).length();\n" +
+		"	}\n",
+		"----------\n" +
+		"1. WARNING in ---OUTPUT_DIR_PLACEHOLDER---/X.java (at line 3)\n" +
+		"	void foo(String a, String b, List raw) {\n" +
+		"	                             ^^^^\n" +
+		"List is a raw type. References to generic type List<E> should be parameterized\n" +
+		"----------\n" +
+		"2. WARNING in ---OUTPUT_DIR_PLACEHOLDER---/X.java (at line 4)\n" +
+		"	Y.pick(a, b).length();\n" +
+		"	  ^^^^^^^^^^\n" +
+		"The method pick(String, String) from the type Y is deprecated\n" +
+		"----------\n" +
+		"3. WARNING in ---OUTPUT_DIR_PLACEHOLDER---/X.java (at line 5)\n" +
+		"	Y.pick(a, b).length();\n" +
+		"	  ^^^^^^^^^^\n" +
+		"The method pick(String, String) from the type Y is deprecated\n" +
+		"----------\n" +
+		"3 problems (3 warnings)\n",
+		false,
+		2);
+}
+// the unchecked conversion of a repeated invocation is reported again, and its return type is still erased
+public void testInferenceCacheUncheckedConversion() {
+	runInferenceCacheTest(
+		"	void foo(String a, String b, List raw) {\n" +
+		"		Y.make(raw, a).get(0).length();\n" +
+		"		Y.make(raw, a).get(0).length();\n" +
+		"	}\n",
+		"----------\n" +
+		"1. WARNING in ---OUTPUT_DIR_PLACEHOLDER---/X.java (at line 3)\n" +
+		"	void foo(String a, String b, List raw) {\n" +
+		"	                             ^^^^\n" +
+		"List is a raw type. References to generic type List<E> should be parameterized\n" +
+		"----------\n" +
+		"2. WARNING in ---OUTPUT_DIR_PLACEHOLDER---/X.java (at line 4)\n" +
+		"	Y.make(raw, a).get(0).length();\n" +
+		"	^^^^^^^^^^^^^^\n" +
+		"Type safety: Unchecked invocation make(List, String) of the generic method make(List<T>, T) of type Y\n" +
+		"----------\n" +
+		"3. WARNING in ---OUTPUT_DIR_PLACEHOLDER---/X.java (at line 4)\n" +
+		"	Y.make(raw, a).get(0).length();\n" +
+		"	       ^^^\n" +
+		"Type safety: The expression of type List needs unchecked conversion to conform to List<String>\n" +
+		"----------\n" +
+		"4. ERROR in ---OUTPUT_DIR_PLACEHOLDER---/X.java (at line 4)\n" +
+		"	Y.make(raw, a).get(0).length();\n" +
+		"	                      ^^^^^^\n" +
+		"The method length() is undefined for the type Object\n" +
+		"----------\n" +
+		"5. WARNING in ---OUTPUT_DIR_PLACEHOLDER---/X.java (at line 5)\n" +
+		"	Y.make(raw, a).get(0).length();\n" +
+		"	^^^^^^^^^^^^^^\n" +
+		"Type safety: Unchecked invocation make(List, String) of the generic method make(List<T>, T) of type Y\n" +
+		"----------\n" +
+		"6. WARNING in ---OUTPUT_DIR_PLACEHOLDER---/X.java (at line 5)\n" +
+		"	Y.make(raw, a).get(0).length();\n" +
+		"	       ^^^\n" +
+		"Type safety: The expression of type List needs unchecked conversion to conform to List<String>\n" +
+		"----------\n" +
+		"7. ERROR in ---OUTPUT_DIR_PLACEHOLDER---/X.java (at line 5)\n" +
+		"	Y.make(raw, a).get(0).length();\n" +
+		"	                      ^^^^^^\n" +
+		"The method length() is undefined for the type Object\n" +
+		"----------\n" +
+		"7 problems (2 errors, 5 warnings)\n",
+		true,
+		1);
+}
+// the return type inferred for a repeated invocation is the one inferred for the first
+public void testInferenceCacheReturnType() {
+	runInferenceCacheTest(
+		"	void foo(String a, String b) {\n" +
+		"		Arrays.asList(a, b).get(0).length();\n" +
+		"		Arrays.asList(a, b).get(0).length();\n" +
+		"	}\n",
+		"",
+		false,
+		1);
+}
+private void runInferenceCacheTest(String body, String expectedErrOutput, boolean expectingErrors, int expectedHits) {
+	String metricsFile = OUTPUT_DIR + File.separator + "metrics.json";
+	String setting = System.getProperty("jdt.compiler.metrics");
+	String[] testFiles = new String[] {
+		"X.java",
+		"import java.util.*;\n" +
+		"public class X {\n" +
+		body +
+		"}\n",
+		"Y.java",
+		"import java.util.*;\n" +
+		"public class Y {\n" +
+		"	public static <T> T pick(T a, Object b) { return a; }\n" +
+		"	@Deprecated\n" +
+		"	public static <T> T pick(T a, String b) { return a; }\n" +
+		"	public static <T> List<T> make(List<T> l, T t) { return l; }\n" +
+		"}\n"
+	};
+	String commandLine = "\"" + OUTPUT_DIR +  File.separator + "X.java\""
+		+ " \"" + OUTPUT_DIR +  File.separator + "Y.java\""
+		+ " -1.8 -proc:none"
+		+ " -d \"" + OUTPUT_DIR + File.separator + "bin/\"";
+	try {
+		System.setProperty("jdt.compiler.metrics", metricsFile);
+		if (expectingErrors)
+			this.runNegativeTest(testFiles, commandLine, "", expectedErrOutput, true);
+		else
+			this.runConformTest(testFiles, commandLine, "", expectedErrOutput, true);
+	} finally {
+		if (setting == null)
+			System.clearProperty("jdt.compiler.metrics");
+		else
+			System.setProperty("jdt.compiler.metrics", setting);
+	}
+	String[] lines = Util.fileContent(metricsFile).split("\n");
+	assertEquals("Unexpected number of units", 2, lines.length);
+	assertTrue("Unexpected metrics: " + lines[0], lines[0].contains("X.java\"") && lines[0].contains(",\"inferenceCacheHits\":" + expectedHits + ","));
+}
+// the bytes copied while growing the buffers of the class files are reported with the metrics
+public void testClassFileBytesCopiedMetrics() {
+	String metricsFile = OUTPUT_DIR + File.separator + "metrics.json";
+	String setting = System.getProperty("jdt.compiler.metrics");
+	StringBuilder source = new StringBuilder("public class X {\n");
+	for (int i = 0; i < 500; i++)
+		source.append("	String s").append(i).append(" = \"constant ").append(i).append("\";\n");
+	source.append("}\n");
+	try {
+		System.setProperty("jdt.compiler.metrics", metricsFile);
+		this.runConformTest(
+			new String[] {
+				"X.java",
+				source.toString(),
+				"Y.java",
+				"public class Y {\n" +
+				"}\n"
+			},
+			"\"" + OUTPUT_DIR +  File.separator + "X.java\""
+			+ " \"" + OUTPUT_DIR +  File.separator + "Y.java\""
+			+ " -1.8 -proc:none"
+			+ " -d \"" + OUTPUT_DIR + File.separator + "bin/\"",
+			"",
+			"",
+			true);
+	} finally {
+		if (setting == null)
+			System.clearProperty("jdt.compiler.metrics");
+		else
+			System.setProperty("jdt.compiler.metrics", setting);
+	}
+	String[] lines = Util.fileContent(metricsFile).split("\n");
+	assertEquals("Unexpected number of units", 2, lines.length);
+	assertTrue("Unexpected metrics: " + lines[0], lines[0].contains("X.java\"") && lines[0].contains(",\"classFileBytesCopied\":")
+			&& !lines[0].contains(",\"classFileBytesCopied\":0}"));
+	assertTrue("Unexpected metrics: " + lines[1], lines[1].contains("Y.java\"") && lines[1].endsWith(",\"classFileBytesCopied\":0}"));
+}
+// -d can name a jar, into which the class files of each unit are written in the order of their names, all dated
+// with the same time so that the jar is reproducible
+public void testJarOutput() throws IOException {
+	this.runConformTest(
+		new String[] {
+			"p/X.java",
+			"package p;\n" +
+			"public class X {\n" +
+			"	class Inner {}\n" +
+			"	Runnable r = new Runnable() { public void run() {} };\n" +
+			"}\n" +
+			"class Z {}\n",
+			"p/Y.java",
+			"package p;\n" +
+			"public class Y {\n" +
+			"}\n"
+		},
+		"\"" + OUTPUT_DIR +  File.separator + "p" + File.separator + "X.java\""
+		+ " \"" + OUTPUT_DIR +  File.separator + "p" + File.separator + "Y.java\""
+		+ " -1.8 -proc:none"
+		+ " -d \"" + OUTPUT_DIR + File.separator + "bin" + File.separator + "out.jar\"",
+		"",
+		"",
+		true);
+	StringBuilder entries = new StringBuilder();
+	try (ZipFile zipFile = new ZipFile(OUTPUT_DIR + File.separator + "bin" + File.separator + "out.jar")) {
+		for (Enumeration<? extends ZipEntry> e = zipFile.entries(); e.hasMoreElements();) {
+			ZipEntry entry = e.nextElement();
+			entries.append(entry.getName()).append('\n');
+			// the same fixed time for all entries, to the two seconds precision of zip entries
+			assertEquals("Unexpected time of " + entry.getName(), ClassFileJarWriter.getEntryTime() / 2000, entry.getTime() / 2000);
+		}
+	}
+	assertEquals("Unexpected entries",
+		"p/X.class\n" +
+		"p/X$1.class\n" +
+		"p/X$Inner.class\n" +
+		"p/Z.class\n" +
+		"p/Y.class\n",
+		entries.toString());
+	assertFalse("Unexpected class file", new File(OUTPUT_DIR + File.separator + "bin" + File.separator + "p").exists());
+}
+// white-box test for internal API: the entries of a jar are indexed from its central directory,
+// which is found even when the jar is preceded by other data, such as a launcher script
+public void testClasspathJarIndex() throws IOException {
+	String jarPath = OUTPUT_DIR + File.separator + "lib.jar";
+	Util.createJar(
+		new String[] {
+			"p/q/A.java",
+			"package p.q;\n" +
+			"public class A {\n" +
+			"}\n"
+		},
+		new String[] {
+			"r/data.txt",
+			"data\n"
+		},
+		jarPath,
+		JavaCore.VERSION_1_8);
+	byte[] contents = org.eclipse.jdt.internal.compiler.util.Util.getFileByteContent(new File(jarPath));
+	File prefixedJar = new File(OUTPUT_DIR + File.separator + "prefixed.jar");
+	try (FileOutputStream output = new FileOutputStream(prefixedJar)) {
+		output.write("#!/bin/sh\nexec java -jar \"$0\" \"$@\"\n".getBytes());
+		output.write(contents);
+	}
+	for (File file : new File[] { new File(jarPath), prefixedJar }) {
+		ClasspathJar classpathJar = new ClasspathJar(file, true, null, null);
+		classpathJar.initialize();
+		try {
+			assertTrue("Missing package p", classpathJar.isPackage("p", null));
+			assertTrue("Missing package p/q", classpathJar.isPackage("p/q", null));
+			assertTrue("Missing package r", classpathJar.isPackage("r", null));
+			assertFalse("Unexpected package q", classpathJar.isPackage("q", null));
+			assertNotNull("Missing type A", classpathJar.findClass("A".toCharArray(), "p/q", null, "p/q/A.class"));
+			assertNull("Unexpected type B", classpathJar.findClass("B".toCharArray(), "p/q", null, "p/q/B.class"));
+			assertTrue("Missing class file in p/q", classpathJar.hasCompilationUnit("p/q", null));
+			assertFalse("Unexpected class file in p", classpathJar.hasCompilationUnit("p", null));
+			assertFalse("Unexpected class file in r", classpathJar.hasCompilationUnit("r", null));
+			char[][][] typeNames = classpathJar.findTypeNames("p/q", null);
+			assertEquals("Unexpected type names", "p.q.A", CharOperation.toString(typeNames[0]));
+			assertEquals("Unexpected packages", "p.q", CharOperation.toString(classpathJar.listPackages()));
+		} finally {
+			classpathJar.reset();
+		}
+	}
+}
+// white-box test for internal API: the class files read from a jar are cached on disk for the next compilations,
+// until the jar changes
+public void testClassFileCache() throws IOException {
+	File jar = new File(OUTPUT_DIR, "lib.jar");
+	File cacheDirectory = new File(OUTPUT_DIR, "cache");
+	Util.createJar(
+		new String[] {
+			"p/A.java",
+			"package p;\n" +
+			"public class A {\n" +
+			"}\n"
+		},
+		jar.getPath(),
+		JavaCore.VERSION_1_8);
+	String setting = System.getProperty("jdt.compiler.binaryCache");
+	try {
+		System.setProperty("jdt.compiler.binaryCache", cacheDirectory.getPath());
+		assertEquals("Unexpected type", "p/A", new String(findClassInJar(jar).getName()));
+		File[] cacheFiles = cacheDirectory.listFiles();
+		assertEquals("Unexpected cache files", 1, cacheFiles.length);
+
+		// rename the type in the cached copy of its class file, which is then read in place of the jar
+		byte[] contents = org.eclipse.jdt.internal.compiler.util.Util.getFileByteContent(cacheFiles[0]);
+		byte[] name = { 1 /* Utf8 */, 0, 3, 'p', '/', 'A' };
+		int renamed = 0;
+		next: for (int i = 0, max = contents.length - name.length; i <= max; i++) {
+			for (int j = 0; j < name.length; j++) {
+				if (contents[i + j] != name[j])
+					continue next;
+			}
+			contents[i + name.length - 1] = 'B';
+			renamed++;
+		}
+		assertEquals("Unexpected names", 1, renamed);
+		try (FileOutputStream output = new FileOutputStream(cacheFiles[0])) {
+			output.write(contents);
+		}
+		assertEquals("Unexpected cached type", "p/B", new String(findClassInJar(jar).getName()));
+		assertEquals("Unexpected cached type", "p/B", new String(findClassInJar(jar).getName()));
+
+		// a changed jar is read again, and replaces its cache
+		long lastModified = jar.lastModified();
+		Util.createJar(
+			new String[] {
+				"p/A.java",
+				"package p;\n" +
+				"public class A {\n" +
+				"	public void foo() {}\n" +
+				"}\n"
+			},
+			jar.getPath(),
+			JavaCore.VERSION_1_8);
+		jar.setLastModified(lastModified + 10000);
+		IBinaryType type = findClassInJar(jar);
+		assertEquals("Unexpected type", "p/A", new String(type.getName()));
+		assertEquals("Unexpected methods", 2, type.getMethods().length);
+		assertEquals("Unexpected cache files", 1, cacheDirectory.listFiles().length);
+		assertEquals("Unexpected type", "p/A", new String(findClassInJar(jar).getName()));
+	} finally {
+		if (setting == null)
+			System.clearProperty("jdt.compiler.binaryCache");
+		else
+			System.setProperty("jdt.compiler.binaryCache", setting);
+	}
+}
+private static IBinaryType findClassInJar(File jar) throws IOException {
+	ClassFileReaderCache.SHARED.clear(); // the readers shared between compilations would be answered first
+	ClasspathJar classpathJar = new ClasspathJar(jar, true, null, null);
+	classpathJar.initialize();
+	try {
+		NameEnvironmentAnswer answer = classpathJar.findClass("A".toCharArray(), "p", null, "p/A.class");
+		return answer == null ? null : answer.getBinaryType();
+	} finally {
+		classpathJar.reset(); // writes the class files read into the cache
+	}
+}
+// white-box test for internal API: the classpath entries of each package are remembered during a compilation,
+// and looked up again by the next one
+public void testFileSystemPackageLocations() throws IOException {
+	File lib1 = new File(OUTPUT_DIR, "lib1");
+	File lib2 = new File(OUTPUT_DIR, "lib2");
+	lib1.mkdirs();
+	new File(lib2, "p").mkdirs();
+	Util.writeToFile(
+		"package p;\n" +
+		"public class A {\n" +
+		"}\n",
+		new File(lib2, "p" + File.separator + "A.java").getPath());
+	FileSystem fileSystem = new FileSystem(new String[] { lib1.getPath(), lib2.getPath() }, new String[0], null);
+	try {
+		assertNotNull("Missing type p.A", fileSystem.findType(new char[][] { "p".toCharArray(), "A".toCharArray() }));
+		assertNull("Unexpected type p.B", fileSystem.findType(new char[][] { "p".toCharArray(), "B".toCharArray() }));
+		assertNull("Unexpected type q.B", fileSystem.findType(new char[][] { "q".toCharArray(), "B".toCharArray() }));
+		fileSystem.cleanup();
+		new File(lib1, "q").mkdirs();
+		Util.writeToFile(
+			"package q;\n" +
+			"public class B {\n" +
+			"}\n",
+			new File(lib1, "q" + File.separator + "B.java").getPath());
+		assertNotNull("Missing type q.B", fileSystem.findType(new char[][] { "q".toCharArray(), "B".toCharArray() }));
+	} finally {
+		fileSystem.cleanup();
+	}
+}
 }
@@ -17,14 +17,20 @@ import java.io.BufferedInputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
+import java.nio.file.Files;
 
 import junit.framework.Test;
 
 import org.eclipse.jdt.core.ToolFactory;
+import org.eclipse.jdt.core.compiler.CharOperation;
 import org.eclipse.jdt.core.tests.util.Util;
 import org.eclipse.jdt.core.util.ClassFileBytesDisassembler;
 import org.eclipse.jdt.core.util.IClassFileReader;
 import org.eclipse.jdt.internal.compiler.classfmt.ClassFileConstants;
+import org.eclipse.jdt.internal.compiler.classfmt.ClassFileReader;
+import org.eclipse.jdt.internal.compiler.classfmt.ClassFileReaderCache;
+import org.eclipse.jdt.internal.compiler.env.IBinaryField;
+import org.eclipse.jdt.internal.compiler.env.IBinaryMethod;
 
 @SuppressWarnings({ "rawtypes" })
 public class ClassFileReaderTest_1_5 extends AbstractRegressionTest {
@@ -524,6 +530,152 @@ public class ClassFileReaderTest_1_5 extends AbstractRegressionTest {
 		checkClassFile("", "MonAnnotation", source, expectedOutput, ClassFileBytesDisassembler.DETAILED | ClassFileBytesDisassembler.COMPACT);
 	}
 
+	/*
+	 * Members are decoded when first asked for, and answer the same as when the class file is fully initialized
+	 */
+	public void testLazyMembers() throws Exception {
+		String source =
+			"public class X<T> {\n" +
+			"	@Deprecated public int f;\n" +
+			"	public java.util.List<T> g;\n" +
+			"	public <U extends T> U foo(@Deprecated U u) throws Exception { return u; }\n" +
+			"	@Deprecated void bar() {}\n" +
+			"}";
+		compileAndDeploy(source, "", "X", false);
+		try {
+			File f = new File(EVAL_DIRECTORY, "X.class");
+			ClassFileReader lazyReader = ClassFileReader.read(f);
+			ClassFileReader fullReader = ClassFileReader.read(f, true);
+
+			IBinaryField[] fields = lazyReader.getFields();
+			assertSame(fields, lazyReader.getFields());
+			IBinaryField[] expectedFields = fullReader.getFields();
+			assertEquals(expectedFields.length, fields.length);
+			for (int i = 0; i < fields.length; i++) {
+				assertEquals(new String(expectedFields[i].getName()), new String(fields[i].getName()));
+				assertTrue(CharOperation.equals(expectedFields[i].getGenericSignature(), fields[i].getGenericSignature()));
+				assertEquals(expectedFields[i].getTagBits(), fields[i].getTagBits());
+			}
+
+			IBinaryMethod[] methods = lazyReader.getMethods();
+			assertSame(methods, lazyReader.getMethods());
+			IBinaryMethod[] expectedMethods = fullReader.getMethods();
+			assertEquals(expectedMethods.length, methods.length);
+			for (int i = 0; i < methods.length; i++) {
+				assertEquals(new String(expectedMethods[i].getSelector()), new String(methods[i].getSelector()));
+				assertEquals(new String(expectedMethods[i].getMethodDescriptor()), new String(methods[i].getMethodDescriptor()));
+				assertTrue(CharOperation.equals(expectedMethods[i].getGenericSignature(), methods[i].getGenericSignature()));
+				assertEquals(expectedMethods[i].getExceptionTypeNames().length, methods[i].getExceptionTypeNames().length);
+				assertEquals(expectedMethods[i].getTagBits(), methods[i].getTagBits());
+				assertEquals(expectedMethods[i].getAnnotatedParametersCount(), methods[i].getAnnotatedParametersCount());
+			}
+			assertFalse(lazyReader.hasStructuralChanges(Files.readAllBytes(f.toPath())));
+		} finally {
+			removeTempClass("X");
+		}
+	}
+
+	/*
+	 * A reader initialized for sharing still decodes its members on demand, once for all the threads
+	 */
+	public void testSharedLazyMembers() throws Exception {
+		String source =
+			"public class X<T> {\n" +
+			"	@Deprecated public int f;\n" +
+			"	public <U extends T> U foo(@Deprecated U u) throws Exception { return u; }\n" +
+			"	void bar() {}\n" +
+			"}";
+		compileAndDeploy(source, "", "X", false);
+		try {
+			File f = new File(EVAL_DIRECTORY, "X.class");
+			ClassFileReader fullReader = ClassFileReader.read(f, true);
+			ClassFileReader sharedReader = ClassFileReader.read(f);
+			sharedReader.initializeForSharing();
+
+			int threadCount = 4;
+			IBinaryMethod[][] methods = new IBinaryMethod[threadCount][];
+			IBinaryField[][] fields = new IBinaryField[threadCount][];
+			Thread[] threads = new Thread[threadCount];
+			for (int t = 0; t < threadCount; t++) {
+				int thread = t;
+				threads[t] = new Thread(() -> {
+					methods[thread] = sharedReader.getMethods();
+					fields[thread] = sharedReader.getFields();
+				});
+			}
+			for (Thread thread : threads)
+				thread.start();
+			for (Thread thread : threads)
+				thread.join();
+			for (int t = 1; t < threadCount; t++) {
+				assertSame(methods[0], methods[t]);
+				assertSame(fields[0], fields[t]);
+			}
+
+			IBinaryMethod[] expectedMethods = fullReader.getMethods();
+			assertEquals(expectedMethods.length, methods[0].length);
+			for (int i = 0; i < expectedMethods.length; i++) {
+				assertEquals(new String(expectedMethods[i].getSelector()), new String(methods[0][i].getSelector()));
+				assertEquals(new String(expectedMethods[i].getMethodDescriptor()), new String(methods[0][i].getMethodDescriptor()));
+				assertTrue(CharOperation.equals(expectedMethods[i].getGenericSignature(), methods[0][i].getGenericSignature()));
+				assertEquals(expectedMethods[i].getAnnotatedParametersCount(), methods[0][i].getAnnotatedParametersCount());
+			}
+			IBinaryField[] expectedFields = fullReader.getFields();
+			assertEquals(expectedFields.length, fields[0].length);
+			assertEquals(new String(expectedFields[0].getName()), new String(fields[0][0].getName()));
+			assertEquals(expectedFields[0].getTagBits(), fields[0][0].getTagBits());
+		} finally {
+			removeTempClass("X");
+		}
+	}
+
+	public void testReaderCache() throws Exception {
+		String source =
+			"public class X {\n" +
+			"	public int f;\n" +
+			"	void foo() {}\n" +
+			"}";
+		compileAndDeploy(source, "", "X", false);
+		try {
+			File f = new File(EVAL_DIRECTORY, "X.class");
+			ClassFileReaderCache cache = new ClassFileReaderCache(1);
+			Object key = ClassFileReaderCache.entryKey(f, null);
+			int[] loads = new int[1];
+			ClassFileReaderCache.Loader loader = () -> {
+				loads[0]++;
+				return ClassFileReader.read(f, true);
+			};
+			ClassFileReader reader = cache.get(key, "X.class", loader);
+			assertNotNull(reader);
+			assertEquals(2, reader.getMethods().length);
+			assertSame(reader, cache.get(key, "X.class", loader));
+			assertEquals(1, loads[0]);
+
+			// missing class files are not cached
+			assertNull(cache.get(key, "Y.class", () -> null));
+			assertEquals(1, cache.size());
+
+			// the least recently used reader is evicted
+			assertNotSame(reader, cache.get(key, "Z.class", loader));
+			assertEquals(1, cache.size());
+			assertNotSame(reader, cache.get(key, "X.class", loader));
+			assertEquals(3, loads[0]);
+
+			// a modified class file is read again
+			assertTrue(f.setLastModified(f.lastModified() - 10000));
+			ClassFileReader modified = cache.get(ClassFileReaderCache.entryKey(f, null), "X.class", loader);
+			assertEquals(4, loads[0]);
+			assertNotNull(modified);
+
+			ClassFileReaderCache disabled = new ClassFileReaderCache(0);
+			assertFalse(disabled.isEnabled());
+			assertNotSame(disabled.get(key, "X.class", loader), disabled.get(key, "X.class", loader));
+			assertEquals(0, disabled.size());
+		} finally {
+			removeTempClass("X");
+		}
+	}
+
 	public void testBug504031() throws Exception {
 		String source =
 				"package test;\n" +
@@ -4795,6 +4795,47 @@ public void testBug548318_030() {
 			true,
 			defaultOptions);
 }
+// the flow info of a branch is a copy of the one before the branch, which is not changed by the branch,
+// also for locals beyond the first 64
+public void testCopiedFlowInfoOfManyLocals() {
+	StringBuilder parameters = new StringBuilder();
+	for (int i = 0; i < 64; i++)
+		parameters.append(", int i").append(i);
+	this.runNegativeTest(
+		new String[] {
+			"X.java",
+			"public class X {\n" +
+			"	void foo(boolean b" + parameters + ") {\n" +
+			"		Object o = null;\n" +
+			"		int x;\n" +
+			"		if (b) {\n" +
+			"			o = \"o\";\n" +
+			"			x = 1;\n" +
+			"		} else {\n" +
+			"			o.toString();\n" +
+			"			System.out.println(x);\n" +
+			"		}\n" +
+			"		System.out.println(x);\n" +
+			"	}\n" +
+			"}\n"
+		},
+		"----------\n" +
+		"1. WARNING in X.java (at line 9)\n" +
+		"	o.toString();\n" +
+		"	^\n" +
+		"Null pointer access: The variable o can only be null at this location\n" +
+		"----------\n" +
+		"2. ERROR in X.java (at line 10)\n" +
+		"	System.out.println(x);\n" +
+		"	                   ^\n" +
+		"The local variable x may not have been initialized\n" +
+		"----------\n" +
+		"3. ERROR in X.java (at line 12)\n" +
+		"	System.out.println(x);\n" +
+		"	                   ^\n" +
+		"The local variable x may not have been initialized\n" +
+		"----------\n");
+}
 public static Class testClass() {
 	return FlowAnalysisTest.class;
 }
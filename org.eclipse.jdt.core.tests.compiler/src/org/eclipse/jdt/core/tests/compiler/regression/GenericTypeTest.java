@@ -52807,6 +52807,82 @@ public void testBug543480WithoutNullPointerExceptionDuringBytecodeGeneration() {
 	}
 }
 
+/**
+ * Nested collectors create large bound sets whose bounds mostly mention unrelated inference variables,
+ * this test targets the incorporation of only the pairs of related bounds in {@code BoundSet.incorporate(...)}:
+ * combining every pair of bounds exceeds the limit set here.
+ */
+public void testNestedCollectorsIncorporatedPairs() {
+	if (this.complianceLevel >= ClassFileConstants.JDK1_8) {
+		String setting = System.getProperty("jdt.compiler.maxIncorporatedPairs");
+		try {
+			System.setProperty("jdt.compiler.maxIncorporatedPairs", "10000");
+			runConformTest(
+				new String[] {
+					"Collect_8.java",
+					"import java.util.*;\n" +
+					"import java.util.stream.*;\n" +
+					"public class Collect_8 {\n" +
+					"	Object test(List<String> l) {\n" +
+					"		return l.stream().collect(\n" +
+					"			Collectors.groupingBy((String s) -> s.length() + 0,\n" +
+					"			Collectors.groupingBy((String s) -> s.length() + 1,\n" +
+					"			Collectors.groupingBy((String s) -> s.length() + 2,\n" +
+					"			Collectors.groupingBy((String s) -> s.length() + 3,\n" +
+					"			Collectors.groupingBy((String s) -> s.length() + 4,\n" +
+					"			Collectors.groupingBy((String s) -> s.length() + 5,\n" +
+					"			Collectors.groupingBy((String s) -> s.length() + 6,\n" +
+					"			Collectors.groupingBy((String s) -> s.length() + 7,\n" +
+					"			Collectors.toList())))))))));\n" +
+					"	}\n" +
+					"}\n"
+				});
+		} finally {
+			if (setting == null)
+				System.clearProperty("jdt.compiler.maxIncorporatedPairs");
+			else
+				System.setProperty("jdt.compiler.maxIncorporatedPairs", setting);
+		}
+	}
+}
+/**
+ * An incorporation which combines more pairs of bounds than allowed fails the inference with an error.
+ */
+public void testIncorporatedPairsExceeded() {
+	if (this.complianceLevel >= ClassFileConstants.JDK1_8) {
+		String setting = System.getProperty("jdt.compiler.maxIncorporatedPairs");
+		try {
+			System.setProperty("jdt.compiler.maxIncorporatedPairs", "1");
+			runNegativeTest(
+				new String[] {
+					"X.java",
+					"import java.util.*;\n" +
+					"public class X {\n" +
+					"	List<String> test() {\n" +
+					"		return Collections.singletonList(\"a\");\n" +
+					"	}\n" +
+					"}\n"
+				},
+				"----------\n" +
+				"1. ERROR in X.java (at line 4)\n" +
+				"	return Collections.singletonList(\"a\");\n" +
+				"	       ^^^^^^^^^^^^^^^^^^^^^^^^^^^^^^\n" +
+				"Problem detected during type inference: Bound incorporation exceeds 1 pairs of bounds\n" +
+				"----------\n" +
+				"2. ERROR in X.java (at line 4)\n" +
+				"	return Collections.singletonList(\"a\");\n" +
+				"	                   ^^^^^^^^^^^^^\n" +
+				"The method singletonList(T) in the type Collections is not applicable for the arguments (String)\n" +
+				"----------\n");
+		} finally {
+			if (setting == null)
+				System.clearProperty("jdt.compiler.maxIncorporatedPairs");
+			else
+				System.setProperty("jdt.compiler.maxIncorporatedPairs", setting);
+		}
+	}
+}
+
 protected void assertCompileTimes(final List<Duration> shortTimes, final double factor, final List<Duration> longTimes) {
 	final double shortTimesAverage = averageExcludingBoundaries(shortTimes);
 	final double longTimesAverage = averageExcludingBoundaries(longTimes);
@@ -601,6 +601,75 @@ public void test2062_mergedWith() {
 	assertTrue("nb of failures: " + failures, failures == 0);
 }
 
+// the extra rows of a copy are shared with the original until either one modifies them
+public void test2070_copy_extra_rows() {
+	TestLocalVariableBinding local64 = TestLocalVariableBinding.local64, local128 = TestLocalVariableBinding.local128;
+	UnconditionalFlowInfo original = FlowInfo.initial(0);
+	original.markAsDefinitelyAssigned(local64);
+	original.markAsDefinitelyNull(local64);
+	original.markAsDefinitelyAssigned(local128);
+	long[][] originalRows = copyOf(original.extra);
+	UnconditionalFlowInfo copy = original.unconditionalCopy();
+	copy.resetAssignmentInfo(local64);
+	copy.markAsDefinitelyNonNull(local64);
+	copy.markAsDefinitelyNull(local128);
+	assertTrue("original rows changed", Arrays.deepEquals(originalRows, original.extra));
+	assertTrue(original.isDefinitelyAssigned(local64));
+	assertTrue(original.isDefinitelyNull(local64));
+	assertFalse(original.isDefinitelyNull(local128));
+	assertFalse(copy.isDefinitelyAssigned(local64));
+	assertTrue(copy.isDefinitelyNonNull(local64));
+	assertTrue(copy.isDefinitelyAssigned(local128));
+	assertTrue(copy.isDefinitelyNull(local128));
+
+	copy = (UnconditionalFlowInfo) original.copy();
+	long[][] copyRows = copyOf(copy.extra);
+	original.markAsDefinitelyNonNull(local64);
+	original.resetAssignmentInfo(local128);
+	assertTrue("copy rows changed", Arrays.deepEquals(copyRows, copy.extra));
+	assertTrue(copy.isDefinitelyNull(local64));
+	assertTrue(copy.isDefinitelyAssigned(local128));
+	assertTrue(original.isDefinitelyNonNull(local64));
+	assertFalse(original.isDefinitelyAssigned(local128));
+}
+
+// copies without null info share pooled rows of zeros, and of ones for the incoming nullness,
+// which their modifications must not reach
+public void test2071_copy_pooled_rows() {
+	TestLocalVariableBinding local64 = TestLocalVariableBinding.local64, local128 = TestLocalVariableBinding.local128;
+	UnconditionalFlowInfo original = FlowInfo.initial(0);
+	original.markAsDefinitelyAssigned(local64);
+	original.markAsDefinitelyAssigned(local128);
+	long[][] originalRows = copyOf(original.extra);
+	UnconditionalFlowInfo copy = original.unconditionalCopy();
+	copy.markAsDefinitelyNull(local64);
+	copy.markAsDefinitelyNonNull(local128);
+	UnconditionalFlowInfo nullInfoLessCopy = original.nullInfoLessUnconditionalCopy();
+	nullInfoLessCopy.markAsDefinitelyNull(local64);
+	nullInfoLessCopy.resetAssignmentInfo(local128);
+	assertTrue("original rows changed", Arrays.deepEquals(originalRows, original.extra));
+	assertTrue(original.isDefinitelyAssigned(local128));
+	assertFalse(original.isDefinitelyNull(local64));
+
+	long[] zeros = new long[2], ones = { -1L, -1L };
+	copy = original.unconditionalCopy();
+	nullInfoLessCopy = original.nullInfoLessUnconditionalCopy();
+	for (int j = 2; j < 6; j++) {
+		assertTrue("null row " + j + " changed", Arrays.equals(zeros, copy.extra[j]));
+		assertTrue("null row " + j + " changed", Arrays.equals(zeros, nullInfoLessCopy.extra[j]));
+	}
+	assertTrue("incoming null row changed", Arrays.equals(ones, nullInfoLessCopy.extra[UnconditionalFlowInfo.IN]));
+	assertTrue("incoming non null row changed", Arrays.equals(ones, nullInfoLessCopy.extra[UnconditionalFlowInfo.INN]));
+	assertTrue(nullInfoLessCopy.isDefinitelyAssigned(local128));
+}
+
+private static long[][] copyOf(long[][] rows) {
+	long[][] copy = new long[rows.length][];
+	for (int j = 0; j < rows.length; j++)
+		copy[j] = rows[j].clone();
+	return copy;
+}
+
 // PREMATURE rewrite from scratch
 //public void _test2058_recode() {
 //	long [][][] testData = transitionsTablesData[recode];
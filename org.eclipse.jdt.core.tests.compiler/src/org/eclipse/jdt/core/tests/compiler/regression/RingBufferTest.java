@@ -0,0 +1,114 @@
+/*******************************************************************************
+ * Copyright (c) 2021 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.core.tests.compiler.regression;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import junit.framework.TestCase;
+
+import org.eclipse.jdt.internal.compiler.RingBuffer;
+
+/**
+ * Tests the ring buffer independently of any compliance level.
+ */
+public class RingBufferTest extends TestCase {
+
+	public RingBufferTest(String name) {
+		super(name);
+	}
+	public void testOfferPoll() {
+		RingBuffer<String> buffer = new RingBuffer<>(2, 4);
+		assertNull(buffer.poll());
+		assertTrue(buffer.offer("a"));
+		assertTrue(buffer.offer("b"));
+		assertFalse("limit reached", buffer.offer("c"));
+		assertEquals("a", buffer.poll());
+		assertTrue(buffer.offer("c"));
+		assertEquals("b", buffer.poll());
+		assertEquals("c", buffer.poll());
+		assertNull(buffer.poll());
+		assertEquals(0, buffer.size());
+	}
+	public void testClose() {
+		RingBuffer<String> buffer = new RingBuffer<>(4, 4);
+		assertTrue(buffer.put("a"));
+		buffer.close();
+		assertFalse(buffer.put("b"));
+		assertEquals("queued elements are still handed over", "a", buffer.take());
+		assertNull(buffer.take());
+	}
+	public void testHandOver() throws InterruptedException {
+		final int count = 100000;
+		final RingBuffer<Integer> buffer = new RingBuffer<>(2, 16);
+		Thread producer = new Thread() {
+			@Override
+			public void run() {
+				for (int i = 0; i < count; i++)
+					buffer.put(Integer.valueOf(i));
+				buffer.close();
+			}
+		};
+		producer.start();
+		int expected = 0;
+		Integer next;
+		while ((next = buffer.take()) != null)
+			assertEquals(expected++, next.intValue());
+		producer.join();
+		assertEquals(count, expected);
+		assertTrue(buffer.getLimit() <= 16);
+	}
+	public void testMultipleProducersAndConsumers() throws InterruptedException {
+		final int producerCount = 4, perProducer = 10000;
+		final RingBuffer<Integer> buffer = new RingBuffer<>(8, 8);
+		final boolean[] seen = new boolean[producerCount * perProducer];
+		List<Thread> threads = new ArrayList<>();
+		for (int p = 0; p < producerCount; p++) {
+			final int offset = p * perProducer;
+			threads.add(new Thread() {
+				@Override
+				public void run() {
+					for (int i = 0; i < perProducer; i++)
+						buffer.put(Integer.valueOf(offset + i));
+				}
+			});
+		}
+		List<Thread> consumers = new ArrayList<>();
+		for (int c = 0; c < 2; c++) {
+			consumers.add(new Thread() {
+				@Override
+				public void run() {
+					Integer next;
+					while ((next = buffer.take()) != null) {
+						synchronized (seen) {
+							assertFalse("duplicate " + next, seen[next.intValue()]);
+							seen[next.intValue()] = true;
+						}
+					}
+				}
+			});
+		}
+		for (Thread thread : threads)
+			thread.start();
+		for (Thread thread : consumers)
+			thread.start();
+		for (Thread thread : threads)
+			thread.join();
+		buffer.close();
+		for (Thread thread : consumers)
+			thread.join();
+		for (int i = 0; i < seen.length; i++)
+			assertTrue("missing " + i, seen[i]);
+	}
+}
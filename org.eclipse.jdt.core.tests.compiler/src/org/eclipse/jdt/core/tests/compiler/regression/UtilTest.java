@@ -14,6 +14,8 @@
 package org.eclipse.jdt.core.tests.compiler.regression;
 
 import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
 
 //import org.apache.tools.ant.types.selectors.SelectorUtils;
 import org.eclipse.core.runtime.CoreException;
@@ -743,6 +745,97 @@ public void test73b() { // previous test cases but with 3.3 behavior
 	// Verify that there were no unexpected results
     assertTrue(this.camelCaseErrors.toString(), this.camelCaseErrors.length()==0);
 }
+// file contents are decoded as an InputStreamReader would do, including malformed input
+public void testFileCharContent() throws IOException {
+	File file = new File(OUTPUT_DIR, "Contents.java");
+	file.getParentFile().mkdirs();
+	try {
+		byte[] bytes = new byte[] { (byte) 0xEF, (byte) 0xBB, (byte) 0xBF, 'a', (byte) 0xC3, (byte) 0xA9, 'b', (byte) 0xFF, 'c', (byte) 0xC3 };
+		try (FileOutputStream stream = new FileOutputStream(file)) {
+			stream.write(bytes);
+		}
+		assertEquals("a\u00e9b\ufffdc\ufffd", new String(org.eclipse.jdt.internal.compiler.util.Util.getFileCharContent(file, "UTF-8")));
+		assertEquals("\u00ef\u00bb\u00bfa\u00c3\u00a9b\u00ffc\u00c3", new String(org.eclipse.jdt.internal.compiler.util.Util.getFileCharContent(file, "ISO-8859-1")));
+		assertEquals("\ufffd\ufffd\ufffda\ufffd\ufffdb\ufffdc\ufffd", new String(org.eclipse.jdt.internal.compiler.util.Util.getFileCharContent(file, "US-ASCII")));
+	} finally {
+		file.delete();
+	}
+}
+// keys can be looked up by a slice of a larger array, and are kept when the tables grow or lose elements
+public void testCharArrayHashtable() {
+	org.eclipse.jdt.internal.compiler.util.HashtableOfObject table = new org.eclipse.jdt.internal.compiler.util.HashtableOfObject(2);
+	org.eclipse.jdt.internal.compiler.codegen.CharArrayCache cache = new org.eclipse.jdt.internal.compiler.codegen.CharArrayCache(3);
+	for (int i = 0; i < 100; i++) {
+		char[] key = ("java/lang/Key" + i).toCharArray();
+		table.put(key, Integer.valueOf(i));
+		assertEquals(-(i + 1), cache.putIfAbsent(key, i + 1));
+	}
+	assertEquals(100, table.size());
+	assertEquals(100, cache.size());
+	assertEquals(org.eclipse.jdt.core.compiler.CharOperation.hashCode("Key42".toCharArray()),
+			org.eclipse.jdt.internal.compiler.util.CharArrayHashtable.hashCode("Ljava/lang/Key42;".toCharArray(), 11, 16));
+	char[] signature = "Ljava/lang/Key42;".toCharArray();
+	assertEquals(Integer.valueOf(42), table.get(signature, 1, 16));
+	assertEquals(43, cache.get(signature, 1, 16));
+	assertNull(table.get(signature, 0, 16));
+	assertEquals(-1, cache.get(signature, 6, 16));
+	assertTrue(table.containsKey(signature, 1, 16));
+
+	for (int i = 0; i < 100; i += 2) {
+		assertEquals(Integer.valueOf(i), table.removeKey(("java/lang/Key" + i).toCharArray()));
+		cache.remove(("java/lang/Key" + i).toCharArray());
+	}
+	for (int i = 0; i < 100; i++) {
+		char[] key = ("java/lang/Key" + i).toCharArray();
+		assertEquals(i % 2 == 0 ? null : Integer.valueOf(i), table.get(key));
+		assertEquals(i % 2 == 0 ? -1 : i + 1, cache.get(key));
+	}
+	assertEquals(50, cache.size());
+	assertTrue(cache.loadFactor() <= 2.0 / 3);
+	assertTrue(cache.maxProbeLength() >= 1);
+	assertTrue(cache.averageProbeLength() <= cache.maxProbeLength());
+	assertTrue(table.statistics(), table.statistics().startsWith("HashtableOfObject: 50 elements in "));
+}
+// equal names share an array, also when taken from a slice of a larger array
+public void testCharArrayInterner() {
+	org.eclipse.jdt.internal.compiler.util.CharArrayInterner interner = new org.eclipse.jdt.internal.compiler.util.CharArrayInterner(100);
+	char[] lang = "lang".toCharArray();
+	assertSame(lang, interner.intern(lang));
+	assertSame(lang, interner.intern("lang".toCharArray()));
+	char[] signature = "Ljava/lang/String;".toCharArray();
+	assertSame(lang, interner.intern(signature, 6, 10));
+	char[][] compoundName = interner.splitOn('/', signature, 1, 17);
+	assertEquals("java.lang.String", new String(CharOperation.concatWith(compoundName, '.')));
+	assertSame(lang, compoundName[1]);
+	assertSame(compoundName[2], interner.intern("String".toCharArray()));
+	assertSame(CharOperation.NO_CHAR_CHAR, interner.splitOn('/', CharOperation.NO_CHAR, 0, 0));
+
+	org.eclipse.jdt.internal.compiler.util.CharArrayInterner disabled = new org.eclipse.jdt.internal.compiler.util.CharArrayInterner(0);
+	assertSame(lang, disabled.intern(lang));
+	char[] copy = disabled.intern(signature, 6, 10);
+	assertNotSame(copy, disabled.intern(signature, 6, 10));
+	assertEquals("lang", new String(copy));
+}
+// events are only begun while a recording records their type, and committing an event not begun does nothing
+public void testFlightRecorderEvent() {
+	org.eclipse.jdt.internal.compiler.util.FlightRecorderEvent event = org.eclipse.jdt.internal.compiler.util.FlightRecorderEvent.define(
+			"tests.UtilTest", "Test", new String[] { "name" }, new Class<?>[] { String.class });
+	assertFalse("Unexpected recording", event.isEnabled());
+	assertNull("Unexpected event", event.begin());
+	event.commit(null, "name");
+
+	try (jdk.jfr.Recording recording = new jdk.jfr.Recording()) {
+		recording.enable("org.eclipse.jdt.tests.UtilTest");
+		recording.start();
+		assertTrue("Missing recording", event.isEnabled());
+		Object begun = event.begin();
+		assertNotNull("Missing event", begun);
+		event.commit(begun, "name");
+		recording.stop();
+		assertFalse("Unexpected recording", event.isEnabled());
+		assertNull("Unexpected event", event.begin());
+	}
+}
 public static Class testClass() {
 	return UtilTest.class;
 }
@@ -0,0 +1,282 @@
+/*******************************************************************************
+ * Copyright (c) 2021 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.compiler.batch;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * An opt-in, on-disk cache of the class files read from a jar, so that subsequent compilations
+ * against the same, unchanged jar read them without inflating zip entries.
+ * <p>
+ * The cache is enabled by setting the <code>jdt.compiler.binaryCache</code> system property to
+ * a directory. Each jar gets one cache file there, identified by the jar's path, size and last
+ * modification time. Only the class files actually requested are stored: the ones not yet
+ * cached are read from the jar and appended when the compilation ends, so the cache converges
+ * on the part of the classpath that is actually used.
+ * </p><p>
+ * Cache files are replaced atomically, so that concurrent compilations never see a partially
+ * written cache; when several compilations update the same cache the last one wins.
+ * </p>
+ */
+class ClassFileCache {
+
+	static final String DIRECTORY_PROPERTY = "jdt.compiler.binaryCache"; //$NON-NLS-1$
+
+	private static final int MAGIC = 0xCAFEDA7A;
+	private static final int VERSION = 1;
+
+	private final File directory;
+	private final File jar;
+	private final File cacheFile;
+	private final long jarLength;
+	private final long jarLastModified;
+
+	// class files in the cache file: name -> { offset, length }
+	private Map<String, long[]> entries;
+	private FileChannel channel;
+
+	// class files read from the jar during this compilation: name -> { offset, length } in the pending file
+	private Map<String, long[]> pendingEntries;
+	private File pendingFile;
+	private RandomAccessFile pending;
+
+private ClassFileCache(File directory, File jar, File cacheFile) {
+	this.directory = directory;
+	this.jar = jar;
+	this.cacheFile = cacheFile;
+	this.jarLength = jar.length();
+	this.jarLastModified = jar.lastModified();
+}
+
+/**
+ * Answers whether caching is enabled. The property is read again each time, so that it applies to the jars
+ * opened afterwards.
+ */
+static boolean isEnabled() {
+	return System.getProperty(DIRECTORY_PROPERTY) != null;
+}
+
+/**
+ * Answers the cache for the given jar, or <code>null</code> when caching is disabled.
+ */
+static ClassFileCache forJar(File jar) {
+	String directoryName = System.getProperty(DIRECTORY_PROPERTY);
+	if (directoryName == null)
+		return null;
+	File directory = new File(directoryName);
+	String path = jar.getAbsolutePath();
+	File cacheFile = new File(directory, jar.getName() + '-' + Integer.toHexString(path.hashCode()) + ".cache"); //$NON-NLS-1$
+	ClassFileCache cache = new ClassFileCache(directory, jar, cacheFile);
+	cache.open(path);
+	return cache;
+}
+
+private void open(String path) {
+	this.entries = new LinkedHashMap<>();
+	if (!this.cacheFile.isFile())
+		return;
+	// the index and the contents must be read from the same file, the cache may be replaced in the meantime
+	FileChannel fileChannel = null;
+	try {
+		fileChannel = FileChannel.open(this.cacheFile.toPath(), StandardOpenOption.READ);
+		DataInputStream in = new DataInputStream(new BufferedInputStream(Channels.newInputStream(fileChannel)));
+		if (in.readInt() != MAGIC || in.readInt() != VERSION)
+			return;
+		if (!path.equals(in.readUTF()) || in.readLong() != this.jarLength || in.readLong() != this.jarLastModified)
+			return; // stale
+		int count = in.readInt();
+		Map<String, long[]> index = new LinkedHashMap<>(count * 4 / 3 + 1);
+		for (int i = 0; i < count; i++) {
+			String name = in.readUTF();
+			long offset = in.readLong();
+			index.put(name, new long[] { offset, in.readInt() });
+		}
+		long dataStart = in.readLong();
+		for (long[] entry : index.values())
+			entry[0] += dataStart;
+		this.channel = fileChannel;
+		this.entries = index;
+	} catch (IOException e) {
+		// unreadable cache, ignore
+	} finally {
+		if (this.channel == null && fileChannel != null) {
+			try {
+				fileChannel.close();
+			} catch (IOException e) {
+				// ignore
+			}
+		}
+	}
+}
+
+/**
+ * Answers the cached contents of the given class file, or <code>null</code> if it is not cached yet.
+ */
+synchronized byte[] get(String qualifiedBinaryFileName) {
+	long[] entry = this.entries.get(qualifiedBinaryFileName);
+	if (entry == null || this.channel == null)
+		return null;
+	byte[] contents = new byte[(int) entry[1]];
+	ByteBuffer buffer = ByteBuffer.wrap(contents);
+	try {
+		long position = entry[0];
+		while (buffer.hasRemaining()) {
+			int read = this.channel.read(buffer, position + buffer.position());
+			if (read < 0)
+				return null; // truncated cache
+		}
+	} catch (IOException e) {
+		return null;
+	}
+	return contents;
+}
+
+/**
+ * Records the contents of a class file read from the jar, to be added to the cache when it is closed.
+ */
+synchronized void put(String qualifiedBinaryFileName, byte[] contents) {
+	if (this.entries.containsKey(qualifiedBinaryFileName))
+		return;
+	try {
+		if (this.pending == null) {
+			this.directory.mkdirs();
+			this.pendingFile = File.createTempFile(this.cacheFile.getName(), ".pending", this.directory); //$NON-NLS-1$
+			this.pending = new RandomAccessFile(this.pendingFile, "rw"); //$NON-NLS-1$
+			this.pendingEntries = new LinkedHashMap<>();
+		}
+		if (this.pendingEntries.containsKey(qualifiedBinaryFileName))
+			return;
+		long offset = this.pending.length();
+		this.pending.seek(offset);
+		this.pending.write(contents);
+		this.pendingEntries.put(qualifiedBinaryFileName, new long[] { offset, contents.length });
+	} catch (IOException e) {
+		// caching is best effort only
+		discardPending();
+	}
+}
+
+/**
+ * Writes the class files read from the jar into the cache, then releases the cache files.
+ */
+synchronized void close() {
+	try {
+		if (this.pendingEntries != null && !this.pendingEntries.isEmpty() && this.jar.lastModified() == this.jarLastModified)
+			write();
+	} catch (IOException e) {
+		// caching is best effort only
+	} finally {
+		discardPending();
+		if (this.channel != null) {
+			try {
+				this.channel.close();
+			} catch (IOException e) {
+				// ignore
+			}
+			this.channel = null;
+		}
+		this.entries = new LinkedHashMap<>();
+	}
+}
+
+private void write() throws IOException {
+	File newFile = File.createTempFile(this.cacheFile.getName(), ".new", this.directory); //$NON-NLS-1$
+	try {
+		try (FileOutputStream stream = new FileOutputStream(newFile)) {
+			DataOutputStream out = new DataOutputStream(new BufferedOutputStream(stream));
+			out.writeInt(MAGIC);
+			out.writeInt(VERSION);
+			out.writeUTF(this.jar.getAbsolutePath());
+			out.writeLong(this.jarLength);
+			out.writeLong(this.jarLastModified);
+			out.writeInt(this.entries.size() + this.pendingEntries.size());
+			long offset = 0;
+			for (Map.Entry<String, long[]> entry : this.entries.entrySet()) {
+				out.writeUTF(entry.getKey());
+				out.writeLong(offset);
+				out.writeInt((int) entry.getValue()[1]);
+				offset += entry.getValue()[1];
+			}
+			for (Map.Entry<String, long[]> entry : this.pendingEntries.entrySet()) {
+				out.writeUTF(entry.getKey());
+				out.writeLong(offset);
+				out.writeInt((int) entry.getValue()[1]);
+				offset += entry.getValue()[1];
+			}
+			out.writeLong(out.size() + 8L); // start of the class file contents
+			out.flush();
+
+			FileChannel target = stream.getChannel();
+			for (long[] entry : this.entries.values())
+				transfer(this.channel, entry[0], entry[1], target);
+			FileChannel source = this.pending.getChannel();
+			for (long[] entry : this.pendingEntries.values())
+				transfer(source, entry[0], entry[1], target);
+		}
+		try {
+			Files.move(newFile.toPath(), this.cacheFile.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		} catch (IOException e) {
+			Files.move(newFile.toPath(), this.cacheFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+		}
+	} finally {
+		newFile.delete(); // no-op once moved
+	}
+}
+
+private static void transfer(FileChannel source, long position, long length, FileChannel target) throws IOException {
+	while (length > 0) {
+		long transferred = source.transferTo(position, length, target);
+		if (transferred <= 0)
+			throw new IOException("Truncated class file cache"); //$NON-NLS-1$
+		position += transferred;
+		length -= transferred;
+	}
+}
+
+private void discardPending() {
+	if (this.pending != null) {
+		try {
+			this.pending.close();
+		} catch (IOException e) {
+			// ignore
+		}
+		this.pending = null;
+	}
+	if (this.pendingFile != null) {
+		this.pendingFile.delete();
+		this.pendingFile = null;
+	}
+	this.pendingEntries = null;
+}
+
+@Override
+public String toString() {
+	return "Class file cache " + this.cacheFile + " for " + this.jar; //$NON-NLS-1$ //$NON-NLS-2$
+}
+}
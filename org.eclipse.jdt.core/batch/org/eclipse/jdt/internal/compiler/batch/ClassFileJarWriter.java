@@ -0,0 +1,212 @@
+/*******************************************************************************
+ * Copyright (c) 2021 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.compiler.batch;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.time.DateTimeException;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipException;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Writes the class files generated by the batch compiler into the jar or zip archive given as
+ * <code>-d</code> destination, instead of writing each of them to its own file.
+ * <p>
+ * The entries are written by a dedicated thread through a single sequential stream, in the order
+ * they are added, which is the order of the compiled units. The batch compiler dates them all with
+ * {@link #getEntryTime()}, so that compiling the same sources produces the same archive. They are
+ * compressed, unless the <code>jdt.compiler.storedJarOutput</code> system property is
+ * <code>true</code>: storing them saves time when the archive is repackaged afterwards.
+ * </p>
+ */
+public class ClassFileJarWriter implements Closeable {
+
+	static final boolean STORED = Boolean.getBoolean("jdt.compiler.storedJarOutput"); //$NON-NLS-1$
+	private static final int MAX_PENDING_ENTRIES = 256;
+	private static final int BUFFER_SIZE = 64 * 1024;
+
+	private static final class Entry {
+		final String name;
+		final byte[] bytes;
+
+		Entry(String name, byte[] bytes) {
+			this.name = name;
+			this.bytes = bytes;
+		}
+	}
+	private static final Entry END = new Entry(null, null);
+
+	private final ZipOutputStream output;
+	private final long time;
+	private final BlockingQueue<Entry> pendingEntries = new ArrayBlockingQueue<>(MAX_PENDING_ENTRIES);
+	private final Set<String> names = new HashSet<>();
+	private final Thread writer;
+	private volatile IOException failure; // the first entry which could not be written
+	private volatile String failedEntryName;
+	private boolean closed;
+
+/**
+ * Answers whether the given destination path names an archive rather than a directory.
+ */
+public static boolean isArchive(String path) {
+	String lowerCasePath = path.toLowerCase(Locale.ROOT);
+	return lowerCasePath.endsWith(".jar") || lowerCasePath.endsWith(".zip"); //$NON-NLS-1$ //$NON-NLS-2$
+}
+
+/**
+ * Answers the time of the entries: the time given in seconds by the <code>SOURCE_DATE_EPOCH</code>
+ * environment variable if it is set, 1980-01-01 otherwise, the earliest time of zip entries. Zip
+ * entries store the local time, which is converted from UTC here so that it does not depend on the
+ * time zone of the compilation.
+ */
+public static long getEntryTime() {
+	LocalDateTime time = LocalDateTime.of(1980, 1, 1, 0, 0);
+	String sourceDateEpoch = System.getenv("SOURCE_DATE_EPOCH"); //$NON-NLS-1$
+	if (sourceDateEpoch != null) {
+		try {
+			time = LocalDateTime.ofEpochSecond(Long.parseLong(sourceDateEpoch.trim()), 0, ZoneOffset.UTC);
+		} catch (NumberFormatException | DateTimeException e) {
+			// ignore
+		}
+	}
+	return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+}
+
+/**
+ * Creates the given archive, replacing any existing one, with entries dated with the given time.
+ */
+public ClassFileJarWriter(File file, long time) throws IOException {
+	File parent = file.getAbsoluteFile().getParentFile();
+	if (parent != null && !parent.isDirectory() && !parent.mkdirs() && !parent.isDirectory())
+		throw new IOException("Cannot create the directory of " + file); //$NON-NLS-1$
+	this.output = new ZipOutputStream(new BufferedOutputStream(new FileOutputStream(file), BUFFER_SIZE));
+	this.time = time;
+	this.writer = new Thread(this::writeEntries, "Class file writer: " + file.getName()); //$NON-NLS-1$
+	this.writer.setDaemon(true);
+	this.writer.start();
+}
+
+/**
+ * Adds an entry, which is written once the previous ones are. The given bytes must not be modified afterwards.
+ *
+ * @param name the name of the entry, with '/' separated segments
+ * @throws IOException if the archive already has an entry of this name, or if an entry could not be written
+ */
+public void add(String name, byte[] bytes) throws IOException {
+	if (this.failure != null)
+		throw this.failure;
+	if (!this.names.add(name))
+		throw new ZipException("duplicate entry: " + name); //$NON-NLS-1$
+	put(new Entry(name, bytes));
+}
+
+private void put(Entry entry) throws IOException {
+	try {
+		this.pendingEntries.put(entry);
+	} catch (InterruptedException e) {
+		Thread.currentThread().interrupt();
+		throw new InterruptedIOException();
+	}
+}
+
+private void writeEntries() {
+	try {
+		Entry entry;
+		while ((entry = this.pendingEntries.take()) != END) {
+			if (this.failure != null)
+				continue; // drain the entries added in the meantime
+			try {
+				writeEntry(entry);
+			} catch (IOException e) {
+				this.failedEntryName = entry.name;
+				this.failure = e;
+			}
+		}
+	} catch (InterruptedException e) {
+		this.failure = new InterruptedIOException();
+	}
+}
+
+private void writeEntry(Entry entry) throws IOException {
+	ZipEntry zipEntry = new ZipEntry(entry.name);
+	zipEntry.setTime(this.time);
+	if (STORED) {
+		CRC32 crc = new CRC32();
+		crc.update(entry.bytes, 0, entry.bytes.length);
+		zipEntry.setMethod(ZipEntry.STORED);
+		zipEntry.setSize(entry.bytes.length);
+		zipEntry.setCompressedSize(entry.bytes.length);
+		zipEntry.setCrc(crc.getValue());
+	}
+	this.output.putNextEntry(zipEntry);
+	this.output.write(entry.bytes);
+	this.output.closeEntry();
+}
+
+/**
+ * Answers the name of the first entry which could not be written, or <code>null</code>.
+ */
+public String getFailedEntryName() {
+	return this.failedEntryName;
+}
+
+/**
+ * Writes the pending entries and completes the archive.
+ *
+ * @throws IOException if an entry could not be written, see {@link #getFailedEntryName()}, or the archive could not be completed
+ */
+@Override
+public void close() throws IOException {
+	if (this.closed)
+		return;
+	this.closed = true;
+	IOException exception = null;
+	try {
+		put(END);
+		this.writer.join();
+	} catch (InterruptedException e) {
+		Thread.currentThread().interrupt();
+		exception = new InterruptedIOException();
+	} catch (IOException e) {
+		exception = e;
+	}
+	if (exception == null)
+		exception = this.failure;
+	if (!this.writer.isAlive()) {
+		try {
+			this.output.close();
+		} catch (IOException e) {
+			if (exception == null)
+				throw e;
+			exception.addSuppressed(e); // the archive is broken anyway, report why
+		}
+	}
+	if (exception != null)
+		throw exception;
+}
+}
@@ -20,10 +20,11 @@ import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.ArrayList;
-import java.util.Enumeration;
-import java.util.HashSet;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipFile;
@@ -31,6 +32,7 @@ import java.util.zip.ZipFile;
 import org.eclipse.jdt.core.compiler.CharOperation;
 import org.eclipse.jdt.internal.compiler.batch.FileSystem.Classpath;
 import org.eclipse.jdt.internal.compiler.classfmt.ClassFileReader;
+import org.eclipse.jdt.internal.compiler.classfmt.ClassFileReaderCache;
 import org.eclipse.jdt.internal.compiler.classfmt.ClassFormatException;
 import org.eclipse.jdt.internal.compiler.classfmt.ExternalAnnotationDecorator;
 import org.eclipse.jdt.internal.compiler.classfmt.ExternalAnnotationProvider;
@@ -52,7 +54,46 @@ protected ZipFile zipFile;
 protected ZipFile annotationZipFile;
 protected boolean closeZipFileAtEnd;
 protected Set<String> packageCache;
+private volatile JarIndex index;
 protected List<String> annotationPaths;
+protected ClassFileCache classFileCache;
+private Object sharedReadersKey;
+private char[] sharedReadersModule;
+protected SharedJar sharedJar;
+
+/**
+ * Jars kept open between compilations, keyed by their path, or <code>null</code> unless
+ * enabled by {@link #shareOpenedJars()}.
+ */
+private static Map<String, SharedJar> SharedJars;
+
+/**
+ * An opened jar shared by the compilations of a long running process, such as the
+ * {@link CompilerServer}, together with the index of its entries. The jar is reopened
+ * when its size or modification time changes.
+ */
+static class SharedJar {
+	final ZipFile zipFile;
+	final long length;
+	final long lastModified;
+	volatile JarIndex index;
+
+	SharedJar(File file) throws IOException {
+		this.length = file.length();
+		this.lastModified = file.lastModified();
+		this.zipFile = new ZipFile(file);
+	}
+	boolean isUpToDate(File file) {
+		return file.length() == this.length && file.lastModified() == this.lastModified;
+	}
+	void close() {
+		try {
+			this.zipFile.close();
+		} catch (IOException e) {
+			// ignore
+		}
+	}
+}
 
 public ClasspathJar(File file, boolean closeZipFileAtEnd,
 		AccessRuleSet accessRuleSet, String destinationPath) {
@@ -115,9 +156,12 @@ public NameEnvironmentAnswer findClass(char[] typeName, String qualifiedPackageN
 public NameEnvironmentAnswer findClass(char[] typeName, String qualifiedPackageName, String moduleName, String qualifiedBinaryFileName, boolean asBinaryOnly) {
 	if (!isPackage(qualifiedPackageName, moduleName))
 		return null; // most common case
+	JarIndex jarIndex = this.index;
+	if (jarIndex != null && !jarIndex.containsEntry(qualifiedBinaryFileName))
+		return null; // answered without looking into the jar
 
 	try {
-		IBinaryType reader = ClassFileReader.read(this.zipFile, qualifiedBinaryFileName);
+		IBinaryType reader = readClassFile(qualifiedBinaryFileName);
 		if (reader != null) {
 			char[] modName = this.module == null ? null : this.module.name();
 			if (reader instanceof ClassFileReader) {
@@ -154,6 +198,61 @@ public NameEnvironmentAnswer findClass(char[] typeName, String qualifiedPackageN
 	}
 	return null;
 }
+/*
+ * Answers the reader for the given class file, going through the class file cache if enabled.
+ */
+protected ClassFileReader readClassFile(String qualifiedBinaryFileName) throws ClassFormatException, IOException {
+	ClassFileReaderCache readers = ClassFileReaderCache.SHARED;
+	if (!readers.isEnabled())
+		return readZipEntry(qualifiedBinaryFileName, false);
+	Object key;
+	char[] moduleName;
+	synchronized (this) {
+		key = sharedReadersKey();
+		moduleName = this.sharedReadersModule;
+	}
+	return readers.get(key, qualifiedBinaryFileName, () -> {
+		ClassFileReader reader = readZipEntry(qualifiedBinaryFileName, false);
+		if (reader != null) {
+			reader.moduleName = moduleName; // set before the reader is shared
+			reader.initializeForSharing();
+		}
+		return reader;
+	});
+}
+/*
+ * Answers the key of this jar in the shared class file reader cache. The readers record the module
+ * of the jar, so the key changes with it.
+ */
+private Object sharedReadersKey() {
+	char[] moduleName = this.module == null ? null : this.module.name();
+	if (this.sharedReadersKey == null || this.sharedReadersModule != moduleName) {
+		this.sharedReadersKey = ClassFileReaderCache.entryKey(this.file, moduleName == null ? null : new String(moduleName));
+		this.sharedReadersModule = moduleName;
+	}
+	return this.sharedReadersKey;
+}
+private ClassFileReader readZipEntry(String qualifiedBinaryFileName, boolean fullyInitialize) throws ClassFormatException, IOException {
+	ClassFileCache cache = null;
+	if (ClassFileCache.isEnabled()) {
+		synchronized (this) {
+			if (this.classFileCache == null)
+				this.classFileCache = ClassFileCache.forJar(this.file);
+			cache = this.classFileCache;
+		}
+	}
+	if (cache == null)
+		return ClassFileReader.read(this.zipFile, qualifiedBinaryFileName, fullyInitialize);
+	byte[] contents = cache.get(qualifiedBinaryFileName);
+	if (contents == null) {
+		ZipEntry entry = this.zipFile.getEntry(qualifiedBinaryFileName);
+		if (entry == null)
+			return null;
+		contents = Util.getZipEntryByteContent(entry, this.zipFile);
+		cache.put(qualifiedBinaryFileName, contents);
+	}
+	return new ClassFileReader(contents, qualifiedBinaryFileName.toCharArray(), fullyInitialize);
+}
 @Override
 public boolean hasAnnotationFileFor(String qualifiedTypeName) {
 	return this.zipFile.getEntry(qualifiedTypeName+ExternalAnnotationProvider.ANNOTATION_FILE_SUFFIX) != null;
@@ -162,26 +261,19 @@ public boolean hasAnnotationFileFor(String qualifiedTypeName) {
 public char[][][] findTypeNames(final String qualifiedPackageName, String moduleName) {
 	if (!isPackage(qualifiedPackageName, moduleName))
 		return null; // most common case
+	if (qualifiedPackageName.isEmpty())
+		return null;
 	final char[] packageArray = qualifiedPackageName.toCharArray();
 	final ArrayList answers = new ArrayList();
-	nextEntry : for (Enumeration e = this.zipFile.entries(); e.hasMoreElements(); ) {
-		String fileName = ((ZipEntry) e.nextElement()).getName();
-
-		// add the package name & all of its parent packages
+	for (String fileName : getIndex().entriesOf(qualifiedPackageName)) {
 		int last = fileName.lastIndexOf('/');
-		if (last > 0) {
-			// extract the package name
-			String packageName = fileName.substring(0, last);
-			if (!qualifiedPackageName.equals(packageName))
-				continue nextEntry;
-			int indexOfDot = fileName.lastIndexOf('.');
-			if (indexOfDot != -1) {
-				String typeName = fileName.substring(last + 1, indexOfDot);
-				answers.add(
-					CharOperation.arrayConcat(
-						CharOperation.splitOn('/', packageArray),
-						typeName.toCharArray()));
-			}
+		int indexOfDot = fileName.lastIndexOf('.');
+		if (indexOfDot > last) {
+			String typeName = fileName.substring(last + 1, indexOfDot);
+			answers.add(
+				CharOperation.arrayConcat(
+					CharOperation.splitOn('/', packageArray),
+					typeName.toCharArray()));
 		}
 	}
 	int size = answers.size();
@@ -196,7 +288,50 @@ public char[][][] findTypeNames(final String qualifiedPackageName, String module
 @Override
 public void initialize() throws IOException {
 	if (this.zipFile == null) {
-		this.zipFile = new ZipFile(this.file);
+		this.sharedJar = getSharedJar(this.file);
+		this.zipFile = this.sharedJar != null ? this.sharedJar.zipFile : new ZipFile(this.file);
+	}
+}
+/**
+ * Keeps the jars opened from now on open after the compilation ends, so that later compilations
+ * in the same process reuse them as long as they are not modified.
+ */
+public static void shareOpenedJars() {
+	synchronized (ClasspathJar.class) {
+		if (SharedJars == null)
+			SharedJars = new HashMap<>();
+	}
+}
+/**
+ * Closes the jars kept open by {@link #shareOpenedJars()} and stops sharing them.
+ */
+public static void closeSharedJars() {
+	Map<String, SharedJar> jars;
+	synchronized (ClasspathJar.class) {
+		jars = SharedJars;
+		SharedJars = null;
+	}
+	if (jars != null) {
+		for (SharedJar jar : jars.values())
+			jar.close();
+	}
+}
+private static SharedJar getSharedJar(File file) throws IOException {
+	synchronized (ClasspathJar.class) {
+		if (SharedJars == null)
+			return null;
+		String key = file.getAbsolutePath();
+		SharedJar jar = SharedJars.get(key);
+		if (jar != null && !jar.isUpToDate(file)) {
+			SharedJars.remove(key);
+			jar.close();
+			jar = null;
+		}
+		if (jar == null) {
+			jar = new SharedJar(file);
+			SharedJars.put(key, jar);
+		}
+		return jar;
 	}
 }
 void acceptModule(ClassFileReader reader) {
@@ -228,51 +363,60 @@ protected void addToPackageCache(String fileName, boolean endsWithSep) {
 		last = packageName.lastIndexOf('/');
 	}
 }
-@Override
-public synchronized char[][] getModulesDeclaringPackage(String qualifiedPackageName, String moduleName) {
-	if (this.packageCache != null)
-		return singletonModuleNameIf(this.packageCache.contains(qualifiedPackageName));
-
-	this.packageCache = new HashSet<>(41);
-	this.packageCache.add(Util.EMPTY_STRING);
-
-	for (Enumeration e = this.zipFile.entries(); e.hasMoreElements(); ) {
-		String fileName = ((ZipEntry) e.nextElement()).getName();
-		addToPackageCache(fileName, false);
+/*
+ * Answers the index of the entries of this jar, reading it the first time, or taking the one of the shared jar.
+ * Once read, the index is answered without locking, so that concurrent lookups do not wait for each other.
+ */
+JarIndex getIndex() {
+	JarIndex jarIndex = this.index;
+	if (jarIndex == null) {
+		synchronized (this) {
+			jarIndex = this.index;
+			if (jarIndex == null) {
+				SharedJar jar = this.sharedJar;
+				jarIndex = jar != null ? jar.index : null;
+				if (jarIndex == null) {
+					try {
+						jarIndex = JarIndex.read(this.file, this.zipFile);
+					} catch (IOException e) {
+						jarIndex = new JarIndex(Collections.emptyList());
+					}
+					if (jar != null)
+						jar.index = jarIndex;
+				}
+				this.index = jarIndex;
+			}
+		}
 	}
-	return singletonModuleNameIf(this.packageCache.contains(qualifiedPackageName));
+	return jarIndex;
+}
+@Override
+public char[][] getModulesDeclaringPackage(String qualifiedPackageName, String moduleName) {
+	return singletonModuleNameIf(getIndex().containsPackage(qualifiedPackageName));
 }
 @Override
 public boolean hasCompilationUnit(String qualifiedPackageName, String moduleName) {
-	qualifiedPackageName += '/';
-	for (Enumeration<? extends ZipEntry> e = this.zipFile.entries(); e.hasMoreElements(); ) {
-		String fileName = e.nextElement().getName();
-		if (fileName.startsWith(qualifiedPackageName) && fileName.length() > qualifiedPackageName.length()) {
-			String tail = fileName.substring(qualifiedPackageName.length());
-			if (tail.indexOf('/') != -1)
-				continue;
-			if (tail.toLowerCase().endsWith(SUFFIX_STRING_class))
-				return true;
-		}
-	}
-	return false;
+	return !qualifiedPackageName.isEmpty() && getIndex().containsClassFile(qualifiedPackageName);
 }
 
 @Override
 public char[][] listPackages() {
-	Set<String> packageNames = new HashSet<>();
-	for (Enumeration<? extends ZipEntry> e = this.zipFile.entries(); e.hasMoreElements(); ) {
-		String fileName = e.nextElement().getName();
-		int lastSlash = fileName.lastIndexOf('/');
-		if (lastSlash != -1 && fileName.toLowerCase().endsWith(SUFFIX_STRING_class))
-			packageNames.add(fileName.substring(0, lastSlash).replace('/', '.'));
-	}
-	return packageNames.stream().map(String::toCharArray).toArray(char[][]::new);
+	return getIndex().packagesWithClassFiles().stream().map(p -> p.replace('/', '.').toCharArray()).toArray(char[][]::new);
 }
 
 @Override
 public void reset() {
 	super.reset();
+	synchronized (this) {
+		if (this.classFileCache != null) {
+			this.classFileCache.close();
+			this.classFileCache = null;
+		}
+	}
+	if (this.sharedJar != null) {
+		this.sharedJar = null;
+		this.zipFile = null; // kept open for the next compilation
+	}
 	if (this.closeZipFileAtEnd) {
 		if (this.zipFile != null) {
 			try {
@@ -292,6 +436,7 @@ public void reset() {
 		}
 	}
 	this.packageCache = null;
+	this.index = null;
 	this.annotationPaths = null;
 }
 @Override
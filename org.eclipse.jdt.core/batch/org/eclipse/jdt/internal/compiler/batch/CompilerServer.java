@@ -0,0 +1,237 @@
+/*******************************************************************************
+ * Copyright (c) 2021 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.compiler.batch;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+
+/**
+ * A resident batch compiler: compiles the command lines sent by local clients in the same,
+ * long running process, so that the JVM start, the class loading and JIT compilation of the
+ * compiler, the parser tables and the <code>jrt</code> file systems are paid once instead of
+ * once per invocation. The jars on the classpath are kept open with their package index
+ * between compilations, see {@link ClasspathJar#shareOpenedJars()}; everything derived from
+ * the sources is created anew for each compilation, exactly as for the command line compiler.
+ * <p>
+ * The server is started with:
+ * <pre>
+ *    java -cp ecj.jar org.eclipse.jdt.internal.compiler.batch.CompilerServer [-port &lt;port&gt;]
+ * </pre>
+ * It listens on the loopback interface only and prints the port and a secret to the standard
+ * output. Clients must present the secret with each request, and have the same working
+ * directory as the server since relative paths in command lines are resolved against it:
+ * <pre>
+ *    java -cp ecj.jar org.eclipse.jdt.internal.compiler.batch.CompilerServer -connect &lt;port&gt; &lt;secret&gt; &lt;ecj arguments&gt;
+ * </pre>
+ * Requests are compiled one at a time. A request is: the protocol version, the secret, the
+ * working directory and the arguments; the answer is: the exit code, the standard output and
+ * the error output, the strings being written as length prefixed UTF-8. Nothing is read after
+ * a wrong secret, and malformed requests only close their connection.
+ * </p>
+ */
+public class CompilerServer {
+
+	static final int VERSION = 1;
+	static final int EXIT_SUCCESS = 0;
+	static final int EXIT_FAILURE = -1;
+	static final int EXIT_REJECTED = 2;
+	static final int MAX_STRING_LENGTH = 1 << 20; // bytes of a directory or an argument
+	static final int MAX_ARGUMENTS = 1 << 16;
+	static final int DRAIN_TIMEOUT = 1000; // milliseconds
+
+	private final ServerSocket serverSocket;
+	private final String secret;
+	private final File workingDirectory;
+
+public CompilerServer(int port) throws IOException {
+	this.serverSocket = new ServerSocket(port, 50, InetAddress.getLoopbackAddress());
+	byte[] bytes = new byte[16];
+	new SecureRandom().nextBytes(bytes);
+	StringBuilder buffer = new StringBuilder(32);
+	for (byte b : bytes)
+		buffer.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+	this.secret = buffer.toString();
+	this.workingDirectory = new File("").getAbsoluteFile().getCanonicalFile(); //$NON-NLS-1$
+}
+
+public int getPort() {
+	return this.serverSocket.getLocalPort();
+}
+
+public String getSecret() {
+	return this.secret;
+}
+
+/**
+ * Serves requests until the server is closed.
+ */
+public void serve() {
+	ClasspathJar.shareOpenedJars();
+	try {
+		while (!this.serverSocket.isClosed()) {
+			try (Socket socket = this.serverSocket.accept()) {
+				handle(socket);
+			} catch (IOException | RuntimeException e) {
+				// broken connection, malformed request or closed server, the client falls back to compiling by itself
+			}
+		}
+	} finally {
+		ClasspathJar.closeSharedJars();
+	}
+}
+
+public void close() {
+	try {
+		this.serverSocket.close();
+	} catch (IOException e) {
+		// ignore
+	}
+}
+
+private void handle(Socket socket) throws IOException {
+	DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+	DataOutputStream out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+	if (in.readInt() != VERSION) {
+		reject(socket, in, out, "Unsupported compiler server protocol version\n"); //$NON-NLS-1$
+		return;
+	}
+	// check the secret before reading anything else from the client
+	byte[] secretBytes = this.secret.getBytes(StandardCharsets.UTF_8);
+	byte[] clientSecret = readBytes(in, secretBytes.length);
+	// compare in constant time, not to tell how much of a guessed secret is right
+	if (!MessageDigest.isEqual(secretBytes, clientSecret)) {
+		reject(socket, in, out, "Invalid compiler server secret\n"); //$NON-NLS-1$
+		return;
+	}
+	String directory = readString(in, MAX_STRING_LENGTH);
+	int length = in.readInt();
+	if (length < 0 || length > MAX_ARGUMENTS)
+		throw new IOException("Invalid number of arguments: " + length); //$NON-NLS-1$
+	String[] args = new String[length];
+	for (int i = 0; i < args.length; i++)
+		args[i] = readString(in, MAX_STRING_LENGTH);
+	if (!this.workingDirectory.equals(new File(directory).getCanonicalFile())) {
+		reply(out, EXIT_REJECTED, "", "The compiler server runs in " + this.workingDirectory + '\n'); //$NON-NLS-1$ //$NON-NLS-2$
+		return;
+	}
+	StringWriter output = new StringWriter();
+	StringWriter errors = new StringWriter();
+	boolean succeeded;
+	try (PrintWriter outWriter = new PrintWriter(output); PrintWriter errWriter = new PrintWriter(errors)) {
+		succeeded = new Main(outWriter, errWriter, false /* systemExit */, null /* options */, null /* progress */).compile(args);
+	}
+	reply(out, succeeded ? EXIT_SUCCESS : EXIT_FAILURE, output.toString(), errors.toString());
+}
+
+private static void reject(Socket socket, DataInputStream in, DataOutputStream out, String message) throws IOException {
+	reply(out, EXIT_REJECTED, "", message); //$NON-NLS-1$
+	// discard the rest of the request until the client closes the connection after reading the answer,
+	// closing the socket with unread input would reset the connection and could lose the answer
+	socket.shutdownOutput();
+	socket.setSoTimeout(DRAIN_TIMEOUT);
+	byte[] buffer = new byte[8192];
+	while (in.read(buffer) != -1) {
+		// skip
+	}
+}
+
+private static void reply(DataOutputStream out, int exitCode, String output, String errors) throws IOException {
+	out.writeInt(exitCode);
+	writeString(out, output);
+	writeString(out, errors);
+	out.flush();
+}
+
+/**
+ * Sends the given command line to the server listening on the given port and writes the
+ * compiler output to the given writers.
+ * @return the exit code, <code>2</code> when the server rejected the request
+ * @throws IOException when the server cannot be reached
+ */
+public static int compile(int port, String secret, String[] args, PrintWriter outWriter, PrintWriter errWriter) throws IOException {
+	try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), port)) {
+		DataOutputStream out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+		out.writeInt(VERSION);
+		writeString(out, secret);
+		writeString(out, new File("").getAbsolutePath()); //$NON-NLS-1$
+		out.writeInt(args.length);
+		for (String arg : args)
+			writeString(out, arg);
+		out.flush();
+		DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+		int exitCode = in.readInt();
+		outWriter.print(readString(in, Integer.MAX_VALUE));
+		errWriter.print(readString(in, Integer.MAX_VALUE));
+		outWriter.flush();
+		errWriter.flush();
+		return exitCode;
+	}
+}
+
+private static String readString(DataInputStream in, int maxLength) throws IOException {
+	return new String(readBytes(in, maxLength), StandardCharsets.UTF_8);
+}
+
+private static byte[] readBytes(DataInputStream in, int maxLength) throws IOException {
+	int length = in.readInt();
+	if (length < 0 || length > maxLength)
+		throw new IOException("Invalid string length: " + length); //$NON-NLS-1$
+	byte[] bytes = new byte[length];
+	in.readFully(bytes);
+	return bytes;
+}
+
+private static void writeString(DataOutputStream out, String string) throws IOException {
+	byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+	out.writeInt(bytes.length);
+	out.write(bytes);
+}
+
+public static void main(String[] argv) throws IOException {
+	if (argv.length >= 3 && "-connect".equals(argv[0])) { //$NON-NLS-1$
+		String[] args = new String[argv.length - 3];
+		System.arraycopy(argv, 3, args, 0, args.length);
+		int exitCode;
+		try {
+			exitCode = compile(Integer.parseInt(argv[1]), argv[2], args, new PrintWriter(System.out), new PrintWriter(System.err));
+		} catch (IOException e) {
+			exitCode = EXIT_REJECTED;
+		}
+		if (exitCode == EXIT_REJECTED) {
+			// compile in this process instead
+			Main.main(args);
+		}
+		System.exit(exitCode);
+	}
+	int port = 0;
+	if (argv.length == 2 && "-port".equals(argv[0])) //$NON-NLS-1$
+		port = Integer.parseInt(argv[1]);
+	CompilerServer server = new CompilerServer(port);
+	System.out.println(server.getPort() + " " + server.getSecret()); //$NON-NLS-1$
+	System.out.flush();
+	server.serve();
+}
+}
@@ -28,6 +28,7 @@ import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.zip.ZipFile;
@@ -168,6 +169,14 @@ public class FileSystem implements IModuleAwareNameEnvironment, SuffixConstants
 	protected boolean annotationsFromClasspath; // should annotation files be read from the classpath (vs. explicit separate path)?
 	private static HashMap<File, Classpath> JRT_CLASSPATH_CACHE = null;
 	protected Map<String,Classpath> moduleLocations = new HashMap<>();
+	/**
+	 * For each package looked up so far, the classpath entries which may contain its types, in classpath
+	 * order, so that lookups only ask these entries, and misses in packages which no entry contains are
+	 * answered without asking any. Only the entries known to contain nothing but the types of the
+	 * packages they declare are left out.
+	 */
+	private final Map<String, Classpath[]> packageLocations = new ConcurrentHashMap<>();
+	private static final Classpath[] NO_LOCATIONS = new Classpath[0];
 
 	/** Tasks resulting from --add-reads or --add-exports command line options. */
 	Map<String,UpdatesByKind> moduleUpdates = new HashMap<>();
@@ -404,6 +413,7 @@ public void scanForModules(Parser parser) {
 public void cleanup() {
 	for (int i = 0, max = this.classpaths.length; i < max; i++)
 		this.classpaths[i].reset();
+	this.packageLocations.clear(); // the entries are read again by the next compilation
 }
 private static String convertPathSeparators(String path) {
 	return File.separatorChar == '/'
@@ -463,13 +473,14 @@ private NameEnvironmentAnswer internalFindClass(String qualifiedTypeName, char[]
 		}
 		return null;
 	}
+	Classpath[] locations = getPackageLocations(qualifiedPackageName);
 	String qp2 = File.separatorChar == '/' ? qualifiedPackageName : qualifiedPackageName.replace('/', File.separatorChar);
 	NameEnvironmentAnswer suggestedAnswer = null;
 	if (qualifiedPackageName == qp2) {
-		for (int i = 0, length = this.classpaths.length; i < length; i++) {
-			if (!strategy.matches(this.classpaths[i], Classpath::hasModule))
+		for (int i = 0, length = locations.length; i < length; i++) {
+			if (!strategy.matches(locations[i], Classpath::hasModule))
 				continue;
-			NameEnvironmentAnswer answer = this.classpaths[i].findClass(typeName, qualifiedPackageName, null, qualifiedBinaryFileName, asBinaryOnly);
+			NameEnvironmentAnswer answer = locations[i].findClass(typeName, qualifiedPackageName, null, qualifiedBinaryFileName, asBinaryOnly);
 			if (answer != null) {
 				if (answer.moduleName() != null && !this.moduleLocations.containsKey(String.valueOf(answer.moduleName())))
 					continue; // type belongs to an unobservable module
@@ -483,8 +494,8 @@ private NameEnvironmentAnswer internalFindClass(String qualifiedTypeName, char[]
 		}
 	} else {
 		String qb2 = qualifiedBinaryFileName.replace('/', File.separatorChar);
-		for (int i = 0, length = this.classpaths.length; i < length; i++) {
-			Classpath p = this.classpaths[i];
+		for (int i = 0, length = locations.length; i < length; i++) {
+			Classpath p = locations[i];
 			if (!strategy.matches(p, Classpath::hasModule))
 				continue;
 			NameEnvironmentAnswer answer = !(p instanceof ClasspathDirectory)
@@ -504,6 +515,28 @@ private NameEnvironmentAnswer internalFindClass(String qualifiedTypeName, char[]
 	}
 	return suggestedAnswer;
 }
+/*
+ * Answers the classpath entries which may contain types of the given package, see packageLocations.
+ */
+private Classpath[] getPackageLocations(String qualifiedPackageName) {
+	Classpath[] locations = this.packageLocations.get(qualifiedPackageName);
+	if (locations == null) {
+		int count = 0;
+		locations = new Classpath[this.classpaths.length];
+		for (Classpath classpath : this.classpaths) {
+			// these entries only find the types of their packages
+			boolean isIndexed = classpath instanceof ClasspathJar || classpath instanceof ClasspathDirectory || classpath instanceof ClasspathJrt;
+			if (!isIndexed || classpath.isPackage(qualifiedPackageName, null))
+				locations[count++] = classpath;
+		}
+		if (count == 0)
+			locations = NO_LOCATIONS;
+		else if (count < locations.length)
+			System.arraycopy(locations, 0, locations = new Classpath[count], 0, count);
+		this.packageLocations.put(qualifiedPackageName, locations);
+	}
+	return locations;
+}
 
 @Override
 public NameEnvironmentAnswer findType(char[][] compoundName, char[] moduleName) {
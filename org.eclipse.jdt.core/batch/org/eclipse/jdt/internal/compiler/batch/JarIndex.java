@@ -0,0 +1,262 @@
+/*******************************************************************************
+ * Copyright (c) 2021 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.compiler.batch;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+import org.eclipse.jdt.internal.compiler.util.SuffixConstants;
+import org.eclipse.jdt.internal.compiler.util.Util;
+
+/**
+ * The packages and entries of a jar, read once from its central directory and never modified
+ * afterwards, so that the lookups of concurrent compilations need neither locks nor a walk over
+ * the entries of the jar.
+ * <p>
+ * The packages (including the parents of the packages of the entries, and the default package)
+ * are kept sorted for binary searches, the file entries are grouped by package, in the order of the
+ * jar, and hashed by name for the lookups of single entries. The central directory is mapped or read
+ * directly from the file; jars which use the ZIP64 extensions or cannot be read that way are
+ * indexed through the entries of their {@link ZipFile}.
+ * </p>
+ */
+final class JarIndex {
+
+	private static final int END_HEADER_SIGNATURE = 0x06054b50;
+	private static final int END_HEADER_LENGTH = 22;
+	private static final int MAX_COMMENT_LENGTH = 0xFFFF;
+	private static final int CENTRAL_HEADER_SIGNATURE = 0x02014b50;
+	private static final int CENTRAL_HEADER_LENGTH = 46;
+	private static final int MAPPING_THRESHOLD = 256 * 1024; // central directories from this size on are memory mapped
+	private static final boolean CAN_MAP_FILES = File.separatorChar == '/'; // mapped files cannot be deleted on Windows until unmapped
+
+	private final String[] packageNames; // sorted, '/' separated
+	private final int[] packageStarts; // the entries of packageNames[i] are entryNames[packageStarts[i]] to entryNames[packageStarts[i + 1] - 1]
+	private final String[] entryNames; // the names of the file entries, grouped by package
+	private final int[] entryTable; // open addressing table of the indices of entryNames, plus 1, 0 marking free slots
+
+/**
+ * Answers the index of the given jar, read from its central directory if possible, otherwise from
+ * the entries of the given opened zip file.
+ */
+static JarIndex read(File file, ZipFile zipFile) throws IOException {
+	List<String> names = null;
+	try {
+		names = readCentralDirectory(file);
+	} catch (IOException | RuntimeException e) {
+		// not a plain zip file, let ZipFile decide
+	}
+	if (names == null) {
+		names = new ArrayList<>();
+		for (Enumeration<? extends ZipEntry> e = zipFile.entries(); e.hasMoreElements(); )
+			names.add(e.nextElement().getName());
+	}
+	return new JarIndex(names);
+}
+
+/*
+ * Answers the names of the entries listed in the central directory of the given file, or null
+ * if the file is not a zip file this method can read, such as a ZIP64 one.
+ */
+private static List<String> readCentralDirectory(File file) throws IOException {
+	try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+		long size = channel.size();
+		if (size < END_HEADER_LENGTH)
+			return null;
+		int tailLength = (int) Math.min(size, END_HEADER_LENGTH + MAX_COMMENT_LENGTH);
+		ByteBuffer tail = read(channel, size - tailLength, tailLength);
+		int end = -1;
+		for (int i = tailLength - END_HEADER_LENGTH; i >= 0; i--) {
+			if (tail.getInt(i) == END_HEADER_SIGNATURE && i + END_HEADER_LENGTH + (tail.getShort(i + 20) & 0xFFFF) == tailLength) {
+				end = i;
+				break;
+			}
+		}
+		if (end == -1)
+			return null;
+		int entryCount = tail.getShort(end + 10) & 0xFFFF;
+		long directorySize = tail.getInt(end + 12) & 0xFFFFFFFFL;
+		if (entryCount == 0xFFFF || directorySize == 0xFFFFFFFFL || (tail.getInt(end + 16) & 0xFFFFFFFFL) == 0xFFFFFFFFL)
+			return null; // ZIP64
+		// data may precede the zip file (e.g. a launcher script), so rely on the size rather than on the offset of the directory
+		long directoryPosition = size - tailLength + end - directorySize;
+		if (directoryPosition < 0)
+			return null;
+		ByteBuffer directory = directorySize >= MAPPING_THRESHOLD && CAN_MAP_FILES
+				? channel.map(FileChannel.MapMode.READ_ONLY, directoryPosition, directorySize).order(ByteOrder.LITTLE_ENDIAN)
+				: read(channel, directoryPosition, (int) directorySize);
+		List<String> names = new ArrayList<>(entryCount);
+		byte[] nameBytes = new byte[256];
+		int position = 0;
+		for (int i = 0; i < entryCount; i++) {
+			if (position + CENTRAL_HEADER_LENGTH > directorySize || directory.getInt(position) != CENTRAL_HEADER_SIGNATURE)
+				return null;
+			int nameLength = directory.getShort(position + 28) & 0xFFFF;
+			int extraLength = directory.getShort(position + 30) & 0xFFFF;
+			int commentLength = directory.getShort(position + 32) & 0xFFFF;
+			if (nameLength > nameBytes.length)
+				nameBytes = new byte[nameLength];
+			directory.position(position + CENTRAL_HEADER_LENGTH);
+			directory.get(nameBytes, 0, nameLength);
+			names.add(new String(nameBytes, 0, nameLength, StandardCharsets.UTF_8));
+			position += CENTRAL_HEADER_LENGTH + nameLength + extraLength + commentLength;
+		}
+		return names;
+	}
+}
+
+private static ByteBuffer read(FileChannel channel, long position, int length) throws IOException {
+	ByteBuffer buffer = ByteBuffer.allocate(length).order(ByteOrder.LITTLE_ENDIAN);
+	while (buffer.hasRemaining()) {
+		if (channel.read(buffer, position + buffer.position()) < 0)
+			throw new IOException("Unexpected end of file"); //$NON-NLS-1$
+	}
+	buffer.flip();
+	return buffer;
+}
+
+JarIndex(List<String> names) {
+	Map<String, List<String>> entriesByPackage = new HashMap<>();
+	entriesByPackage.put(Util.EMPTY_STRING, new ArrayList<>());
+	int entryCount = 0;
+	for (String name : names) {
+		int last = name.lastIndexOf('/');
+		boolean isDirectory = last == name.length() - 1;
+		String packageName = last > 0 ? name.substring(0, last) : Util.EMPTY_STRING;
+		List<String> entries = entriesByPackage.get(packageName);
+		if (entries == null) {
+			entriesByPackage.put(packageName, entries = new ArrayList<>());
+			// add the parent packages
+			for (int parent = packageName.lastIndexOf('/'); parent > 0; parent = packageName.lastIndexOf('/', parent - 1)) {
+				String parentName = packageName.substring(0, parent);
+				if (entriesByPackage.containsKey(parentName))
+					break;
+				entriesByPackage.put(parentName, new ArrayList<>());
+			}
+		}
+		if (!isDirectory) {
+			entries.add(name);
+			entryCount++;
+		}
+	}
+	this.packageNames = entriesByPackage.keySet().toArray(new String[entriesByPackage.size()]);
+	Arrays.sort(this.packageNames);
+	this.packageStarts = new int[this.packageNames.length + 1];
+	this.entryNames = new String[entryCount];
+	int index = 0;
+	for (int i = 0; i < this.packageNames.length; i++) {
+		this.packageStarts[i] = index;
+		for (String name : entriesByPackage.get(this.packageNames[i]))
+			this.entryNames[index++] = name;
+	}
+	this.packageStarts[this.packageNames.length] = index;
+	this.entryTable = new int[Integer.highestOneBit(Math.max(entryCount, 1) * 2) * 2];
+	int mask = this.entryTable.length - 1;
+	for (int i = 0; i < entryCount; i++) {
+		int slot = this.entryNames[i].hashCode() & mask;
+		while (this.entryTable[slot] != 0) {
+			if (this.entryNames[this.entryTable[slot] - 1].equals(this.entryNames[i]))
+				break; // duplicate entry, the first one wins as in ZipFile
+			slot = (slot + 1) & mask;
+		}
+		if (this.entryTable[slot] == 0)
+			this.entryTable[slot] = i + 1;
+	}
+}
+
+private int indexOfPackage(String qualifiedPackageName) {
+	return Arrays.binarySearch(this.packageNames, qualifiedPackageName);
+}
+
+/**
+ * Answers whether the jar contains the given '/' separated package, either because it has entries
+ * in the package or in one of its subpackages.
+ */
+boolean containsPackage(String qualifiedPackageName) {
+	return indexOfPackage(qualifiedPackageName) >= 0;
+}
+
+/**
+ * Answers whether the jar contains a file entry of the given name.
+ */
+boolean containsEntry(String name) {
+	int mask = this.entryTable.length - 1;
+	for (int slot = name.hashCode() & mask; this.entryTable[slot] != 0; slot = (slot + 1) & mask) {
+		if (this.entryNames[this.entryTable[slot] - 1].equals(name))
+			return true;
+	}
+	return false;
+}
+
+/**
+ * Answers the names of the file entries of the given package, excluding its subpackages, in the
+ * order of the jar.
+ */
+String[] entriesOf(String qualifiedPackageName) {
+	int index = indexOfPackage(qualifiedPackageName);
+	if (index < 0)
+		return new String[0];
+	return Arrays.copyOfRange(this.entryNames, this.packageStarts[index], this.packageStarts[index + 1]);
+}
+
+/**
+ * Answers whether the given package directly contains a class file.
+ */
+boolean containsClassFile(String qualifiedPackageName) {
+	int index = indexOfPackage(qualifiedPackageName);
+	if (index < 0)
+		return false;
+	for (int i = this.packageStarts[index], end = this.packageStarts[index + 1]; i < end; i++) {
+		if (isClassFileName(this.entryNames[i]))
+			return true;
+	}
+	return false;
+}
+
+/**
+ * Answers the '/' separated names of the named packages which directly contain a class file.
+ */
+List<String> packagesWithClassFiles() {
+	List<String> result = new ArrayList<>();
+	for (int i = 0; i < this.packageNames.length; i++) {
+		if (this.packageNames[i].isEmpty())
+			continue;
+		for (int j = this.packageStarts[i], end = this.packageStarts[i + 1]; j < end; j++) {
+			if (isClassFileName(this.entryNames[j])) {
+				result.add(this.packageNames[i]);
+				break;
+			}
+		}
+	}
+	return result;
+}
+
+private static boolean isClassFileName(String name) {
+	int suffixLength = SuffixConstants.SUFFIX_STRING_class.length();
+	return name.regionMatches(true, name.length() - suffixLength, SuffixConstants.SUFFIX_STRING_class, 0, suffixLength);
+}
+}
@@ -1058,6 +1058,47 @@ public class Main implements ProblemSeverities, SuffixConstants {
 								String.valueOf(compilerStats.generateTime),
 								String.valueOf(((int) (compilerStats.generateTime * 1000.0 / time)) / 10.0),
 							}));
+				if (compilerStats.processingStallTime != 0 || compilerStats.acceptingStallTime != 0) {
+					printlnOut(
+							this.main.bind("compile.stallTime", //$NON-NLS-1$
+								new String[] {
+									String.valueOf(compilerStats.processingStallTime),
+									String.valueOf(compilerStats.acceptingStallTime),
+								}));
+				}
+				if (compilerStats.internedTypes != 0) {
+					printlnOut(
+							this.main.bind("compile.internedTypes", //$NON-NLS-1$
+								new String[] {
+									String.valueOf(compilerStats.internedTypes),
+									String.valueOf(compilerStats.internedParameterizedTypes),
+									String.valueOf(compilerStats.internedRawTypes),
+									String.valueOf(compilerStats.internedArrayTypes),
+									String.valueOf(compilerStats.internedWildcards),
+									String.valueOf(compilerStats.internedIntersectionTypes),
+									String.valueOf(compilerStats.internedAnnotatedTypes),
+								}));
+				}
+				if (compilerStats.inferenceCacheHits != 0 || compilerStats.inferenceCacheMisses != 0) {
+					printlnOut(
+							this.main.bind("compile.inferenceCache", //$NON-NLS-1$
+								new String[] {
+									String.valueOf(compilerStats.inferenceCacheHits),
+									String.valueOf(compilerStats.inferenceCacheMisses),
+								}));
+				}
+				if (compilerStats.incorporatedBoundPairs != 0) {
+					printlnOut(
+							this.main.bind("compile.boundIncorporation", //$NON-NLS-1$
+								String.valueOf(compilerStats.incorporatedBoundPairs),
+								String.valueOf(compilerStats.skippedBoundPairs)));
+				}
+				if (compilerStats.classFileBytes != 0) {
+					printlnOut(
+							this.main.bind("compile.classFileBytes", //$NON-NLS-1$
+								String.valueOf(compilerStats.classFileBytes),
+								String.valueOf(compilerStats.classFileBytesCopied)));
+				}
 			}
 		}
 
@@ -1414,13 +1455,15 @@ public class Main implements ProblemSeverities, SuffixConstants {
 	//          source files;
 	// == Main.NONE: absorbent element, do not output class files;
 	// else: use as the path of the directory into which class files must
-	//       be written.
+	//       be written, or of the jar or zip archive they are written to
+	//       (see ClassFileJarWriter).
 	protected boolean enablePreview;
 	protected String releaseVersion;
 	private boolean didSpecifySource;
 	private boolean didSpecifyTarget;
 	public String[] encodings;
 	public int exportedClassFilesCounter;
+	private Map<String, ClassFileJarWriter> jarWriters; // the archives given as destination paths
 	public String[] filenames;
 	public String[] modNames;
 	public String[] classNames;
@@ -4671,6 +4714,9 @@ public void outputClassFiles(CompilationResult unitResult) {
 			generateClasspathStructure = true;
 		} // else leave currentDestinationPath null
 		if (currentDestinationPath != null) {
+			boolean writeToArchive = ClassFileJarWriter.isArchive(currentDestinationPath);
+			if (writeToArchive) // the class files of a unit come in no particular order
+				Arrays.sort(classFiles, (classFile1, classFile2) -> CharOperation.compareTo(classFile1.fileName(), classFile2.fileName()));
 			for (int i = 0, fileCount = classFiles.length; i < fileCount; i++) {
 				// retrieve the key and the corresponding classfile
 				ClassFile classFile = classFiles[i];
@@ -4690,11 +4736,16 @@ public void outputClassFiles(CompilationResult unitResult) {
 									String.valueOf(this.exportedClassFilesCounter+1),
 									relativeStringName
 								}));
-					Util.writeToDisk(
-						generateClasspathStructure,
-						currentDestinationPath,
-						relativeStringName,
-						classFile);
+					if (writeToArchive) {
+						// the bytes are copied, as the class file is reused once released
+						getJarWriter(currentDestinationPath).add(new String(filename) + SuffixConstants.SUFFIX_STRING_class, classFile.getBytes());
+					} else {
+						Util.writeToDisk(
+							generateClasspathStructure,
+							currentDestinationPath,
+							relativeStringName,
+							classFile);
+					}
 					this.logger.logClassFile(
 						generateClasspathStructure,
 						currentDestinationPath,
@@ -4704,9 +4755,34 @@ public void outputClassFiles(CompilationResult unitResult) {
 					this.logger.logNoClassFileCreated(currentDestinationPath, relativeStringName, e);
 				}
 			}
-			this.batchCompiler.lookupEnvironment.releaseClassFiles(classFiles);
 		}
+		// also when no class file is written, so that the class files of the next units are reused
+		this.batchCompiler.lookupEnvironment.releaseClassFiles(classFiles);
+	}
+}
+private ClassFileJarWriter getJarWriter(String archivePath) throws IOException {
+	if (this.jarWriters == null)
+		this.jarWriters = new HashMap<>();
+	ClassFileJarWriter writer = this.jarWriters.get(archivePath);
+	if (writer == null) {
+		writer = new ClassFileJarWriter(new File(archivePath), ClassFileJarWriter.getEntryTime());
+		this.jarWriters.put(archivePath, writer);
 	}
+	return writer;
+}
+private void closeJarWriters() {
+	if (this.jarWriters == null)
+		return;
+	for (Map.Entry<String, ClassFileJarWriter> entry : this.jarWriters.entrySet()) {
+		ClassFileJarWriter writer = entry.getValue();
+		try {
+			writer.close();
+		} catch (IOException e) {
+			String entryName = writer.getFailedEntryName();
+			this.logger.logNoClassFileCreated(entry.getKey(), entryName == null ? "" : entryName.replace('/', File.separatorChar), e); //$NON-NLS-1$
+		}
+	}
+	this.jarWriters = null;
 }
 /*
  *  Low-level API performing the actual compilation
@@ -4715,6 +4791,7 @@ public void performCompilation() {
 	this.startTime = System.currentTimeMillis();
 
 	FileSystem environment = getLibraryAccess();
+	PrintWriter metricsWriter = null;
 	try {
 		this.compilerOptions = new CompilerOptions(this.options);
 		this.compilerOptions.performMethodsFullRecovery = false;
@@ -4732,6 +4809,17 @@ public void performCompilation() {
 		// temporary code to allow the compiler to revert to a single thread
 		String setting = System.getProperty("jdt.compiler.useSingleThread"); //$NON-NLS-1$
 		this.batchCompiler.useSingleThread = setting != null && setting.equals("true"); //$NON-NLS-1$
+		// write the metrics of each unit as JSON lines to the given file
+		String metricsFile = System.getProperty("jdt.compiler.metrics"); //$NON-NLS-1$
+		if (metricsFile != null) {
+			try {
+				metricsWriter = new PrintWriter(new OutputStreamWriter(new FileOutputStream(metricsFile, this.currentRepetition > 0), "UTF-8")); //$NON-NLS-1$
+				final PrintWriter writer = metricsWriter;
+				this.batchCompiler.listener = metrics -> writer.println(metrics.toJson());
+			} catch (IOException e) {
+				this.logger.logException(e);
+			}
+		}
 
 		if (this.compilerOptions.complianceLevel >= ClassFileConstants.JDK1_6
 				&& this.compilerOptions.processAnnotations) {
@@ -4758,6 +4846,7 @@ public void performCompilation() {
 		} finally {
 			this.logger.endLoggingSources();
 		}
+		closeJarWriters();
 
 		if (this.extraProblems != null) {
 			loggingExtraProblems();
@@ -4770,7 +4859,10 @@ public void performCompilation() {
 	}
 	finally {
 	// cleanup
+		closeJarWriters();
 		environment.cleanup();
+		if (metricsWriter != null)
+			metricsWriter.close();
 	}
 }
 protected void loggingExtraProblems() {
@@ -229,6 +229,7 @@ import org.eclipse.jdt.internal.compiler.problem.AbortCompilation;
 import org.eclipse.jdt.internal.compiler.problem.DefaultProblemFactory;
 import org.eclipse.jdt.internal.compiler.problem.ProblemReporter;
 import org.eclipse.jdt.internal.compiler.problem.ProblemSeverities;
+import org.eclipse.jdt.internal.compiler.util.FlightRecorderEvent;
 import org.eclipse.jdt.internal.compiler.util.HashtableOfObject;
 import org.eclipse.jdt.internal.compiler.util.ObjectVector;
 import org.eclipse.jdt.internal.compiler.util.SimpleSetOfCharArray;
@@ -635,6 +636,9 @@ public final class CompletionEngine
 	public static boolean DEBUG = false;
 	public static boolean PERF = false;
 
+	private static final FlightRecorderEvent COMPLETE_EVENT = FlightRecorderEvent.define("Complete", "Code Completion", //$NON-NLS-1$ //$NON-NLS-2$
+			new String[] { "fileName", "position" }, new Class<?>[] { String.class, int.class }); //$NON-NLS-1$ //$NON-NLS-2$
+
 	private static final char[] KNOWN_TYPE_WITH_UNKNOWN_CONSTRUCTORS = new char[]{};
 	private static final char[] KNOWN_TYPE_WITH_KNOWN_CONSTRUCTORS = new char[]{};
 
@@ -2064,6 +2068,7 @@ public final class CompletionEngine
 		if (this.monitor != null) this.monitor.beginTask(Messages.engine_completing, IProgressMonitor.UNKNOWN);
 		this.requestor.beginReporting();
 		boolean contextAccepted = false;
+		Object event = COMPLETE_EVENT.begin();
 		try {
 			this.fileName = sourceUnit.getFileName();
 			this.actualCompletionPosition = completionPosition - 1;
@@ -2348,6 +2353,8 @@ public final class CompletionEngine
 			this.requestor.endReporting();
 			if (this.monitor != null) this.monitor.done();
 			reset();
+			if (event != null)
+				COMPLETE_EVENT.commit(event, new String(sourceUnit.getFileName()), Integer.valueOf(completionPosition));
 		}
 	}
 
@@ -32,6 +32,11 @@
  *******************************************************************************/
 package org.eclipse.jdt.internal.compiler;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.GatheringByteChannel;
+import java.nio.channels.WritableByteChannel;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
@@ -161,6 +166,9 @@ public class ClassFile implements TypeConstants, TypeIds {
 	public byte[] header;
 	// that collection contains all the remaining bytes of the .class file
 	public int headerOffset;
+
+	// bytes copied while growing the buffers of this class file, or joining them into a single array
+	public long bytesCopied;
 	public Map<TypeBinding, Boolean> innerClassesBindings;
 	public List<ASTNode> bootstrapMethods = null;
 	public int methodCount;
@@ -5620,9 +5628,39 @@ public class ClassFile implements TypeConstants, TypeIds {
 			this.bytes = new byte[this.headerOffset + this.contentsOffset];
 			System.arraycopy(this.header, 0, this.bytes, 0, this.headerOffset);
 			System.arraycopy(this.contents, 0, this.bytes, this.headerOffset, this.contentsOffset);
+			this.bytesCopied += this.bytes.length;
 		}
 		return this.bytes;
 	}
+
+	/**
+	 * Writes the bytes of the class file to the given stream, without joining them into a single array
+	 * as {@link #getBytes()} does.
+	 */
+	public void writeTo(OutputStream output) throws IOException {
+		output.write(this.header, 0, this.headerOffset);
+		output.write(this.contents, 0, this.contentsOffset);
+	}
+
+	/**
+	 * Writes the bytes of the class file to the given channel, without joining them into a single array
+	 * as {@link #getBytes()} does.
+	 */
+	public void writeTo(WritableByteChannel channel) throws IOException {
+		ByteBuffer[] buffers = {
+			ByteBuffer.wrap(this.header, 0, this.headerOffset),
+			ByteBuffer.wrap(this.contents, 0, this.contentsOffset)
+		};
+		if (channel instanceof GatheringByteChannel) {
+			GatheringByteChannel gatheringChannel = (GatheringByteChannel) channel;
+			while (buffers[0].hasRemaining() || buffers[1].hasRemaining())
+				gatheringChannel.write(buffers);
+		} else {
+			for (ByteBuffer buffer : buffers)
+				while (buffer.hasRemaining())
+					channel.write(buffer);
+		}
+	}
 	/**
 	 * EXTERNAL API
 	 * Answer the compound name of the class file.
@@ -6074,6 +6112,7 @@ public class ClassFile implements TypeConstants, TypeIds {
 			this.produceAttributes |= ClassFileConstants.ATTR_STACK_MAP;
 		}
 		this.bytes = null;
+		this.bytesCopied = 0;
 		this.constantPool.reset();
 		this.codeStream.reset(this);
 		this.constantPoolOffset = 0;
@@ -6102,6 +6141,7 @@ public class ClassFile implements TypeConstants, TypeIds {
 		if (toAdd < minimalSize)
 			toAdd = minimalSize;
 		System.arraycopy(this.contents, 0, this.contents = new byte[length + toAdd], 0, length);
+		this.bytesCopied += length;
 	}
 
 	private VerificationTypeInfo retrieveLocal(int currentPC, int resolvedPosition) {
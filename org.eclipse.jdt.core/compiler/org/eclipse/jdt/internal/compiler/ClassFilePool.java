@@ -19,8 +19,16 @@ import org.eclipse.jdt.internal.compiler.impl.CompilerOptions;
 import org.eclipse.jdt.internal.compiler.lookup.ModuleBinding;
 import org.eclipse.jdt.internal.compiler.lookup.SourceTypeBinding;
 
+/**
+ * The class files of a lookup environment, reused once released so that their buffers, grown to the size
+ * of the largest classes generated so far, do not have to be allocated and grown again.
+ * <p>
+ * The number of pooled class files is read from the <code>jdt.compiler.classFilePool</code> system property;
+ * class files acquired while all the pooled ones are in use are not reused.
+ * </p>
+ */
 public class ClassFilePool {
-	public static final int POOL_SIZE = 25; // need to have enough for 2 units
+	public static final int POOL_SIZE = Math.max(Integer.getInteger("jdt.compiler.classFilePool", 25).intValue(), 0); // need to have enough for 2 units //$NON-NLS-1$
 	ClassFile[] classFiles;
 
 private ClassFilePool() {
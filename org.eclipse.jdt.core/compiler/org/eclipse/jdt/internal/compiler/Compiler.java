@@ -37,6 +37,7 @@ public class Compiler implements ITypeRequestor, ProblemSeverities {
 	public ProblemReporter problemReporter;
 	protected PrintWriter out; // output for messages that are not sent to problemReporter
 	public CompilerStats stats;
+	public ICompilerListener listener; // notified of the metrics of each unit, or null when units are not measured
 	public CompilationProgress progress;
 	public int remainingIterations = 1;
 
@@ -52,12 +53,19 @@ public class Compiler implements ITypeRequestor, ProblemSeverities {
 
 	// ONCE STABILIZED, THESE SHOULD RETURN TO A FINAL FIELD
 	public static boolean DEBUG = false;
+
+	private static final FlightRecorderEvent COMPILE_EVENT = FlightRecorderEvent.define("Compile", "Compile", //$NON-NLS-1$ //$NON-NLS-2$
+			new String[] { "units", "lines" }, new Class<?>[] { int.class, long.class }); //$NON-NLS-1$ //$NON-NLS-2$
+	private static final FlightRecorderEvent PROCESS_EVENT = FlightRecorderEvent.define("CompileUnit", "Compile Unit", //$NON-NLS-1$ //$NON-NLS-2$
+			new String[] { "fileName", "lines", "classFileBytes" }, new Class<?>[] { String.class, int.class, long.class }); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
 	public int parseThreshold = -1;
 
 	public AbstractAnnotationProcessorManager annotationProcessorManager;
 	public int annotationProcessorStartIndex = 0;
 	public ReferenceBinding[] referenceBindings;
 	public boolean useSingleThread = true; // by default the compiler will not use worker threads to read/process/write
+	// number of worker threads parsing method bodies ahead of the processing thread (0: none), ignored when useSingleThread is set
+	public int workerThreads = Integer.getInteger("jdt.compiler.workerThreads", 0).intValue(); //$NON-NLS-1$
 
 	// number of initial units parsed at once (-1: none)
 
@@ -432,6 +440,9 @@ public class Compiler implements ITypeRequestor, ProblemSeverities {
 	 */
 	private void compile(ICompilationUnit[] sourceUnits, boolean lastRound) {
 		this.stats.startTime = System.currentTimeMillis();
+		Object event = COMPILE_EVENT.begin();
+		int unitCount = sourceUnits.length;
+		long lineCount = this.stats.lineCount;
 		try {
 			// build and record parsed units
 			reportProgress(Messages.compilation_beginningToCompile);
@@ -475,6 +486,9 @@ public class Compiler implements ITypeRequestor, ProblemSeverities {
 			processCompiledUnits(0, lastRound);
 		} catch (AbortCompilation e) {
 			this.handleInternalException(e, null);
+		} finally {
+			if (event != null)
+				COMPILE_EVENT.commit(event, Integer.valueOf(unitCount), Long.valueOf(this.stats.lineCount - lineCount));
 		}
 		if (this.options.verbose) {
 			if (this.totalUnits > 1) {
@@ -585,7 +599,7 @@ public class Compiler implements ITypeRequestor, ProblemSeverities {
 					reportWorked(1, i);
 					this.stats.lineCount += unit.compilationResult.lineSeparatorPositions.length;
 					long acceptStart = System.currentTimeMillis();
-					this.requestor.acceptResult(unit.compilationResult.tagAsAccepted());
+					acceptResult(unit.compilationResult);
 					this.stats.generateTime += System.currentTimeMillis() - acceptStart; // record accept time as part of generation
 					if (this.options.verbose)
 						this.out.println(
@@ -612,7 +626,7 @@ public class Compiler implements ITypeRequestor, ProblemSeverities {
 					if (unit == null) break;
 					reportWorked(1, acceptedCount++);
 					this.stats.lineCount += unit.compilationResult.lineSeparatorPositions.length;
-					this.requestor.acceptResult(unit.compilationResult.tagAsAccepted());
+					acceptResult(unit.compilationResult);
 					if (this.options.verbose)
 						this.out.println(
 							Messages.bind(Messages.compilation_done,
@@ -645,6 +659,7 @@ public class Compiler implements ITypeRequestor, ProblemSeverities {
 				processingTask.shutdown();
 				processingTask = null;
 			}
+			this.lookupEnvironment.recordStatistics(this.stats);
 			reset();
 			this.annotationProcessorStartIndex  = 0;
 			this.stats.endTime = System.currentTimeMillis();
@@ -652,6 +667,28 @@ public class Compiler implements ITypeRequestor, ProblemSeverities {
 		}
 	}
 
+	private void acceptResult(CompilationResult result) {
+		CompilationUnitMetrics metrics = result.metrics;
+		ClassFile[] classFiles = result.getClassFiles();
+		for (ClassFile classFile : classFiles) {
+			this.stats.classFileBytes += classFile.headerOffset + classFile.contentsOffset;
+			this.stats.classFileBytesCopied += classFile.bytesCopied;
+		}
+		if (metrics == null) {
+			this.requestor.acceptResult(result.tagAsAccepted());
+			return;
+		}
+		for (ClassFile classFile : classFiles) {
+			metrics.classFileCount++;
+			metrics.classFileBytes += classFile.headerOffset + classFile.contentsOffset;
+			metrics.classFileBytesCopied += classFile.bytesCopied;
+		}
+		metrics.startPhase();
+		this.requestor.acceptResult(result.tagAsAccepted());
+		metrics.endPhase(CompilationUnitMetrics.ACCEPT);
+		this.listener.unitCompleted(metrics);
+	}
+
 	public synchronized CompilationUnitDeclaration getUnitToProcess(int next) {
 		if (next < this.totalUnits) {
 			CompilationUnitDeclaration unit = this.unitsToProcess[next];
@@ -843,6 +880,11 @@ public class Compiler implements ITypeRequestor, ProblemSeverities {
 				// diet parsing for large collection of units
 				CompilationUnitDeclaration parsedUnit;
 				unitResult = new CompilationResult(sourceUnits[i], i, maxUnits, this.options.maxProblemsPerUnit);
+				CompilationUnitMetrics metrics = null;
+				if (this.listener != null) {
+					metrics = unitResult.metrics = new CompilationUnitMetrics(unitResult.fileName);
+					metrics.startPhase();
+				}
 				long parseStart = System.currentTimeMillis();
 				if (this.totalUnits < this.parseThreshold) {
 					parsedUnit = this.parser.parse(sourceUnits[i], unitResult);
@@ -851,9 +893,13 @@ public class Compiler implements ITypeRequestor, ProblemSeverities {
 				}
 				long resolveStart = System.currentTimeMillis();
 				this.stats.parseTime += resolveStart - parseStart;
+				if (metrics != null)
+					metrics.endPhase(CompilationUnitMetrics.PARSE);
 				// initial type binding creation
 				this.lookupEnvironment.buildTypeBindings(parsedUnit, null /*no access restriction*/);
 				this.stats.resolveTime += System.currentTimeMillis() - resolveStart;
+				if (metrics != null)
+					metrics.endPhase(CompilationUnitMetrics.RESOLVE);
 				addCompilationUnit(sourceUnits[i], parsedUnit);
 				ImportReference currentPackage = parsedUnit.currentPackage;
 				if (currentPackage != null) {
@@ -883,12 +929,24 @@ public class Compiler implements ITypeRequestor, ProblemSeverities {
 	 */
 	public void process(CompilationUnitDeclaration unit, int i) {
 		this.lookupEnvironment.unitBeingCompleted = unit;
+		CompilationUnitMetrics metrics = unit.compilationResult.metrics;
+		LookupEnvironment environment = this.lookupEnvironment;
+		long typeLookupHits = environment.typeLookupHits;
+		long typeLookupMisses = environment.typeLookupMisses;
+		int inferenceCount = environment.inferenceCount;
+		int inferenceCacheHits = environment.inferenceCacheHits;
+		long incorporatedBoundPairs = environment.incorporatedBoundPairs;
+		if (metrics != null)
+			metrics.startPhase();
+		Object event = PROCESS_EVENT.begin();
 		long parseStart = System.currentTimeMillis();
 
 		this.parser.getMethodBodies(unit);
 
 		long resolveStart = System.currentTimeMillis();
 		this.stats.parseTime += resolveStart - parseStart;
+		if (metrics != null)
+			metrics.endPhase(CompilationUnitMetrics.PARSE);
 
 		// fault in fields & methods
 		if (unit.scope != null)
@@ -903,12 +961,16 @@ public class Compiler implements ITypeRequestor, ProblemSeverities {
 
 		long analyzeStart = System.currentTimeMillis();
 		this.stats.resolveTime += analyzeStart - resolveStart;
+		if (metrics != null)
+			metrics.endPhase(CompilationUnitMetrics.RESOLVE);
 
 		//No need of analysis or generation of code if statements are not required
 		if (!this.options.ignoreMethodBodies) unit.analyseCode(); // flow analysis
 
 		long generateStart = System.currentTimeMillis();
 		this.stats.analyzeTime += generateStart - analyzeStart;
+		if (metrics != null)
+			metrics.endPhase(CompilationUnitMetrics.ANALYZE);
 
 		if (!this.options.ignoreMethodBodies) unit.generateCode(); // code generation
 
@@ -920,6 +982,21 @@ public class Compiler implements ITypeRequestor, ProblemSeverities {
 		unit.finalizeProblems();
 
 		this.stats.generateTime += System.currentTimeMillis() - generateStart;
+		if (metrics != null) {
+			metrics.endPhase(CompilationUnitMetrics.GENERATE);
+			metrics.typeLookupHits += environment.typeLookupHits - typeLookupHits;
+			metrics.typeLookupMisses += environment.typeLookupMisses - typeLookupMisses;
+			metrics.inferenceCount += environment.inferenceCount - inferenceCount;
+			metrics.inferenceCacheHits += environment.inferenceCacheHits - inferenceCacheHits;
+			metrics.incorporatedBoundPairs += environment.incorporatedBoundPairs - incorporatedBoundPairs;
+		}
+		if (event != null) {
+			long classFileBytes = 0;
+			for (ClassFile classFile : unit.compilationResult.getClassFiles())
+				classFileBytes += classFile.headerOffset + classFile.contentsOffset;
+			int[] lineEnds = unit.compilationResult.lineSeparatorPositions;
+			PROCESS_EVENT.commit(event, new String(unit.getFileName()), Integer.valueOf(lineEnds == null ? 0 : lineEnds.length), Long.valueOf(classFileBytes));
+		}
 
 		// refresh the total number of units known at this stage
 		unit.compilationResult.totalUnitsKnown = this.totalUnits;
@@ -0,0 +1,29 @@
+/*******************************************************************************
+ * Copyright (c) 2021 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.compiler;
+
+import org.eclipse.jdt.internal.compiler.impl.CompilationUnitMetrics;
+
+/**
+ * A listener notified of the measurements of each compilation unit, see {@link Compiler#listener}.
+ * Measuring has a cost, so units are only measured when the compiler has a listener.
+ */
+public interface ICompilerListener {
+
+	/**
+	 * Notifies the listener that the result of a unit has been accepted. This is called
+	 * from the thread which accepts the results.
+	 */
+	void unitCompleted(CompilationUnitMetrics metrics);
+}
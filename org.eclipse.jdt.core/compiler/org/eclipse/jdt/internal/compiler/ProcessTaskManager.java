@@ -14,32 +14,67 @@
 
 package org.eclipse.jdt.internal.compiler;
 
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.eclipse.jdt.internal.compiler.ast.ASTNode;
 import org.eclipse.jdt.internal.compiler.ast.CompilationUnitDeclaration;
+import org.eclipse.jdt.internal.compiler.parser.Parser;
+import org.eclipse.jdt.internal.compiler.problem.ProblemReporter;
 import org.eclipse.jdt.internal.compiler.util.Messages;
 
 public class ProcessTaskManager implements Runnable {
 
 	Compiler compiler;
 	private int unitIndex;
-	private Thread processingThread;
-	CompilationUnitDeclaration unitToProcess;
-	private Throwable caughtException;
+	private volatile Thread processingThread;
+	volatile CompilationUnitDeclaration unitToProcess;
+	private volatile Throwable caughtException;
 
 	// queue
-	volatile int currentIndex, availableIndex, size, sleepCount;
-	CompilationUnitDeclaration[] units;
+	final RingBuffer<CompilationUnitDeclaration> processedUnits;
 
 	public static final int PROCESSED_QUEUE_SIZE = 12;
+	public static final int MAX_PROCESSED_QUEUE_SIZE = 64; // the queue only grows when processing and writing alternate stalls
+
+	// method bodies parsed ahead of processing by the worker threads
+	private ExecutorService parsingWorkers;
+	private ThreadLocal<Parser> workerParser;
+	private Map<CompilationUnitDeclaration, Future<?>> parsedUnits; // only accessed by the processing thread
+	private int nextUnitToParse;
+	private int parseAheadSize;
+
+	public static final int PARSE_AHEAD_PER_WORKER = 4;
 
 public ProcessTaskManager(Compiler compiler, int startingIndex) {
 	this.compiler = compiler;
 	this.unitIndex = startingIndex;
 
-	this.currentIndex = 0;
-	this.availableIndex = 0;
-	this.size = PROCESSED_QUEUE_SIZE;
-	this.sleepCount = 0; // 0 is no one, +1 is the processing thread & -1 is the writing/main thread
-	this.units = new CompilationUnitDeclaration[this.size];
+	// resolution, analysis and generation share the lookup environment and must stay on the processing thread,
+	// but the method bodies of the units waiting to be processed can be parsed concurrently
+	int workers = compiler.workerThreads;
+	if (workers > 0 && compiler.parser.getClass() == Parser.class) {
+		this.parsingWorkers = Executors.newFixedThreadPool(workers, runnable -> {
+			Thread thread = new Thread(runnable, "Compiler Method Body Parser"); //$NON-NLS-1$
+			thread.setDaemon(true);
+			return thread;
+		});
+		this.workerParser = ThreadLocal.withInitial(() -> {
+			ProblemReporter reporter = this.compiler.problemReporter;
+			return new Parser(
+				new ProblemReporter(reporter.policy, this.compiler.options, reporter.problemFactory),
+				this.compiler.options.parseLiteralExpressionsAsConstants);
+		});
+		this.parsedUnits = new HashMap<>();
+		this.nextUnitToParse = startingIndex;
+		this.parseAheadSize = workers * PARSE_AHEAD_PER_WORKER;
+	}
+
+	this.processedUnits = new RingBuffer<>(PROCESSED_QUEUE_SIZE, MAX_PROCESSED_QUEUE_SIZE);
 
 	synchronized (this) {
 		this.processingThread = new Thread(this, "Compiler Processing Task"); //$NON-NLS-1$
@@ -48,66 +83,15 @@ public ProcessTaskManager(Compiler compiler, int startingIndex) {
 	}
 }
 
-// add unit to the queue - wait if no space is available
-private synchronized void addNextUnit(CompilationUnitDeclaration newElement) {
-	while (this.units[this.availableIndex] != null) {
-		//System.out.print('a');
-		//if (this.sleepCount < 0) throw new IllegalStateException(Integer.valueOf(this.sleepCount).toString());
-		this.sleepCount = 1;
-		try {
-			wait(250);
-		} catch (InterruptedException ignore) {
-			// ignore
-		}
-		this.sleepCount = 0;
-	}
-
-	this.units[this.availableIndex++] = newElement;
-	if (this.availableIndex >= this.size)
-		this.availableIndex = 0;
-	if (this.sleepCount <= -1)
-		notify(); // wake up writing thread to accept next unit - could be the last one - must avoid deadlock
-}
-
 public CompilationUnitDeclaration removeNextUnit() throws Error {
-	CompilationUnitDeclaration next = null;
-	boolean yield = false;
-	synchronized (this) {
-		next = this.units[this.currentIndex];
-		if (next == null || this.caughtException != null) {
-			do {
-				if (this.processingThread == null) {
-					if (this.caughtException != null) {
-						// rethrow the caught exception from the processingThread in the main compiler thread
-						if (this.caughtException instanceof Error)
-							throw (Error) this.caughtException;
-						throw (RuntimeException) this.caughtException;
-					}
-					return null;
-				}
-				//System.out.print('r');
-				//if (this.sleepCount > 0) throw new IllegalStateException(Integer.valueOf(this.sleepCount).toString());
-				this.sleepCount = -1;
-				try {
-					wait(100);
-				} catch (InterruptedException ignore) {
-					// ignore
-				}
-				this.sleepCount = 0;
-				next = this.units[this.currentIndex];
-			} while (next == null);
-		}
-
-		this.units[this.currentIndex++] = null;
-		if (this.currentIndex >= this.size)
-			this.currentIndex = 0;
-		if (this.sleepCount >= 1 && ++this.sleepCount > 4) {
-			notify(); // wake up processing thread to add next unit but only after removing some elements first
-			yield = this.sleepCount > 8;
-		}
+	// waits if no units are in the queue, until the processing thread is done
+	CompilationUnitDeclaration next = this.caughtException == null ? this.processedUnits.take() : null;
+	if (this.caughtException != null) {
+		// rethrow the caught exception from the processingThread in the main compiler thread
+		if (this.caughtException instanceof Error)
+			throw (Error) this.caughtException;
+		throw (RuntimeException) this.caughtException;
 	}
-	if (yield)
-		Thread.yield();
 	return next;
 }
 
@@ -125,6 +109,7 @@ public void run() {
 				this.unitToProcess = this.compiler.getUnitToProcess(this.unitIndex);
 				if (this.unitToProcess == null) {
 					this.processingThread = null;
+					this.processedUnits.close(); // no more units, let the main compiler thread drain the queue
 					return;
 				}
 				index = this.unitIndex++;
@@ -133,6 +118,10 @@ public void run() {
 			}
 
 			try {
+				if (this.parsingWorkers != null) {
+					parseAhead(index + 1);
+					waitForMethodBodies(this.unitToProcess);
+				}
 				this.compiler.reportProgress(Messages.bind(Messages.compilation_processing, new String(this.unitToProcess.getFileName())));
 				if (this.compiler.options.verbose)
 					this.compiler.out.println(
@@ -149,31 +138,92 @@ public void run() {
 					this.unitToProcess.cleanUp();
 			}
 
-			addNextUnit(this.unitToProcess);
+			if (!this.processedUnits.put(this.unitToProcess)) // waits if no space is available
+				return; // shut down
 		} catch (Error | RuntimeException e) {
 			synchronized (this) {
 				this.processingThread = null;
 				this.caughtException = e;
 			}
+			this.processedUnits.close();
 			return;
 		}
 	}
 }
 
+/*
+ * Submit the units following the one being processed to the parsing workers, up to the parse ahead limit.
+ * Units added by the lookup environment while processing are picked up as soon as they are known.
+ */
+private void parseAhead(int start) {
+	if (this.nextUnitToParse < start)
+		this.nextUnitToParse = start;
+	int limit = start + this.parseAheadSize;
+	while (this.nextUnitToParse < limit) {
+		CompilationUnitDeclaration unit;
+		synchronized (this.compiler) {
+			if (this.nextUnitToParse >= this.compiler.totalUnits) return;
+			unit = this.compiler.unitsToProcess[this.nextUnitToParse++];
+		}
+		if (unit == null || unit.ignoreMethodBodies || (unit.bits & ASTNode.HasAllMethodBodies) != 0)
+			continue;
+		if (unit.compilationResult.hasBeenAccepted)
+			continue;
+		this.parsedUnits.put(unit, this.parsingWorkers.submit(() -> parseMethodBodies(unit)));
+	}
+}
+
+private void parseMethodBodies(CompilationUnitDeclaration unit) {
+	Parser parser = this.workerParser.get();
+	// reference expressions keep the scanner which created them to parse copies of themselves during resolution,
+	// so the scanners used for a unit are left to the processing thread and the worker continues with fresh ones
+	parser.initializeScanner();
+	parser.recoveryScanner = null;
+	parser.getMethodBodies(unit);
+}
+
+/*
+ * Wait until the worker parsing the given unit is done. Units which were never submitted are parsed
+ * by the processing thread itself in Compiler#process.
+ */
+private void waitForMethodBodies(CompilationUnitDeclaration unit) {
+	Future<?> parsed = this.parsedUnits.remove(unit);
+	if (parsed == null) return;
+	while (true) {
+		try {
+			parsed.get();
+			return;
+		} catch (InterruptedException ignore) {
+			// ignore
+		} catch (ExecutionException e) {
+			// rethrow the exception from the parsing worker as if the processing thread had parsed the unit
+			Throwable cause = e.getCause();
+			if (cause instanceof Error)
+				throw (Error) cause;
+			throw (RuntimeException) cause;
+		}
+	}
+}
+
 public void shutdown() {
+	if (this.parsingWorkers != null) {
+		this.parsingWorkers.shutdownNow();
+	}
 	try {
 		Thread t = null;
 		synchronized (this) {
 			if (this.processingThread != null) {
 				t = this.processingThread;
 				this.processingThread = null;
-				notifyAll();
 			}
 		}
+		this.processedUnits.close();
 		if (t != null)
 			t.join(250); // do not wait forever
 	} catch (InterruptedException ignored) {
 		// ignore
 	}
+	this.compiler.stats.processingStallTime += this.processedUnits.getProducerStallTime() / 1000000;
+	this.compiler.stats.acceptingStallTime += this.processedUnits.getConsumerStallTime() / 1000000;
 }
 }
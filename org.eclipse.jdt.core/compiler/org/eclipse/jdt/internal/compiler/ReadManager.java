@@ -14,11 +14,8 @@
 
 package org.eclipse.jdt.internal.compiler;
 
-import java.lang.reflect.InvocationTargetException;
-
 import org.eclipse.jdt.internal.compiler.env.ICompilationUnit;
 
-@SuppressWarnings({"rawtypes", "unchecked"})
 public class ReadManager implements Runnable {
 	ICompilationUnit[] units;
 	int nextFileToRead;
@@ -31,34 +28,32 @@ public class ReadManager implements Runnable {
 	int sleepingThreadCount;
 	private Throwable caughtException;
 
+	int cacheSize;
+
 	static final int START_CUSHION = 5;
 	public static final int THRESHOLD = 10;
 	static final int CACHE_SIZE = 15; // do not waste memory by keeping too many files in memory
+	static final int CACHED_FILES_PER_THREAD = 4;
+	static final long MEMORY_PER_CACHED_FILE = 1024 * 1024; // generous estimate of the memory used by a read file until it is parsed
 
 public ReadManager(ICompilationUnit[] files, int length) {
 	// start the background threads to read the file's contents
-	int threadCount = 0;
-	try {
-		Class runtime = Class.forName("java.lang.Runtime"); //$NON-NLS-1$
-		java.lang.reflect.Method m = runtime.getDeclaredMethod("availableProcessors", new Class[0]); //$NON-NLS-1$
-		if (m != null) {
-			Integer result = (Integer) m.invoke(Runtime.getRuntime(), (Object[]) null);
-			threadCount = result.intValue() + 1;
-			if (threadCount < 2)
-				threadCount = 0;
-			else if (threadCount > CACHE_SIZE)
-				threadCount = CACHE_SIZE;
-		}
-	} catch (IllegalAccessException | ClassNotFoundException | SecurityException | NoSuchMethodException | IllegalArgumentException | InvocationTargetException e) { // ignored
-	}
+	int threadCount = Runtime.getRuntime().availableProcessors() + 1;
+	// read further ahead on machines with many cores, as long as the heap allows it
+	int cacheLimit = (int) Math.min(Integer.MAX_VALUE, Runtime.getRuntime().maxMemory() / MEMORY_PER_CACHED_FILE);
+	this.cacheSize = Math.max(CACHE_SIZE, Math.min(threadCount * CACHED_FILES_PER_THREAD, cacheLimit));
+	if (threadCount < 2)
+		threadCount = 0;
+	else if (threadCount > this.cacheSize)
+		threadCount = this.cacheSize;
 
 	if (threadCount > 0) {
 		synchronized (this) {
 			this.units = new ICompilationUnit[length];
 			System.arraycopy(files, 0, this.units, 0, length);
 			this.nextFileToRead = START_CUSHION; // skip some files to reduce the number of times we have to wait
-			this.filesRead = new ICompilationUnit[CACHE_SIZE];
-			this.contentsRead = new char[CACHE_SIZE][];
+			this.filesRead = new ICompilationUnit[this.cacheSize];
+			this.contentsRead = new char[this.cacheSize][];
 			this.readyToReadPosition = 0;
 			this.nextAvailablePosition = 0;
 			this.sleepingThreadCount = 0;
@@ -129,8 +124,8 @@ public char[] getContents(ICompilationUnit unit) throws Error {
 				this.nextFileToRead = unitIndex + START_CUSHION;
 				this.readyToReadPosition = 0;
 				this.nextAvailablePosition = 0;
-				this.filesRead = new ICompilationUnit[CACHE_SIZE];
-				this.contentsRead = new char[CACHE_SIZE][];
+				this.filesRead = new ICompilationUnit[this.cacheSize];
+				this.contentsRead = new char[this.cacheSize][];
 				notifyAll();
 			}
 		}
@@ -0,0 +1,240 @@
+/*******************************************************************************
+ * Copyright (c) 2021 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.jdt.internal.compiler;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * A bounded lock-free queue used to hand elements over between the compiler threads.
+ * <p>
+ * Each slot carries a sequence number telling whether it is ready to be written or read
+ * (see Dmitry Vyukov's bounded MPMC queue), so any number of producers and consumers can
+ * use the queue concurrently; the single producer/single consumer case simply never sees
+ * a contended update. Threads which cannot make progress park until the other side hands
+ * over an element instead of polling with timed waits.
+ * </p><p>
+ * The number of queued elements is limited by a soft limit which starts at the initial
+ * size and is doubled (up to the capacity) whenever producers and consumers both had to
+ * wait, i.e. when the work arrives in bursts which a larger buffer can smooth out.
+ * The time spent waiting on either side is recorded.
+ * </p>
+ */
+public class RingBuffer<E> {
+
+	private final AtomicReferenceArray<E> elements;
+	private final AtomicLongArray sequences;
+	private final int mask;
+	private final AtomicLong head = new AtomicLong(); // position of the next element to take
+	private final AtomicLong tail = new AtomicLong(); // position of the next element to put
+	private volatile int limit;
+	private volatile boolean closed;
+
+	private final ConcurrentLinkedQueue<Thread> waitingProducers = new ConcurrentLinkedQueue<>();
+	private final ConcurrentLinkedQueue<Thread> waitingConsumers = new ConcurrentLinkedQueue<>();
+
+	// statistics
+	private final AtomicLong producerStallTime = new AtomicLong();
+	private final AtomicLong consumerStallTime = new AtomicLong();
+	private volatile int consumerStallCount;
+	private int consumerStallCountAtLastGrowth;
+
+public RingBuffer(int initialSize, int maximumSize) {
+	int capacity = Integer.highestOneBit(Math.max(2, maximumSize) - 1) << 1; // next power of 2
+	this.elements = new AtomicReferenceArray<>(capacity);
+	this.sequences = new AtomicLongArray(capacity);
+	for (int i = 0; i < capacity; i++)
+		this.sequences.set(i, i);
+	this.mask = capacity - 1;
+	this.limit = Math.max(1, Math.min(initialSize, capacity));
+}
+
+/**
+ * Adds the given element if there is space available.
+ * @return whether the element was added
+ */
+public boolean offer(E element) {
+	long position = this.tail.get();
+	while (true) {
+		int index = (int) position & this.mask;
+		long difference = this.sequences.get(index) - position;
+		if (difference == 0) {
+			if (position - this.head.get() >= this.limit)
+				return false;
+			if (this.tail.compareAndSet(position, position + 1)) {
+				this.elements.set(index, element);
+				this.sequences.set(index, position + 1); // publish the element
+				signal(this.waitingConsumers);
+				return true;
+			}
+			position = this.tail.get();
+		} else if (difference < 0) {
+			return false; // full
+		} else {
+			position = this.tail.get(); // another producer got there first
+		}
+	}
+}
+
+/**
+ * Removes the next element if one is available.
+ * @return the next element or <code>null</code> if the queue is empty
+ */
+public E poll() {
+	long position = this.head.get();
+	while (true) {
+		int index = (int) position & this.mask;
+		long difference = this.sequences.get(index) - (position + 1);
+		if (difference == 0) {
+			if (this.head.compareAndSet(position, position + 1)) {
+				E element = this.elements.get(index);
+				this.elements.set(index, null);
+				this.sequences.set(index, position + this.mask + 1); // free the slot for the next round
+				signal(this.waitingProducers);
+				return element;
+			}
+			position = this.head.get();
+		} else if (difference < 0) {
+			return null; // empty
+		} else {
+			position = this.head.get(); // another consumer got there first
+		}
+	}
+}
+
+/**
+ * Adds the given element, waiting for space to become available.
+ * @return whether the element was added, <code>false</code> if the queue was closed while waiting
+ */
+public boolean put(E element) {
+	if (this.closed)
+		return false;
+	if (offer(element))
+		return true;
+
+	long start = System.nanoTime();
+	Thread current = Thread.currentThread();
+	boolean interrupted = false;
+	this.waitingProducers.add(current);
+	try {
+		grow();
+		while (!offer(element)) { // check again once registered so that no hand-over is missed
+			if (this.closed)
+				return false;
+			LockSupport.park(this);
+			if (Thread.interrupted())
+				interrupted = true; // ignore, see Object#wait in the previous implementation
+		}
+		return true;
+	} finally {
+		this.waitingProducers.remove(current);
+		this.producerStallTime.addAndGet(System.nanoTime() - start);
+		if (interrupted)
+			current.interrupt();
+	}
+}
+
+/**
+ * Removes the next element, waiting for one to become available.
+ * @return the next element or <code>null</code> if the queue is closed and empty
+ */
+public E take() {
+	E element = poll();
+	if (element != null)
+		return element;
+
+	long start = System.nanoTime();
+	Thread current = Thread.currentThread();
+	boolean interrupted = false;
+	this.waitingConsumers.add(current);
+	this.consumerStallCount++;
+	try {
+		while ((element = poll()) == null) { // check again once registered so that no hand-over is missed
+			if (this.closed)
+				return poll(); // elements added before the queue was closed are still handed over
+			LockSupport.park(this);
+			if (Thread.interrupted())
+				interrupted = true;
+		}
+		return element;
+	} finally {
+		this.waitingConsumers.remove(current);
+		this.consumerStallTime.addAndGet(System.nanoTime() - start);
+		if (interrupted)
+			current.interrupt();
+	}
+}
+
+/**
+ * Closes the queue: waiting producers give up and consumers drain the remaining elements.
+ */
+public void close() {
+	this.closed = true;
+	signal(this.waitingProducers);
+	signal(this.waitingConsumers);
+}
+
+public boolean isClosed() {
+	return this.closed;
+}
+
+public int size() {
+	return (int) Math.max(0, this.tail.get() - this.head.get());
+}
+
+public int getLimit() {
+	return this.limit;
+}
+
+/**
+ * Returns the time producers spent waiting for space, in nanoseconds.
+ */
+public long getProducerStallTime() {
+	return this.producerStallTime.get();
+}
+
+/**
+ * Returns the time consumers spent waiting for elements, in nanoseconds.
+ */
+public long getConsumerStallTime() {
+	return this.consumerStallTime.get();
+}
+
+private void grow() {
+	synchronized (this.waitingProducers) {
+		int consumerStalls = this.consumerStallCount;
+		if (consumerStalls != this.consumerStallCountAtLastGrowth && this.limit <= this.mask) {
+			this.consumerStallCountAtLastGrowth = consumerStalls;
+			this.limit = Math.min(this.limit << 1, this.mask + 1);
+		}
+	}
+}
+
+private static void signal(ConcurrentLinkedQueue<Thread> waitingThreads) {
+	if (waitingThreads.isEmpty())
+		return;
+	for (Thread thread : waitingThreads)
+		LockSupport.unpark(thread);
+}
+
+@Override
+public String toString() {
+	return "RingBuffer [size=" + size() + ", limit=" + this.limit + ", capacity=" + (this.mask + 1) //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		+ (this.closed ? ", closed" : "") + ']'; //$NON-NLS-1$ //$NON-NLS-2$
+}
+}
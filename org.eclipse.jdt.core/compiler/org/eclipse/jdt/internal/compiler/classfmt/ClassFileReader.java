@@ -23,6 +23,8 @@ import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.Arrays;
+import java.util.Set;
+import java.util.TreeSet;
 import java.util.function.Predicate;
 
 import org.eclipse.jdt.core.compiler.CharOperation;
@@ -58,7 +60,8 @@ public class ClassFileReader extends ClassFileStruct implements IBinaryType {
 	private int constantPoolCount;
 	private AnnotationInfo[] annotations;
 	private TypeAnnotationInfo[] typeAnnotations;
-	private FieldInfo[] fields;
+	private volatile FieldInfo[] fields; // decoded on demand from the field offsets
+	private int[] fieldOffsets;
 	private ModuleInfo moduleDeclaration;
 	public char[] moduleName;
 	private int fieldsCount;
@@ -70,8 +73,10 @@ public class ClassFileReader extends ClassFileStruct implements IBinaryType {
 	private int interfacesCount;
 	private char[][] permittedSubtypesNames;
 	private int permittedSubtypesCount;
-	private MethodInfo[] methods;
+	private volatile MethodInfo[] methods; // decoded on demand from the method offsets
+	private int[] methodOffsets;
 	private int methodsCount;
+	private boolean shared; // see initializeForSharing()
 	private char[] signature;
 	private char[] sourceName;
 	private char[] sourceFileName;
@@ -321,29 +326,24 @@ public ClassFileReader(byte[] classFileBytes, char[] fileName, boolean fullyInit
 				readOffset += 2;
 			}
 		}
-		// Read the fields, use exception handlers to catch bad format
+		// Index the fields, which are only decoded when asked for, use exception handlers to catch bad format
 		this.fieldsCount = u2At(readOffset);
 		readOffset += 2;
 		if (this.fieldsCount != 0) {
-			FieldInfo field;
-			this.fields = new FieldInfo[this.fieldsCount];
+			this.fieldOffsets = new int[this.fieldsCount];
 			for (int i = 0; i < this.fieldsCount; i++) {
-				field = FieldInfo.createField(this.reference, this.constantPoolOffsets, readOffset, this.version);
-				this.fields[i] = field;
-				readOffset += field.sizeInBytes();
+				this.fieldOffsets[i] = readOffset;
+				readOffset = skipMember(readOffset);
 			}
 		}
-		// Read the methods
+		// Index the methods
 		this.methodsCount = u2At(readOffset);
 		readOffset += 2;
 		if (this.methodsCount != 0) {
-			this.methods = new MethodInfo[this.methodsCount];
-			boolean isAnnotationType = (this.accessFlags & ClassFileConstants.AccAnnotation) != 0;
+			this.methodOffsets = new int[this.methodsCount];
 			for (int i = 0; i < this.methodsCount; i++) {
-				this.methods[i] = isAnnotationType
-					? AnnotationMethodInfo.createAnnotationMethod(this.reference, this.constantPoolOffsets, readOffset, this.version)
-					: MethodInfo.createMethod(this.reference, this.constantPoolOffsets, readOffset, this.version);
-				readOffset += this.methods[i].sizeInBytes();
+				this.methodOffsets[i] = readOffset;
+				readOffset = skipMember(readOffset);
 			}
 		}
 
@@ -511,6 +511,103 @@ public ClassFileReader(byte[] classFileBytes, char[] fileName, boolean fullyInit
 	}
 }
 
+/*
+ * Answer the offset following the field_info or method_info structure at the given offset.
+ */
+private int skipMember(int readOffset) {
+	int attributesCount = u2At(readOffset + 6);
+	readOffset += 8;
+	for (int i = 0; i < attributesCount; i++)
+		readOffset += (6 + u4At(readOffset + 2));
+	return readOffset;
+}
+
+/*
+ * Answer the field infos, which are created the first time they are needed,
+ * since most of the members of a binary type are never looked at.
+ */
+private FieldInfo[] decodeFields() {
+	FieldInfo[] decoded = this.fields;
+	if (decoded == null && this.fieldsCount != 0) {
+		if (this.shared)
+			return decodeSharedFields();
+		decoded = createFields();
+		this.fields = decoded;
+	}
+	return decoded;
+}
+
+private FieldInfo[] createFields() {
+	FieldInfo[] created = new FieldInfo[this.fieldsCount];
+	for (int i = 0; i < this.fieldsCount; i++)
+		created[i] = FieldInfo.createField(this.reference, this.constantPoolOffsets, this.fieldOffsets[i], this.version);
+	return created;
+}
+
+/*
+ * Answer the field infos of a shared reader, fully initialized before they are published.
+ */
+private synchronized FieldInfo[] decodeSharedFields() {
+	FieldInfo[] decoded = this.fields;
+	if (decoded == null) {
+		decoded = createFields();
+		for (int i = 0; i < this.fieldsCount; i++)
+			decoded[i].initialize();
+		this.fields = decoded;
+		resetIfDecoded();
+	}
+	return decoded;
+}
+
+/*
+ * Answer the method infos, which are created the first time they are needed.
+ */
+private MethodInfo[] decodeMethods() {
+	MethodInfo[] decoded = this.methods;
+	if (decoded == null && this.methodsCount != 0) {
+		if (this.shared)
+			return decodeSharedMethods();
+		decoded = createMethods();
+		this.methods = decoded;
+	}
+	return decoded;
+}
+
+private MethodInfo[] createMethods() {
+	MethodInfo[] created = new MethodInfo[this.methodsCount];
+	boolean isAnnotationType = (this.accessFlags & ClassFileConstants.AccAnnotation) != 0;
+	for (int i = 0; i < this.methodsCount; i++)
+		created[i] = isAnnotationType
+			? AnnotationMethodInfo.createAnnotationMethod(this.reference, this.constantPoolOffsets, this.methodOffsets[i], this.version)
+			: MethodInfo.createMethod(this.reference, this.constantPoolOffsets, this.methodOffsets[i], this.version);
+	return created;
+}
+
+/*
+ * Answer the method infos of a shared reader, fully initialized before they are published.
+ */
+private synchronized MethodInfo[] decodeSharedMethods() {
+	MethodInfo[] decoded = this.methods;
+	if (decoded == null) {
+		decoded = createMethods();
+		for (int i = 0; i < this.methodsCount; i++)
+			decoded[i].initialize();
+		this.methods = decoded;
+		resetIfDecoded();
+	}
+	return decoded;
+}
+
+/*
+ * Drop the bytes of a shared reader once both member tables are decoded, nothing else is read from them.
+ */
+private void resetIfDecoded() {
+	if ((this.fields != null || this.fieldsCount == 0) && (this.methods != null || this.methodsCount == 0)) {
+		this.fieldOffsets = this.methodOffsets = null;
+		reset();
+	}
+}
+
 private void decodeRecords(int readOffset, char[] attributeName) {
 	if (CharOperation.equals(attributeName, AttributeNamesConstants.RecordClass)) {
 		this.isRecord = true;
@@ -689,7 +786,7 @@ public char[] getEnclosingTypeName() {
  */
 @Override
 public IBinaryField[] getFields() {
-	return this.fields;
+	return decodeFields();
 }
 /**
  * @see IBinaryType#getModule()
@@ -813,7 +910,7 @@ public IBinaryNestedType[] getMemberTypes() {
  */
 @Override
 public IBinaryMethod[] getMethods() {
-	return this.methods;
+	return decodeMethods();
 }
 
 /*
@@ -1028,78 +1125,18 @@ public boolean hasStructuralChanges(byte[] newBytes, boolean orderRequired, bool
 	try {
 		ClassFileReader newClassFile =
 			new ClassFileReader(newBytes, this.classFileName);
-		// type level comparison
-		// modifiers
-		if (getModifiers() != newClassFile.getModifiers())
+		if (hasStructuralTypeChanges(newClassFile))
 			return true;
 
-		// only consider a portion of the tagbits which indicate a structural change for dependents
-		// e.g. @Override change has no influence outside
-		long OnlyStructuralTagBits = TagBits.AnnotationTargetMASK // different @Target status ?
-			| TagBits.AnnotationDeprecated // different @Deprecated status ?
-			| TagBits.AnnotationRetentionMASK // different @Retention status ?
-			| TagBits.HierarchyHasProblems; // different hierarchy status ?
-
-		// meta-annotations
-		if ((getTagBits() & OnlyStructuralTagBits) != (newClassFile.getTagBits() & OnlyStructuralTagBits))
-			return true;
-		// annotations
-		if (hasStructuralAnnotationChanges(getAnnotations(), newClassFile.getAnnotations()))
-			return true;
-		if (this.version >= ClassFileConstants.JDK1_8
-				&& hasStructuralTypeAnnotationChanges(getTypeAnnotations(), newClassFile.getTypeAnnotations()))
-			return true;
-
-		// generic signature
-		if (!CharOperation.equals(getGenericSignature(), newClassFile.getGenericSignature()))
-			return true;
-		// superclass
-		if (!CharOperation.equals(getSuperclassName(), newClassFile.getSuperclassName()))
-			return true;
-		// interfaces
-		char[][] newInterfacesNames = newClassFile.getInterfaceNames();
-		if (this.interfaceNames != newInterfacesNames) { // TypeConstants.NoSuperInterfaces
-			int newInterfacesLength = newInterfacesNames == null ? 0 : newInterfacesNames.length;
-			if (newInterfacesLength != this.interfacesCount)
-				return true;
-			for (int i = 0, max = this.interfacesCount; i < max; i++)
-				if (!CharOperation.equals(this.interfaceNames[i], newInterfacesNames[i]))
-					return true;
-		}
-
-		// permitted sub-types
-		char[][] newPermittedSubtypeNames = newClassFile.getPermittedSubtypeNames();
-		if (this.permittedSubtypesNames != newPermittedSubtypeNames) {
-			int newPermittedSubtypesLength = newPermittedSubtypeNames == null ? 0 : newPermittedSubtypeNames.length;
-			if (newPermittedSubtypesLength != this.permittedSubtypesCount)
-				return true;
-			for (int i = 0, max = this.permittedSubtypesCount; i < max; i++)
-				if (!CharOperation.equals(this.permittedSubtypesNames[i], newPermittedSubtypeNames[i]))
-					return true;
-		}
-
-		// member types
-		IBinaryNestedType[] currentMemberTypes = getMemberTypes();
-		IBinaryNestedType[] otherMemberTypes = newClassFile.getMemberTypes();
-		if (currentMemberTypes != otherMemberTypes) { // TypeConstants.NoMemberTypes
-			int currentMemberTypeLength = currentMemberTypes == null ? 0 : currentMemberTypes.length;
-			int otherMemberTypeLength = otherMemberTypes == null ? 0 : otherMemberTypes.length;
-			if (currentMemberTypeLength != otherMemberTypeLength)
-				return true;
-			for (int i = 0; i < currentMemberTypeLength; i++)
-				if (!CharOperation.equals(currentMemberTypes[i].getName(), otherMemberTypes[i].getName())
-					|| currentMemberTypes[i].getModifiers() != otherMemberTypes[i].getModifiers())
-						return true;
-		}
-
 		// fields
+		FieldInfo[] fieldInfos = decodeFields();
 		FieldInfo[] otherFieldInfos = (FieldInfo[]) newClassFile.getFields();
 		int otherFieldInfosLength = otherFieldInfos == null ? 0 : otherFieldInfos.length;
 		boolean compareFields = true;
 		if (this.fieldsCount == otherFieldInfosLength) {
 			int i = 0;
 			for (; i < this.fieldsCount; i++)
-				if (hasStructuralFieldChanges(this.fields[i], otherFieldInfos[i])) break;
+				if (hasStructuralFieldChanges(fieldInfos[i], otherFieldInfos[i])) break;
 			if ((compareFields = i != this.fieldsCount) && !orderRequired && !excludesSynthetic)
 				return true;
 		}
@@ -1108,28 +1145,29 @@ public boolean hasStructuralChanges(byte[] newBytes, boolean orderRequired, bool
 				return true;
 			if (orderRequired) {
 				if (this.fieldsCount != 0)
-					Arrays.sort(this.fields);
+					Arrays.sort(fieldInfos);
 				if (otherFieldInfosLength != 0)
 					Arrays.sort(otherFieldInfos);
 			}
 			if (excludesSynthetic) {
-				if (hasNonSyntheticFieldChanges(this.fields, otherFieldInfos))
+				if (hasNonSyntheticFieldChanges(fieldInfos, otherFieldInfos))
 					return true;
 			} else {
 				for (int i = 0; i < this.fieldsCount; i++)
-					if (hasStructuralFieldChanges(this.fields[i], otherFieldInfos[i]))
+					if (hasStructuralFieldChanges(fieldInfos[i], otherFieldInfos[i]))
 						return true;
 			}
 		}
 
 		// methods
+		MethodInfo[] methodInfos = decodeMethods();
 		MethodInfo[] otherMethodInfos = (MethodInfo[]) newClassFile.getMethods();
 		int otherMethodInfosLength = otherMethodInfos == null ? 0 : otherMethodInfos.length;
 		boolean compareMethods = true;
 		if (this.methodsCount == otherMethodInfosLength) {
 			int i = 0;
 			for (; i < this.methodsCount; i++)
-				if (hasStructuralMethodChanges(this.methods[i], otherMethodInfos[i])) break;
+				if (hasStructuralMethodChanges(methodInfos[i], otherMethodInfos[i])) break;
 			if ((compareMethods = i != this.methodsCount) && !orderRequired && !excludesSynthetic)
 				return true;
 		}
@@ -1138,43 +1176,214 @@ public boolean hasStructuralChanges(byte[] newBytes, boolean orderRequired, bool
 				return true;
 			if (orderRequired) {
 				if (this.methodsCount != 0)
-					Arrays.sort(this.methods);
+					Arrays.sort(methodInfos);
 				if (otherMethodInfosLength != 0)
 					Arrays.sort(otherMethodInfos);
 			}
 			if (excludesSynthetic) {
-				if (hasNonSyntheticMethodChanges(this.methods, otherMethodInfos))
+				if (hasNonSyntheticMethodChanges(methodInfos, otherMethodInfos))
 					return true;
 			} else {
 				for (int i = 0; i < this.methodsCount; i++)
-					if (hasStructuralMethodChanges(this.methods[i], otherMethodInfos[i]))
+					if (hasStructuralMethodChanges(methodInfos[i], otherMethodInfos[i]))
 						return true;
 			}
 		}
 
-		// missing types
-		char[][][] missingTypes = getMissingTypeNames();
-		char[][][] newMissingTypes = newClassFile.getMissingTypeNames();
-		if (missingTypes != null) {
-			if (newMissingTypes == null) {
-				return true;
+		return hasMissingTypeChanges(newClassFile);
+	} catch (ClassFormatException e) {
+		return true;
+	}
+}
+
+/**
+ * Answers the names of the fields and methods which changed structurally (see {@link #hasStructuralChanges(byte[])})
+ * between the receiver and the class file of the given bytes, when nothing but fields and methods changed, so that only
+ * the dependents which refer to these names need to be compiled again.
+ * <p>
+ * Answers <code>null</code> when the changes are not limited to the fields and methods, or when they concern members
+ * which are used without being named: the type level attributes, the constructors, implicitly invoked by subclasses,
+ * and the members of interfaces, enums, annotation types and records, which are also used by lambda expressions,
+ * switch statements or annotations. The synthetic members and the static initializer are ignored.
+ * </p>
+ * @param newBytes the bytes of the .class file we want to compare the receiver to
+ * @return the distinct names of the changed fields and methods, or <code>null</code>
+ */
+public char[][] getStructurallyChangedMemberNames(byte[] newBytes) {
+	try {
+		ClassFileReader newClassFile = new ClassFileReader(newBytes, this.classFileName);
+		int kinds = ClassFileConstants.AccInterface | ClassFileConstants.AccAnnotation | ClassFileConstants.AccEnum;
+		if ((getModifiers() & kinds) != 0 || isRecord() || newClassFile.isRecord())
+			return null;
+		if (hasStructuralTypeChanges(newClassFile) || hasMissingTypeChanges(newClassFile))
+			return null;
+
+		Set<String> names = new TreeSet<>();
+		FieldInfo[] fieldInfos = sortedNonSynthetic(decodeFields());
+		FieldInfo[] otherFieldInfos = sortedNonSynthetic((FieldInfo[]) newClassFile.getFields());
+		for (int index1 = 0, index2 = 0; index1 < fieldInfos.length || index2 < otherFieldInfos.length;) {
+			int compare = index1 == fieldInfos.length ? 1 : index2 == otherFieldInfos.length ? -1
+					: fieldInfos[index1].compareTo(otherFieldInfos[index2]);
+			if (compare < 0) {
+				names.add(new String(fieldInfos[index1++].getName()));
+			} else if (compare > 0) {
+				names.add(new String(otherFieldInfos[index2++].getName()));
+			} else {
+				if (hasStructuralFieldChanges(fieldInfos[index1], otherFieldInfos[index2]))
+					names.add(new String(fieldInfos[index1].getName()));
+				index1++;
+				index2++;
 			}
-			int length = missingTypes.length;
-			if (length != newMissingTypes.length) {
-				return true;
+		}
+		MethodInfo[] methodInfos = sortedNonSynthetic(decodeMethods());
+		MethodInfo[] otherMethodInfos = sortedNonSynthetic((MethodInfo[]) newClassFile.getMethods());
+		for (int index1 = 0, index2 = 0; index1 < methodInfos.length || index2 < otherMethodInfos.length;) {
+			int compare = index1 == methodInfos.length ? 1 : index2 == otherMethodInfos.length ? -1
+					: methodInfos[index1].compareTo(otherMethodInfos[index2]);
+			MethodInfo changed = null;
+			if (compare < 0) {
+				changed = methodInfos[index1++];
+			} else if (compare > 0) {
+				changed = otherMethodInfos[index2++];
+			} else {
+				if (hasStructuralMethodChanges(methodInfos[index1], otherMethodInfos[index2]))
+					changed = methodInfos[index1];
+				index1++;
+				index2++;
 			}
-			for (int i = 0; i < length; i++) {
-				if (!CharOperation.equals(missingTypes[i], newMissingTypes[i])) {
-					return true;
-				}
+			if (changed != null) {
+				if (changed.isConstructor())
+					return null;
+				names.add(new String(changed.getSelector()));
 			}
-		} else if (newMissingTypes != null) {
-			return true;
 		}
-		return false;
+
+		char[][] result = new char[names.size()][];
+		int i = 0;
+		for (String name : names)
+			result[i++] = name.toCharArray();
+		return result;
 	} catch (ClassFormatException e) {
+		return null;
+	}
+}
+
+private static FieldInfo[] sortedNonSynthetic(FieldInfo[] fieldInfos) {
+	if (fieldInfos == null)
+		return new FieldInfo[0];
+	FieldInfo[] result = new FieldInfo[fieldInfos.length];
+	int count = 0;
+	for (FieldInfo fieldInfo : fieldInfos)
+		if (!fieldInfo.isSynthetic())
+			result[count++] = fieldInfo;
+	result = Arrays.copyOf(result, count);
+	Arrays.sort(result);
+	return result;
+}
+
+private static MethodInfo[] sortedNonSynthetic(MethodInfo[] methodInfos) {
+	if (methodInfos == null)
+		return new MethodInfo[0];
+	MethodInfo[] result = new MethodInfo[methodInfos.length];
+	int count = 0;
+	for (MethodInfo methodInfo : methodInfos)
+		if (!methodInfo.isSynthetic() && !methodInfo.isClinit())
+			result[count++] = methodInfo;
+	result = Arrays.copyOf(result, count);
+	Arrays.sort(result);
+	return result;
+}
+
+/*
+ * Answers whether the type level attributes of the class file differ in a way that matters to dependents:
+ * modifiers, annotations, generic signature, supertypes, permitted subtypes and member types.
+ */
+private boolean hasStructuralTypeChanges(ClassFileReader newClassFile) {
+	// modifiers
+	if (getModifiers() != newClassFile.getModifiers())
+		return true;
+
+	// only consider a portion of the tagbits which indicate a structural change for dependents
+	// e.g. @Override change has no influence outside
+	long OnlyStructuralTagBits = TagBits.AnnotationTargetMASK // different @Target status ?
+		| TagBits.AnnotationDeprecated // different @Deprecated status ?
+		| TagBits.AnnotationRetentionMASK // different @Retention status ?
+		| TagBits.HierarchyHasProblems; // different hierarchy status ?
+
+	// meta-annotations
+	if ((getTagBits() & OnlyStructuralTagBits) != (newClassFile.getTagBits() & OnlyStructuralTagBits))
+		return true;
+	// annotations
+	if (hasStructuralAnnotationChanges(getAnnotations(), newClassFile.getAnnotations()))
+		return true;
+	if (this.version >= ClassFileConstants.JDK1_8
+			&& hasStructuralTypeAnnotationChanges(getTypeAnnotations(), newClassFile.getTypeAnnotations()))
+		return true;
+
+	// generic signature
+	if (!CharOperation.equals(getGenericSignature(), newClassFile.getGenericSignature()))
+		return true;
+	// superclass
+	if (!CharOperation.equals(getSuperclassName(), newClassFile.getSuperclassName()))
 		return true;
+	// interfaces
+	char[][] newInterfacesNames = newClassFile.getInterfaceNames();
+	if (this.interfaceNames != newInterfacesNames) { // TypeConstants.NoSuperInterfaces
+		int newInterfacesLength = newInterfacesNames == null ? 0 : newInterfacesNames.length;
+		if (newInterfacesLength != this.interfacesCount)
+			return true;
+		for (int i = 0, max = this.interfacesCount; i < max; i++)
+			if (!CharOperation.equals(this.interfaceNames[i], newInterfacesNames[i]))
+				return true;
 	}
+
+	// permitted sub-types
+	char[][] newPermittedSubtypeNames = newClassFile.getPermittedSubtypeNames();
+	if (this.permittedSubtypesNames != newPermittedSubtypeNames) {
+		int newPermittedSubtypesLength = newPermittedSubtypeNames == null ? 0 : newPermittedSubtypeNames.length;
+		if (newPermittedSubtypesLength != this.permittedSubtypesCount)
+			return true;
+		for (int i = 0, max = this.permittedSubtypesCount; i < max; i++)
+			if (!CharOperation.equals(this.permittedSubtypesNames[i], newPermittedSubtypeNames[i]))
+				return true;
+	}
+
+	// member types
+	IBinaryNestedType[] currentMemberTypes = getMemberTypes();
+	IBinaryNestedType[] otherMemberTypes = newClassFile.getMemberTypes();
+	if (currentMemberTypes != otherMemberTypes) { // TypeConstants.NoMemberTypes
+		int currentMemberTypeLength = currentMemberTypes == null ? 0 : currentMemberTypes.length;
+		int otherMemberTypeLength = otherMemberTypes == null ? 0 : otherMemberTypes.length;
+		if (currentMemberTypeLength != otherMemberTypeLength)
+			return true;
+		for (int i = 0; i < currentMemberTypeLength; i++)
+			if (!CharOperation.equals(currentMemberTypes[i].getName(), otherMemberTypes[i].getName())
+				|| currentMemberTypes[i].getModifiers() != otherMemberTypes[i].getModifiers())
+					return true;
+	}
+	return false;
+}
+
+private boolean hasMissingTypeChanges(ClassFileReader newClassFile) {
+	char[][][] missingTypes = getMissingTypeNames();
+	char[][][] newMissingTypes = newClassFile.getMissingTypeNames();
+	if (missingTypes != null) {
+		if (newMissingTypes == null) {
+			return true;
+		}
+		int length = missingTypes.length;
+		if (length != newMissingTypes.length) {
+			return true;
+		}
+		for (int i = 0; i < length; i++) {
+			if (!CharOperation.equals(missingTypes[i], newMissingTypes[i])) {
+				return true;
+			}
+		}
+	} else if (newMissingTypes != null) {
+		return true;
+	}
+	return false;
 }
 
 private boolean hasStructuralAnnotationChanges(IBinaryAnnotation[] currentAnnotations, IBinaryAnnotation[] otherAnnotations) {
@@ -1367,28 +1576,64 @@ private boolean affectsSignature(IBinaryTypeAnnotation typeAnnotation) {
  */
 private void initialize() throws ClassFormatException {
 	try {
+		FieldInfo[] fieldInfos = decodeFields();
 		for (int i = 0, max = this.fieldsCount; i < max; i++) {
-			this.fields[i].initialize();
+			fieldInfos[i].initialize();
 		}
+		MethodInfo[] methodInfos = decodeMethods();
 		for (int i = 0, max = this.methodsCount; i < max; i++) {
-			this.methods[i].initialize();
-		}
-		if (this.innerInfos != null) {
-			for (int i = 0, max = this.innerInfos.length; i < max; i++) {
-				this.innerInfos[i].initialize();
-			}
+			methodInfos[i].initialize();
 		}
-		if (this.annotations != null) {
-			for (int i = 0, max = this.annotations.length; i < max; i++) {
-				this.annotations[i].initialize();
+		initializeTypeInfos();
+		this.fieldOffsets = this.methodOffsets = null;
+		reset();
+	} catch(RuntimeException e) {
+		ClassFormatException exception = new ClassFormatException(e, this.classFileName);
+		throw exception;
+	}
+}
+
+/**
+ * Initializes the contents of the receiver except its fields and methods, which are still decoded the
+ * first time they are asked for, and are then fully initialized before being published. The receiver
+ * no longer changes otherwise, so that it can be shared between threads once it is safely published,
+ * see {@link ClassFileReaderCache}. The bytes are kept until both member tables are decoded.
+ */
+public void initializeForSharing() throws ClassFormatException {
+	try {
+		initializeTypeInfos();
+		if (this.moduleDeclaration != null && this.moduleDeclaration.annotations != null) {
+			for (int i = 0, max = this.moduleDeclaration.annotations.length; i < max; i++) {
+				this.moduleDeclaration.annotations[i].initialize();
 			}
 		}
-		this.getEnclosingMethod();
-		reset();
 	} catch(RuntimeException e) {
 		ClassFormatException exception = new ClassFormatException(e, this.classFileName);
 		throw exception;
 	}
+	this.shared = true;
+}
+
+private void initializeTypeInfos() {
+	if (this.innerInfos != null) {
+		for (int i = 0, max = this.innerInfos.length; i < max; i++) {
+			this.innerInfos[i].initialize();
+		}
+	}
+	if (this.annotations != null) {
+		for (int i = 0, max = this.annotations.length; i < max; i++) {
+			this.annotations[i].initialize();
+		}
+	}
+	if (this.typeAnnotations != null) {
+		for (int i = 0, max = this.typeAnnotations.length; i < max; i++) {
+			this.typeAnnotations[i].initialize();
+		}
+	}
+	for (int i = 0, max = this.recordComponentsCount; i < max; i++) {
+		this.recordComponents[i].initialize();
+	}
+	this.getEnclosingMethod();
 }
 @Override
 public boolean isAnonymous() {
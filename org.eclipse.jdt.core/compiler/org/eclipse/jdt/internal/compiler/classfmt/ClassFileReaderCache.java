@@ -0,0 +1,156 @@
+/*******************************************************************************
+ * Copyright (c) 2021 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.compiler.classfmt;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.ref.SoftReference;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A process wide cache of the class files read from the jars and runtime images on a classpath,
+ * so that lookup environments created one after the other (builds, reconciles, code assist, ...)
+ * do not read and decode the same library types again.
+ * <p>
+ * The cached readers are initialized for sharing (see {@link ClassFileReader#initializeForSharing()}),
+ * so that they can be shared by lookup environments on different threads: their members are still
+ * decoded on demand, and fully initialized before being published; bindings are still created by
+ * each environment. Entries are keyed by the identity of the classpath entry (its path, size and last
+ * modification time, so that a changed jar is read again) and by the name of the class file. The cache keeps the most
+ * recently used readers, up to the number given by the <code>jdt.compiler.sharedBinaryTypes</code>
+ * system property (0 disabling the cache), through soft references, so that memory pressure can
+ * reclaim them.
+ * </p>
+ */
+public final class ClassFileReaderCache {
+
+	public static final ClassFileReaderCache SHARED = new ClassFileReaderCache(Integer.getInteger("jdt.compiler.sharedBinaryTypes", 20000).intValue()); //$NON-NLS-1$
+
+	/**
+	 * Reads a class file which is not cached yet.
+	 */
+	public interface Loader {
+		/**
+		 * Answers the reader for the class file, initialized for sharing, or <code>null</code> if there is none.
+		 */
+		ClassFileReader load() throws ClassFormatException, IOException;
+	}
+
+	private static final class Key {
+		final Object entry;
+		final String fileName;
+		final int hashCode;
+
+		Key(Object entry, String fileName) {
+			this.entry = entry;
+			this.fileName = fileName;
+			this.hashCode = 31 * entry.hashCode() + fileName.hashCode();
+		}
+		@Override
+		public boolean equals(Object other) {
+			if (!(other instanceof Key))
+				return false;
+			Key key = (Key) other;
+			return this.hashCode == key.hashCode && this.fileName.equals(key.fileName) && this.entry.equals(key.entry);
+		}
+		@Override
+		public int hashCode() {
+			return this.hashCode;
+		}
+	}
+
+	private final int maxSize;
+	private final Map<Key, SoftReference<ClassFileReader>> readers;
+	private final AtomicLong hits = new AtomicLong();
+	private final AtomicLong misses = new AtomicLong();
+
+/**
+ * Creates a cache of up to the given number of class files, 0 for a cache which does not keep any.
+ */
+public ClassFileReaderCache(int maxSize) {
+	this.maxSize = maxSize;
+	this.readers = new LinkedHashMap<Key, SoftReference<ClassFileReader>>(16, 0.75f, true) {
+		private static final long serialVersionUID = 1L;
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<Key, SoftReference<ClassFileReader>> eldest) {
+			return size() > maxSize;
+		}
+	};
+}
+
+/**
+ * Answers the key of the given jar or runtime image, which changes when the file is modified.
+ *
+ * @param file the file of the classpath entry
+ * @param qualifier what else the readers depend on, such as the module of the entry, or <code>null</code>
+ */
+public static Object entryKey(File file, String qualifier) {
+	return file.getAbsolutePath() + '|' + file.length() + '|' + file.lastModified() + '|' + qualifier;
+}
+
+public boolean isEnabled() {
+	return this.maxSize > 0;
+}
+
+/**
+ * Answers the cached reader for the given class file of the given classpath entry, or the one answered by the
+ * given loader, which is then cached.
+ *
+ * @param entryKey the key of the classpath entry, see {@link #entryKey(File, String)}
+ * @param fileName the name of the class file in the entry
+ * @param loader reads the class file when it is not cached
+ * @return a reader initialized for sharing, or <code>null</code> if the loader answered none
+ */
+public ClassFileReader get(Object entryKey, String fileName, Loader loader) throws ClassFormatException, IOException {
+	if (this.maxSize <= 0)
+		return loader.load();
+	Key key = new Key(entryKey, fileName);
+	SoftReference<ClassFileReader> cached;
+	synchronized (this.readers) {
+		cached = this.readers.get(key);
+	}
+	ClassFileReader reader = cached == null ? null : cached.get();
+	if (reader != null) {
+		this.hits.incrementAndGet();
+		return reader;
+	}
+	this.misses.incrementAndGet();
+	reader = loader.load(); // not holding the lock while reading
+	if (reader != null) {
+		synchronized (this.readers) {
+			this.readers.put(key, new SoftReference<>(reader));
+		}
+	}
+	return reader;
+}
+
+public void clear() {
+	synchronized (this.readers) {
+		this.readers.clear();
+	}
+}
+
+public int size() {
+	synchronized (this.readers) {
+		return this.readers.size();
+	}
+}
+
+@Override
+public String toString() {
+	return "Shared class files: " + size() + " cached, " + this.hits.get() + " hits, " + this.misses.get() + " misses"; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+}
+}
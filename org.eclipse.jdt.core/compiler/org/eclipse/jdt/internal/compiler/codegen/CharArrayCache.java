@@ -14,13 +14,10 @@
 package org.eclipse.jdt.internal.compiler.codegen;
 
 import org.eclipse.jdt.core.compiler.CharOperation;
+import org.eclipse.jdt.internal.compiler.util.CharArrayHashtable;
 
-public class CharArrayCache {
-	// to avoid using Enumerations, walk the individual tables skipping nulls
-	public char[] keyTable[];
+public class CharArrayCache extends CharArrayHashtable {
 	public int valueTable[];
-	int elementSize; // number of elements in the table
-	int threshold;
 /**
  * Constructs a new, empty hashtable. A default capacity is used.
  * Note that the hashtable will automatically grow when it gets full.
@@ -35,9 +32,7 @@ public CharArrayCache() {
  *	the initial number of buckets; must be less than Integer.MAX_VALUE / 2
  */
 public CharArrayCache(int initialCapacity) {
-	this.elementSize = 0;
-	this.threshold = (initialCapacity * 2) / 3; // faster than float operation
-	this.keyTable = new char[initialCapacity][];
+	super(initialCapacity, (initialCapacity * 2) / 3); // faster than float operation
 	this.valueTable = new int[initialCapacity];
 }
 /**
@@ -50,22 +45,6 @@ public void clear() {
 	}
 	this.elementSize = 0;
 }
-/** Returns true if the collection contains an element for the key.
- *
- * @param key char[] the key that we are looking for
- * @return boolean
- */
-public boolean containsKey(char[] key) {
-	int length = this.keyTable.length, index = CharOperation.hashCode(key) % length;
-	while (this.keyTable[index] != null) {
-		if (CharOperation.equals(this.keyTable[index], key))
-			return true;
-		if (++index == length) { // faster than modulo
-			index = 0;
-		}
-	}
-	return false;
-}
 /** Gets the object associated with the specified key in the
  * hashtable.
  * @param key <CODE>char[]</CODE> the specified key
@@ -73,15 +52,20 @@ public boolean containsKey(char[] key) {
  *	defined in the hash table.
  */
 public int get(char[] key) {
-	int length = this.keyTable.length, index = CharOperation.hashCode(key) % length;
-	while (this.keyTable[index] != null) {
-		if (CharOperation.equals(this.keyTable[index], key))
-			return this.valueTable[index];
-		if (++index == length) { // faster than modulo
-			index = 0;
-		}
-	}
-	return -1;
+	int index = indexOf(key, CharOperation.hashCode(key));
+	return index >= 0 ? this.valueTable[index] : -1;
+}
+/** Gets the object associated with the key equal to the specified slice
+ * of an array, without copying it.
+ * @param array <CODE>char[]</CODE> the array containing the key
+ * @param start int the index of the first character of the key
+ * @param end int the index following the last character of the key
+ * @return int the element for the key or -1 if the key is not
+ *	defined in the hash table.
+ */
+public int get(char[] array, int start, int end) {
+	int index = indexOf(array, start, end);
+	return index >= 0 ? this.valueTable[index] : -1;
 }
 /**
  * Puts the specified element into the hashtable if it wasn't there already,
@@ -93,80 +77,44 @@ public int get(char[] key) {
  * @return int the old value of the key, or -value if it did not have one.
  */
 public int putIfAbsent(char[] key, int value) {
-	int length = this.keyTable.length, index = CharOperation.hashCode(key) % length;
-	while (this.keyTable[index] != null) {
-		if (CharOperation.equals(this.keyTable[index], key))
-			return this.valueTable[index];
-		if (++index == length) { // faster than modulo
-			index = 0;
-		}
-	}
-	this.keyTable[index] = key;
+	int hash = CharOperation.hashCode(key);
+	int index = indexOf(key, hash);
+	if (index >= 0)
+		return this.valueTable[index];
+	index = -1 - index;
 	this.valueTable[index] = value;
-
-	// assumes the threshold is never equal to the size of the table
-	if (++this.elementSize > this.threshold)
-		rehash();
+	addKey(index, key, hash);
 	return -value; // negative when added (value is assumed to be > 0)
 }
 
-/**
- * Puts the specified element into the hashtable, using the specified
- * key.  The element may be retrieved by doing a get() with the same key.
- * The key and the element cannot be null.
- *
- * @param key <CODE>Object</CODE> the specified key in the hashtable
- * @param value <CODE>int</CODE> the specified element
- * @return int the old value of the key, or -1 if it did not have one.
- */
-private int put(char[] key, int value) {
-	int length = this.keyTable.length, index = CharOperation.hashCode(key) % length;
-	while (this.keyTable[index] != null) {
-		if (CharOperation.equals(this.keyTable[index], key))
-			return this.valueTable[index] = value;
-		if (++index == length) { // faster than modulo
-			index = 0;
-		}
-	}
-	this.keyTable[index] = key;
-	this.valueTable[index] = value;
-
-	// assumes the threshold is never equal to the size of the table
-	if (++this.elementSize > this.threshold)
-		rehash();
-	return value;
-}
 /**
  * Rehashes the content of the table into a bigger table.
  * This method is called automatically when the hashtable's
  * size exceeds the threshold.
  */
-private void rehash() {
-	CharArrayCache newHashtable = new CharArrayCache(this.keyTable.length * 2);
-	for (int i = this.keyTable.length; --i >= 0;)
-		if (this.keyTable[i] != null)
-			newHashtable.put(this.keyTable[i], this.valueTable[i]);
-
-	this.keyTable = newHashtable.keyTable;
-	this.valueTable = newHashtable.valueTable;
-	this.threshold = newHashtable.threshold;
+@Override
+protected void rehash() {
+	int capacity = this.keyTable.length * 2;
+	rehash(capacity, (capacity * 2) / 3);
+}
+@Override
+protected Object newValueTable(int capacity) {
+	int[] oldValues = this.valueTable;
+	this.valueTable = new int[capacity];
+	return oldValues;
+}
+@Override
+protected void moveValue(Object oldValues, int oldIndex, int newIndex) {
+	this.valueTable[newIndex] = oldValues == null ? 0 : ((int[]) oldValues)[oldIndex];
 }
 /** Remove the object associated with the specified key in the
  * hashtable.
  * @param key <CODE>char[]</CODE> the specified key
  */
 public void remove(char[] key) {
-	int length = this.keyTable.length, index = CharOperation.hashCode(key) % length;
-	while (this.keyTable[index] != null) {
-		if (CharOperation.equals(this.keyTable[index], key)) {
-			this.valueTable[index] = 0;
-			this.keyTable[index] = null;
-			return;
-		}
-		if (++index == length) { // faster than modulo
-			index = 0;
-		}
-	}
+	int index = indexOf(key, CharOperation.hashCode(key));
+	if (index >= 0)
+		removeAt(index);
 }
 /**
  * Returns the key corresponding to the value. Returns null if the
@@ -182,14 +130,6 @@ public char[] returnKeyFor(int value) {
 	}
 	return null;
 }
-/**
- * Returns the number of elements contained in the hashtable.
- *
- * @return <CODE>int</CODE> The size of the table
- */
-public int size() {
-	return this.elementSize;
-}
 /**
  * Converts to a rather lengthy String.
  *
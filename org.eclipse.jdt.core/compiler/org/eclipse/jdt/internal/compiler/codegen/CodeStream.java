@@ -7141,6 +7141,7 @@ private final void resizeByteArray() {
 		requiredSize = this.classFileOffset + length;
 	}
 	System.arraycopy(this.bCodeStream, 0, this.bCodeStream = new byte[requiredSize], 0, length);
+	this.classFile.bytesCopied += length;
 }
 
 final public void ret(int index) {
@@ -1233,6 +1233,7 @@ public class ConstantPool implements ClassFileConstants, TypeIds {
 		if (toAdd < minimalSize)
 			toAdd = minimalSize;
 		System.arraycopy(this.poolContent, 0, this.poolContent = new byte[length + toAdd], 0, length);
+		this.classFile.bytesCopied += length;
 	}
 	/**
 	 * Write a unsigned byte into the byte array
@@ -102,6 +102,10 @@ public class UnconditionalFlowInfo extends FlowInfo {
 		// extra[INN] is iNNBit
 		// lifecycle is extra == null or else all extra[]'s are allocated
 		// arrays which have the same size
+	private int sharedRows;
+		// one bit per row of extra, set when the row may be shared with
+		// copies of this flow info or be a pooled row, so that it must
+		// be copied before it is modified (see ownRows)
 
 	public int maxFieldCount; // limit between fields and locals
 
@@ -110,6 +114,23 @@ public class UnconditionalFlowInfo extends FlowInfo {
 	public static final int IN = 6;
 	public static final int INN = 7;
 
+	// rows of extra, as bits of sharedRows
+	private static final int ASSIGNMENT_ROWS = 0x03;
+	private static final int INCOMING_ROWS = 0xC0;
+	private static final int NULL_ROWS = 0xFC;
+	private static final int ALL_ROWS = 0xFF;
+
+	// rows which are never modified, shared by the copies which clear or set all their bits
+	private static final int MAX_POOLED_ROW_LENGTH = 64;
+	private static final long[][] ZERO_ROWS = new long[MAX_POOLED_ROW_LENGTH + 1][];
+	private static final long[][] ONES_ROWS = new long[MAX_POOLED_ROW_LENGTH + 1][];
+	static {
+		for (int length = 0; length <= MAX_POOLED_ROW_LENGTH; length++) {
+			ZERO_ROWS[length] = new long[length];
+			Arrays.fill(ONES_ROWS[length] = new long[length], -1L);
+		}
+	}
+
 /* fakeInitializedFlowInfo: For Lambda expressions tentative analysis during overload resolution.
    We presume that any and all outer locals touched by the lambda are definitely assigned and
    effectively final. Whether they are or not is immaterial for overload analysis (errors encountered
@@ -301,6 +322,7 @@ private FlowInfo addInfoFrom(FlowInfo inits, boolean handleInits) {
 				}
 			}
 		}
+		ownRows((handleInits ? ASSIGNMENT_ROWS : 0) | (otherHasNulls ? NULL_ROWS : 0));
 		int i;
 		if (handleInits) {
 			// manage definite assignment info
@@ -411,6 +433,7 @@ public FlowInfo addPotentialInitializationsFrom(FlowInfo inits) {
 	// union of potentially set ones
 	this.potentialInits |= otherInits.potentialInits;
 	// treating extra storage
+	ownRows(ASSIGNMENT_ROWS);
 	if (this.extra != null) {
 		if (otherInits.extra != null) {
 			// both sides have extra storage
@@ -462,6 +485,7 @@ public UnconditionalFlowInfo addPotentialNullInfoFrom(
 			(otherInits.tagBits & NULL_FLAG_MASK) == 0) {
 		return this;
 	}
+	ownRows(NULL_ROWS);
 	// if we get here, otherInits has some null info
 	boolean thisHadNulls = (this.tagBits & NULL_FLAG_MASK) != 0,
 		thisHasNulls = false;
@@ -713,26 +737,26 @@ public FlowInfo copy() {
 	copy.tagBits = this.tagBits;
 	copy.maxFieldCount = this.maxFieldCount;
 	if (this.extra != null) {
-		int length;
+		// rows are only copied when either side modifies them
 		copy.extra = new long[extraLength][];
-		System.arraycopy(this.extra[0], 0,
-			(copy.extra[0] = new long[length = this.extra[0].length]), 0,
-			length);
-		System.arraycopy(this.extra[1], 0,
-			(copy.extra[1] = new long[length]), 0, length);
+		copy.extra[0] = this.extra[0];
+		copy.extra[1] = this.extra[1];
 		if (hasNullInfo) {
 			for (int j = 2; j < 6; j++) {
-				System.arraycopy(this.extra[j], 0,
-					(copy.extra[j] = new long[length]), 0, length);
+				copy.extra[j] = this.extra[j];
 			}
+			this.sharedRows = ALL_ROWS;
 		}
 		else {
+			long[] zeros = zeroRow(this.extra[0].length);
 			for (int j = 2; j < 6; j++) {
-				copy.extra[j] = new long[length];
+				copy.extra[j] = zeros;
 			}
+			this.sharedRows |= ASSIGNMENT_ROWS | INCOMING_ROWS;
 		}
-		System.arraycopy(this.extra[IN], 0, (copy.extra[IN] = new long[length]), 0, length);
-		System.arraycopy(this.extra[INN], 0, (copy.extra[INN] = new long[length]), 0, length);
+		copy.extra[IN] = this.extra[IN];
+		copy.extra[INN] = this.extra[INN];
+		copy.sharedRows = ALL_ROWS;
 	}
 	return copy;
 }
@@ -749,6 +773,7 @@ public UnconditionalFlowInfo discardInitializationInfo() {
 	this.definiteInits =
 		this.potentialInits = 0;
 	if (this.extra != null) {
+		ownRows(ASSIGNMENT_ROWS);
 		for (int i = 0, length = this.extra[0].length; i < length; i++) {
 			this.extra[0][i] = this.extra[1][i] = 0;
 		}
@@ -781,6 +806,7 @@ public UnconditionalFlowInfo discardNonFieldInitializations() {
 	if ((vectorIndex = (limit / BitCacheSize) - 1) >= length) {
 		return this; // not enough room yet
 	}
+	ownRows(ALL_ROWS);
 	if (vectorIndex >= 0) {
 		// else we only have complete non field array items left
 		long mask = (1L << (limit % BitCacheSize))-1;
@@ -1183,6 +1209,7 @@ public void markAsComparedEqualToNonNull(LocalVariableBinding local) {
 		else {
 			// use extra vector
 			int vectorIndex = (position / BitCacheSize) - 1;
+			ownRows(NULL_ROWS);
 			if (this.extra == null) {
 				int length = vectorIndex + 1;
 				createExtraSpace(length);
@@ -1274,6 +1301,7 @@ public void markAsComparedEqualToNull(LocalVariableBinding local) {
 		else {
 			// use extra vector
 			int vectorIndex = (position / BitCacheSize) - 1;
+			ownRows(NULL_ROWS);
 			mask = 1L << (position % BitCacheSize);
 			if (this.extra == null) {
 				int length = vectorIndex + 1;
@@ -1335,6 +1363,7 @@ final private void markAsDefinitelyAssigned(int position) {
 		else {
 			// use extra vector
 			int vectorIndex = (position / BitCacheSize) - 1;
+			ownRows(ASSIGNMENT_ROWS);
 			if (this.extra == null) {
 				int length = vectorIndex + 1;
 				createExtraSpace(length);
@@ -1392,6 +1421,7 @@ public void markAsDefinitelyNonNull(LocalVariableBinding local) {
     	else {
     		// use extra vector
     		int vectorIndex = (position / BitCacheSize) - 1;
+    		ownRows(NULL_ROWS);
     		if (this.extra == null) {
     			int length = vectorIndex + 1;
     			createExtraSpace(length);
@@ -1446,6 +1476,7 @@ public void markAsDefinitelyNull(LocalVariableBinding local) {
     	else {
     		// use extra vector
     		int vectorIndex = (position / BitCacheSize) - 1;
+    		ownRows(NULL_ROWS);
     		if (this.extra == null) {
     			int length = vectorIndex + 1;
     			createExtraSpace(length);
@@ -1507,6 +1538,7 @@ public void markAsDefinitelyUnknown(LocalVariableBinding local) {
 		else {
 			// use extra vector
 			int vectorIndex = (position / BitCacheSize) - 1;
+			ownRows(NULL_ROWS);
 			if (this.extra == null) {
 				int length = vectorIndex + 1;
 				createExtraSpace(length);
@@ -1551,6 +1583,7 @@ public void resetNullInfo(LocalVariableBinding local) {
         } else {
     		// use extra vector
     		int vectorIndex = (position / BitCacheSize) - 1;
+    		ownRows(NULL_ROWS);
     		if (this.extra == null || vectorIndex >= this.extra[2].length) {
     			// in case we attempt to reset the null info of a variable that has not been encountered
     			// before and for which no null bits exist.
@@ -1591,6 +1624,7 @@ public void markPotentiallyUnknownBit(LocalVariableBinding local) {
         } else {
     		// use extra vector
     		int vectorIndex = (position / BitCacheSize) - 1;
+    		ownRows(NULL_ROWS);
     		if (this.extra == null) {
 				int length = vectorIndex + 1;
 				createExtraSpace(length);
@@ -1635,6 +1669,7 @@ public void markPotentiallyNullBit(LocalVariableBinding local) {
         } else {
     		// use extra vector
     		int vectorIndex = (position / BitCacheSize) - 1;
+    		ownRows(NULL_ROWS);
     		if (this.extra == null) {
 				int length = vectorIndex + 1;
 				createExtraSpace(length);
@@ -1679,6 +1714,7 @@ public void markPotentiallyNonNullBit(LocalVariableBinding local) {
         } else {
     		// use extra vector
     		int vectorIndex  = (position / BitCacheSize) - 1;
+    		ownRows(NULL_ROWS);
     		if (this.extra == null) {
 				int length = vectorIndex + 1;
 				createExtraSpace(length);
@@ -1815,6 +1851,7 @@ public UnconditionalFlowInfo mergedWith(UnconditionalFlowInfo otherInits) {
 
 	// treating extra storage
 	if (this.extra != null || otherInits.extra != null) {
+		ownRows(ALL_ROWS);
 		// three areas, but not all combinations are possible: only one of copyLimit/resetLimit will be > 0
 		int mergeLimit = 0; // [0..mergeLimit]			: both flows have extra bits. Merge'em
 		int copyLimit = 0;  // (mergeLimit..copyLimit] 	: only other has extra bits. Copy'em, sheding some doubt
@@ -2028,19 +2065,18 @@ public UnconditionalFlowInfo nullInfoLessUnconditionalCopy() {
 	copy.tagBits |= UNROOTED;
 	copy.maxFieldCount = this.maxFieldCount;
 	if (this.extra != null) {
-		int length;
+		int length = this.extra[0].length;
 		copy.extra = new long[extraLength][];
-		System.arraycopy(this.extra[0], 0,
-			(copy.extra[0] =
-				new long[length = this.extra[0].length]), 0, length);
-		System.arraycopy(this.extra[1], 0,
-			(copy.extra[1] = new long[length]), 0, length);
-		for (int j = 2; j < extraLength; j++) {
-			copy.extra[j] = new long[length];
+		copy.extra[0] = this.extra[0];
+		copy.extra[1] = this.extra[1];
+		this.sharedRows |= ASSIGNMENT_ROWS;
+		long[] zeros = zeroRow(length);
+		for (int j = 2; j < 6; j++) {
+			copy.extra[j] = zeros;
 		}
 		// no nullness known means: any previous nullness could shine through:
-		Arrays.fill(copy.extra[IN], -1L);
-		Arrays.fill(copy.extra[INN], -1L);
+		copy.extra[IN] = copy.extra[INN] = onesRow(length);
+		copy.sharedRows = ALL_ROWS;
 	}
 	return copy;
 }
@@ -2065,6 +2101,7 @@ public FlowInfo setReachMode(int reachMode) {
 			// see InitializationTest#test090 (and others)
 			this.potentialInits = 0;
 			if (this.extra != null) {
+				ownRows(ASSIGNMENT_ROWS);
 				for (int i = 0, length = this.extra[0].length;
 						i < length; i++) {
 					this.extra[1][i] = 0;
@@ -2225,6 +2262,7 @@ public UnconditionalFlowInfo mergeDefiniteInitsWith(UnconditionalFlowInfo otherI
 
 	// intersection of definitely assigned variables,
 	this.definiteInits &= otherInits.definiteInits;
+	ownRows(ASSIGNMENT_ROWS);
 	if (this.extra != null) {
 		if (otherInits.extra != null) {
 			// both sides have extra storage
@@ -2279,6 +2317,7 @@ public void resetAssignmentInfo(int position) {
 		} else {
 			// use extra vector
 			int vectorIndex = (position / BitCacheSize) - 1;
+			ownRows(ASSIGNMENT_ROWS);
 			if (this.extra == null || vectorIndex >= this.extra[0].length) return;	// variable doesnt exist in flow info
 			long mask;
 			this.extra[0][vectorIndex] &=
@@ -2290,6 +2329,7 @@ public void resetAssignmentInfo(int position) {
 
 private void createExtraSpace(int length) {
 	this.extra = new long[extraLength][];
+	this.sharedRows = 0;
 	for (int j = 0; j < extraLength; j++) {
 		this.extra[j] = new long[length];
 	}
@@ -2305,16 +2345,45 @@ public void growSpace(int newLength, int copyStart, int copyLength) {
 			(this.extra[j] = new long[newLength]), copyStart,
 			copyLength);
 	}
+	this.sharedRows = 0;
 	if ((this.tagBits & UNROOTED) != 0) {
 		Arrays.fill(this.extra[IN], copyStart+copyLength, newLength, -1);
 		Arrays.fill(this.extra[INN], copyStart+copyLength, newLength, -1);
 	}
 }
 
+/**
+ * Copies the given rows of extra which may be shared, before they are modified.
+ */
+private void ownRows(int rows) {
+	int shared = this.sharedRows & rows;
+	if (shared != 0 && this.extra != null) {
+		for (int j = 0; j < extraLength; j++) {
+			if ((shared & (1 << j)) != 0) {
+				this.extra[j] = this.extra[j].clone();
+			}
+		}
+		this.sharedRows &= ~shared;
+	}
+}
+
+private static long[] zeroRow(int length) {
+	return length <= MAX_POOLED_ROW_LENGTH ? ZERO_ROWS[length] : new long[length];
+}
+
+private static long[] onesRow(int length) {
+	if (length <= MAX_POOLED_ROW_LENGTH)
+		return ONES_ROWS[length];
+	long[] row = new long[length];
+	Arrays.fill(row, -1L);
+	return row;
+}
+
 public void acceptAllIncomingNullness() {
 	this.iNBit = -1L;
 	this.iNNBit = -1L;
 	if (this.extra != null) {
+		ownRows(INCOMING_ROWS);
 		Arrays.fill(this.extra[IN], -1L);
 		Arrays.fill(this.extra[INN], -1L);
 	}
@@ -0,0 +1,161 @@
+/*******************************************************************************
+ * Copyright (c) 2021 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.compiler.impl;
+
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.Method;
+
+/**
+ * Measurements of the compilation of one compilation unit, collected when the compiler has an
+ * {@link org.eclipse.jdt.internal.compiler.ICompilerListener}.
+ * <p>
+ * Times are in nanoseconds. Allocated bytes are measured per thread, using the
+ * <code>com.sun.management.ThreadMXBean</code> extension when the VM provides it, and are
+ * <code>-1</code> otherwise. The type lookups and inferences are those performed while the unit
+ * was processed, including the ones done on behalf of other types it required.
+ * </p>
+ */
+public class CompilationUnitMetrics {
+
+	// phases
+	public static final int PARSE = 0;
+	public static final int RESOLVE = 1;
+	public static final int ANALYZE = 2;
+	public static final int GENERATE = 3;
+	public static final int ACCEPT = 4;
+	public static final String[] PHASE_NAMES = { "parse", "resolve", "analyze", "generate", "accept" }; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$
+
+	public final char[] fileName;
+	public final long[] phaseTime = new long[PHASE_NAMES.length];
+	public final long[] phaseAllocatedBytes = new long[PHASE_NAMES.length];
+
+	public long typeLookupHits; // types found in the lookup environment
+	public long typeLookupMisses; // types asked to the name environment
+	public int inferenceCount; // invocations inferred by InferenceContext18
+	public int inferenceCacheHits; // invocations whose inference outcome was already known
+	public long incorporatedBoundPairs; // pairs of inference bounds combined by incorporation
+	public int classFileCount;
+	public long classFileBytes;
+	public long classFileBytesCopied; // bytes copied while growing the buffers of the class files
+
+	private long phaseStart;
+	private long allocatedBytesAtPhaseStart;
+
+	private static final Object THREAD_MX_BEAN;
+	private static final Method GET_THREAD_ALLOCATED_BYTES;
+	static {
+		Object bean = null;
+		Method method = null;
+		try {
+			bean = ManagementFactory.getThreadMXBean();
+			for (Class<?> type : bean.getClass().getInterfaces()) {
+				if (type.getName().equals("com.sun.management.ThreadMXBean")) { //$NON-NLS-1$
+					method = type.getMethod("getThreadAllocatedBytes", long.class); //$NON-NLS-1$
+					break;
+				}
+			}
+		} catch (LinkageError | ReflectiveOperationException | RuntimeException e) {
+			// allocations are not measured
+		}
+		THREAD_MX_BEAN = bean;
+		GET_THREAD_ALLOCATED_BYTES = method;
+	}
+
+public CompilationUnitMetrics(char[] fileName) {
+	this.fileName = fileName;
+}
+
+/**
+ * Answers the bytes allocated so far by the current thread, or <code>-1</code> if unknown.
+ */
+public static long currentThreadAllocatedBytes() {
+	if (GET_THREAD_ALLOCATED_BYTES == null)
+		return -1;
+	try {
+		return ((Long) GET_THREAD_ALLOCATED_BYTES.invoke(THREAD_MX_BEAN, Thread.currentThread().getId())).longValue();
+	} catch (ReflectiveOperationException | RuntimeException e) {
+		return -1;
+	}
+}
+
+/**
+ * Starts measuring a phase on the current thread.
+ */
+public void startPhase() {
+	this.phaseStart = System.nanoTime();
+	this.allocatedBytesAtPhaseStart = currentThreadAllocatedBytes();
+}
+
+/**
+ * Ends measuring the given phase, and starts measuring the next one.
+ */
+public void endPhase(int phase) {
+	long now = System.nanoTime();
+	long allocatedBytes = currentThreadAllocatedBytes();
+	this.phaseTime[phase] += now - this.phaseStart;
+	if (allocatedBytes < 0 || this.allocatedBytesAtPhaseStart < 0)
+		this.phaseAllocatedBytes[phase] = -1;
+	else if (this.phaseAllocatedBytes[phase] >= 0)
+		this.phaseAllocatedBytes[phase] += allocatedBytes - this.allocatedBytesAtPhaseStart;
+	this.phaseStart = now;
+	this.allocatedBytesAtPhaseStart = allocatedBytes;
+}
+
+public long totalTime() {
+	long total = 0;
+	for (long time : this.phaseTime)
+		total += time;
+	return total;
+}
+
+/**
+ * Answers these metrics as a single line JSON object.
+ */
+public String toJson() {
+	StringBuilder buffer = new StringBuilder(256);
+	buffer.append("{\"file\":\""); //$NON-NLS-1$
+	for (char c : this.fileName) {
+		switch (c) {
+			case '"' :
+			case '\\' :
+				buffer.append('\\').append(c);
+				break;
+			default :
+				if (c < 0x20)
+					buffer.append(String.format("\\u%04x", Integer.valueOf(c))); //$NON-NLS-1$
+				else
+					buffer.append(c);
+		}
+	}
+	buffer.append('"');
+	for (int i = 0; i < PHASE_NAMES.length; i++) {
+		buffer.append(",\"").append(PHASE_NAMES[i]).append("\":{\"nanos\":").append(this.phaseTime[i]); //$NON-NLS-1$ //$NON-NLS-2$
+		buffer.append(",\"allocatedBytes\":").append(this.phaseAllocatedBytes[i]).append('}'); //$NON-NLS-1$
+	}
+	buffer.append(",\"typeLookupHits\":").append(this.typeLookupHits); //$NON-NLS-1$
+	buffer.append(",\"typeLookupMisses\":").append(this.typeLookupMisses); //$NON-NLS-1$
+	buffer.append(",\"inferences\":").append(this.inferenceCount); //$NON-NLS-1$
+	buffer.append(",\"classFiles\":").append(this.classFileCount); //$NON-NLS-1$
+	buffer.append(",\"classFileBytes\":").append(this.classFileBytes); //$NON-NLS-1$
+	buffer.append(",\"inferenceCacheHits\":").append(this.inferenceCacheHits); //$NON-NLS-1$
+	buffer.append(",\"incorporatedBoundPairs\":").append(this.incorporatedBoundPairs); //$NON-NLS-1$
+	buffer.append(",\"classFileBytesCopied\":").append(this.classFileBytesCopied); //$NON-NLS-1$
+	return buffer.append('}').toString();
+}
+
+@Override
+public String toString() {
+	return toJson();
+}
+}
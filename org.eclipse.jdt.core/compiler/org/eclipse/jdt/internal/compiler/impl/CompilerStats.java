@@ -28,6 +28,31 @@ public class CompilerStats implements Comparable {
 	public long analyzeTime;
 	public long generateTime;
 
+	// time the processing thread waited for the results to be accepted and vice versa (multi-threaded compilation only)
+	public long processingStallTime;
+	public long acceptingStallTime;
+
+	// types interned by the type system of the lookup environment, by kind
+	public int internedTypes;
+	public int internedParameterizedTypes;
+	public int internedRawTypes;
+	public int internedArrayTypes;
+	public int internedWildcards;
+	public int internedIntersectionTypes;
+	public int internedAnnotatedTypes;
+
+	// inference problems solved by the lookup environment and found already solved
+	public int inferenceCacheHits;
+	public int inferenceCacheMisses;
+
+	// pairs of bounds combined by the incorporation of inference bound sets, and pairs skipped as unrelated
+	public long incorporatedBoundPairs;
+	public long skippedBoundPairs;
+
+	// bytes of the generated class files, and bytes copied while growing their buffers
+	public long classFileBytes;
+	public long classFileBytesCopied;
+
 /**
  * Returns the total elapsed time (between start and end)
  * @return the time spent between start and end
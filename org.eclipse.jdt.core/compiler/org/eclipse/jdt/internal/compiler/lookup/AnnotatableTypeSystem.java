@@ -41,7 +41,7 @@ public class AnnotatableTypeSystem extends TypeSystem {
 
 	// Given a type, return all its annotated variants: parameter may be annotated.
 	@Override
-	public TypeBinding[] getAnnotatedTypes(TypeBinding type) {
+	public synchronized TypeBinding[] getAnnotatedTypes(TypeBinding type) {
 
 		TypeBinding[] derivedTypes = getDerivedTypes(type);
 		final int length = derivedTypes.length;
@@ -69,7 +69,7 @@ public class AnnotatableTypeSystem extends TypeSystem {
 	   type later.
 	*/
 	@Override
-	public ArrayBinding getArrayType(TypeBinding leafType, int dimensions, AnnotationBinding [] annotations) {
+	public synchronized ArrayBinding getArrayType(TypeBinding leafType, int dimensions, AnnotationBinding [] annotations) {
 		if (leafType instanceof ArrayBinding) { // substitution attempts can cause this, don't create array of arrays.
 			dimensions += leafType.dimensions();
 			AnnotationBinding[] leafAnnotations = leafType.getTypeAnnotations();
@@ -104,19 +104,19 @@ public class AnnotatableTypeSystem extends TypeSystem {
 	}
 
 	@Override
-	public ArrayBinding getArrayType(TypeBinding leaftType, int dimensions) {
+	public synchronized ArrayBinding getArrayType(TypeBinding leaftType, int dimensions) {
 		return getArrayType(leaftType, dimensions, Binding.NO_ANNOTATIONS);
 	}
 
 	@Override
-	public ReferenceBinding getMemberType(ReferenceBinding memberType, ReferenceBinding enclosingType) {
+	public synchronized ReferenceBinding getMemberType(ReferenceBinding memberType, ReferenceBinding enclosingType) {
 		if (!haveTypeAnnotations(memberType, enclosingType))
 			return super.getMemberType(memberType, enclosingType);
 		return (ReferenceBinding) getAnnotatedType(memberType, enclosingType, memberType.getTypeAnnotations());
 	}
 
 	@Override
-	public ParameterizedTypeBinding getParameterizedType(ReferenceBinding genericType, TypeBinding[] typeArguments, ReferenceBinding enclosingType, AnnotationBinding [] annotations) {
+	public synchronized ParameterizedTypeBinding getParameterizedType(ReferenceBinding genericType, TypeBinding[] typeArguments, ReferenceBinding enclosingType, AnnotationBinding [] annotations) {
 
 		if (genericType.hasTypeAnnotations())   // @NonNull (List<String>) and not (@NonNull List)<String>
 			throw new IllegalStateException();
@@ -138,12 +138,12 @@ public class AnnotatableTypeSystem extends TypeSystem {
 	}
 
 	@Override
-	public ParameterizedTypeBinding getParameterizedType(ReferenceBinding genericType, TypeBinding[] typeArguments, ReferenceBinding enclosingType) {
+	public synchronized ParameterizedTypeBinding getParameterizedType(ReferenceBinding genericType, TypeBinding[] typeArguments, ReferenceBinding enclosingType) {
 		return getParameterizedType(genericType, typeArguments, enclosingType, Binding.NO_ANNOTATIONS);
 	}
 
 	@Override
-	public RawTypeBinding getRawType(ReferenceBinding genericType, ReferenceBinding enclosingType, AnnotationBinding [] annotations) {
+	public synchronized RawTypeBinding getRawType(ReferenceBinding genericType, ReferenceBinding enclosingType, AnnotationBinding [] annotations) {
 		if (genericType.hasTypeAnnotations())
 			throw new IllegalStateException();
 		if (!genericType.hasEnclosingInstanceContext() && enclosingType != null) {
@@ -176,12 +176,12 @@ public class AnnotatableTypeSystem extends TypeSystem {
 	}
 
 	@Override
-	public RawTypeBinding getRawType(ReferenceBinding genericType, ReferenceBinding enclosingType) {
+	public synchronized RawTypeBinding getRawType(ReferenceBinding genericType, ReferenceBinding enclosingType) {
 		return getRawType(genericType, enclosingType, Binding.NO_ANNOTATIONS);
 	}
 
 	@Override
-	public WildcardBinding getWildcard(ReferenceBinding genericType, int rank, TypeBinding bound, TypeBinding[] otherBounds, int boundKind, AnnotationBinding [] annotations) {
+	public synchronized WildcardBinding getWildcard(ReferenceBinding genericType, int rank, TypeBinding bound, TypeBinding[] otherBounds, int boundKind, AnnotationBinding [] annotations) {
 
 		if (genericType == null) // pseudo wildcard denoting composite bounds for lub computation
 			genericType = ReferenceBinding.LUB_GENERIC;
@@ -219,7 +219,7 @@ public class AnnotatableTypeSystem extends TypeSystem {
 	}
 
 	@Override
-	public WildcardBinding getWildcard(ReferenceBinding genericType, int rank, TypeBinding bound, TypeBinding[] otherBounds, int boundKind) {
+	public synchronized WildcardBinding getWildcard(ReferenceBinding genericType, int rank, TypeBinding bound, TypeBinding[] otherBounds, int boundKind) {
 		return getWildcard(genericType, rank, bound, otherBounds, boundKind, Binding.NO_ANNOTATIONS);
 	}
 
@@ -227,7 +227,7 @@ public class AnnotatableTypeSystem extends TypeSystem {
 	   we first construct the binding for Outer.Middle.Inner and then annotate various parts of it. Likewise for PQTR's binding.
 	*/
 	@Override
-	public TypeBinding getAnnotatedType(TypeBinding type, AnnotationBinding[][] annotations) {
+	public synchronized TypeBinding getAnnotatedType(TypeBinding type, AnnotationBinding[][] annotations) {
 
 		if (type == null || !type.isValidBinding() || annotations == null || annotations.length == 0)
 			return type;
@@ -72,6 +72,7 @@ import org.eclipse.jdt.internal.compiler.impl.BooleanConstant;
 import org.eclipse.jdt.internal.compiler.impl.CompilerOptions;
 import org.eclipse.jdt.internal.compiler.impl.Constant;
 import org.eclipse.jdt.internal.compiler.problem.AbortCompilation;
+import org.eclipse.jdt.internal.compiler.util.CharArrayInterner;
 import org.eclipse.jdt.internal.compiler.util.SimpleLookupTable;
 import org.eclipse.jdt.internal.compiler.util.Util;
 
@@ -291,7 +292,8 @@ public BinaryTypeBinding(PackageBinding packageBinding, IBinaryType binaryType,
 public BinaryTypeBinding(PackageBinding packageBinding, IBinaryType binaryType, LookupEnvironment environment, boolean needFieldsAndMethods) {
 
 	this.prototype = this;
-	this.compoundName = CharOperation.splitOn('/', binaryType.getName());
+	char[] name = binaryType.getName();
+	this.compoundName = CharArrayInterner.SHARED.splitOn('/', name, 0, name.length);
 	computeId();
 
 	this.tagBits |= TagBits.IsBinaryBinding;
@@ -1266,6 +1268,9 @@ public MethodBinding getExactMethod(char[] selector, TypeBinding[] argumentTypes
 	if (!isPrototype())
 		return this.prototype.getExactMethod(selector, argumentTypes, refScope);
 
+	if (refScope != null)
+		refScope.recordMemberReference(selector);
+
 	// lazily sort methods
 	if ((this.tagBits & TagBits.AreMethodsSorted) == 0) {
 		int length = this.methods.length;
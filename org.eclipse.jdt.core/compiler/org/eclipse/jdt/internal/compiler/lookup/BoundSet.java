@@ -52,6 +52,9 @@ class BoundSet {
 		}
 	}
 
+	/** Answered by {@link #mentionedVariables(TypeBound)} for bounds which may be combined with any other bound. */
+	private static final InferenceVariable[] ANY_VARIABLE = new InferenceVariable[0];
+
 	static final BoundSet TRUE = new BoundSet();	// empty set of bounds
 	static final BoundSet FALSE = new BoundSet();	// pseudo bounds
 
@@ -503,6 +506,8 @@ class BoundSet {
 		if (this.unincorporatedBoundsCount == 0 && this.captures.isEmpty())
 			return true;
 
+		LookupEnvironment root = context.environment.root;
+		long combinedPairs = root.incorporatedBoundPairs;
 		do {
 			TypeBound [] freshBounds;
 			System.arraycopy(this.unincorporatedBounds, 0, freshBounds = new TypeBound[this.unincorporatedBoundsCount], 0, this.unincorporatedBoundsCount);
@@ -514,6 +519,8 @@ class BoundSet {
 			// Pairwise bidirectional compare all fresh bounds.
 			if (!incorporate(context, freshBounds, freshBounds))
 				return false;
+			if (root.maxIncorporatedPairs > 0 && root.incorporatedBoundPairs - combinedPairs > root.maxIncorporatedPairs)
+				throw new InferenceFailureException("Bound incorporation exceeds " + root.maxIncorporatedPairs + " pairs of bounds"); //$NON-NLS-1$ //$NON-NLS-2$
 
 			// Merge the bounds into one incorporated generation.
 			final int incorporatedLength = this.incorporatedBounds.length;
@@ -538,11 +545,20 @@ class BoundSet {
 	boolean incorporate(InferenceContext18 context, TypeBound [] first, TypeBound [] next) throws InferenceFailureException {
 		boolean analyzeNull = context.environment.globalOptions.isAnnotationBasedNullAnalysisEnabled;
 		ConstraintTypeFormula [] mostRecentFormulas = new ConstraintTypeFormula[4]; // poor man's cache to toss out duplicates, in pathological cases there are a good quarter million of them.
-		// check each pair, in each way.
+		// Only bounds mentioning a common inference variable can imply a constraint which is not already implied by one of them,
+		// so each bound is only paired with such bounds, which are found through an index of the next bounds by variable.
+		Map<InferenceVariable, int[]> nextByVariable = new HashMap<>();
+		int[] nextRelatedToAny = indexByVariable(next, nextByVariable);
+		int[] related = new int[next.length];
+		int[] seen = new int[next.length];
+		long combinedPairs = 0;
+		// check each related pair, in each way.
 		for (int i = 0, iLength = first.length; i < iLength; i++) {
 			TypeBound boundI = first[i];
-			for (int j = 0, jLength = next.length; j < jLength; j++) {
-				TypeBound boundJ = next[j];
+			int relatedCount = relatedBounds(boundI, i + 1, next.length, nextByVariable, nextRelatedToAny, related, seen);
+			combinedPairs += relatedCount;
+			for (int r = 0; r < relatedCount; r++) {
+				TypeBound boundJ = next[related[r]];
 				if (boundI == boundJ)
 					continue;
 				int iteration = 1;
@@ -640,6 +656,9 @@ class BoundSet {
 				} while (first != next && ++iteration <= 2);
 			}
 		}
+		LookupEnvironment root = context.environment.root;
+		root.incorporatedBoundPairs += combinedPairs;
+		root.skippedBoundPairs += (long) first.length * next.length - combinedPairs;
 		/* TODO: are we sure this will always terminate? Cf. e.g. (Discussion in 18.3):
 		 *
 		 *    "The assertion that incorporation reaches a fixed point oversimplifies the matter slightly. ..."
@@ -733,6 +752,125 @@ class BoundSet {
 		return true;
 	}
 
+	/**
+	 * Records the indices of the given bounds in lists per mentioned inference variable, the first element of each list
+	 * being its size.
+	 * @return the list of the indices of the bounds which may be combined with any bound
+	 */
+	private static int[] indexByVariable(TypeBound[] bounds, Map<InferenceVariable, int[]> byVariable) {
+		int[] relatedToAny = new int[] { 0 };
+		for (int j = 0; j < bounds.length; j++) {
+			InferenceVariable[] variables = mentionedVariables(bounds[j]);
+			if (variables == ANY_VARIABLE) {
+				relatedToAny = addIndex(relatedToAny, j);
+			} else {
+				for (InferenceVariable variable : variables)
+					byVariable.put(variable, addIndex(byVariable.get(variable), j));
+			}
+		}
+		return relatedToAny;
+	}
+
+	private static int[] addIndex(int[] list, int index) {
+		if (list == null) {
+			list = new int[4];
+		} else {
+			int length = list.length;
+			if (list[0] + 1 == length)
+				System.arraycopy(list, 0, list = new int[length * 2], 0, length);
+		}
+		list[++list[0]] = index;
+		return list;
+	}
+
+	/**
+	 * Collects the ascending indices of the indexed bounds which mention an inference variable mentioned by the given bound.
+	 * @param stamp a number distinguishing this call from the previous calls with the same <code>seen</code> array
+	 * @return the number of indices collected into <code>related</code>
+	 */
+	private static int relatedBounds(TypeBound bound, int stamp, int boundCount, Map<InferenceVariable, int[]> byVariable, int[] relatedToAny,
+			int[] related, int[] seen) {
+		InferenceVariable[] variables = mentionedVariables(bound);
+		if (variables == ANY_VARIABLE) {
+			for (int j = 0; j < boundCount; j++)
+				related[j] = j;
+			return boundCount;
+		}
+		int count = 0;
+		for (int v = -1; v < variables.length; v++) {
+			int[] list = v < 0 ? relatedToAny : byVariable.get(variables[v]);
+			if (list == null)
+				continue;
+			for (int k = 1, size = list[0]; k <= size; k++) {
+				int j = list[k];
+				if (seen[j] != stamp) {
+					seen[j] = stamp;
+					related[count++] = j;
+				}
+			}
+		}
+		Arrays.sort(related, 0, count); // combine in the same order as all pairs would be
+		return count;
+	}
+
+	/**
+	 * Answers the inference variables mentioned by the given bound, or {@link #ANY_VARIABLE} when the variables its
+	 * combinations could substitute cannot be told from {@link TypeBinding#collectInferenceVariables(Set)}.
+	 */
+	private static InferenceVariable[] mentionedVariables(TypeBound bound) {
+		InferenceVariable[] variables = bound.mentionedVariables;
+		if (variables == null) {
+			if (!collectsAllVariables(bound.right)) {
+				variables = ANY_VARIABLE;
+			} else {
+				Set<InferenceVariable> collected = new LinkedHashSet<>();
+				collected.add(bound.left.prototype());
+				Set<InferenceVariable> mentioned = new HashSet<>();
+				bound.right.collectInferenceVariables(mentioned);
+				for (InferenceVariable variable : mentioned)
+					collected.add(variable.prototype());
+				variables = collected.toArray(new InferenceVariable[collected.size()]);
+			}
+			bound.mentionedVariables = variables;
+		}
+		return variables;
+	}
+
+	// does collectInferenceVariables() find all the inference variables that substituteInferenceVariable() could replace?
+	private static boolean collectsAllVariables(TypeBinding type) {
+		if (type instanceof InferenceVariable || type.isProperType(true))
+			return true;
+		switch (type.kind()) {
+			case Binding.ARRAY_TYPE:
+				return collectsAllVariables(type.leafComponentType());
+			case Binding.PARAMETERIZED_TYPE:
+				ParameterizedTypeBinding parameterizedType = (ParameterizedTypeBinding) type;
+				if (parameterizedType.arguments != null)
+					for (TypeBinding argument : parameterizedType.arguments)
+						if (argument != type && !collectsAllVariables(argument)) //$IDENTITY-COMPARISON$
+							return false;
+				return parameterizedType.isStatic() || parameterizedType.enclosingType() == null || collectsAllVariables(parameterizedType.enclosingType());
+			case Binding.WILDCARD_TYPE:
+			case Binding.INTERSECTION_TYPE:
+				WildcardBinding wildcard = (WildcardBinding) type;
+				if (wildcard.bound != null && !collectsAllVariables(wildcard.bound))
+					return false;
+				if (wildcard.otherBounds != null)
+					for (TypeBinding otherBound : wildcard.otherBounds)
+						if (!collectsAllVariables(otherBound))
+							return false;
+				return true;
+			case Binding.INTERSECTION_TYPE18:
+				for (TypeBinding intersectingType : ((IntersectionTypeBinding18) type).intersectingTypes)
+					if (!collectsAllVariables(intersectingType))
+						return false;
+				return true;
+			default:
+				// type variables and captures mentioning inference variables through their bounds
+				return false;
+		}
+	}
+
 	void addTypeBoundsFromWildcardBound(InferenceContext18 context, InferenceSubstitution theta, int boundKind, TypeBinding t,
 			TypeBinding r, TypeBinding bi) throws InferenceFailureException {
 		ConstraintFormula formula = null;
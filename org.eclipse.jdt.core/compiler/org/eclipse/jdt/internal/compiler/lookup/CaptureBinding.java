@@ -553,17 +553,20 @@ public class CaptureBinding extends TypeVariableBinding {
 	 */
 	@Override
 	protected TypeBinding[] getDerivedTypesForDeferredInitialization() {
-		TypeBinding[] derived = this.environment.typeSystem.getDerivedTypes(this);
-		if (derived.length > 0) {
+		TypeSystem typeSystem = this.environment.typeSystem;
+		synchronized (typeSystem) {
+			// the derived types array is the type system's own, filter into a copy
+			TypeBinding[] derived = typeSystem.getDerivedTypes(this);
+			TypeBinding[] result = new TypeBinding[derived.length];
 			int count = 0;
 			for (int i = 0; i < derived.length; i++) {
 				if (derived[i] != null && derived[i].id == this.id)
-					derived[count++] = derived[i];
+					result[count++] = derived[i];
 			}
-			if (count < derived.length)
-				System.arraycopy(derived, 0, derived = new TypeBinding[count], 0, count);
+			if (count < result.length)
+				System.arraycopy(result, 0, result = new TypeBinding[count], 0, count);
+			return result;
 		}
-		return derived;
 	}
 
 	@Override
@@ -50,6 +50,7 @@ public class CompilationUnitScope extends Scope {
 	private SortedCompoundNameVector qualifiedReferences;
 	private SortedSimpleNameVector simpleNameReferences;
 	private SortedSimpleNameVector rootReferences;
+	private SortedSimpleNameVector memberReferences;
 	private LinkedHashSet<ReferenceBindingSetWrapper> referencedTypes;
 	private Set<ReferenceBindingSetWrapper> referencedSuperTypesSet;
 	private ObjectVector referencedSuperTypes;
@@ -85,6 +86,7 @@ public CompilationUnitScope(CompilationUnitDeclaration unit, CompilerOptions com
 		this.qualifiedReferences = new SortedCompoundNameVector();
 		this.simpleNameReferences = new SortedSimpleNameVector();
 		this.rootReferences = new SortedSimpleNameVector();
+		this.memberReferences = new SortedSimpleNameVector();
 		this.referencedTypes = new LinkedHashSet<>();
 		this.referencedSuperTypesSet = new HashSet<>();
 		this.referencedSuperTypes = new ObjectVector();
@@ -92,6 +94,7 @@ public CompilationUnitScope(CompilationUnitDeclaration unit, CompilerOptions com
 		this.qualifiedReferences = null; // used to test if dependencies should be recorded
 		this.simpleNameReferences = null;
 		this.rootReferences = null;
+		this.memberReferences = null;
 		this.referencedTypes = null;
 		this.referencedSuperTypesSet = null;
 		this.referencedSuperTypes = null;
@@ -636,6 +639,7 @@ private Binding findSingleStaticImport(char[][] compoundName, int mask) {
 
 	// look to see if its a static field first
 	ReferenceBinding type = (ReferenceBinding) binding;
+	recordMemberReference(name);
 	FieldBinding field = (mask & Binding.FIELD) != 0 ? findField(type, name, null, true) : null;
 	if (field != null) {
 		if (field.problemId() == ProblemReasons.Ambiguous && ((ProblemFieldBinding) field).closestMatch.isStatic())
@@ -734,6 +738,15 @@ public ProblemReporter problemReporter() {
 	return problemReporter;
 }
 
+/*
+ * Records the name of a field or method looked up by the unit, so that a change limited to fields and methods
+ * of that name can be found to affect the unit.
+ */
+void recordMemberReference(char[] memberName) {
+	if (this.memberReferences == null) return; // not recording dependencies
+
+	this.memberReferences.add(memberName);
+}
 /*
 What do we hold onto:
 
@@ -905,6 +918,51 @@ public void storeDependencyInfo() {
 	for (int i = 0; i < size; i++)
 		rootRefs[i] = this.rootReferences.elementAt(i);
 	this.referenceContext.compilationResult.rootReferences = rootRefs;
+
+	// the members of the supertypes of the declared types are also used without being named (inherited, overridden
+	// or implemented methods), so the simple names of the supertypes stand for all their members
+	if (this.referenceContext.compilationResult.hasErrors()) {
+		this.referenceContext.compilationResult.memberReferences = null; // incompletely resolved, may refer to any member
+		return;
+	}
+	Set<TypeBinding> visitedSupertypes = new HashSet<>();
+	if (this.topLevelTypes != null)
+		for (SourceTypeBinding type : this.topLevelTypes)
+			recordSupertypesAsMemberReferences(type, visitedSupertypes);
+	for (int i = 0, max = this.referenceContext.localTypeCount; i < max; i++)
+		recordSupertypesAsMemberReferences(this.referenceContext.localTypes[i], visitedSupertypes);
+
+	size = this.memberReferences.size;
+	char[][] memberRefs = new char[size][];
+	for (int i = 0; i < size; i++)
+		memberRefs[i] = this.memberReferences.elementAt(i);
+	this.referenceContext.compilationResult.memberReferences = memberRefs;
+}
+private void recordSupertypesAsMemberReferences(ReferenceBinding declaredType, Set<TypeBinding> visitedSupertypes) {
+	if (declaredType == null)
+		return;
+	ReferenceBinding[] memberTypes = declaredType.memberTypes();
+	if (memberTypes != null)
+		for (ReferenceBinding memberType : memberTypes)
+			recordSupertypesAsMemberReferences(memberType, visitedSupertypes);
+	recordSupertypeAsMemberReference(declaredType.superclass(), visitedSupertypes);
+	ReferenceBinding[] interfaces = declaredType.superInterfaces();
+	if (interfaces != null)
+		for (ReferenceBinding superInterface : interfaces)
+			recordSupertypeAsMemberReference(superInterface, visitedSupertypes);
+}
+private void recordSupertypeAsMemberReference(ReferenceBinding supertype, Set<TypeBinding> visitedSupertypes) {
+	if (supertype == null)
+		return;
+	ReferenceBinding type = (ReferenceBinding) supertype.erasure();
+	if (!visitedSupertypes.add(type))
+		return;
+	recordMemberReference(type.sourceName());
+	recordSupertypeAsMemberReference(type.superclass(), visitedSupertypes);
+	ReferenceBinding[] interfaces = type.superInterfaces();
+	if (interfaces != null)
+		for (ReferenceBinding superInterface : interfaces)
+			recordSupertypeAsMemberReference(superInterface, visitedSupertypes);
 }
 @Override
 public String toString() {
@@ -213,6 +213,7 @@ public class InferenceContext18 {
 		this.outerContext = outerContext;
 		if (site instanceof Invocation)
 			scope.compilationUnitScope().registerInferredInvocation((Invocation) site);
+		this.environment.root.inferenceCount++;
 	}
 
 	public InferenceContext18(Scope scope) {
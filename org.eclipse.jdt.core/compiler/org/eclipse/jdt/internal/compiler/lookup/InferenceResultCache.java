@@ -0,0 +1,135 @@
+/*******************************************************************************
+ * Copyright (c) 2021 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.compiler.lookup;
+
+import java.util.HashMap;
+
+import org.eclipse.jdt.internal.compiler.ast.Expression;
+import org.eclipse.jdt.internal.compiler.ast.IPolyExpression;
+import org.eclipse.jdt.internal.compiler.ast.Invocation;
+import org.eclipse.jdt.internal.compiler.impl.Constant;
+
+/**
+ * Remembers the outcome of the type inference of invocations of generic methods (JLS 18.5.1 and 18.5.2),
+ * so that invocations which pose the same inference problem, such as the repeated checks of one invocation
+ * during overload resolution or identical invocations in different places, are only inferred once.
+ * <p>
+ * Only problems whose outcome depends on nothing but the invoked method, the types of the arguments and the
+ * target type are remembered: the invocation must not be a poly expression nor be inferred as part of an
+ * outer inference, its arguments must be standalone expressions of proper types, and null annotations must
+ * not be analyzed (the analysis reports problems while inferring). The inferred methods are unique per lookup
+ * environment, so the cache answers the same binding a fresh inference would have created.
+ * </p><p>
+ * The number of remembered problems is bounded by the <code>jdt.compiler.inferenceCache</code> system property,
+ * 0 disabling the cache.
+ * </p>
+ */
+final class InferenceResultCache {
+
+	static final int MAX_SIZE = Integer.getInteger("jdt.compiler.inferenceCache", 10000).intValue(); //$NON-NLS-1$
+
+	static final class Key {
+		final MethodBinding method;
+		final TypeBinding[] arguments;
+		final TypeBinding targetType;
+		final int hashCode;
+
+		Key(MethodBinding method, TypeBinding[] arguments, TypeBinding targetType) {
+			this.method = method;
+			this.arguments = arguments;
+			this.targetType = targetType;
+			int hash = 31 + System.identityHashCode(method);
+			for (TypeBinding argument : arguments)
+				hash = 31 * hash + System.identityHashCode(argument);
+			this.hashCode = 31 * hash + System.identityHashCode(targetType);
+		}
+		@Override
+		public boolean equals(Object other) {
+			if (!(other instanceof Key))
+				return false;
+			Key key = (Key) other;
+			if (this.hashCode != key.hashCode || this.method != key.method || this.targetType != key.targetType //$IDENTITY-COMPARISON$
+					|| this.arguments.length != key.arguments.length)
+				return false;
+			for (int i = 0; i < this.arguments.length; i++)
+				if (this.arguments[i] != key.arguments[i]) //$IDENTITY-COMPARISON$
+					return false;
+			return true;
+		}
+		@Override
+		public int hashCode() {
+			return this.hashCode;
+		}
+	}
+
+	/**
+	 * The outcome of an inference: the inferred method with the kind of applicability it was inferred for,
+	 * or <code>null</code> if the method is not applicable.
+	 */
+	static final class Result {
+		final ParameterizedGenericMethodBinding method;
+		final int inferenceKind;
+		final boolean usesUncheckedConversion;
+
+		Result(ParameterizedGenericMethodBinding method, int inferenceKind, boolean usesUncheckedConversion) {
+			this.method = method;
+			this.inferenceKind = inferenceKind;
+			this.usesUncheckedConversion = usesUncheckedConversion;
+		}
+	}
+
+	static final Result NOT_APPLICABLE = new Result(null, InferenceContext18.CHECK_UNKNOWN, false);
+
+	private final HashMap<Key, Result> results = new HashMap<>();
+
+/**
+ * Answers the key of the inference of the given invocation, or <code>null</code> if its outcome may depend on more
+ * than the method, the argument types and the target type.
+ */
+static Key keyFor(MethodBinding method, TypeBinding[] arguments, TypeBinding targetType, InvocationSite site, boolean isPolyExpression,
+		InferenceContext18 context, LookupEnvironment environment) {
+	if (MAX_SIZE <= 0 || isPolyExpression || !(site instanceof Invocation))
+		return null;
+	if (context.outerContext != null || environment.currentInferenceContext != context || environment.globalOptions.isAnnotationBasedNullAnalysisEnabled)
+		return null;
+	if (targetType != null && !targetType.isProperType(false))
+		return null;
+	for (TypeBinding argument : arguments) {
+		if (argument == null || !argument.isValidBinding() || !argument.isProperType(false))
+			return null;
+	}
+	Expression[] argumentExpressions = ((Invocation) site).arguments();
+	int length = argumentExpressions == null ? 0 : argumentExpressions.length;
+	if (length != arguments.length)
+		return null;
+	for (int i = 0; i < length; i++) {
+		Expression argument = argumentExpressions[i];
+		// poly expressions (and invocations, which check their compatibility by themselves) are reduced through their own constraints,
+		// constants of primitive types may be narrowed before boxing
+		if (argument instanceof IPolyExpression || (argument.constant != Constant.NotAConstant && arguments[i].isBaseType()))
+			return null;
+	}
+	return new Key(method, arguments.clone(), targetType);
+}
+
+Result get(Key key) {
+	return this.results.get(key);
+}
+
+void put(Key key, Result result) {
+	if (this.results.size() >= MAX_SIZE)
+		this.results.clear();
+	this.results.put(key, result);
+}
+}
@@ -57,9 +57,11 @@ import org.eclipse.jdt.internal.compiler.ast.Wildcard;
 import org.eclipse.jdt.internal.compiler.classfmt.ClassFileConstants;
 import org.eclipse.jdt.internal.compiler.env.*;
 import org.eclipse.jdt.internal.compiler.impl.CompilerOptions;
+import org.eclipse.jdt.internal.compiler.impl.CompilerStats;
 import org.eclipse.jdt.internal.compiler.impl.ITypeRequestor;
 import org.eclipse.jdt.internal.compiler.problem.AbortCompilation;
 import org.eclipse.jdt.internal.compiler.problem.ProblemReporter;
+import org.eclipse.jdt.internal.compiler.util.CharArrayInterner;
 import org.eclipse.jdt.internal.compiler.util.HashtableOfModule;
 import org.eclipse.jdt.internal.compiler.util.HashtableOfPackage;
 import org.eclipse.jdt.internal.compiler.util.SimpleLookupTable;
@@ -117,10 +119,25 @@ public class LookupEnvironment implements ProblemReasons, TypeConstants {
 	public Object missingClassFileLocation = null; // only set when resolving certain references, to help locating problems
 	private CompilationUnitDeclaration[] units = new CompilationUnitDeclaration[4]; // ROOT_ONLY
 	private MethodVerifier verifier;
+	InferenceResultCache inferenceResults = new InferenceResultCache();
 
 	private ArrayList missingTypes;
 	Set<SourceTypeBinding> typesBeingConnected;	// SHARED
 	public boolean isProcessingAnnotations = false; // ROOT_ONLY
+	// statistics, see CompilationUnitMetrics
+	public long typeLookupHits;					// ROOT_ONLY
+	public long typeLookupMisses;				// ROOT_ONLY
+	public int inferenceCount;					// ROOT_ONLY
+	public int inferenceCacheHits;				// ROOT_ONLY
+	public int inferenceCacheMisses;			// ROOT_ONLY
+	public long incorporatedBoundPairs;			// ROOT_ONLY
+	public long skippedBoundPairs;				// ROOT_ONLY
+	/**
+	 * The largest number of pairs of bounds combined by the incorporation of a bound set, read from the
+	 * <code>jdt.compiler.maxIncorporatedPairs</code> system property when the environment is created, 0 for no limit.
+	 * Inference fails with an error when incorporation exceeds it.
+	 */
+	final long maxIncorporatedPairs = Long.getLong("jdt.compiler.maxIncorporatedPairs", 0).longValue(); //$NON-NLS-1$ // ROOT_ONLY
 	public boolean mayTolerateMissingType = false;
 
 	PackageBinding nullableAnnotationPackage;			// the package supposed to contain the Nullable annotation type
@@ -230,6 +247,7 @@ public ModuleBinding getModule(char[] name) {
 
 public ReferenceBinding askForType(char[][] compoundName, /*@NonNull*/ModuleBinding clientModule) {
 	assert clientModule != null : "lookup needs a module"; //$NON-NLS-1$
+	this.root.typeLookupMisses++;
 	NameEnvironmentAnswer[] answers = null;
 	if (this.useModuleSystem) {
 		IModuleAwareNameEnvironment moduleEnv = (IModuleAwareNameEnvironment) this.nameEnvironment;
@@ -285,6 +303,7 @@ public ReferenceBinding askForType(char[][] compoundName, /*@NonNull*/ModuleBind
 */
 ReferenceBinding askForType(PackageBinding packageBinding, char[] name, ModuleBinding clientModule) {
 	assert clientModule != null : "lookup needs a module"; //$NON-NLS-1$
+	this.root.typeLookupMisses++;
 	if (packageBinding == null) {
 		packageBinding = this.defaultPackage;
 	}
@@ -1302,6 +1321,17 @@ public boolean usesAnnotatedTypeSystem() {
 	return this.typeSystem.isAnnotatedTypeSystem();
 }
 
+/**
+ * Adds the number of types interned by the type system of this environment and the use of the inference cache to the given statistics.
+ */
+public void recordStatistics(CompilerStats stats) {
+	this.typeSystem.recordStatistics(stats);
+	stats.inferenceCacheHits += this.root.inferenceCacheHits;
+	stats.inferenceCacheMisses += this.root.inferenceCacheMisses;
+	stats.incorporatedBoundPairs += this.root.incorporatedBoundPairs;
+	stats.skippedBoundPairs += this.root.skippedBoundPairs;
+}
+
 public MethodBinding updatePolymorphicMethodReturnType(PolymorphicMethodBinding binding, TypeBinding typeBinding) {
 	// update the return type to be the given return type, but reuse existing binding if one can match
 	String key = new String(binding.selector);
@@ -1526,6 +1556,29 @@ public ReferenceBinding getCachedType0(char[][] compoundName) {
 	return packageBinding.getType0(compoundName[compoundName.length - 1]);
 }
 
+/* Variant of getCachedType0(char[][]) for the constant pool name found in the given slice of an array,
+* with '/' separated segments, which does not split the name.
+*/
+private ReferenceBinding getCachedType0(char[] constantPoolName, int start, int end) {
+	int segmentEnd = CharOperation.indexOf('/', constantPoolName, start, end);
+	if (segmentEnd == -1) {
+		return this.defaultPackage.getType0(constantPoolName, start, end);
+	}
+	PackageBinding packageBinding = this.knownPackages.get(constantPoolName, start, segmentEnd);
+	if (packageBinding == null || packageBinding == TheNotFoundPackage)
+		return null;
+	// we should be asking via the correct LE, so peel any SPB at the root:
+	packageBinding = packageBinding.getIncarnation(this.module);
+	if (packageBinding == null || packageBinding == TheNotFoundPackage)
+		return null;
+
+	int segmentStart;
+	while ((segmentEnd = CharOperation.indexOf('/', constantPoolName, segmentStart = segmentEnd + 1, end)) != -1)
+		if ((packageBinding = packageBinding.getPackage0Any(constantPoolName, segmentStart, segmentEnd)) == null || packageBinding == TheNotFoundPackage)
+			return null;
+	return packageBinding.getType0(constantPoolName, segmentStart, end);
+}
+
 public AnnotationBinding getNullableAnnotation() {
 	if (this.nullableAnnotation != null)
 		return this.nullableAnnotation;
@@ -1713,6 +1766,8 @@ public ReferenceBinding getType(char[][] compoundName, ModuleBinding mod) {
 			if (packageBinding != null && packageBinding != TheNotFoundPackage)
 				return null; // collides with a known package... should not call this method in such a case
 			referenceBinding = askForType(this.defaultPackage, compoundName[0], mod);
+		} else {
+			this.root.typeLookupHits++;
 		}
 	} else {
 		PackageBinding packageBinding = getPackage0(compoundName[0]);
@@ -1732,6 +1787,8 @@ public ReferenceBinding getType(char[][] compoundName, ModuleBinding mod) {
 			referenceBinding = askForType(compoundName, mod);
 		else if ((referenceBinding = packageBinding.getType0(compoundName[compoundName.length - 1])) == null)
 			referenceBinding = askForType(packageBinding, compoundName[compoundName.length - 1], mod);
+		else
+			this.root.typeLookupHits++;
 	}
 
 	if (referenceBinding == null || referenceBinding == TheNotFoundType)
@@ -1808,7 +1865,16 @@ private ReferenceBinding getTypeFromCompoundName(char[][] compoundName, boolean
 ReferenceBinding getTypeFromConstantPoolName(char[] signature, int start, int end, boolean isParameterized, char[][][] missingTypeNames, ITypeAnnotationWalker walker) {
 	if (end == -1)
 		end = signature.length;
-	char[][] compoundName = CharOperation.splitOn('/', signature, start, end);
+	ReferenceBinding cachedType = getCachedType0(signature, start, end);
+	if (cachedType != null && cachedType != TheNotFoundType) {
+		// known type, no need to split its name
+		if (!isParameterized)
+			cachedType = (ReferenceBinding) convertUnresolvedBinaryToRawType(cachedType);
+		if (walker != ITypeAnnotationWalker.EMPTY_ANNOTATION_WALKER)
+			cachedType = (ReferenceBinding) annotateType(cachedType, walker, missingTypeNames);
+		return cachedType;
+	}
+	char[][] compoundName = CharArrayInterner.SHARED.splitOn('/', signature, start, end);
 	boolean wasMissingType = false;
 	if (missingTypeNames != null) {
 		for (int i = 0, max = missingTypeNames.length; i < max; i++) {
@@ -2180,6 +2246,7 @@ public void reset() {
 	this.uniqueParameterizedGenericMethodBindings = new SimpleLookupTable(3);
 	this.uniquePolymorphicMethodBindings = new SimpleLookupTable(3);
 	this.uniqueGetClassMethodBinding = null;
+	this.inferenceResults = new InferenceResultCache();
 	this.missingTypes = null;
 	this.typesBeingConnected = new HashSet();
 
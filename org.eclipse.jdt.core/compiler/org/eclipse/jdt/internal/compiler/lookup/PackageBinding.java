@@ -181,6 +181,11 @@ PackageBinding getPackage0(char[] name) {
 PackageBinding getPackage0Any(char[] name) {
 	return this.knownPackages.get(name);
 }
+/** Variant of {@link #getPackage0Any(char[])} for the name equal to the given slice of an array.
+ */
+PackageBinding getPackage0Any(char[] array, int start, int end) {
+	return this.knownPackages.get(array, start, end);
+}
 /* Answer the type named name; ask the oracle for the type if its not in the cache.
 * Answer a NotVisible problem type if the type is not visible from the invocationPackage.
 * Answer null if it could not be resolved.
@@ -197,6 +202,8 @@ ReferenceBinding getType(char[] name, ModuleBinding mod) {
 			addNotFoundType(name);
 			return null;
 		}
+	} else {
+		this.environment.root.typeLookupHits++;
 	}
 
 	if (referenceBinding == LookupEnvironment.TheNotFoundType)
@@ -223,6 +230,13 @@ ReferenceBinding getType0(char[] name) {
 		return null;
 	return this.knownTypes.get(name);
 }
+/* Variant of getType0(char[]) for the name equal to the given slice of an array.
+*/
+ReferenceBinding getType0(char[] array, int start, int end) {
+	if (this.knownTypes == null)
+		return null;
+	return this.knownTypes.get(array, start, end);
+}
 
 /**
  * Test if this package (or any of its incarnations in case of a SplitPackageBinding) has recorded
@@ -247,6 +261,8 @@ boolean hasType0Any(char[] name) {
 public Binding getTypeOrPackage(char[] name, ModuleBinding mod, boolean splitPackageAllowed) {
 	ReferenceBinding problemBinding = null;
 	ReferenceBinding referenceBinding = getType0(name);
+	if (referenceBinding != null)
+		this.environment.root.typeLookupHits++;
 	lookForType0:
 	if (referenceBinding != null && referenceBinding != LookupEnvironment.TheNotFoundType) {
 		referenceBinding = (ReferenceBinding) BinaryTypeBinding.resolveType(referenceBinding, this.environment, false /* no raw conversion for now */);
@@ -236,6 +236,7 @@ public class ParameterizedGenericMethodBinding extends ParameterizedMethodBindin
 		InferenceContext18 previousContext = environment.currentInferenceContext;
 		if (previousContext == null)
 			environment.currentInferenceContext = infCtx18;
+		InferenceResultCache.Key cacheKey = null;
 		try {
 			BoundSet provisionalResult = null;
 			BoundSet result = null;
@@ -243,6 +244,26 @@ public class ParameterizedGenericMethodBinding extends ParameterizedMethodBindin
 			final boolean isPolyExpression = invocationSite instanceof Expression &&   ((Expression) invocationSite).isTrulyExpression() &&
 					((Expression)invocationSite).isPolyExpression(originalMethod);
 			boolean isDiamond = isPolyExpression && originalMethod.isConstructor();
+			// the same inference problem may have been solved already, see InferenceResultCache for the problems which qualify
+			cacheKey = InferenceResultCache.keyFor(originalMethod, arguments, invocationSite.invocationTargetType(), invocationSite, isPolyExpression, infCtx18, environment);
+			if (cacheKey != null) {
+				InferenceResultCache.Result cached = environment.inferenceResults.get(cacheKey);
+				if (cached != null) {
+					environment.root.inferenceCacheHits++;
+					if (cached.method == null)
+						return null;
+					infCtx18.inferenceKind = cached.inferenceKind;
+					infCtx18.usesUncheckedConversion = cached.usesUncheckedConversion;
+					infCtx18.stepCompleted = InferenceContext18.TYPE_INFERRED_FINAL;
+					Invocation invocation = (Invocation) invocationSite;
+					TypeBinding expectedType = invocationSite.invocationTargetType();
+					if (expectedType != null)
+						invocation.registerResult(expectedType, cached.method);
+					invocation.registerInferenceContext(cached.method, infCtx18); // answers the kind of applicability to overload resolution
+					return cached.method;
+				}
+				environment.root.inferenceCacheMisses++;
+			}
 			if (arguments.length == parameters.length) {
 				infCtx18.inferenceKind = requireBoxing ? InferenceContext18.CHECK_LOOSE : InferenceContext18.CHECK_STRICT; // engine may still slip into loose mode and adjust level.
 				infCtx18.inferInvocationApplicability(originalMethod, arguments, isDiamond);
@@ -255,13 +276,12 @@ public class ParameterizedGenericMethodBinding extends ParameterizedMethodBindin
 				infCtx18.inferInvocationApplicability(originalMethod, arguments, isDiamond);
 				result = infCtx18.solve(true);
 			}
-			if (result == null)
-				return null;
-			if (infCtx18.isResolved(result)) {
-				infCtx18.stepCompleted = InferenceContext18.APPLICABILITY_INFERRED;
-			} else {
+			if (result == null || !infCtx18.isResolved(result)) {
+				if (cacheKey != null)
+					environment.inferenceResults.put(cacheKey, InferenceResultCache.NOT_APPLICABLE);
 				return null;
 			}
+			infCtx18.stepCompleted = InferenceContext18.APPLICABILITY_INFERRED;
 			// Applicability succeeded, proceed to infer invocation type, if possible.
 			TypeBinding expectedType = invocationSite.invocationTargetType();
 			boolean hasReturnProblem = false;
@@ -306,6 +326,9 @@ public class ParameterizedGenericMethodBinding extends ParameterizedMethodBindin
 								((ReferenceExpression) invocationSite).registerInferenceContext(methodSubstitute, infCtx18); // keep context so we can finish later
 						}
 					}
+					if (cacheKey != null && invocationTypeInferred && !hasReturnProblem && isProper(methodSubstitute.typeArguments))
+						environment.inferenceResults.put(cacheKey,
+								new InferenceResultCache.Result(methodSubstitute, infCtx18.inferenceKind, infCtx18.usesUncheckedConversion));
 					return methodSubstitute;
 				}
 			}
@@ -319,6 +342,14 @@ public class ParameterizedGenericMethodBinding extends ParameterizedMethodBindin
 		}
 	}
 
+	private static boolean isProper(TypeBinding[] types) {
+		for (TypeBinding type : types) {
+			if (!type.isProperType(false)) // not a fresh capture of this inference
+				return false;
+		}
+		return true;
+	}
+
 	MethodBinding boundCheck18(Scope scope, TypeBinding[] arguments, InvocationSite site) {
 		Substitution substitution = this;
 		ParameterizedGenericMethodBinding methodSubstitute = this;
@@ -722,6 +722,8 @@ public class ParameterizedTypeBinding extends ReferenceBinding implements Substi
 	@Override
 	public MethodBinding getExactMethod(char[] selector, TypeBinding[] argumentTypes, CompilationUnitScope refScope) {
 		// sender from refScope calls recordTypeReference(this)
+		if (refScope != null)
+			refScope.recordMemberReference(selector);
 		int argCount = argumentTypes.length;
 		boolean foundNothing = true;
 		MethodBinding match = null;
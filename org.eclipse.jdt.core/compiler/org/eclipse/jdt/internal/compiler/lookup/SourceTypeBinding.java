@@ -1638,6 +1638,8 @@ public MethodBinding getExactMethod(char[] selector, TypeBinding[] argumentTypes
 		return this.prototype.getExactMethod(selector, argumentTypes, refScope);
 
 	// sender from refScope calls recordTypeReference(this)
+	if (refScope != null)
+		refScope.recordMemberReference(selector);
 	int argCount = argumentTypes.length;
 	boolean foundNothing = true;
 
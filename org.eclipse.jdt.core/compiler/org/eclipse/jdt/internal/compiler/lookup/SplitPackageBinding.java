@@ -144,6 +144,14 @@ public class SplitPackageBinding extends PackageBinding {
 		return candidate;
 	}
 
+	@Override
+	PackageBinding getPackage0Any(char[] array, int start, int end) {
+		PackageBinding knownPackage = this.knownPackages.get(array, start, end);
+		if (knownPackage != null)
+			return knownPackage;
+		return getPackage0Any(CharOperation.subarray(array, start, end));
+	}
+
 	@Override
 	PackageBinding getPackage0Any(char[] name) {
 		PackageBinding knownPackage = super.getPackage0(name);
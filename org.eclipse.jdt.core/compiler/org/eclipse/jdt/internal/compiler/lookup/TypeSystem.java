@@ -22,6 +22,7 @@ package org.eclipse.jdt.internal.compiler.lookup;
 import java.util.HashMap;
 
 import org.eclipse.jdt.internal.compiler.ast.ASTNode;
+import org.eclipse.jdt.internal.compiler.impl.CompilerStats;
 import org.eclipse.jdt.internal.compiler.util.SimpleLookupTable;
 import org.eclipse.jdt.internal.compiler.util.Util;
 
@@ -63,6 +64,10 @@ import org.eclipse.jdt.internal.compiler.util.Util;
    would be different unless they are identically annotated.
 
    Thus subsystems that are annotation agnostic could quickly ascertain binding equality by comparing the id field.
+
+   Interning is thread safe: the methods which look up or update the tables synchronize on the type system, so that units resolved
+   on different threads against the same lookup environment still get unique types and ids. The tables share a single id counter
+   and grow as a whole, so one (reentrant and, when used by a single thread, uncontended) monitor guards all of them rather than stripes.
 */
 public class TypeSystem {
 
@@ -206,7 +211,7 @@ public class TypeSystem {
 	}
 
 	// Given a type, answer its unannotated aka naked prototype. This is also a convenient way to "register" a type with TypeSystem and have it id stamped.
-	public final TypeBinding getUnannotatedType(TypeBinding type) {
+	public final synchronized TypeBinding getUnannotatedType(TypeBinding type) {
 		UnresolvedReferenceBinding urb = null;
 		if (type.isUnresolvedType()) {
 			urb = (UnresolvedReferenceBinding) type;
@@ -244,7 +249,7 @@ public class TypeSystem {
 	 * If it itself is already registered as the key unannotated type of its family,
 	 * create a clone to play that role from now on and swap types in the types cache.
 	 */
-	public void forceRegisterAsDerived(TypeBinding derived) {
+	public synchronized void forceRegisterAsDerived(TypeBinding derived) {
 		int id = derived.id;
 		if (id != TypeIds.NoId && this.types[id] != null) {
 			TypeBinding unannotated = this.types[id][0];
@@ -269,7 +274,7 @@ public class TypeSystem {
 
 	   See ArrayBinding.swapUnresolved for further special case handling if incoming leafType is a URB that would resolve to a raw type later.
 	*/
-	public ArrayBinding getArrayType(TypeBinding leafType, int dimensions) {
+	public synchronized ArrayBinding getArrayType(TypeBinding leafType, int dimensions) {
 		if  (leafType instanceof ArrayBinding) {
 			dimensions += leafType.dimensions();
 			leafType = leafType.leafComponentType();
@@ -309,7 +314,7 @@ public class TypeSystem {
 	/* Note: parameters will not have type type annotations if lookup environment directly uses TypeSystem. When AnnotatableTypeSystem is in use
 	   they may and we need to materialize the unannotated versions and work on them.
 	*/
-	public ParameterizedTypeBinding getParameterizedType(ReferenceBinding genericType, TypeBinding[] typeArguments, ReferenceBinding enclosingType) {
+	public synchronized ParameterizedTypeBinding getParameterizedType(ReferenceBinding genericType, TypeBinding[] typeArguments, ReferenceBinding enclosingType) {
 		ReferenceBinding unannotatedGenericType = (ReferenceBinding) getUnannotatedType(genericType);
 		// getUnannotatedType may have replaced URB by resolvedType
 		if (enclosingType == null && genericType instanceof UnresolvedReferenceBinding
@@ -344,7 +349,7 @@ public class TypeSystem {
 	/* Note: Parameters will not have type type annotations if lookup environment directly uses TypeSystem. However when AnnotatableTypeSystem is in use,
 	   they may and we need to materialize the unannotated versions and work on them.
 	*/
-	public RawTypeBinding getRawType(ReferenceBinding genericType, ReferenceBinding enclosingType) {
+	public synchronized RawTypeBinding getRawType(ReferenceBinding genericType, ReferenceBinding enclosingType) {
 		if (!genericType.hasEnclosingInstanceContext() && enclosingType != null) {
 			enclosingType = (ReferenceBinding) enclosingType.original();
 		}
@@ -383,7 +388,7 @@ public class TypeSystem {
 	/* Parameters will not have type type annotations if lookup environment directly uses TypeSystem. When AnnotatableTypeSystem is in use,
 	   they may and we need to materialize the unannotated versions and work on them.
 	*/
-	public WildcardBinding getWildcard(ReferenceBinding genericType, int rank, TypeBinding bound, TypeBinding[] otherBounds, int boundKind) {
+	public synchronized WildcardBinding getWildcard(ReferenceBinding genericType, int rank, TypeBinding bound, TypeBinding[] otherBounds, int boundKind) {
 		if (genericType == null) // pseudo wildcard denoting composite bounds for lub computation
 			genericType = ReferenceBinding.LUB_GENERIC;
 
@@ -425,7 +430,7 @@ public class TypeSystem {
 	}
 
 	// No need for an override in ATS, since interning is position specific and either the wildcard there is annotated or not.
-	public final CaptureBinding getCapturedWildcard(WildcardBinding wildcard, ReferenceBinding contextType, int start, int end, ASTNode cud, int id) {
+	public final synchronized CaptureBinding getCapturedWildcard(WildcardBinding wildcard, ReferenceBinding contextType, int start, int end, ASTNode cud, int id) {
 
 		WildcardBinding unannotatedWildcard = (WildcardBinding) getUnannotatedType(wildcard);
 		TypeBinding[] derivedTypes = this.types[unannotatedWildcard.id];  // by construction, cachedInfo != null now.
@@ -474,7 +479,7 @@ public class TypeSystem {
 		return type; // Nothing to do for plain vanilla type system.
 	}
 
-	protected final TypeBinding /* @NonNull */ [] getDerivedTypes(TypeBinding keyType) {
+	protected final synchronized TypeBinding /* @NonNull */ [] getDerivedTypes(TypeBinding keyType) {
 		keyType = getUnannotatedType(keyType);
 		return this.types[keyType.id];
 	}
@@ -505,7 +510,7 @@ public class TypeSystem {
 		return derivedTypes[i] = derivedType;
 	}
 
-	protected final TypeBinding cacheDerivedType(TypeBinding keyType, TypeBinding nakedType, TypeBinding derivedType) {
+	protected final synchronized TypeBinding cacheDerivedType(TypeBinding keyType, TypeBinding nakedType, TypeBinding derivedType) {
 
 		/* Cache the derived type, tagging it as a derivative of both the key type and the naked type.
 		   E.g: int @NonNull [] would be tagged as a derived type of both int and int []. This is not
@@ -531,7 +536,7 @@ public class TypeSystem {
 	/* Return a unique annotation binding for an annotation with either no or all default element-value pairs.
 	   We may return a resolved annotation when requested for unresolved one, but not vice versa.
 	*/
-	public final AnnotationBinding getAnnotationType(ReferenceBinding annotationType, boolean requiredResolved) {
+	public final synchronized AnnotationBinding getAnnotationType(ReferenceBinding annotationType, boolean requiredResolved) {
 		AnnotationBinding annotation = (AnnotationBinding) this.annotationTypes.get(annotationType);
 		if (annotation == null) {
 			if (requiredResolved)
@@ -549,7 +554,43 @@ public class TypeSystem {
 		return false;
 	}
 
-	public void cleanUp(int typeId) {
+	/**
+	 * Adds the number of types interned so far, by kind, to the given statistics.
+	 */
+	public synchronized void recordStatistics(CompilerStats stats) {
+		for (int id = TypeIds.T_LastWellKnownTypeId; id < this.typeid; id++) {
+			TypeBinding[] derivedTypes = this.types[id];
+			if (derivedTypes == null || derivedTypes[0] == null)
+				continue;
+			stats.internedTypes++;
+			TypeBinding nakedType = derivedTypes[0];
+			switch (nakedType.kind()) {
+				case Binding.ARRAY_TYPE :
+					stats.internedArrayTypes++;
+					break;
+				case Binding.PARAMETERIZED_TYPE :
+					stats.internedParameterizedTypes++;
+					break;
+				case Binding.RAW_TYPE :
+					stats.internedRawTypes++;
+					break;
+				case Binding.WILDCARD_TYPE :
+					stats.internedWildcards++;
+					break;
+				case Binding.INTERSECTION_TYPE :
+					stats.internedIntersectionTypes++;
+					break;
+			}
+			for (TypeBinding derivedType : derivedTypes) {
+				if (derivedType == null)
+					break;
+				if (derivedType.id == id && derivedType.hasTypeAnnotations())
+					stats.internedAnnotatedTypes++;
+			}
+		}
+	}
+
+	public synchronized void cleanUp(int typeId) {
 		if (typeId != -1 && typeId < this.typeid && this.types != null) {
 			TypeBinding[] typesForId = this.types[typeId];
 			if (typesForId != null) {
@@ -560,14 +601,14 @@ public class TypeSystem {
 		}
 	}
 
-	public void reset() {
+	public synchronized void reset() {
 		this.annotationTypes = new SimpleLookupTable(16);
 		this.typeid = TypeIds.T_LastWellKnownTypeId;
 		this.types = new TypeBinding[TypeIds.T_LastWellKnownTypeId * 2][];
 		this.parameterizedTypes = new HashedParameterizedTypes();
 	}
 
-	public void updateCaches(UnresolvedReferenceBinding unresolvedType, ReferenceBinding resolvedType) {
+	public synchronized void updateCaches(UnresolvedReferenceBinding unresolvedType, ReferenceBinding resolvedType) {
 		final int unresolvedTypeId = unresolvedType.id;
 		if (resolvedType.id != TypeIds.NoId) {
 			unresolvedType.id = resolvedType.id;
@@ -596,7 +637,7 @@ public class TypeSystem {
 		}
 	}
 
-	public final TypeBinding getIntersectionType18(ReferenceBinding[] intersectingTypes) {
+	public final synchronized TypeBinding getIntersectionType18(ReferenceBinding[] intersectingTypes) {
 		int intersectingTypesLength = intersectingTypes == null ? 0 : intersectingTypes.length;
 		if (intersectingTypesLength == 0)
 			return null;
@@ -629,7 +670,7 @@ public class TypeSystem {
 	 * If a TVB was created with a dummy declaring element and needs to be fixed now,
 	 * make sure that this update affects all early clones, too.
 	 */
-	public void fixTypeVariableDeclaringElement(TypeVariableBinding var, Binding declaringElement) {
+	public synchronized void fixTypeVariableDeclaringElement(TypeVariableBinding var, Binding declaringElement) {
 		int id = var.id;
 		if (id < this.typeid && this.types[id] != null) {
 			for (TypeBinding t : this.types[id]) {
@@ -37,6 +37,7 @@ import java.io.File;
 import java.io.FileWriter;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
@@ -101,6 +102,13 @@ public class Parser implements TerminalTokens, ParserBasicInformation, Conflicte
 	protected final static int GenericsStackIncrement = 10;
 
 	private final static String FILEPREFIX = "parser"; //$NON-NLS-1$
+	/*
+	 * All the parser tables are stored in this single resource, so that they are loaded with one read:
+	 * the number of tables, then for each table its file name, the length of its contents and its contents.
+	 */
+	private final static String TABLES_FILE = FILEPREFIX + ".rsc"; //$NON-NLS-1$
+	// the contents of the parser tables by file name, while they are initialized
+	private static Map<String, ByteBuffer> tables;
     public static char in_symb[] = null;
 	private static final String INVALID_CHARACTER = "Invalid Character" ; //$NON-NLS-1$
 	public static char lhs[] =  null;
@@ -337,6 +345,28 @@ public class Parser implements TerminalTokens, ParserBasicInformation, Conflicte
 		Collections.sort(entries);
 		buildFile(file, entries);
 	}
+	private static void buildFileForTables(String filename, String prefix, int count) {
+		// pack the table files into a single one, see readTables(String)
+		java.io.ByteArrayOutputStream bytes = new java.io.ByteArrayOutputStream();
+		java.io.DataOutputStream out = new java.io.DataOutputStream(bytes);
+		try {
+			out.writeInt(count);
+			for (int i = 1; i <= count; i++) {
+				String tableFilename = prefix + i + ".rsc"; //$NON-NLS-1$
+				File file = new File(tableFilename);
+				byte[] contents = Util.getFileByteContent(file);
+				out.writeUTF(tableFilename);
+				out.writeInt(contents.length);
+				out.write(contents);
+				file.delete();
+			}
+			out.flush();
+		} catch (IOException e) {
+			System.out.println(Messages.bind(Messages.parser_missingFile, e.getMessage()));
+			return;
+		}
+		buildFileForTable(filename, bytes.toByteArray());
+	}
 	private final static void buildFileForTable(String filename, byte[] bytes) {
 		java.io.FileOutputStream stream = null;
 		try {
@@ -598,6 +628,8 @@ public class Parser implements TerminalTokens, ParserBasicInformation, Conflicte
 				newLhs,
 				tokens);
 
+		buildFileForTables(TABLES_FILE, prefix, i);
+
 
 		System.out.println(Messages.parser_moveFiles);
 	}
@@ -634,8 +666,14 @@ public class Parser implements TerminalTokens, ParserBasicInformation, Conflicte
 		return in_symb[original_state(state)];
 	}
 	public final static void initTables() throws java.io.IOException {
-
-		final String prefix = FILEPREFIX;
+		tables = readTables(TABLES_FILE);
+		try {
+			initTables(FILEPREFIX);
+		} finally {
+			tables = null;
+		}
+	}
+	private static void initTables(String prefix) throws java.io.IOException {
 		int i = 0;
 		lhs = readTable(prefix + (++i) + ".rsc"); //$NON-NLS-1$
 		char[] chars = readTable(prefix + (++i) + ".rsc"); //$NON-NLS-1$
@@ -689,70 +727,22 @@ public class Parser implements TerminalTokens, ParserBasicInformation, Conflicte
 	}
 
 	protected static byte[] readByteTable(String filename) throws java.io.IOException {
-
-		//files are located at Parser.class directory
-
-		InputStream stream = Parser.class.getResourceAsStream(filename);
-		if (stream == null) {
-			throw new java.io.IOException(Messages.bind(Messages.parser_missingFile, filename));
-		}
-		byte[] bytes = null;
-		try {
-			stream = new BufferedInputStream(stream);
-			bytes = Util.getInputStreamAsByteArray(stream, -1);
-		} finally {
-			try {
-				stream.close();
-			} catch (IOException e) {
-				// ignore
-			}
-		}
+		ByteBuffer buffer = readTableContents(filename);
+		byte[] bytes = new byte[buffer.remaining()];
+		buffer.get(bytes);
 		return bytes;
 	}
 	protected static long[] readLongTable(String filename) throws java.io.IOException {
+		ByteBuffer buffer = readTableContents(filename);
 
-		//files are located at Parser.class directory
-
-		InputStream stream = Parser.class.getResourceAsStream(filename);
-		if (stream == null) {
-			throw new java.io.IOException(Messages.bind(Messages.parser_missingFile, filename));
-		}
-		byte[] bytes = null;
-		try {
-			stream = new BufferedInputStream(stream);
-			bytes = Util.getInputStreamAsByteArray(stream, -1);
-		} finally {
-			try {
-				stream.close();
-			} catch (IOException e) {
-				// ignore
-			}
-		}
-
-		//minimal integrity check (even size expected)
-		int length = bytes.length;
+		//minimal integrity check (size multiple of 8 expected)
+		int length = buffer.remaining();
 		if (length % 8 != 0)
 			throw new java.io.IOException(Messages.bind(Messages.parser_corruptedFile, filename));
 
-		// convert bytes into longs
+		// convert big-endian bytes into longs
 		long[] longs = new long[length / 8];
-		int i = 0;
-		int longIndex = 0;
-
-		while (true) {
-			longs[longIndex++] =
-			  (((long) (bytes[i++] & 0xFF)) << 56)
-			+ (((long) (bytes[i++] & 0xFF)) << 48)
-			+ (((long) (bytes[i++] & 0xFF)) << 40)
-			+ (((long) (bytes[i++] & 0xFF)) << 32)
-			+ (((long) (bytes[i++] & 0xFF)) << 24)
-			+ (((long) (bytes[i++] & 0xFF)) << 16)
-			+ (((long) (bytes[i++] & 0xFF)) << 8)
-			+ (bytes[i++] & 0xFF);
-
-			if (i == length)
-				break;
-		}
+		buffer.asLongBuffer().get(longs);
 		return longs;
 	}
 
@@ -790,6 +780,53 @@ public class Parser implements TerminalTokens, ParserBasicInformation, Conflicte
 		return result;
 	}
 	protected static char[] readTable(String filename) throws java.io.IOException {
+		ByteBuffer buffer = readTableContents(filename);
+
+		//minimal integrity check (even size expected)
+		int length = buffer.remaining();
+		if ((length & 1) != 0)
+			throw new java.io.IOException(Messages.bind(Messages.parser_corruptedFile, filename));
+
+		// convert big-endian bytes into chars
+		char[] chars = new char[length / 2];
+		buffer.asCharBuffer().get(chars);
+		return chars;
+	}
+	/*
+	 * Answers the contents of the given table, from the tables resource while the tables are initialized,
+	 * otherwise from a resource of that name.
+	 */
+	private static ByteBuffer readTableContents(String filename) throws java.io.IOException {
+		Map<String, ByteBuffer> contents = tables;
+		if (contents != null) {
+			ByteBuffer buffer = contents.get(filename);
+			if (buffer == null)
+				throw new java.io.IOException(Messages.bind(Messages.parser_missingFile, filename));
+			return buffer.duplicate();
+		}
+		return ByteBuffer.wrap(readResource(filename));
+	}
+	private static Map<String, ByteBuffer> readTables(String filename) throws java.io.IOException {
+		ByteBuffer buffer = ByteBuffer.wrap(readResource(filename));
+		try {
+			int count = buffer.getInt();
+			Map<String, ByteBuffer> result = new HashMap<>(count * 2);
+			for (int i = 0; i < count; i++) {
+				char[] tableName = new char[buffer.getShort()]; // ASCII file names
+				for (int c = 0; c < tableName.length; c++)
+					tableName[c] = (char) buffer.get();
+				int length = buffer.getInt();
+				ByteBuffer table = buffer.slice();
+				table.limit(length);
+				buffer.position(buffer.position() + length);
+				result.put(new String(tableName), table);
+			}
+			return result;
+		} catch (RuntimeException e) { // BufferUnderflowException, IllegalArgumentException
+			throw new java.io.IOException(Messages.bind(Messages.parser_corruptedFile, filename));
+		}
+	}
+	private static byte[] readResource(String filename) throws java.io.IOException {
 
 		//files are located at Parser.class directory
 
@@ -797,10 +834,9 @@ public class Parser implements TerminalTokens, ParserBasicInformation, Conflicte
 		if (stream == null) {
 			throw new java.io.IOException(Messages.bind(Messages.parser_missingFile, filename));
 		}
-		byte[] bytes = null;
 		try {
 			stream = new BufferedInputStream(stream);
-			bytes = Util.getInputStreamAsByteArray(stream, -1);
+			return Util.getInputStreamAsByteArray(stream, -1);
 		} finally {
 			try {
 				stream.close();
@@ -808,23 +844,6 @@ public class Parser implements TerminalTokens, ParserBasicInformation, Conflicte
 				// ignore
 			}
 		}
-
-		//minimal integrity check (even size expected)
-		int length = bytes.length;
-		if ((length & 1) != 0)
-			throw new java.io.IOException(Messages.bind(Messages.parser_corruptedFile, filename));
-
-		// convert bytes into chars
-		char[] chars = new char[length / 2];
-		int i = 0;
-		int charIndex = 0;
-
-		while (true) {
-			chars[charIndex++] = (char) (((bytes[i++] & 0xFF) << 8) + (bytes[i++] & 0xFF));
-			if (i == length)
-				break;
-		}
-		return chars;
 	}
 	public static int tAction(int state, int sym) {
 		return term_action[term_check[base_action[state]+sym] == sym ? base_action[state] + sym : base_action[state]];
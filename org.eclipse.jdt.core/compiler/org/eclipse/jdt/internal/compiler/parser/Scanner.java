@@ -31,6 +31,7 @@ import org.eclipse.jdt.internal.compiler.impl.CompilerOptions;
 import org.eclipse.jdt.internal.compiler.impl.JavaFeature;
 import org.eclipse.jdt.internal.compiler.problem.DefaultProblemFactory;
 import org.eclipse.jdt.internal.compiler.problem.ProblemReporter;
+import org.eclipse.jdt.internal.compiler.util.CharArrayInterner;
 import org.eclipse.jdt.internal.compiler.util.Util;
 
 /**
@@ -493,14 +494,7 @@ public char[] getCurrentIdentifierSource() {
 	//return the token REAL source (aka unicodes are precomputed)
 	if (this.withoutUnicodePtr != 0) {
 		//0 is used as a fast test flag so the real first char is in position 1
-		char[] result = new char[this.withoutUnicodePtr];
-		System.arraycopy(
-			this.withoutUnicodeBuffer,
-			1,
-			result,
-			0,
-			this.withoutUnicodePtr);
-		return result;
+		return CharArrayInterner.SHARED.intern(this.withoutUnicodeBuffer, 1, this.withoutUnicodePtr + 1);
 	}
 	int length = this.currentPosition - this.startPosition;
 	if (length == this.eofPosition) return this.source;
@@ -518,9 +512,8 @@ public char[] getCurrentIdentifierSource() {
 		case 6 :
 			return optimizedCurrentTokenSource6();
 	}
-	char[] result = new char[length];
-	System.arraycopy(this.source, this.startPosition, result, 0, length);
-	return result;
+	// longer identifiers are shared with the other scanners and the names read from class files
+	return CharArrayInterner.SHARED.intern(this.source, this.startPosition, this.currentPosition);
 }
 public int getCurrentTokenEndPosition(){
 	return this.currentPosition - 1;
@@ -2861,8 +2854,7 @@ final char[] optimizedCurrentTokenSource2() {
 	}
 	//--------add the entry-------
 	if (++max >= InternalTableSize) max = 0;
-	char[] r;
-	System.arraycopy(src, start, r= new char[2], 0, 2);
+	char[] r = CharArrayInterner.SHARED.intern(src, start, start + 2);
 	//newIdentCount++;
 	return table[this.newEntry2 = max] = r; //(r = new char[] {c0, c1});
 }
@@ -2891,8 +2883,7 @@ final char[] optimizedCurrentTokenSource3() {
 	}
 	//--------add the entry-------
 	if (++max >= InternalTableSize) max = 0;
-	char[] r;
-	System.arraycopy(src, start, r= new char[3], 0, 3);
+	char[] r = CharArrayInterner.SHARED.intern(src, start, start + 3);
 	//newIdentCount++;
 	return table[this.newEntry3 = max] = r; //(r = new char[] {c0, c1, c2});
 }
@@ -2927,8 +2918,7 @@ final char[] optimizedCurrentTokenSource4() {
 	}
 	//--------add the entry-------
 	if (++max >= InternalTableSize) max = 0;
-	char[] r;
-	System.arraycopy(src, start, r= new char[4], 0, 4);
+	char[] r = CharArrayInterner.SHARED.intern(src, start, start + 4);
 	//newIdentCount++;
 	return table[this.newEntry4 = max] = r; //(r = new char[] {c0, c1, c2, c3});
 }
@@ -2965,8 +2955,7 @@ final char[] optimizedCurrentTokenSource5() {
 	}
 	//--------add the entry-------
 	if (++max >= InternalTableSize) max = 0;
-	char[] r;
-	System.arraycopy(src, start, r= new char[5], 0, 5);
+	char[] r = CharArrayInterner.SHARED.intern(src, start, start + 5);
 	//newIdentCount++;
 	return table[this.newEntry5 = max] = r; //(r = new char[] {c0, c1, c2, c3, c4});
 }
@@ -3005,8 +2994,7 @@ final char[] optimizedCurrentTokenSource6() {
 	}
 	//--------add the entry-------
 	if (++max >= InternalTableSize) max = 0;
-	char[] r;
-	System.arraycopy(src, start, r= new char[6], 0, 6);
+	char[] r = CharArrayInterner.SHARED.intern(src, start, start + 6);
 	//newIdentCount++;
 	return table[this.newEntry6 = max] = r; //(r = new char[] {c0, c1, c2, c3, c4, c5});
 }
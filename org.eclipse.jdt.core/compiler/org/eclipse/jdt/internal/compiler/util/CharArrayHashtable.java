@@ -0,0 +1,226 @@
+/*******************************************************************************
+ * Copyright (c) 2021 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.compiler.util;
+
+import org.eclipse.jdt.core.compiler.CharOperation;
+
+/**
+ * Common implementation of the open addressing hashtables keyed by <code>char[]</code>
+ * ({@link HashtableOfObject}, {@link HashtableOfType}, {@link HashtableOfPackage},
+ * {@link org.eclipse.jdt.internal.compiler.codegen.CharArrayCache}).
+ * <p>
+ * Keys are probed linearly from <code>CharOperation.hashCode(key) % keyTable.length</code>, so that
+ * the tables are walked in the same order as before. The hash code of each key is cached next to
+ * it: probes compare hash codes before comparing characters and growing the table does not hash
+ * the keys again. Keys can also be looked up by a slice of a larger array, without copying it.
+ * </p><p>
+ * Subclasses keep their values in a parallel array, and move them when asked to by
+ * {@link #newValueTable(int)} and {@link #moveValue(Object, int, int)}.
+ * </p>
+ */
+public abstract class CharArrayHashtable {
+
+	// to avoid using Enumerations, walk the individual tables skipping nulls
+	public char[] keyTable[];
+	int hashTable[]; // hash codes of the keys
+
+	public int elementSize; // number of elements in the table
+	int threshold;
+
+protected CharArrayHashtable(int capacity, int threshold) {
+	this.threshold = threshold;
+	this.keyTable = new char[capacity][];
+	this.hashTable = new int[capacity];
+}
+
+/**
+ * Answers the hash code of the given slice of an array, which is the one of a key with the same characters.
+ */
+public static int hashCode(char[] array, int start, int end) {
+	int hash = 1;
+	for (int i = start; i < end; i++)
+		hash = 31 * hash + array[i];
+	return hash & 0x7FFFFFFF;
+}
+
+/**
+ * Answers the index of the given key, or <code>-1 - index</code> of the free slot where it would be added.
+ */
+protected final int indexOf(char[] key, int hash) {
+	int length = this.keyTable.length,
+		index = hash % length;
+	char[] currentKey;
+	while ((currentKey = this.keyTable[index]) != null) {
+		if (this.hashTable[index] == hash && CharOperation.equals(currentKey, key))
+			return index;
+		if (++index == length) {
+			index = 0;
+		}
+	}
+	return -1 - index;
+}
+
+/**
+ * Answers the index of the key equal to the given slice of an array, or a negative value if none.
+ */
+protected final int indexOf(char[] array, int start, int end) {
+	int hash = hashCode(array, start, end);
+	int keyLength = end - start;
+	int length = this.keyTable.length,
+		index = hash % length;
+	char[] currentKey;
+	next : while ((currentKey = this.keyTable[index]) != null) {
+		if (this.hashTable[index] == hash && currentKey.length == keyLength) {
+			for (int i = 0; i < keyLength; i++)
+				if (currentKey[i] != array[start + i])
+					continue next;
+			return index;
+		}
+		if (++index == length) {
+			index = 0;
+		}
+	}
+	return -1;
+}
+
+/**
+ * Records a key in a free slot answered by {@link #indexOf(char[], int)}, once its value is set.
+ * May grow the table, so the index is no longer valid afterwards.
+ */
+protected final void addKey(int index, char[] key, int hash) {
+	this.keyTable[index] = key;
+	this.hashTable[index] = hash;
+
+	// assumes the threshold is never equal to the size of the table
+	if (++this.elementSize > this.threshold)
+		rehash();
+}
+
+/**
+ * Frees the slot of a key and its value, then rehashes the table in place so that no probe sequence is broken.
+ */
+protected final void removeAt(int index) {
+	this.elementSize--;
+	this.keyTable[index] = null;
+	moveValue(null, index, index);
+	rehash(this.keyTable.length, this.threshold);
+}
+
+public boolean containsKey(char[] key) {
+	return indexOf(key, CharOperation.hashCode(key)) >= 0;
+}
+
+public boolean containsKey(char[] array, int start, int end) {
+	return indexOf(array, start, end) >= 0;
+}
+
+/**
+ * Grows the table, usually by calling {@link #rehash(int, int)}.
+ */
+protected abstract void rehash();
+
+/**
+ * Moves all the keys and their values to tables of the given capacity.
+ */
+protected final void rehash(int capacity, int newThreshold) {
+	char[][] oldKeys = this.keyTable;
+	int[] oldHashes = this.hashTable;
+	Object oldValues = newValueTable(capacity);
+	this.keyTable = new char[capacity][];
+	this.hashTable = new int[capacity];
+	this.threshold = newThreshold;
+	for (int i = oldKeys.length; --i >= 0;) {
+		char[] key = oldKeys[i];
+		if (key != null) {
+			int hash = oldHashes[i];
+			int index = hash % capacity;
+			while (this.keyTable[index] != null) {
+				if (++index == capacity) {
+					index = 0;
+				}
+			}
+			this.keyTable[index] = key;
+			this.hashTable[index] = hash;
+			moveValue(oldValues, i, index);
+		}
+	}
+}
+
+/**
+ * Replaces the value table by an empty one of the given capacity.
+ * @return the previous value table
+ */
+protected abstract Object newValueTable(int capacity);
+
+/**
+ * Moves a value from the given previous value table to the current one, or clears the value at the given index
+ * when the previous table is <code>null</code>.
+ */
+protected abstract void moveValue(Object oldValues, int oldIndex, int newIndex);
+
+protected void copyTables(CharArrayHashtable original) {
+	this.keyTable = original.keyTable.clone();
+	this.hashTable = original.hashTable.clone();
+}
+
+public int size() {
+	return this.elementSize;
+}
+
+/**
+ * Answers the ratio of used slots.
+ */
+public double loadFactor() {
+	return (double) this.elementSize / this.keyTable.length;
+}
+
+/**
+ * Answers the number of slots probed to find each key, on average.
+ */
+public double averageProbeLength() {
+	if (this.elementSize == 0)
+		return 0;
+	long total = 0;
+	for (int i = this.keyTable.length; --i >= 0;)
+		if (this.keyTable[i] != null)
+			total += probeLength(i);
+	return (double) total / this.elementSize;
+}
+
+/**
+ * Answers the largest number of slots probed to find a key.
+ */
+public int maxProbeLength() {
+	int max = 0;
+	for (int i = this.keyTable.length; --i >= 0;)
+		if (this.keyTable[i] != null)
+			max = Math.max(max, probeLength(i));
+	return max;
+}
+
+private int probeLength(int index) {
+	int length = this.keyTable.length;
+	int home = this.hashTable[index] % length;
+	return (index >= home ? index - home : index + length - home) + 1;
+}
+
+/**
+ * Answers the size, load and probe lengths of the table, for diagnostics.
+ */
+public String statistics() {
+	return getClass().getSimpleName() + ": " + this.elementSize + " elements in " + this.keyTable.length + " slots, load " //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		+ String.format("%.2f, average probe length %.2f", Double.valueOf(loadFactor()), Double.valueOf(averageProbeLength())) //$NON-NLS-1$
+		+ ", max probe length " + maxProbeLength(); //$NON-NLS-1$
+}
+}
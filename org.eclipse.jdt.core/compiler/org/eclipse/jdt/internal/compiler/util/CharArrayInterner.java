@@ -0,0 +1,118 @@
+/*******************************************************************************
+ * Copyright (c) 2021 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.compiler.util;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import org.eclipse.jdt.core.compiler.CharOperation;
+
+/**
+ * A bounded pool of names, so that equal names found by the scanner, read from class files or
+ * split from constant pool names share a single <code>char[]</code>, and comparing them
+ * usually succeeds on identity.
+ * <p>
+ * The pool is a fixed size table indexed by the hash code of the names: a name replaces the one
+ * found in its slot when they differ, so the pool never grows and keeps the most recent names.
+ * It can be used concurrently. The arrays answered are shared, and must not be modified.
+ * </p><p>
+ * The size of the {@link #SHARED} pool is read from the <code>jdt.compiler.internedNames</code>
+ * system property, 0 disabling it.
+ * </p>
+ */
+public final class CharArrayInterner {
+
+	public static final CharArrayInterner SHARED = new CharArrayInterner(Integer.getInteger("jdt.compiler.internedNames", 1 << 15).intValue()); //$NON-NLS-1$
+
+	private final AtomicReferenceArray<char[]> table; // null when disabled
+	private final int mask;
+
+/**
+ * Creates a pool of the given number of names, rounded up to a power of 2.
+ * @param size the maximum number of names kept, 0 for a pool which does not keep names
+ */
+public CharArrayInterner(int size) {
+	if (size <= 0) {
+		this.table = null;
+		this.mask = 0;
+	} else {
+		int capacity = Integer.highestOneBit(Math.min(size, 1 << 30));
+		if (capacity < size)
+			capacity <<= 1;
+		this.table = new AtomicReferenceArray<>(capacity);
+		this.mask = capacity - 1;
+	}
+}
+
+/**
+ * Answers the pooled name equal to the given name, which is pooled if there was none.
+ */
+public char[] intern(char[] name) {
+	if (this.table == null || name == null)
+		return name;
+	int index = CharOperation.hashCode(name) & this.mask;
+	char[] current = this.table.get(index);
+	if (current != null && CharOperation.equals(current, name))
+		return current;
+	this.table.set(index, name);
+	return name;
+}
+
+/**
+ * Answers the pooled name equal to the given slice of an array, or a pooled copy of the slice if there was none.
+ */
+public char[] intern(char[] array, int start, int end) {
+	if (this.table == null)
+		return CharOperation.subarray(array, start, end);
+	int index = CharArrayHashtable.hashCode(array, start, end) & this.mask;
+	char[] current = this.table.get(index);
+	int length = end - start;
+	if (current != null && current.length == length && equals(current, array, start))
+		return current;
+	char[] name = new char[length];
+	System.arraycopy(array, start, name, 0, length);
+	this.table.set(index, name);
+	return name;
+}
+
+private static boolean equals(char[] name, char[] array, int start) {
+	for (int i = name.length; --i >= 0;)
+		if (name[i] != array[start + i])
+			return false;
+	return true;
+}
+
+/**
+ * Same as {@link CharOperation#splitOn(char, char[], int, int)}, with pooled segments.
+ */
+public char[][] splitOn(char divider, char[] array, int start, int end) {
+	int length = array == null ? 0 : array.length;
+	if (length == 0 || start > end)
+		return CharOperation.NO_CHAR_CHAR;
+
+	int wordCount = 1;
+	for (int i = start; i < end; i++)
+		if (array[i] == divider)
+			wordCount++;
+	char[][] split = new char[wordCount][];
+	int last = start, currentWord = 0;
+	for (int i = start; i < end; i++) {
+		if (array[i] == divider) {
+			split[currentWord++] = intern(array, last, i);
+			last = i + 1;
+		}
+	}
+	split[currentWord] = intern(array, last, end);
+	return split;
+}
+}
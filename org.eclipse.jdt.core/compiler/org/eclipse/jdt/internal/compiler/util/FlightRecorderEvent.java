@@ -0,0 +1,225 @@
+/*******************************************************************************
+ * Copyright (c) 2021 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.compiler.util;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * A Java Flight Recorder event type, for the duration of a JDT operation.
+ * <p>
+ * The event types are created through <code>jdk.jfr.EventFactory</code>, reflectively, since
+ * the Flight Recorder API is not part of the Java SE 8 profile this code is compiled against.
+ * On VMs without the Flight Recorder, and as long as no recording enables an event type,
+ * {@link #begin()} answers <code>null</code> after checking a single flag, so callers should
+ * only compute the values of the event fields when an event was begun. The flag of each event
+ * type is updated when a recording starts or stops:
+ * </p>
+ * <pre>
+ * Object event = EVENT.begin();
+ * try {
+ *     ...
+ * } finally {
+ *     if (event != null)
+ *         EVENT.commit(event, name, size);
+ * }
+ * </pre>
+ * The events are shown in the <code>Eclipse JDT</code> category of recordings.
+ */
+public final class FlightRecorderEvent {
+
+	private static final String CATEGORY = "Eclipse JDT"; //$NON-NLS-1$
+
+	// jdk.jfr API, null when not available
+	private static Constructor<?> ANNOTATION_ELEMENT;
+	private static Constructor<?> VALUE_DESCRIPTOR;
+	private static Method CREATE;
+	private static Method NEW_EVENT;
+	private static Method GET_EVENT_TYPE;
+	private static Method IS_ENABLED;
+	private static Method BEGIN;
+	private static Method SET;
+	private static Method COMMIT;
+	private static Class<? extends Annotation> NAME, LABEL, CATEGORY_ANNOTATION;
+	private static Method ADD_LISTENER;
+	private static Class<?> LISTENER;
+	static {
+		try {
+			ClassLoader loader = ClassLoader.getSystemClassLoader();
+			Class<?> annotationElement = Class.forName("jdk.jfr.AnnotationElement", false, loader); //$NON-NLS-1$
+			Class<?> valueDescriptor = Class.forName("jdk.jfr.ValueDescriptor", false, loader); //$NON-NLS-1$
+			Class<?> eventFactory = Class.forName("jdk.jfr.EventFactory", false, loader); //$NON-NLS-1$
+			Class<?> eventType = Class.forName("jdk.jfr.EventType", false, loader); //$NON-NLS-1$
+			Class<?> event = Class.forName("jdk.jfr.Event", false, loader); //$NON-NLS-1$
+			NAME = Class.forName("jdk.jfr.Name", false, loader).asSubclass(Annotation.class); //$NON-NLS-1$
+			LABEL = Class.forName("jdk.jfr.Label", false, loader).asSubclass(Annotation.class); //$NON-NLS-1$
+			CATEGORY_ANNOTATION = Class.forName("jdk.jfr.Category", false, loader).asSubclass(Annotation.class); //$NON-NLS-1$
+			ANNOTATION_ELEMENT = annotationElement.getConstructor(Class.class, Object.class);
+			VALUE_DESCRIPTOR = valueDescriptor.getConstructor(Class.class, String.class, List.class);
+			CREATE = eventFactory.getMethod("create", List.class, List.class); //$NON-NLS-1$
+			NEW_EVENT = eventFactory.getMethod("newEvent"); //$NON-NLS-1$
+			GET_EVENT_TYPE = eventFactory.getMethod("getEventType"); //$NON-NLS-1$
+			IS_ENABLED = eventType.getMethod("isEnabled"); //$NON-NLS-1$
+			BEGIN = event.getMethod("begin"); //$NON-NLS-1$
+			SET = event.getMethod("set", int.class, Object.class); //$NON-NLS-1$
+			COMMIT = event.getMethod("commit"); //$NON-NLS-1$
+			LISTENER = Class.forName("jdk.jfr.FlightRecorderListener", false, loader); //$NON-NLS-1$
+			ADD_LISTENER = Class.forName("jdk.jfr.FlightRecorder", false, loader).getMethod("addListener", LISTENER); //$NON-NLS-1$ //$NON-NLS-2$
+		} catch (LinkageError | ReflectiveOperationException | RuntimeException e) {
+			CREATE = null; // no Flight Recorder
+		}
+	}
+
+	// the recordable event types, whose flags are updated when a recording changes state
+	private static final List<FlightRecorderEvent> RECORDABLE = new CopyOnWriteArrayList<>();
+	private static boolean LISTENING;
+
+	private final String name;
+	private final Object factory; // jdk.jfr.EventFactory, or null
+	private final Object type; // jdk.jfr.EventType, or null
+	private volatile boolean enabled;
+
+/**
+ * Defines an event type with the given fields. Field types must be primitive types or
+ * <code>String</code>.
+ *
+ * @param name the simple name of the event type, qualified with <code>org.eclipse.jdt.</code>
+ * @param label the human readable name of the event type
+ * @param fieldNames the names of the event fields, in the order of the values given to {@link #commit(Object, Object...)}
+ * @param fieldTypes the types of the event fields
+ */
+public static FlightRecorderEvent define(String name, String label, String[] fieldNames, Class<?>[] fieldTypes) {
+	Object factory = null, type = null;
+	if (CREATE != null) {
+		try {
+			List<Object> annotations = Arrays.asList(
+				ANNOTATION_ELEMENT.newInstance(NAME, "org.eclipse.jdt." + name), //$NON-NLS-1$
+				ANNOTATION_ELEMENT.newInstance(LABEL, label),
+				ANNOTATION_ELEMENT.newInstance(CATEGORY_ANNOTATION, new String[] { CATEGORY }));
+			List<Object> fields = new ArrayList<>(fieldNames.length);
+			for (int i = 0; i < fieldNames.length; i++)
+				fields.add(VALUE_DESCRIPTOR.newInstance(fieldTypes[i], fieldNames[i], Collections.emptyList()));
+			factory = CREATE.invoke(null, annotations, fields);
+			type = GET_EVENT_TYPE.invoke(factory);
+		} catch (ReflectiveOperationException | RuntimeException e) {
+			factory = type = null; // not recorded
+		}
+	}
+	FlightRecorderEvent event = new FlightRecorderEvent(name, factory, type);
+	if (type != null && listen()) {
+		RECORDABLE.add(event);
+		event.update();
+	}
+	return event;
+}
+
+/*
+ * Registers the listener updating the flags of the event types when a recording changes state, answers
+ * whether it is registered.
+ */
+private static synchronized boolean listen() {
+	if (!LISTENING) {
+		InvocationHandler handler = (proxy, method, args) -> {
+			switch (method.getName()) {
+				case "recorderInitialized" : //$NON-NLS-1$
+				case "recordingStateChanged" : //$NON-NLS-1$
+					for (FlightRecorderEvent event : RECORDABLE)
+						event.update();
+					return null;
+				case "equals" : //$NON-NLS-1$
+					return Boolean.valueOf(proxy == args[0]);
+				case "hashCode" : //$NON-NLS-1$
+					return Integer.valueOf(System.identityHashCode(proxy));
+				case "toString" : //$NON-NLS-1$
+					return "Flight Recorder listener of the JDT events"; //$NON-NLS-1$
+				default :
+					return null;
+			}
+		};
+		try {
+			ADD_LISTENER.invoke(null, Proxy.newProxyInstance(ClassLoader.getSystemClassLoader(), new Class<?>[] { LISTENER }, handler));
+			LISTENING = true;
+		} catch (ReflectiveOperationException | RuntimeException e) {
+			// not recorded
+		}
+	}
+	return LISTENING;
+}
+
+private FlightRecorderEvent(String name, Object factory, Object type) {
+	this.name = name;
+	this.factory = factory;
+	this.type = type;
+}
+
+/**
+ * Answers whether a recording currently records this event type.
+ */
+public boolean isEnabled() {
+	return this.enabled;
+}
+
+private void update() {
+	try {
+		this.enabled = ((Boolean) IS_ENABLED.invoke(this.type)).booleanValue();
+	} catch (ReflectiveOperationException | RuntimeException e) {
+		this.enabled = false;
+	}
+}
+
+/**
+ * Starts timing a new event.
+ * @return the event to commit, or <code>null</code> when this event type is not recorded
+ */
+public Object begin() {
+	if (!isEnabled())
+		return null;
+	try {
+		Object event = NEW_EVENT.invoke(this.factory);
+		BEGIN.invoke(event);
+		return event;
+	} catch (ReflectiveOperationException | RuntimeException e) {
+		return null;
+	}
+}
+
+/**
+ * Ends timing the given event and records it with the given field values.
+ * @param event an event answered by {@link #begin()}, may be <code>null</code>
+ */
+public void commit(Object event, Object... values) {
+	if (event == null)
+		return;
+	try {
+		for (int i = 0; i < values.length; i++)
+			SET.invoke(event, Integer.valueOf(i), values[i]);
+		COMMIT.invoke(event);
+	} catch (ReflectiveOperationException | RuntimeException e) {
+		// not recorded
+	}
+}
+
+@Override
+public String toString() {
+	return "Flight Recorder event org.eclipse.jdt." + this.name + (this.type == null ? " (unavailable)" : ""); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+}
+}
@@ -18,28 +18,24 @@ import org.eclipse.jdt.core.compiler.CharOperation;
 /**
  * Hashtable of {char[] --> Object }
  */
-public final class HashtableOfObject implements Cloneable {
+public final class HashtableOfObject extends CharArrayHashtable implements Cloneable {
 
-	// to avoid using Enumerations, walk the individual tables skipping nulls
-	public char[] keyTable[];
 	public Object valueTable[];
 
-	public int elementSize; // number of elements in the table
-	int threshold;
-
 	public HashtableOfObject() {
 		this(13);
 	}
 
 	public HashtableOfObject(int size) {
+		super(capacity(size), size); // size represents the expected number of elements
+		this.valueTable = new Object[this.keyTable.length];
+	}
 
-		this.elementSize = 0;
-		this.threshold = size; // size represents the expected number of elements
+	private static int capacity(int size) {
 		int extraRoom = (int) (size * 1.75f);
-		if (this.threshold == extraRoom)
+		if (size == extraRoom)
 			extraRoom++;
-		this.keyTable = new char[extraRoom][];
-		this.valueTable = new Object[extraRoom];
+		return extraRoom;
 	}
 
 	public void clear() {
@@ -53,67 +49,32 @@ public final class HashtableOfObject implements Cloneable {
 	@Override
 	public Object clone() throws CloneNotSupportedException {
 		HashtableOfObject result = (HashtableOfObject) super.clone();
-		result.elementSize = this.elementSize;
-		result.threshold = this.threshold;
-
-		int length = this.keyTable.length;
-		result.keyTable = new char[length][];
-		System.arraycopy(this.keyTable, 0, result.keyTable, 0, length);
-
-		length = this.valueTable.length;
-		result.valueTable = new Object[length];
-		System.arraycopy(this.valueTable, 0, result.valueTable, 0, length);
+		result.copyTables(this);
+		result.valueTable = this.valueTable.clone();
 		return result;
 	}
 
-	public boolean containsKey(char[] key) {
-		int length = this.keyTable.length,
-			index = CharOperation.hashCode(key) % length;
-		int keyLength = key.length;
-		char[] currentKey;
-		while ((currentKey = this.keyTable[index]) != null) {
-			if (currentKey.length == keyLength && CharOperation.equals(currentKey, key))
-				return true;
-			if (++index == length) {
-				index = 0;
-			}
-		}
-		return false;
+	public Object get(char[] key) {
+		int index = indexOf(key, CharOperation.hashCode(key));
+		return index >= 0 ? this.valueTable[index] : null;
 	}
 
-	public Object get(char[] key) {
-		int length = this.keyTable.length,
-			index = CharOperation.hashCode(key) % length;
-		int keyLength = key.length;
-		char[] currentKey;
-		while ((currentKey = this.keyTable[index]) != null) {
-			if (currentKey.length == keyLength && CharOperation.equals(currentKey, key))
-				return this.valueTable[index];
-			if (++index == length) {
-				index = 0;
-			}
-		}
-		return null;
+	/**
+	 * Answers the value of the key equal to the given slice of an array, without copying it.
+	 */
+	public Object get(char[] array, int start, int end) {
+		int index = indexOf(array, start, end);
+		return index >= 0 ? this.valueTable[index] : null;
 	}
 
 	public Object put(char[] key, Object value) {
-		int length = this.keyTable.length,
-			index = CharOperation.hashCode(key) % length;
-		int keyLength = key.length;
-		char[] currentKey;
-		while ((currentKey = this.keyTable[index]) != null) {
-			if (currentKey.length == keyLength && CharOperation.equals(currentKey, key))
-				return this.valueTable[index] = value;
-			if (++index == length) {
-				index = 0;
-			}
-		}
-		this.keyTable[index] = key;
+		int hash = CharOperation.hashCode(key);
+		int index = indexOf(key, hash);
+		if (index >= 0)
+			return this.valueTable[index] = value;
+		index = -1 - index;
 		this.valueTable[index] = value;
-
-		// assumes the threshold is never equal to the size of the table
-		if (++this.elementSize > this.threshold)
-			rehash();
+		addKey(index, key, hash);
 		return value;
 	}
 
@@ -127,58 +88,43 @@ public final class HashtableOfObject implements Cloneable {
 	 * @param value The value of the table entry
 	 */
 	public void putUnsafely(char[] key, Object value) {
+		int hash = CharOperation.hashCode(key);
 		int length = this.keyTable.length,
-			index = CharOperation.hashCode(key) % length;
+			index = hash % length;
 		while (this.keyTable[index] != null) {
 			if (++index == length) {
 				index = 0;
 			}
 		}
-		this.keyTable[index] = key;
 		this.valueTable[index] = value;
-
-		// assumes the threshold is never equal to the size of the table
-		if (++this.elementSize > this.threshold) {
-			rehash();
-		}
+		addKey(index, key, hash);
 	}
 
 	public Object removeKey(char[] key) {
-		int length = this.keyTable.length,
-			index = CharOperation.hashCode(key) % length;
-		int keyLength = key.length;
-		char[] currentKey;
-		while ((currentKey = this.keyTable[index]) != null) {
-			if (currentKey.length == keyLength && CharOperation.equals(currentKey, key)) {
-				Object value = this.valueTable[index];
-				this.elementSize--;
-				this.keyTable[index] = null;
-				this.valueTable[index] = null;
-				rehash();
-				return value;
-			}
-			if (++index == length) {
-				index = 0;
-			}
-		}
-		return null;
+		int index = indexOf(key, CharOperation.hashCode(key));
+		if (index < 0)
+			return null;
+		Object value = this.valueTable[index];
+		removeAt(index);
+		return value;
 	}
 
-	private void rehash() {
-
-		HashtableOfObject newHashtable = new HashtableOfObject(this.elementSize * 2);		// double the number of expected elements
-		char[] currentKey;
-		for (int i = this.keyTable.length; --i >= 0;)
-			if ((currentKey = this.keyTable[i]) != null)
-				newHashtable.putUnsafely(currentKey, this.valueTable[i]);
+	@Override
+	protected void rehash() {
+		int size = this.elementSize * 2; // double the number of expected elements
+		rehash(capacity(size), size);
+	}
 
-		this.keyTable = newHashtable.keyTable;
-		this.valueTable = newHashtable.valueTable;
-		this.threshold = newHashtable.threshold;
+	@Override
+	protected Object newValueTable(int capacity) {
+		Object[] oldValues = this.valueTable;
+		this.valueTable = new Object[capacity];
+		return oldValues;
 	}
 
-	public int size() {
-		return this.elementSize;
+	@Override
+	protected void moveValue(Object oldValues, int oldIndex, int newIndex) {
+		this.valueTable[newIndex] = oldValues == null ? null : ((Object[]) oldValues)[oldIndex];
 	}
 
 	@Override
@@ -20,24 +20,21 @@ import java.util.stream.Collectors;
 import org.eclipse.jdt.core.compiler.CharOperation;
 import org.eclipse.jdt.internal.compiler.lookup.PackageBinding;
 
-public final class HashtableOfPackage<P extends PackageBinding> {
-	// to avoid using Enumerations, walk the individual tables skipping nulls
-	public char[] keyTable[];
+public final class HashtableOfPackage<P extends PackageBinding> extends CharArrayHashtable {
 	private PackageBinding valueTable[];
 
-	public int elementSize; // number of elements in the table
-	int threshold;
 public HashtableOfPackage() {
 	this(3); // usually not very large
 }
 public HashtableOfPackage(int size) {
-	this.elementSize = 0;
-	this.threshold = size; // size represents the expected number of elements
+	super(capacity(size), size); // size represents the expected number of elements
+	this.valueTable = new PackageBinding[this.keyTable.length];
+}
+private static int capacity(int size) {
 	int extraRoom = (int) (size * 1.75f);
-	if (this.threshold == extraRoom)
+	if (size == extraRoom)
 		extraRoom++;
-	this.keyTable = new char[extraRoom][];
-	this.valueTable = new PackageBinding[extraRoom];
+	return extraRoom;
 }
 public Iterable<P> values() {
 	return Arrays.stream(this.valueTable)
@@ -45,70 +42,46 @@ public Iterable<P> values() {
 			.map(p -> { @SuppressWarnings("unchecked") P theP = (P)p; return theP; })
 			.collect(Collectors.toList());
 }
-public boolean containsKey(char[] key) {
-	int length = this.keyTable.length,
-		index = CharOperation.hashCode(key) % length;
-	int keyLength = key.length;
-	char[] currentKey;
-	while ((currentKey = this.keyTable[index]) != null) {
-		if (currentKey.length == keyLength && CharOperation.equals(currentKey, key))
-			return true;
-		if (++index == length) {
-			index = 0;
-		}
-	}
-	return false;
-}
 public P get(char[] key) {
-	int length = this.keyTable.length,
-		index = CharOperation.hashCode(key) % length;
-	int keyLength = key.length;
-	char[] currentKey;
-	while ((currentKey = this.keyTable[index]) != null) {
-		if (currentKey.length == keyLength && CharOperation.equals(currentKey, key)) {
-			@SuppressWarnings("unchecked")
-			P p = (P) this.valueTable[index];
-			return p;
-		}
-		if (++index == length) {
-			index = 0;
-		}
-	}
-	return null;
+	return valueAt(indexOf(key, CharOperation.hashCode(key)));
+}
+/**
+ * Answers the package of the name equal to the given slice of an array, without copying it.
+ */
+public P get(char[] array, int start, int end) {
+	return valueAt(indexOf(array, start, end));
+}
+private P valueAt(int index) {
+	if (index < 0)
+		return null;
+	@SuppressWarnings("unchecked")
+	P p = (P) this.valueTable[index];
+	return p;
 }
 public PackageBinding put(char[] key, PackageBinding value) {
-	int length = this.keyTable.length,
-		index = CharOperation.hashCode(key) % length;
-	int keyLength = key.length;
-	char[] currentKey;
-	while ((currentKey = this.keyTable[index]) != null) {
-		if (currentKey.length == keyLength && CharOperation.equals(currentKey, key))
-			return this.valueTable[index] = value;
-		if (++index == length) {
-			index = 0;
-		}
-	}
-	this.keyTable[index] = key;
+	int hash = CharOperation.hashCode(key);
+	int index = indexOf(key, hash);
+	if (index >= 0)
+		return this.valueTable[index] = value;
+	index = -1 - index;
 	this.valueTable[index] = value;
-
-	// assumes the threshold is never equal to the size of the table
-	if (++this.elementSize > this.threshold)
-		rehash();
+	addKey(index, key, hash);
 	return value;
 }
-private void rehash() {
-	HashtableOfPackage<P> newHashtable = new HashtableOfPackage<P>(this.elementSize * 2); // double the number of expected elements
-	char[] currentKey;
-	for (int i = this.keyTable.length; --i >= 0;)
-		if ((currentKey = this.keyTable[i]) != null)
-			newHashtable.put(currentKey, this.valueTable[i]);
-
-	this.keyTable = newHashtable.keyTable;
-	this.valueTable = newHashtable.valueTable;
-	this.threshold = newHashtable.threshold;
+@Override
+protected void rehash() {
+	int size = this.elementSize * 2; // double the number of expected elements
+	rehash(capacity(size), size);
 }
-public int size() {
-	return this.elementSize;
+@Override
+protected Object newValueTable(int capacity) {
+	PackageBinding[] oldValues = this.valueTable;
+	this.valueTable = new PackageBinding[capacity];
+	return oldValues;
+}
+@Override
+protected void moveValue(Object oldValues, int oldIndex, int newIndex) {
+	this.valueTable[newIndex] = oldValues == null ? null : ((PackageBinding[]) oldValues)[oldIndex];
 }
 @Override
 public String toString() {
@@ -16,111 +16,71 @@ package org.eclipse.jdt.internal.compiler.util;
 import org.eclipse.jdt.core.compiler.CharOperation;
 import org.eclipse.jdt.internal.compiler.lookup.ReferenceBinding;
 
-public final class HashtableOfType {
-	// to avoid using Enumerations, walk the individual tables skipping nulls
-	public char[] keyTable[];
+public final class HashtableOfType extends CharArrayHashtable {
 	public ReferenceBinding valueTable[];
 
-	public int elementSize; // number of elements in the table
-	int threshold;
 public HashtableOfType() {
 	this(3);
 }
 public HashtableOfType(int size) {
-	this.elementSize = 0;
-	this.threshold = size; // size represents the expected number of elements
+	super(capacity(size), size); // size represents the expected number of elements
+	this.valueTable = new ReferenceBinding[this.keyTable.length];
+}
+private static int capacity(int size) {
 	int extraRoom = (int) (size * 1.75f);
-	if (this.threshold == extraRoom)
+	if (size == extraRoom)
 		extraRoom++;
-	this.keyTable = new char[extraRoom][];
-	this.valueTable = new ReferenceBinding[extraRoom];
-}
-public boolean containsKey(char[] key) {
-	int length = this.keyTable.length,
-		index = CharOperation.hashCode(key) % length;
-	int keyLength = key.length;
-	char[] currentKey;
-	while ((currentKey = this.keyTable[index]) != null) {
-		if (currentKey.length == keyLength && CharOperation.equals(currentKey, key))
-			return true;
-		if (++index == length) {
-			index = 0;
-		}
-	}
-	return false;
+	return extraRoom;
 }
 public ReferenceBinding get(char[] key) {
-	int length = this.keyTable.length,
-		index = CharOperation.hashCode(key) % length;
-	int keyLength = key.length;
-	char[] currentKey;
-	while ((currentKey = this.keyTable[index]) != null) {
-		if (currentKey.length == keyLength && CharOperation.equals(currentKey, key))
-			return this.valueTable[index];
-		if (++index == length) {
-			index = 0;
-		}
-	}
-	return null;
+	int index = indexOf(key, CharOperation.hashCode(key));
+	return index >= 0 ? this.valueTable[index] : null;
+}
+/**
+ * Answers the type of the name equal to the given slice of an array, without copying it.
+ */
+public ReferenceBinding get(char[] array, int start, int end) {
+	int index = indexOf(array, start, end);
+	return index >= 0 ? this.valueTable[index] : null;
 }
 // Returns old value.
 public ReferenceBinding getput(char[] key, ReferenceBinding value) {
-	ReferenceBinding retVal = null;
-	int length = this.keyTable.length,
-		index = CharOperation.hashCode(key) % length;
-	int keyLength = key.length;
-	char[] currentKey;
-	while ((currentKey = this.keyTable[index]) != null) {
-		if (currentKey.length == keyLength && CharOperation.equals(currentKey, key)) {
-			retVal = this.valueTable[index];
-			this.valueTable[index] = value;
-			return retVal;
-		}
-		if (++index == length) {
-			index = 0;
-		}
+	int hash = CharOperation.hashCode(key);
+	int index = indexOf(key, hash);
+	if (index >= 0) {
+		ReferenceBinding retVal = this.valueTable[index];
+		this.valueTable[index] = value;
+		return retVal;
 	}
-	this.keyTable[index] = key;
+	index = -1 - index;
 	this.valueTable[index] = value;
-
-	// assumes the threshold is never equal to the size of the table
-	if (++this.elementSize > this.threshold)
-		rehash();
-	return retVal;
+	addKey(index, key, hash);
+	return null;
 }
 public ReferenceBinding put(char[] key, ReferenceBinding value) {
-	int length = this.keyTable.length,
-		index = CharOperation.hashCode(key) % length;
-	int keyLength = key.length;
-	char[] currentKey;
-	while ((currentKey = this.keyTable[index]) != null) {
-		if (currentKey.length == keyLength && CharOperation.equals(currentKey, key))
-			return this.valueTable[index] = value;
-		if (++index == length) {
-			index = 0;
-		}
-	}
-	this.keyTable[index] = key;
+	int hash = CharOperation.hashCode(key);
+	int index = indexOf(key, hash);
+	if (index >= 0)
+		return this.valueTable[index] = value;
+	index = -1 - index;
 	this.valueTable[index] = value;
-
-	// assumes the threshold is never equal to the size of the table
-	if (++this.elementSize > this.threshold)
-		rehash();
+	addKey(index, key, hash);
 	return value;
 }
-private void rehash() {
-	HashtableOfType newHashtable = new HashtableOfType(this.elementSize < 100 ? 100 : this.elementSize * 2); // double the number of expected elements
-	char[] currentKey;
-	for (int i = this.keyTable.length; --i >= 0;)
-		if ((currentKey = this.keyTable[i]) != null)
-			newHashtable.put(currentKey, this.valueTable[i]);
-
-	this.keyTable = newHashtable.keyTable;
-	this.valueTable = newHashtable.valueTable;
-	this.threshold = newHashtable.threshold;
+@Override
+protected void rehash() {
+	int size = this.elementSize < 100 ? 100 : this.elementSize * 2; // double the number of expected elements
+	rehash(capacity(size), size);
 }
-public int size() {
-	return this.elementSize;
+@Override
+protected Object newValueTable(int capacity) {
+	ReferenceBinding[] oldValues = this.valueTable;
+	this.valueTable = new ReferenceBinding[capacity];
+	return oldValues;
+}
+@Override
+protected void moveValue(Object oldValues, int oldIndex, int newIndex) {
+	this.valueTable[newIndex] = oldValues == null ? null : ((ReferenceBinding[]) oldValues)[oldIndex];
 }
 @Override
 public String toString() {
@@ -41,6 +41,7 @@ import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Predicate;
 
 import org.eclipse.jdt.internal.compiler.classfmt.ClassFileReader;
+import org.eclipse.jdt.internal.compiler.classfmt.ClassFileReaderCache;
 import org.eclipse.jdt.internal.compiler.classfmt.ClassFormatException;
 import org.eclipse.jdt.internal.compiler.env.IModule;
 
@@ -246,6 +247,7 @@ class JrtFileSystemWithOlderRelease extends JrtFileSystem {
 	JrtFileSystemWithOlderRelease(File jrt, String release) throws IOException {
 		super(jrt);
 		this.release = release;
+		this.readerCacheKey = ClassFileReaderCache.entryKey(jrt, release);
 		initialize(jrt, release);
 	}
 
@@ -339,6 +341,7 @@ class JrtFileSystem {
 	FileSystem fs;
 	Path modRoot;
 	String jdkHome;
+	Object readerCacheKey;
 
 	public static JrtFileSystem getNewJrtFileSystem(File jrt, String release) throws IOException {
 		return (release == null) ? new JrtFileSystem(jrt) :
@@ -354,6 +357,7 @@ class JrtFileSystem {
 	 * @throws IOException
 	 */
 	JrtFileSystem(File jrt) throws IOException {
+		this.readerCacheKey = ClassFileReaderCache.entryKey(jrt, null);
 		initialize(jrt);
 	}
 
@@ -469,24 +473,36 @@ class JrtFileSystem {
 
 	private ClassFileReader getClassfile(String fileName, Predicate<String> moduleNameFilter) throws IOException, ClassFormatException {
 		String[] modules = getModules(fileName);
-		byte[] content = null;
-		String module = null;
 		for (String mod : modules) {
 			if (moduleNameFilter != null && !moduleNameFilter.test(mod)) {
 				continue;
 			}
-			content = getFileBytes(fileName, mod);
-			if (content != null) {
-				module = mod;
-				break;
+			ClassFileReader reader = readClassfile(fileName, mod);
+			if (reader != null) {
+				return reader;
 			}
 		}
-		if (content != null) {
+		return null;
+	}
+
+	/*
+	 * Answers the reader for the given class file of the given module, shared with the other lookup environments
+	 * through the class file reader cache unless caching is disabled.
+	 */
+	private ClassFileReader readClassfile(String fileName, String module) throws IOException, ClassFormatException {
+		ClassFileReaderCache.Loader loader = () -> {
+			byte[] content = getFileBytes(fileName, module);
+			if (content == null)
+				return null;
 			ClassFileReader reader = new ClassFileReader(content, fileName.toCharArray());
 			reader.moduleName = module.toCharArray();
+			if (!JRTUtil.DISABLE_CACHE && ClassFileReaderCache.SHARED.isEnabled())
+				reader.initializeForSharing();
 			return reader;
-		}
-		return null;
+		};
+		if (JRTUtil.DISABLE_CACHE)
+			return loader.load();
+		return ClassFileReaderCache.SHARED.get(this.readerCacheKey, module + '/' + fileName, loader);
 	}
 
 	byte[] getClassfileContent(String fileName, String module) throws IOException {
@@ -530,11 +546,7 @@ class JrtFileSystem {
 		if (module == null) {
 			reader = getClassfile(fileName, moduleNameFilter);
 		} else {
-			byte[] content = getFileBytes(fileName, module);
-			if (content != null) {
-				reader = new ClassFileReader(content, fileName.toCharArray());
-				reader.moduleName = module.toCharArray();
-			}
+			reader = readClassfile(fileName, module);
 		}
 		return reader;
 	}
@@ -15,7 +15,6 @@
 package org.eclipse.jdt.internal.compiler.util;
 
 import java.io.BufferedInputStream;
-import java.io.BufferedOutputStream;
 import java.io.BufferedReader;
 import java.io.ByteArrayInputStream;
 import java.io.File;
@@ -27,6 +26,17 @@ import java.io.InputStreamReader;
 import java.io.PrintWriter;
 import java.io.StringWriter;
 import java.io.UnsupportedEncodingException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.IllegalCharsetNameException;
+import java.nio.charset.StandardCharsets;
+import java.nio.charset.UnsupportedCharsetException;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
@@ -232,7 +242,10 @@ public class Util implements SuffixConstants {
 	}
 
 	private static final int DEFAULT_READING_SIZE = 8192;
-	private static final int DEFAULT_WRITING_SIZE = 1024;
+	private static final int POOLED_READING_SIZE = 64 * 1024; // files up to this size are read into a per thread buffer
+	private static final int MAPPING_THRESHOLD = 1024 * 1024; // files from this size on are memory mapped
+	private static final boolean CAN_MAP_FILES = File.separatorChar == '/'; // mapped files cannot be deleted on Windows until unmapped
+	private static final ThreadLocal<ByteBuffer> READING_BUFFER = ThreadLocal.withInitial(() -> ByteBuffer.allocate(DEFAULT_READING_SIZE));
 	public final static String UTF_8 = "UTF-8";	//$NON-NLS-1$
 	public static final String LINE_SEPARATOR = System.getProperty("line.separator"); //$NON-NLS-1$
 
@@ -417,19 +430,109 @@ public class Util implements SuffixConstants {
 	 * @throws IOException if a problem occured reading the file.
 	 */
 	public static char[] getFileCharContent(File file, String encoding) throws IOException {
-		InputStream stream = null;
+		try (FileInputStream stream = new FileInputStream(file)) {
+			FileChannel channel = stream.getChannel();
+			long size = channel.size();
+			if (size <= 0 || size > Integer.MAX_VALUE) {
+				// unknown size (e.g. not a regular file)
+				return getInputStreamAsCharArray(stream, (int) file.length(), encoding);
+			}
+			ByteBuffer bytes;
+			if (size <= POOLED_READING_SIZE) {
+				bytes = READING_BUFFER.get();
+				if (bytes.capacity() < size) {
+					bytes = ByteBuffer.allocate(POOLED_READING_SIZE);
+					READING_BUFFER.set(bytes);
+				}
+				bytes.clear();
+				bytes.limit((int) size);
+			} else if (size >= MAPPING_THRESHOLD && CAN_MAP_FILES) {
+				return decode(channel.map(FileChannel.MapMode.READ_ONLY, 0, size), encoding);
+			} else {
+				bytes = ByteBuffer.allocate((int) size);
+			}
+			while (bytes.hasRemaining() && channel.read(bytes) >= 0) {
+				// read until full or end of file
+			}
+			bytes.flip();
+			return decode(bytes, encoding);
+		}
+	}
+
+	/**
+	 * Decodes the given bytes the same way as an {@link InputStreamReader} would, i.e. replacing
+	 * malformed input. US-ASCII, ISO-8859-1 and UTF-8 are decoded straight into the resulting array.
+	 * When encoding is null, then the platform default one is used.
+	 */
+	private static char[] decode(ByteBuffer bytes, String encoding) {
+		Charset charset;
 		try {
-			stream = new FileInputStream(file);
-			return getInputStreamAsCharArray(stream, (int) file.length(), encoding);
-		} finally {
-			if (stream != null) {
-				try {
-					stream.close();
-				} catch (IOException e) {
-					// ignore
+			charset = encoding == null ? Charset.defaultCharset() : Charset.forName(encoding);
+		} catch (IllegalCharsetNameException | UnsupportedCharsetException e) {
+			// encoding is not supported
+			charset = Charset.defaultCharset();
+		}
+		int length = bytes.remaining();
+		char[] contents = null;
+		int totalRead = 0;
+		if (charset == StandardCharsets.ISO_8859_1) {
+			contents = new char[length];
+			for (; totalRead < length; totalRead++)
+				contents[totalRead] = (char) (bytes.get() & 0xFF);
+		} else if (charset == StandardCharsets.UTF_8 || charset == StandardCharsets.US_ASCII) {
+			// these never produce more characters than bytes, even when replacing malformed input
+			contents = new char[length];
+			int offset = bytes.position();
+			byte b;
+			while (totalRead < length && (b = bytes.get(offset + totalRead)) >= 0)
+				contents[totalRead++] = (char) b;
+			bytes.position(offset + totalRead);
+			if (totalRead < length) {
+				CharBuffer chars = CharBuffer.wrap(contents, totalRead, length - totalRead);
+				CharsetDecoder decoder = newDecoder(charset);
+				CoderResult result = decoder.decode(bytes, chars, true);
+				if (!result.isOverflow())
+					result = decoder.flush(chars);
+				if (result.isOverflow()) {
+					contents = null; // should not happen, use the general decoding below
+					bytes.rewind();
+				} else {
+					totalRead = chars.position();
 				}
 			}
 		}
+		if (contents == null) {
+			CharBuffer chars;
+			try {
+				chars = newDecoder(charset).decode(bytes);
+			} catch (CharacterCodingException e) {
+				throw new IllegalStateException(e); // cannot happen when replacing malformed input
+			}
+			totalRead = chars.remaining();
+			contents = new char[totalRead];
+			chars.get(contents);
+		}
+
+		// Do not keep first character for UTF-8 BOM encoding
+		int start = 0;
+		if (totalRead > 0 && UTF_8.equals(encoding)) {
+			if (contents[0] == 0xFEFF) { // if BOM char then skip
+				totalRead--;
+				start = 1;
+			}
+		}
+
+		// resize contents if necessary
+		if (totalRead < contents.length)
+			System.arraycopy(contents, start, contents = new char[totalRead], 	0, 	totalRead);
+
+		return contents;
+	}
+
+	private static CharsetDecoder newDecoder(Charset charset) {
+		return charset.newDecoder()
+			.onMalformedInput(CodingErrorAction.REPLACE)
+			.onUnmappableCharacter(CodingErrorAction.REPLACE);
 	}
 	private static FileOutputStream getFileOutputStream(boolean generatePackagesStructure, String outputPath, String relativeFileName) throws IOException {
 		if (generatePackagesStructure) {
@@ -1040,34 +1143,11 @@ public class Util implements SuffixConstants {
 	 */
 	public static void writeToDisk(boolean generatePackagesStructure, String outputPath, String relativeFileName, ClassFile classFile) throws IOException {
 		FileOutputStream file = getFileOutputStream(generatePackagesStructure, outputPath, relativeFileName);
-		/* use java.nio to write
-		if (true) {
-			FileChannel ch = file.getChannel();
-			try {
-				ByteBuffer buffer = ByteBuffer.allocate(classFile.headerOffset + classFile.contentsOffset);
-				buffer.put(classFile.header, 0, classFile.headerOffset);
-				buffer.put(classFile.contents, 0, classFile.contentsOffset);
-				buffer.flip();
-				while (true) {
-					if (ch.write(buffer) == 0) break;
-				}
-			} finally {
-				ch.close();
-			}
-			return;
-		}
-		*/
-		BufferedOutputStream output = new BufferedOutputStream(file, DEFAULT_WRITING_SIZE);
-//		BufferedOutputStream output = new BufferedOutputStream(file);
-		try {
-			// if no IOException occured, output cannot be null
-			output.write(classFile.header, 0, classFile.headerOffset);
-			output.write(classFile.contents, 0, classFile.contentsOffset);
-			output.flush();
-		} catch(IOException e) {
-			throw e;
+		// the header and contents are written by a single gathering write, without being copied
+		try (FileChannel channel = file.getChannel()) {
+			classFile.writeTo(channel);
 		} finally {
-			output.close();
+			file.close();
 		}
 	}
 	@SuppressWarnings({ "rawtypes", "unchecked" })
@@ -344,6 +344,13 @@ public class JavaModelManager implements ISaveParticipant, IContentTypeChangeLis
 	 */
 	public static final String MAX_COMPILED_UNITS_AT_ONCE = "maxCompiledUnitsAtOnce"; //$NON-NLS-1$
 
+	/**
+	 * Name of the JVM parameter to specify how many groups of compilation units which do not refer to each other
+	 * the builder may compile concurrently.
+	 * The default value is represented by <code>AbstractImageBuilder#MAX_COMPILE_THREADS</code>.
+	 */
+	public static final String MAX_COMPILE_THREADS = "maxCompileThreads"; //$NON-NLS-1$
+
 	/**
 	 * Special value used for recognizing ongoing initialization and breaking initialization cycles
 	 */
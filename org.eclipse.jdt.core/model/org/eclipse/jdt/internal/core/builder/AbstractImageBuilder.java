@@ -22,9 +22,11 @@ import org.eclipse.jdt.internal.compiler.*;
 import org.eclipse.jdt.internal.compiler.Compiler;
 import org.eclipse.jdt.internal.compiler.classfmt.ClassFileConstants;
 import org.eclipse.jdt.internal.compiler.env.ICompilationUnit;
+import org.eclipse.jdt.internal.compiler.env.INameEnvironment;
 import org.eclipse.jdt.internal.compiler.impl.CompilerOptions;
 import org.eclipse.jdt.internal.compiler.lookup.TypeConstants;
 import org.eclipse.jdt.internal.compiler.problem.*;
+import org.eclipse.jdt.internal.compiler.util.SimpleLookupTable;
 import org.eclipse.jdt.internal.compiler.util.SimpleSet;
 import org.eclipse.jdt.internal.compiler.util.SuffixConstants;
 import org.eclipse.jdt.internal.core.CompilationGroup;
@@ -35,6 +37,10 @@ import org.eclipse.jdt.internal.core.util.Util;
 
 import java.io.*;
 import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 /**
  * The abstract superclass of Java builders.
@@ -64,6 +70,9 @@ protected Set<SourceFile> filesWithAnnotations = null;
 
 //2000 is best compromise between space used and speed
 public static int MAX_AT_ONCE = Integer.getInteger(JavaModelManager.MAX_COMPILED_UNITS_AT_ONCE, 2000).intValue();
+//1 compiles all the units on the builder thread, more compiles the groups of units which do not refer to each other concurrently
+public static int MAX_COMPILE_THREADS = Integer.getInteger(JavaModelManager.MAX_COMPILE_THREADS, 1).intValue();
+private static final int MIN_UNITS_TO_GROUP = 20; // fewer units are not worth the cost of other compilers
 public final static String[] JAVA_PROBLEM_MARKER_ATTRIBUTE_NAMES = {
 	IMarker.MESSAGE,
 	IMarker.SEVERITY,
@@ -372,6 +381,227 @@ protected void compile(SourceFile[] units, SourceFile[] additionalUnits, boolean
 		for (int i = 0; i < toAdd; i++)
 			additionalUnits[length + i] = iterator.next();
 	}
+	this.nameEnvironment.setNames(initialTypeNames(units), additionalUnits);
+	this.notifier.checkCancel();
+	SourceFile[][] groups = independentGroups(units);
+	if (groups != null) {
+		compile(units, groups, additionalUnits);
+	} else {
+		try {
+			this.inCompiler = true;
+			this.compiler.compile(units);
+		} catch (AbortCompilation ignored) {
+			// ignore the AbortCompilcation coming from BuildNotifier.checkCancelWithinCompiler()
+			// the Compiler failed after the user has chose to cancel... likely due to an OutOfMemory error
+		} finally {
+			this.inCompiler = false;
+		}
+	}
+	// Check for cancel immediately after a compile, because the compiler may
+	// have been cancelled but without propagating the correct exception
+	this.notifier.checkCancel();
+}
+
+/* Compile the given groups of units, which do not refer to each other, concurrently with their own
+* compiler and name environment. Each group sees the units of the other groups as additional units, so
+* a reference unknown to the previous build still finds its type in source rather than in an old class file.
+* The results are accepted once every group is compiled, in the order of the given units, so the problems
+* and the new state do not depend on the scheduling of the threads, and no class file is written
+* while a group may be reading it.
+*/
+protected void compile(SourceFile[] units, SourceFile[][] groups, SourceFile[] additionalUnits) {
+	int groupCount = groups.length;
+	NameEnvironment[] environments = new NameEnvironment[groupCount];
+	List<CompilationResult>[] results = new List[groupCount];
+	ExecutorService executor = null;
+	try {
+		Compiler[] compilers = new Compiler[groupCount];
+		for (int i = 0; i < groupCount; i++) {
+			environments[i] = new NameEnvironment(this.javaBuilder.workspaceRoot, this.javaBuilder.javaProject, new SimpleLookupTable(3), this.notifier, this.compilationGroup);
+			environments[i].isIncrementalBuild = this.nameEnvironment.isIncrementalBuild;
+			environments[i].setNames(initialTypeNames(groups[i]), unitsOutsideOf(groups, i, additionalUnits));
+			List<CompilationResult> groupResults = results[i] = new ArrayList<>();
+			compilers[i] = newCompiler(environments[i], groupResults::add);
+			compilers[i].useSingleThread = true; // the groups already keep the processors busy
+		}
+		executor = Executors.newFixedThreadPool(groupCount, runnable -> {
+			Thread thread = new Thread(runnable, "Java Builder Compile Group"); //$NON-NLS-1$
+			thread.setDaemon(true);
+			return thread;
+		});
+		Future<?>[] compilations = new Future[groupCount];
+		for (int i = 0; i < groupCount; i++) {
+			Compiler groupCompiler = compilers[i];
+			SourceFile[] group = groups[i];
+			compilations[i] = executor.submit(() -> groupCompiler.compile(group));
+		}
+		Throwable failure = null;
+		for (int i = 0; i < groupCount; i++) {
+			try {
+				compilations[i].get();
+			} catch (ExecutionException e) {
+				if (failure == null)
+					failure = e.getCause();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new OperationCanceledException();
+			}
+		}
+		acceptResults(units, groups, results);
+		// as when compiling on the builder thread, ignore the AbortCompilation coming from BuildNotifier.checkCancelWithinCompiler()
+		if (failure instanceof RuntimeException && !(failure instanceof AbortCompilation))
+			throw (RuntimeException) failure;
+		if (failure instanceof Error)
+			throw (Error) failure;
+	} catch (CoreException e) {
+		throw internalException(e);
+	} finally {
+		if (executor != null)
+			executor.shutdown();
+		for (int i = 0; i < groupCount; i++)
+			if (environments[i] != null)
+				environments[i].cleanup();
+	}
+}
+
+/* Accept the result of each unit from the compiler of its group, in the given order, then the results
+* of the additional units which the groups compiled because they were referenced.
+* The secondary types of all the units are reported as if they had been compiled as additional units.
+*/
+private void acceptResults(SourceFile[] units, SourceFile[][] groups, List<CompilationResult>[] results) {
+	Map<ICompilationUnit, Integer> groupIndexes = new HashMap<>();
+	for (int i = 0, l = groups.length; i < l; i++)
+		for (SourceFile unit : groups[i])
+			groupIndexes.put(unit, Integer.valueOf(i));
+	Map<ICompilationUnit, CompilationResult> unitResults = new HashMap<>();
+	List<CompilationResult> additionalResults = new ArrayList<>();
+	for (int i = 0, l = results.length; i < l; i++) {
+		for (CompilationResult result : results[i]) {
+			result.checkSecondaryTypes = true; // the other groups could not find the secondary types of its unit
+			Integer groupIndex = groupIndexes.get(result.getCompilationUnit());
+			if (groupIndex == null)
+				additionalResults.add(result);
+			else if (groupIndex.intValue() == i)
+				unitResults.put(result.getCompilationUnit(), result);
+			// else the unit was compiled from source by another group, its own group answers the same result
+		}
+	}
+	for (SourceFile unit : units) {
+		CompilationResult result = unitResults.get(unit);
+		if (result != null)
+			acceptResult(result);
+	}
+	for (CompilationResult result : additionalResults)
+		acceptResult(result); // ignored if another group compiled the same additional unit first
+}
+
+/* Answer the groups of the given units which do not refer to each other's packages according to the
+* references recorded by the previous builds, at most MAX_COMPILE_THREADS of them, or null when
+* the units should be compiled together.
+*/
+private SourceFile[][] independentGroups(SourceFile[] units) {
+	int unitCount = units.length;
+	if (MAX_COMPILE_THREADS < 2 || unitCount < MIN_UNITS_TO_GROUP || this.compiler.annotationProcessorManager != null)
+		return null;
+
+	// number the packages of the units
+	Map<String, Integer> packageIndexes = new HashMap<>();
+	int[] unitPackages = new int[unitCount];
+	for (int i = 0; i < unitCount; i++) {
+		String typeName = units[i].initialTypeName;
+		int index = typeName.lastIndexOf('/');
+		String packageName = index == -1 ? "" : typeName.substring(0, index); //$NON-NLS-1$
+		Integer packageIndex = packageIndexes.get(packageName);
+		if (packageIndex == null)
+			packageIndexes.put(packageName, packageIndex = Integer.valueOf(packageIndexes.size()));
+		unitPackages[i] = packageIndex.intValue();
+	}
+	int packageCount = packageIndexes.size();
+	if (packageCount < 2)
+		return null;
+
+	// join the packages which refer to each other
+	int[] joinedPackages = new int[packageCount];
+	for (int i = 0; i < packageCount; i++)
+		joinedPackages[i] = i;
+	State lastState = this.javaBuilder.lastState;
+	for (int i = 0; i < unitCount; i++) {
+		String typeLocator = units[i].typeLocator();
+		ReferenceCollection references = this.newState.getReferences().get(typeLocator);
+		if (references == null && lastState != null)
+			references = lastState.getReferences().get(typeLocator);
+		if (references == null)
+			return null; // no build has seen this unit yet, so anything may depend on it
+		for (char[][] qualifiedName : references.qualifiedNameReferences) {
+			Integer packageIndex = packageIndexes.get(new String(CharOperation.concatWith(qualifiedName, '/')));
+			if (packageIndex != null)
+				join(joinedPackages, unitPackages[i], packageIndex.intValue());
+		}
+		for (char[] rootName : references.rootReferences) { // the single segment packages
+			Integer packageIndex = packageIndexes.get(new String(rootName));
+			if (packageIndex != null)
+				join(joinedPackages, unitPackages[i], packageIndex.intValue());
+		}
+	}
+
+	// count the units of each set of joined packages
+	int[] unitSets = new int[unitCount];
+	int[] setSizes = new int[packageCount];
+	int[] setStarts = new int[packageCount]; // the first unit of each set, to order the sets of the same size
+	Arrays.fill(setStarts, -1);
+	int setCount = 0;
+	for (int i = 0; i < unitCount; i++) {
+		int set = unitSets[i] = root(joinedPackages, unitPackages[i]);
+		if (setSizes[set]++ == 0) {
+			setStarts[set] = i;
+			setCount++;
+		}
+	}
+	if (setCount < 2)
+		return null;
+
+	// distribute the sets, largest first, to the smallest groups
+	Integer[] sets = new Integer[setCount];
+	for (int i = 0, s = 0; i < packageCount; i++)
+		if (setSizes[i] > 0)
+			sets[s++] = Integer.valueOf(i);
+	Arrays.sort(sets, (set1, set2) -> setSizes[set1] != setSizes[set2] ? setSizes[set2] - setSizes[set1] : setStarts[set1] - setStarts[set2]);
+	int groupCount = Math.min(MAX_COMPILE_THREADS, setCount);
+	int[] groupSizes = new int[groupCount];
+	int[] setGroups = new int[packageCount];
+	for (Integer set : sets) {
+		int smallest = 0;
+		for (int g = 1; g < groupCount; g++)
+			if (groupSizes[g] < groupSizes[smallest])
+				smallest = g;
+		setGroups[set] = smallest;
+		groupSizes[smallest] += setSizes[set];
+	}
+	SourceFile[][] groups = new SourceFile[groupCount][];
+	for (int g = 0; g < groupCount; g++)
+		groups[g] = new SourceFile[groupSizes[g]];
+	int[] groupLengths = new int[groupCount];
+	for (int i = 0; i < unitCount; i++) {
+		int g = setGroups[unitSets[i]];
+		groups[g][groupLengths[g]++] = units[i];
+	}
+	return groups;
+}
+
+private static int root(int[] joined, int index) {
+	while (joined[index] != index)
+		index = joined[index] = joined[joined[index]];
+	return index;
+}
+
+private static void join(int[] joined, int index1, int index2) {
+	int root1 = root(joined, index1);
+	int root2 = root(joined, index2);
+	if (root1 != root2)
+		joined[Math.max(root1, root2)] = Math.min(root1, root2);
+}
+
+private static String[] initialTypeNames(SourceFile[] units) {
 	String[] initialTypeNames = new String[units.length];
 	for (int i = 0, l = units.length; i < l; i++) {
 		char[] moduleName = units[i].getModuleName();
@@ -379,20 +609,17 @@ protected void compile(SourceFile[] units, SourceFile[] additionalUnits, boolean
 				? units[i].initialTypeName
 				: new StringBuilder(60).append(moduleName).append(':').append(units[i].initialTypeName).toString();
 	}
-	this.nameEnvironment.setNames(initialTypeNames, additionalUnits);
-	this.notifier.checkCancel();
-	try {
-		this.inCompiler = true;
-		this.compiler.compile(units);
-	} catch (AbortCompilation ignored) {
-		// ignore the AbortCompilcation coming from BuildNotifier.checkCancelWithinCompiler()
-		// the Compiler failed after the user has chose to cancel... likely due to an OutOfMemory error
-	} finally {
-		this.inCompiler = false;
-	}
-	// Check for cancel immediately after a compile, because the compiler may
-	// have been cancelled but without propagating the correct exception
-	this.notifier.checkCancel();
+	return initialTypeNames;
+}
+
+private static SourceFile[] unitsOutsideOf(SourceFile[][] groups, int groupIndex, SourceFile[] additionalUnits) {
+	List<SourceFile> units = new ArrayList<>();
+	if (additionalUnits != null)
+		units.addAll(Arrays.asList(additionalUnits)); // may contain nulls, which the name environment skips
+	for (int i = 0, l = groups.length; i < l; i++)
+		if (i != groupIndex)
+			units.addAll(Arrays.asList(groups[i]));
+	return units.toArray(new SourceFile[units.size()]);
 }
 
 protected void copyResource(IResource source, IResource destination) throws CoreException {
@@ -463,7 +690,7 @@ protected SourceFile findSourceFile(IFile file, boolean mustExist) {
 
 protected void finishedWith(String sourceLocator, CompilationResult result, char[] mainTypeName, ArrayList definedTypeNames, ArrayList duplicateTypeNames) {
 	if (duplicateTypeNames == null) {
-		this.newState.record(sourceLocator, result.qualifiedReferences, result.simpleNameReferences, result.rootReferences, mainTypeName, definedTypeNames);
+		this.newState.record(sourceLocator, result.qualifiedReferences, result.simpleNameReferences, result.rootReferences, result.memberReferences, mainTypeName, definedTypeNames);
 		return;
 	}
 
@@ -479,7 +706,7 @@ protected void finishedWith(String sourceLocator, CompilationResult result, char
 		System.arraycopy(simpleRefs, 0, simpleRefs = new char[sLength + 1][], 0, sLength);
 		simpleRefs[sLength] = typeName;
 	}
-	this.newState.record(sourceLocator, result.qualifiedReferences, simpleRefs, result.rootReferences, mainTypeName, definedTypeNames);
+	this.newState.record(sourceLocator, result.qualifiedReferences, simpleRefs, result.rootReferences, result.memberReferences, mainTypeName, definedTypeNames);
 }
 
 protected IContainer createFolder(IPath packagePath, IContainer outputFolder) throws CoreException {
@@ -527,6 +754,13 @@ protected boolean isExcludedFromProject(IPath childPath) throws JavaModelExcepti
 }
 
 protected Compiler newCompiler() {
+	return newCompiler(this.nameEnvironment, this);
+}
+
+/* Answer a compiler configured for this builder, which finds its types in the given environment and
+* hands its results to the given requestor.
+*/
+protected Compiler newCompiler(INameEnvironment environment, ICompilerRequestor requestor) {
 	// disable entire javadoc support if not interested in diagnostics
 	Map projectOptions = this.javaBuilder.javaProject.getOptions(true);
 	String option = (String) projectOptions.get(JavaCore.COMPILER_PB_INVALID_JAVADOC);
@@ -548,10 +782,10 @@ protected Compiler newCompiler() {
 	compilerOptions.performMethodsFullRecovery = true;
 	compilerOptions.performStatementsRecovery = true;
 	Compiler newCompiler = new Compiler(
-		this.nameEnvironment,
+		environment,
 		DefaultErrorHandlingPolicies.proceedWithAllProblems(),
 		compilerOptions,
-		this,
+		requestor,
 		ProblemFactory.getProblemFactory(Locale.getDefault()));
 	CompilerOptions options = newCompiler.options;
 	// temporary code to allow the compiler to revert to a single thread
@@ -664,9 +898,7 @@ protected void recordParticipantResult(CompilationParticipantResult result) {
 
 	String[] dependencies = result.dependencies;
 	if (dependencies != null) {
-		ReferenceCollection refs = this.newState.references.get(result.sourceFile.typeLocator());
-		if (refs != null)
-			refs.addDependencies(dependencies);
+		this.newState.addDependencies(result.sourceFile.typeLocator(), dependencies);
 	}
 }
 
@@ -882,10 +1114,10 @@ protected char[] writeClassFile(ClassFile classFile, SourceFile compilationUnit,
 }
 
 protected void writeClassFileContents(ClassFile classFile, IFile file, String qualifiedFileName, boolean isTopLevelType, SourceFile compilationUnit) throws CoreException {
-//	InputStream input = new SequenceInputStream(
-//			new ByteArrayInputStream(classFile.header, 0, classFile.headerOffset),
-//			new ByteArrayInputStream(classFile.contents, 0, classFile.contentsOffset));
-	InputStream input = new ByteArrayInputStream(classFile.getBytes());
+	// stream the header and contents of the class file instead of joining them
+	InputStream input = new SequenceInputStream(
+			new ByteArrayInputStream(classFile.header, 0, classFile.headerOffset),
+			new ByteArrayInputStream(classFile.contents, 0, classFile.contentsOffset));
 	if (file.exists()) {
 		// Deal with shared output folders... last one wins... no collision cases detected
 		if (JavaBuilder.DEBUG)
@@ -214,6 +214,13 @@ protected void compile(SourceFile[] units, SourceFile[] additionalUnits, boolean
 	super.compile(units, additionalUnits, compilingFirstGroup);
 }
 
+@Override
+protected void compile(SourceFile[] units, SourceFile[][] groups, SourceFile[] additionalUnits) {
+	if (this.secondaryTypes == null)
+		this.secondaryTypes = new ArrayList(7);
+	super.compile(units, groups, additionalUnits);
+}
+
 protected void copyExtraResourcesBack(ClasspathMultiDirectory sourceLocation, final boolean deletedAll) throws CoreException {
 	// When, if ever, does a builder need to copy resources files (not .java or .class) into the output folder?
 	// If we wipe the output folder at the beginning of the build then all 'extra' resources must be copied to the output folder.
@@ -34,13 +34,19 @@ protected int fixedWarningCount;
 protected int workDone;
 protected int totalWork;
 protected String previousSubtask;
+// the counts of the previous builds of the iteration when this build started, see done()
+private final int previousNewErrorCount;
+private final int previousFixedErrorCount;
+private final int previousNewWarningCount;
+private final int previousFixedWarningCount;
 
+// the counts of the builds of the current iteration, which concurrent builds of several projects update, so guarded by BuildNotifier.class
 public static int NewErrorCount = 0;
 public static int FixedErrorCount = 0;
 public static int NewWarningCount = 0;
 public static int FixedWarningCount = 0;
 
-public static void resetProblemCounters() {
+public static synchronized void resetProblemCounters() {
 	NewErrorCount = 0;
 	FixedErrorCount = 0;
 	NewWarningCount = 0;
@@ -50,10 +56,12 @@ public static void resetProblemCounters() {
 public BuildNotifier(IProgressMonitor monitor, IProject project) {
 	this.monitor = monitor;
 	this.cancelling = false;
-	this.newErrorCount = NewErrorCount;
-	this.fixedErrorCount = FixedErrorCount;
-	this.newWarningCount = NewWarningCount;
-	this.fixedWarningCount = FixedWarningCount;
+	synchronized (BuildNotifier.class) {
+		this.newErrorCount = this.previousNewErrorCount = NewErrorCount;
+		this.fixedErrorCount = this.previousFixedErrorCount = FixedErrorCount;
+		this.newWarningCount = this.previousNewWarningCount = NewWarningCount;
+		this.fixedWarningCount = this.previousFixedWarningCount = FixedWarningCount;
+	}
 	this.workDone = 0;
 	this.totalWork = 1000000;
 }
@@ -105,10 +113,13 @@ public void compiled(SourceFile unit) {
 }
 
 public void done() {
-	NewErrorCount = this.newErrorCount;
-	FixedErrorCount = this.fixedErrorCount;
-	NewWarningCount = this.newWarningCount;
-	FixedWarningCount = this.fixedWarningCount;
+	// add only the problems of this build, the builds which ran meanwhile have added theirs
+	synchronized (BuildNotifier.class) {
+		NewErrorCount += this.newErrorCount - this.previousNewErrorCount;
+		FixedErrorCount += this.fixedErrorCount - this.previousFixedErrorCount;
+		NewWarningCount += this.newWarningCount - this.previousNewWarningCount;
+		FixedWarningCount += this.fixedWarningCount - this.previousFixedWarningCount;
+	}
 
 	updateProgress(1.0f);
 	subTask(Messages.build_done);
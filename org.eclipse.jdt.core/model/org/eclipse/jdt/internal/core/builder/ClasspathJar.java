@@ -34,6 +34,7 @@ import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.Status;
 import org.eclipse.jdt.core.JavaCore;
 import org.eclipse.jdt.internal.compiler.classfmt.ClassFileReader;
+import org.eclipse.jdt.internal.compiler.classfmt.ClassFileReaderCache;
 import org.eclipse.jdt.internal.compiler.classfmt.ClassFormatException;
 import org.eclipse.jdt.internal.compiler.classfmt.ExternalAnnotationDecorator;
 import org.eclipse.jdt.internal.compiler.env.AccessRuleSet;
@@ -83,17 +84,19 @@ protected static void addToPackageSet(SimpleSet packageSet, String fileName, boo
  */
 protected SimpleSet findPackageSet() {
 	String zipFileName = this.zipFilename;
-	PackageCacheEntry cacheEntry = (PackageCacheEntry) PackageCache.get(zipFileName);
 	long timestamp = this.lastModified();
 	long fileSize = new File(zipFileName).length();
-	if (cacheEntry != null && cacheEntry.lastModified == timestamp && cacheEntry.fileSize == fileSize) {
-		return cacheEntry.packageSet;
+	synchronized (PackageCache) { // shared by the builds of all projects, which may run concurrently
+		PackageCacheEntry cacheEntry = (PackageCacheEntry) PackageCache.get(zipFileName);
+		if (cacheEntry != null && cacheEntry.lastModified == timestamp && cacheEntry.fileSize == fileSize) {
+			return cacheEntry.packageSet;
+		}
+		final SimpleSet packageSet = new SimpleSet(41);
+		packageSet.add(""); //$NON-NLS-1$
+		readJarContent(packageSet);
+		PackageCache.put(zipFileName, new PackageCacheEntry(timestamp, fileSize, packageSet));
+		return packageSet;
 	}
-	final SimpleSet packageSet = new SimpleSet(41);
-	packageSet.add(""); //$NON-NLS-1$
-	readJarContent(packageSet);
-	PackageCache.put(zipFileName, new PackageCacheEntry(timestamp, fileSize, packageSet));
-	return packageSet;
 }
 protected String readJarContent(final SimpleSet packageSet) {
 	String modInfo = null;
@@ -156,6 +159,8 @@ AccessRuleSet accessRuleSet;
 String externalAnnotationPath;
 // Meant for ClasspathMultiReleaseJar, not used in here
 String compliance;
+private Object sharedReadersKey;
+private char[] sharedReadersModule;
 
 ClasspathJar(IFile resource, AccessRuleSet accessRuleSet, IPath externalAnnotationPath, boolean isOnModulePath) {
 	this.resource = resource;
@@ -258,12 +263,40 @@ public boolean equals(Object o) {
 			&& areAllModuleOptionsEqual(jar);
 }
 
+/*
+ * Answers the reader for the given class file, shared with the other builds and reconciles of the
+ * workspace through the class file reader cache.
+ */
+private ClassFileReader readClassFile(String qualifiedBinaryFileName) throws ClassFormatException, IOException {
+	ClassFileReaderCache readers = ClassFileReaderCache.SHARED;
+	if (!readers.isEnabled())
+		return ClassFileReader.read(this.zipFile, qualifiedBinaryFileName);
+	Object key;
+	char[] moduleName;
+	synchronized (this) {
+		moduleName = this.module == null ? null : this.module.name();
+		if (this.sharedReadersKey == null || this.sharedReadersModule != moduleName) {
+			this.sharedReadersKey = ClassFileReaderCache.entryKey(new File(this.zipFilename), moduleName == null ? null : new String(moduleName));
+			this.sharedReadersModule = moduleName;
+		}
+		key = this.sharedReadersKey;
+	}
+	return readers.get(key, qualifiedBinaryFileName, () -> {
+		ClassFileReader reader = ClassFileReader.read(this.zipFile, qualifiedBinaryFileName);
+		if (reader != null) {
+			reader.moduleName = moduleName; // set before the reader is shared
+			reader.initializeForSharing();
+		}
+		return reader;
+	});
+}
+
 @Override
 public NameEnvironmentAnswer findClass(String binaryFileName, String qualifiedPackageName, String moduleName, String qualifiedBinaryFileName, boolean asBinaryOnly, Predicate<String> moduleNameFilter) {
 	if (!isPackage(qualifiedPackageName, moduleName)) return null; // most common case
 
 	try {
-		IBinaryType reader = ClassFileReader.read(this.zipFile, qualifiedBinaryFileName);
+		IBinaryType reader = readClassFile(qualifiedBinaryFileName);
 		if (reader != null) {
 			char[] modName = this.module == null ? null : this.module.name();
 			if (reader instanceof ClassFileReader) {
@@ -46,6 +46,7 @@ import org.eclipse.jdt.internal.core.JavaProject;
 public class ClasspathJrt extends ClasspathLocation implements IMultiModuleEntry {
 
 //private HashMap<String, SimpleSet> packagesInModule = null;
+// the caches are shared by the builds of all projects, which may run concurrently, and accessed while holding the class lock
 protected static HashMap<String, HashMap<String, SimpleSet>> PackageCache = new HashMap<>();
 protected static HashMap<String, HashMap<String, IModule>> ModulesCache = new HashMap<>();
 String externalAnnotationPath;
@@ -81,7 +82,7 @@ void setZipFile(String zipFilename) {
  * @param jrt The ClasspathJar to use
  * @return A SimpleSet with the all the package names in the zipFile.
  */
-static HashMap<String, SimpleSet> findPackagesInModules(final ClasspathJrt jrt) {
+static synchronized HashMap<String, SimpleSet> findPackagesInModules(final ClasspathJrt jrt) {
 	String zipFileName = jrt.zipFilename;
 	HashMap<String, SimpleSet> cache = PackageCache.get(jrt.getKey());
 	if (cache != null) {
@@ -123,7 +124,7 @@ static HashMap<String, SimpleSet> findPackagesInModules(final ClasspathJrt jrt)
 	return packagesInModule;
 }
 
-public static void loadModules(final ClasspathJrt jrt) {
+public static synchronized void loadModules(final ClasspathJrt jrt) {
 	HashMap<String, IModule> cache = ModulesCache.get(jrt.getKey());
 
 	if (cache == null) {
@@ -177,11 +178,13 @@ void acceptModule(byte[] content, String name) {
 		String key = getKey();
 		IModule moduleDecl = reader.getModuleDeclaration();
 		if (moduleDecl != null) {
-			HashMap<String, IModule> cache = ModulesCache.get(key);
-			if (cache == null) {
-				ModulesCache.put(key, cache = new HashMap<String, IModule>());
+			synchronized (ClasspathJrt.class) {
+				HashMap<String, IModule> cache = ModulesCache.get(key);
+				if (cache == null) {
+					ModulesCache.put(key, cache = new HashMap<String, IModule>());
+				}
+				cache.put(name, moduleDecl);
 			}
-			cache.put(name, moduleDecl);
 		}
 	}
 }
@@ -289,9 +292,11 @@ public IModule getModule(char[] moduleName) {
 	return getModule(String.valueOf(moduleName));
 }
 public IModule getModule(String moduleName) {
-	HashMap<String, IModule> modules = ModulesCache.get(getKey());
-	if (modules != null) {
-		return modules.get(moduleName);
+	synchronized (ClasspathJrt.class) {
+		HashMap<String, IModule> modules = ModulesCache.get(getKey());
+		if (modules != null) {
+			return modules.get(moduleName);
+		}
 	}
 	return null;
 }
@@ -340,7 +345,7 @@ public NameEnvironmentAnswer findClass(String typeName, String qualifiedPackageN
 	return findClass(typeName, qualifiedPackageName, moduleName, qualifiedBinaryFileName, false, null);
 }
 /** TEST ONLY */
-public static void resetCaches() {
+public static synchronized void resetCaches() {
 	PackageCache.clear();
 	ModulesCache.clear();
 }
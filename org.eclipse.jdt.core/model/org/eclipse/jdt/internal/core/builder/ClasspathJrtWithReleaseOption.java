@@ -130,44 +130,46 @@ public class ClasspathJrtWithReleaseOption extends ClasspathJrt {
 		if (this.fs == null || !this.ctSym.isJRE12Plus()) {
 			return ClasspathJrt.findPackagesInModules(this);
 		}
-		HashMap<String, SimpleSet> cache = PackageCache.get(this.modPathString);
-		if (cache != null) {
-			return cache;
-		}
-		final HashMap<String, SimpleSet> packagesInModule = new HashMap<>();
-		PackageCache.put(this.modPathString, packagesInModule);
-		try {
-			JRTUtil.walkModuleImage(this.jrtFile, this.release, new JRTUtil.JrtFileVisitor<Path>() {
-						SimpleSet packageSet = null;
+		synchronized (ClasspathJrt.class) { // the caches are shared by the builds of all projects
+			HashMap<String, SimpleSet> cache = PackageCache.get(this.modPathString);
+			if (cache != null) {
+				return cache;
+			}
+			final HashMap<String, SimpleSet> packagesInModule = new HashMap<>();
+			PackageCache.put(this.modPathString, packagesInModule);
+			try {
+				JRTUtil.walkModuleImage(this.jrtFile, this.release, new JRTUtil.JrtFileVisitor<Path>() {
+							SimpleSet packageSet = null;
 
-						@Override
-						public FileVisitResult visitPackage(Path dir, Path mod, BasicFileAttributes attrs)
-								throws IOException {
-							ClasspathJar.addToPackageSet(this.packageSet, dir.toString(), true);
-							return FileVisitResult.CONTINUE;
-						}
+							@Override
+							public FileVisitResult visitPackage(Path dir, Path mod, BasicFileAttributes attrs)
+									throws IOException {
+								ClasspathJar.addToPackageSet(this.packageSet, dir.toString(), true);
+								return FileVisitResult.CONTINUE;
+							}
 
-						@Override
-						public FileVisitResult visitFile(Path file, Path mod, BasicFileAttributes attrs)
-								throws IOException {
-							return FileVisitResult.CONTINUE;
-						}
+							@Override
+							public FileVisitResult visitFile(Path file, Path mod, BasicFileAttributes attrs)
+									throws IOException {
+								return FileVisitResult.CONTINUE;
+							}
 
-						@Override
-						public FileVisitResult visitModule(Path path, String name) throws IOException {
-							this.packageSet = new SimpleSet(41);
-							this.packageSet.add(""); //$NON-NLS-1$
-							if (name.endsWith("/")) { //$NON-NLS-1$
-								name = name.substring(0, name.length() - 1);
+							@Override
+							public FileVisitResult visitModule(Path path, String name) throws IOException {
+								this.packageSet = new SimpleSet(41);
+								this.packageSet.add(""); //$NON-NLS-1$
+								if (name.endsWith("/")) { //$NON-NLS-1$
+									name = name.substring(0, name.length() - 1);
+								}
+								packagesInModule.put(name, this.packageSet);
+								return FileVisitResult.CONTINUE;
 							}
-							packagesInModule.put(name, this.packageSet);
-							return FileVisitResult.CONTINUE;
-						}
-					}, JRTUtil.NOTIFY_PACKAGES | JRTUtil.NOTIFY_MODULES);
-		} catch (IOException e) {
-			// return empty handed
+						}, JRTUtil.NOTIFY_PACKAGES | JRTUtil.NOTIFY_MODULES);
+			} catch (IOException e) {
+				// return empty handed
+			}
+			return packagesInModule;
 		}
-		return packagesInModule;
 	}
 
 	public void loadModules() {
@@ -178,48 +180,50 @@ public class ClasspathJrtWithReleaseOption extends ClasspathJrt {
 		if (this.modPathString == null) {
 			return;
 		}
-		HashMap<String, IModule> cache = ModulesCache.get(this.modPathString);
-		if (cache == null) {
-			List<Path> releaseRoots = this.ctSym.releaseRoots(this.releaseCode);
-			for (Path root : releaseRoots) {
-				try {
-					Files.walkFileTree(root, Collections.EMPTY_SET, 2, new FileVisitor<java.nio.file.Path>() {
-						@Override
-						public FileVisitResult preVisitDirectory(java.nio.file.Path dir, BasicFileAttributes attrs)
-								throws IOException {
-							return FileVisitResult.CONTINUE;
-						}
-
-						@Override
-						public FileVisitResult visitFile(java.nio.file.Path f, BasicFileAttributes attrs)
-								throws IOException {
-							if (attrs.isDirectory() || f.getNameCount() < 3) {
+		synchronized (ClasspathJrt.class) {
+			HashMap<String, IModule> cache = ModulesCache.get(this.modPathString);
+			if (cache == null) {
+				List<Path> releaseRoots = this.ctSym.releaseRoots(this.releaseCode);
+				for (Path root : releaseRoots) {
+					try {
+						Files.walkFileTree(root, Collections.EMPTY_SET, 2, new FileVisitor<java.nio.file.Path>() {
+							@Override
+							public FileVisitResult preVisitDirectory(java.nio.file.Path dir, BasicFileAttributes attrs)
+									throws IOException {
 								return FileVisitResult.CONTINUE;
 							}
-							if (f.getFileName().toString().equals(MODULE_INFO)) {
-								byte[] content = ClasspathJrtWithReleaseOption.this.ctSym.getFileBytes(f);
-								if (content == null) {
+
+							@Override
+							public FileVisitResult visitFile(java.nio.file.Path f, BasicFileAttributes attrs)
+									throws IOException {
+								if (attrs.isDirectory() || f.getNameCount() < 3) {
 									return FileVisitResult.CONTINUE;
 								}
-								ClasspathJrtWithReleaseOption.this.acceptModule(content, f.getParent().getFileName().toString());
+								if (f.getFileName().toString().equals(MODULE_INFO)) {
+									byte[] content = ClasspathJrtWithReleaseOption.this.ctSym.getFileBytes(f);
+									if (content == null) {
+										return FileVisitResult.CONTINUE;
+									}
+									ClasspathJrtWithReleaseOption.this.acceptModule(content, f.getParent().getFileName().toString());
+								}
+								return FileVisitResult.SKIP_SIBLINGS;
 							}
-							return FileVisitResult.SKIP_SIBLINGS;
-						}
 
-						@Override
-						public FileVisitResult visitFileFailed(java.nio.file.Path f, IOException exc)
-								throws IOException {
-							return FileVisitResult.CONTINUE;
-						}
+							@Override
+							public FileVisitResult visitFileFailed(java.nio.file.Path f, IOException exc)
+									throws IOException {
+								return FileVisitResult.CONTINUE;
+							}
 
-						@Override
-						public FileVisitResult postVisitDirectory(java.nio.file.Path dir, IOException exc)
-								throws IOException {
-							return FileVisitResult.CONTINUE;
-						}
-					});
-				} catch (IOException e) {
-					// Nothing much to do
+							@Override
+							public FileVisitResult postVisitDirectory(java.nio.file.Path dir, IOException exc)
+									throws IOException {
+								return FileVisitResult.CONTINUE;
+							}
+						});
+					} catch (IOException e) {
+						// Nothing much to do
+					}
 				}
 			}
 		}
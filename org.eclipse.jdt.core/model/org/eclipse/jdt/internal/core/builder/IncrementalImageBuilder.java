@@ -45,6 +45,11 @@ protected LinkedHashSet<SourceFile> previousSourceFiles;
 protected Set<String> qualifiedStrings;
 protected Set<String> simpleStrings;
 protected Set<String> rootStrings;
+// the types whose changes are limited to some of their fields and methods, and the names of these members
+protected Set<String> memberQualifiedStrings;
+protected Set<String> memberSimpleStrings;
+protected Set<String> memberRootStrings;
+protected Set<String> changedMemberNames;
 protected SimpleLookupTable secondaryTypesToRemove;
 protected boolean hasStructuralChanges;
 protected boolean makeOutputFolderConsistent;
@@ -223,14 +228,29 @@ protected void buildAfterBatchBuild() {
 }
 
 protected void addAffectedSourceFiles() {
-	if (this.qualifiedStrings.size() == 0 && this.simpleStrings.size() == 0) return;
-	if(this.testImageBuilder != null) {
-		this.testImageBuilder.addAffectedSourceFiles(this.qualifiedStrings, this.simpleStrings, this.rootStrings, null);
+	if (this.qualifiedStrings.size() != 0 || this.simpleStrings.size() != 0) {
+		if(this.testImageBuilder != null) {
+			this.testImageBuilder.addAffectedSourceFiles(this.qualifiedStrings, this.simpleStrings, this.rootStrings, null);
+		}
+		addAffectedSourceFiles(this.qualifiedStrings, this.simpleStrings, this.rootStrings, null);
+	}
+	if (this.memberSimpleStrings.size() != 0) {
+		if(this.testImageBuilder != null) {
+			this.testImageBuilder.addAffectedSourceFiles(this.memberQualifiedStrings, this.memberSimpleStrings, this.memberRootStrings, this.changedMemberNames, null);
+		}
+		addAffectedSourceFiles(this.memberQualifiedStrings, this.memberSimpleStrings, this.memberRootStrings, this.changedMemberNames, null);
 	}
-	addAffectedSourceFiles(this.qualifiedStrings, this.simpleStrings, this.rootStrings, null);
 }
 
 protected void addAffectedSourceFiles(Set<String> qualifiedSet, Set<String> simpleSet, Set<String> rootSet, Set<String> affectedTypes) {
+	addAffectedSourceFiles(qualifiedSet, simpleSet, rootSet, null, affectedTypes);
+}
+
+/*
+ * Adds the source files which refer to the given types, and when memberSet is not null, to one of the
+ * fields and methods it names (see ReferenceCollection#includesMember(char[][])).
+ */
+protected void addAffectedSourceFiles(Set<String> qualifiedSet, Set<String> simpleSet, Set<String> rootSet, Set<String> memberSet, Set<String> affectedTypes) {
 	// the qualifiedStrings are of the form 'p1/p2' & the simpleStrings are just 'X'
 	char[][][] internedQualifiedNames = ReferenceCollection.internQualifiedNames(qualifiedSet);
 	// if a well known qualified name was found then we can skip over these
@@ -241,26 +261,45 @@ protected void addAffectedSourceFiles(Set<String> qualifiedSet, Set<String> simp
 	if (internedSimpleNames.length < simpleSet.size())
 		internedSimpleNames = null;
 	char[][] internedRootNames = ReferenceCollection.internSimpleNames(rootSet, false);
-
-	next: for (Entry<String, ReferenceCollection> entry : this.newState.references.entrySet()) {
-		String typeLocator = entry.getKey();
-		if (affectedTypes != null && !affectedTypes.contains(typeLocator)) continue next;
-		ReferenceCollection refs = entry.getValue();
-		if (refs.includes(internedQualifiedNames, internedSimpleNames, internedRootNames)) {
-			IFile file = this.javaBuilder.currentProject.getFile(typeLocator);
-			SourceFile sourceFile = findSourceFile(file, true);
-			if (sourceFile == null) continue next;
-			if (this.sourceFiles.contains(sourceFile)) continue next;
-			if (this.compiledAllAtOnce && this.previousSourceFiles != null && this.previousSourceFiles.contains(sourceFile))
-				continue next; // can skip previously compiled files since already saw hierarchy related problems
-
-			if (JavaBuilder.DEBUG)
-				System.out.println("  adding affected source file " + typeLocator); //$NON-NLS-1$
-			this.sourceFiles.add(sourceFile);
+	char[][] internedMemberNames = memberSet == null ? null : ReferenceCollection.internSimpleNames(memberSet, false);
+
+	if (internedSimpleNames == null) {
+		// a well known name matches most types, so check them all
+		for (Entry<String, ReferenceCollection> entry : this.newState.getReferences().entrySet()) {
+			String typeLocator = entry.getKey();
+			if (affectedTypes != null && !affectedTypes.contains(typeLocator)) continue;
+			ReferenceCollection refs = entry.getValue();
+			if (refs.includes(internedQualifiedNames, internedSimpleNames, internedRootNames)
+					&& (internedMemberNames == null || refs.includesMember(internedMemberNames)))
+				addAffectedSourceFile(typeLocator);
 		}
+		return;
+	}
+	// only the types referencing one of the simple names can be affected, visit them in a stable order
+	String[] typeLocators = this.newState.getTypeLocatorsReferencing(internedSimpleNames).toArray(new String[0]);
+	Arrays.sort(typeLocators);
+	for (String typeLocator : typeLocators) {
+		if (affectedTypes != null && !affectedTypes.contains(typeLocator)) continue;
+		ReferenceCollection refs = this.newState.getReferences().get(typeLocator);
+		if (refs != null && refs.includes(internedQualifiedNames, internedSimpleNames, internedRootNames)
+				&& (internedMemberNames == null || refs.includesMember(internedMemberNames)))
+			addAffectedSourceFile(typeLocator);
 	}
 }
 
+private void addAffectedSourceFile(String typeLocator) {
+	IFile file = this.javaBuilder.currentProject.getFile(typeLocator);
+	SourceFile sourceFile = findSourceFile(file, true);
+	if (sourceFile == null) return;
+	if (this.sourceFiles.contains(sourceFile)) return;
+	if (this.compiledAllAtOnce && this.previousSourceFiles != null && this.previousSourceFiles.contains(sourceFile))
+		return; // can skip previously compiled files since already saw hierarchy related problems
+
+	if (JavaBuilder.DEBUG)
+		System.out.println("  adding affected source file " + typeLocator); //$NON-NLS-1$
+	this.sourceFiles.add(sourceFile);
+}
+
 protected void addDependentsOf(IPath path, boolean isStructuralChange) {
 	addDependentsOf(path, isStructuralChange, this.qualifiedStrings, this.simpleStrings, this.rootStrings);
 }
@@ -300,6 +339,25 @@ protected void addDependentsOf(IPath path, boolean isStructuralChange, Set<Strin
 			+ typeName + " in " + packageName); //$NON-NLS-1$
 }
 
+/*
+ * Adds the dependents of the given type which refer to one of the given fields and methods, or which
+ * declare subtypes of the type: these use its members without naming them.
+ */
+protected void addMemberDependentsOf(IPath path, char[][] memberNames) {
+	addDependentsOf(path, true, this.memberQualifiedStrings, this.memberSimpleStrings, this.memberRootStrings);
+	for (char[] memberName : memberNames)
+		this.changedMemberNames.add(new String(memberName));
+	// the simple names of the type and of its enclosing types, as recorded for the subtypes
+	String typeName = path.lastSegment();
+	this.changedMemberNames.add(typeName);
+	for (String name : typeName.split("\\$")) //$NON-NLS-1$
+		if (!name.isEmpty())
+			this.changedMemberNames.add(name);
+	if (JavaBuilder.DEBUG)
+		System.out.println("  will look for dependents using the members " //$NON-NLS-1$
+			+ CharOperation.toString(memberNames) + " of " + typeName); //$NON-NLS-1$
+}
+
 protected boolean checkForClassFileChanges(IResourceDelta binaryDelta, ClasspathMultiDirectory md, int segmentCount) throws CoreException {
 	IResource resource = binaryDelta.getResource();
 	// remember that if inclusion & exclusion patterns change then a full build is done
@@ -339,6 +397,10 @@ protected void cleanUp() {
 	this.qualifiedStrings = null;
 	this.simpleStrings = null;
 	this.rootStrings = null;
+	this.memberQualifiedStrings = null;
+	this.memberSimpleStrings = null;
+	this.memberRootStrings = null;
+	this.changedMemberNames = null;
 	this.secondaryTypesToRemove = null;
 	this.hasStructuralChanges = false;
 }
@@ -829,6 +891,10 @@ protected void resetCollections() {
 		this.qualifiedStrings = new HashSet<>(3);
 		this.simpleStrings = new HashSet<>(3);
 		this.rootStrings = new HashSet<>(3);
+		this.memberQualifiedStrings = new HashSet<>(3);
+		this.memberSimpleStrings = new HashSet<>(3);
+		this.memberRootStrings = new HashSet<>(3);
+		this.changedMemberNames = new HashSet<>(3);
 		this.hasStructuralChanges = false;
 	} else {
 		this.previousSourceFiles = this.sourceFiles.isEmpty() ? null : (LinkedHashSet) this.sourceFiles.clone();
@@ -837,6 +903,10 @@ protected void resetCollections() {
 		this.qualifiedStrings.clear();
 		this.simpleStrings.clear();
 		this.rootStrings.clear();
+		this.memberQualifiedStrings.clear();
+		this.memberSimpleStrings.clear();
+		this.memberRootStrings.clear();
+		this.changedMemberNames.clear();
 		this.workQueue.clear();
 	}
 }
@@ -953,7 +1023,11 @@ protected boolean writeClassFileCheck(IFile file, String fileName, byte[] newByt
 		if (!(reader.isLocal() || reader.isAnonymous()) && reader.hasStructuralChanges(newBytes)) {
 			if (JavaBuilder.DEBUG)
 				System.out.println("Type has structural changes " + fileName); //$NON-NLS-1$
-			addDependentsOf(new Path(fileName), true);
+			char[][] changedMembers = reader.getStructurallyChangedMemberNames(newBytes);
+			if (changedMembers != null && changedMembers.length > 0)
+				addMemberDependentsOf(new Path(fileName), changedMembers);
+			else
+				addDependentsOf(new Path(fileName), true);
 			this.newState.wasStructurallyChanged(fileName);
 		}
 	} catch (JavaModelException jme) {
@@ -16,9 +16,12 @@ package org.eclipse.jdt.internal.core.builder;
 
 import org.eclipse.core.resources.*;
 import org.eclipse.core.runtime.*;
+import org.eclipse.core.runtime.jobs.ISchedulingRule;
+import org.eclipse.core.runtime.jobs.MultiRule;
 
 import org.eclipse.jdt.core.*;
 import org.eclipse.jdt.core.compiler.*;
+import org.eclipse.jdt.internal.compiler.util.FlightRecorderEvent;
 import org.eclipse.jdt.internal.compiler.util.SimpleLookupTable;
 import org.eclipse.jdt.internal.core.*;
 import org.eclipse.jdt.internal.core.util.Messages;
@@ -44,6 +47,9 @@ String[] extraResourceFolderFilters;
 public static final String SOURCE_ID = "JDT"; //$NON-NLS-1$
 
 public static boolean DEBUG = false;
+
+private static final FlightRecorderEvent BUILD_EVENT = FlightRecorderEvent.define("Build", "Java Build", //$NON-NLS-1$ //$NON-NLS-2$
+		new String[] { "project", "kind", "succeeded" }, new Class<?>[] { String.class, int.class, boolean.class }); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
 public static boolean SHOW_STATS = false;
 
 /**
@@ -51,6 +57,13 @@ public static boolean SHOW_STATS = false;
  * specify VM property: {@code -Dorg.eclipse.disableAutoBuildOnSettingsChange=true}
  */
 private static final boolean DISABLE_AUTO_BUILDING_ON_SETTINGS_CHANGE = Boolean.getBoolean("org.eclipse.disableAutoBuildOnSettingsChange"); //$NON-NLS-1$
+/**
+ * In case the projects of the workspace should be built concurrently (see {@code IWorkspaceDescription#setMaxConcurrentBuilds(int)}),
+ * specify VM property: {@code -Dorg.eclipse.jdt.core.builder.projectSchedulingRules=true}
+ * so that the build of a project only locks the project and the projects of its binary prerequisites, instead of the workspace.
+ * The projects it requires are already built beforehand, following the references answered by {@link DynamicProjectReferences}.
+ */
+private static final String PROJECT_SCHEDULING_RULES = "org.eclipse.jdt.core.builder.projectSchedulingRules"; //$NON-NLS-1$
 private static final IPath JDT_CORE_SETTINGS_PATH = Path.fromPortableString(JavaProject.DEFAULT_PREFERENCES_DIRNAME + IPath.SEPARATOR + JavaProject.JAVA_CORE_PREFS_FILE);
 
 /**
@@ -176,6 +189,8 @@ protected IProject[] build(int kind, Map ignored, IProgressMonitor monitor) thro
 	this.notifier = new BuildNotifier(monitor, this.currentProject);
 	this.notifier.begin();
 	boolean ok = false;
+	Object event = BUILD_EVENT.begin();
+	int requestedKind = kind;
 	try {
 		this.notifier.checkCancel();
 		kind = initializeBuilder(kind, true);
@@ -256,6 +271,8 @@ protected IProject[] build(int kind, Map ignored, IProgressMonitor monitor) thro
 			clearLastState();
 		this.notifier.done();
 		cleanup();
+		if (event != null)
+			BUILD_EVENT.commit(event, this.currentProject.getName(), Integer.valueOf(requestedKind), Boolean.valueOf(ok));
 	}
 	IProject[] requiredProjects = getRequiredProjects(true);
 	if (DEBUG)
@@ -503,6 +520,36 @@ private IProject[] getRequiredProjects(boolean includeBinaryPrerequisites) {
 	return result;
 }
 
+@Override
+public ISchedulingRule getRule(int kind, Map<String, String> args) {
+	if (!Boolean.getBoolean(PROJECT_SCHEDULING_RULES))
+		return super.getRule(kind, args);
+	IProject project = getProject();
+	if (!JavaProject.hasJavaNature(project))
+		return super.getRule(kind, args);
+	JavaProject javaProject = (JavaProject) JavaCore.create(project);
+	if (javaProject.hasCycleMarker())
+		return super.getRule(kind, args); // the projects of a cycle rebuild each other
+	ISchedulingRule rule = project;
+	try {
+		IClasspathEntry[] resolvedClasspath = javaProject.getResolvedClasspath();
+		List<String> prerequisites = Arrays.asList(javaProject.projectPrerequisites(resolvedClasspath));
+		IWorkspaceRoot root = project.getWorkspace().getRoot();
+		for (IClasspathEntry entry : resolvedClasspath) {
+			// libraries or class folders in other Java projects are not ordered before this project, so their build must wait
+			if (entry.getEntryKind() != IClasspathEntry.CPE_LIBRARY || entry.getPath().segmentCount() == 0)
+				continue;
+			IResource resource = root.findMember(entry.getPath().segment(0));
+			if (resource instanceof IProject && !resource.equals(project) && !prerequisites.contains(resource.getName())
+					&& JavaProject.hasJavaNature((IProject) resource))
+				rule = MultiRule.combine(rule, resource);
+		}
+	} catch (JavaModelException e) {
+		return super.getRule(kind, args);
+	}
+	return rule;
+}
+
 boolean hasBuildpathErrors() throws CoreException {
 	IMarker[] markers = this.currentProject.findMarkers(IJavaModelMarker.JAVA_MODEL_PROBLEM_MARKER, false, IResource.DEPTH_ZERO);
 	for (int i = 0, l = markers.length; i < l; i++)
@@ -640,10 +687,12 @@ private int initializeBuilder(int kind, boolean forBuild) throws CoreException {
 
 		// Flush the existing external files cache if this is the beginning of a build cycle
 		String projectName = this.currentProject.getName();
-		if (builtProjects == null || builtProjects.contains(projectName)) {
-			builtProjects = new LinkedHashSet();
+		synchronized (JavaBuilder.class) { // projects may be built concurrently
+			if (builtProjects == null || builtProjects.contains(projectName)) {
+				builtProjects = new LinkedHashSet();
+			}
+			builtProjects.add(projectName);
 		}
-		builtProjects.add(projectName);
 	}
 
 	this.binaryLocationsPerProject = new SimpleLookupTable(3);
@@ -26,7 +26,7 @@ private ProblemFactory(Locale locale) {
 	super(locale);
 }
 
-public static ProblemFactory getProblemFactory(Locale locale) {
+public static synchronized ProblemFactory getProblemFactory(Locale locale) {
 	ProblemFactory factory = (ProblemFactory) factories.get(locale);
 	if (factory == null)
 		factories.put(locale, factory = new ProblemFactory(locale));
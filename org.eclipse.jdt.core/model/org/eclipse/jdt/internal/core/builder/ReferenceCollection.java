@@ -33,11 +33,19 @@ public class ReferenceCollection {
 char[][][] qualifiedNameReferences;
 char[][] simpleNameReferences;
 char[][] rootReferences;
+// the names of the fields and methods looked up, plus the simple names of the supertypes of the defined types,
+// or null if any field or method may be referred to
+char[][] memberReferences;
 
 protected ReferenceCollection(char[][][] qualifiedNameReferences, char[][] simpleNameReferences, char[][] rootReferences) {
+	this(qualifiedNameReferences, simpleNameReferences, rootReferences, null);
+}
+
+protected ReferenceCollection(char[][][] qualifiedNameReferences, char[][] simpleNameReferences, char[][] rootReferences, char[][] memberReferences) {
 	this.qualifiedNameReferences = internQualifiedNames(qualifiedNameReferences, false);
 	this.simpleNameReferences = internSimpleNames(simpleNameReferences, true);
 	this.rootReferences = internSimpleNames(rootReferences, false);
+	this.memberReferences = memberReferences == null ? null : internSimpleNames(memberReferences, false);
 }
 
 /**
@@ -48,6 +56,7 @@ protected ReferenceCollection(char[][][] qualifiedNameReferences, char[][] simpl
  * @see CompilationUnitScope#recordQualifiedReference
  */
 public void addDependencies(String[] typeNameDependencies) {
+	this.memberReferences = null; // the members used through these dependencies are unknown
 	// if each qualified type name is already known then all of its subNames can be skipped
 	// and its expected that very few qualified names in typeNameDependencies need to be added
 	// but could always take 'p1.p2.p3.X' and make all qualified names 'p1' 'p1.p2' 'p1.p2.p3' 'p1.p2.p3.X', then intern
@@ -55,9 +64,11 @@ public void addDependencies(String[] typeNameDependencies) {
 		char[][] qualifiedTypeName = CharOperation.splitOn('.', typeNameDependency.toCharArray());
 		if (!isWellKnownQualifiedName(qualifiedTypeName)) {
 			int qLength = qualifiedTypeName.length;
-			QualifiedNameSet internedNames = InternedQualifiedNames[qLength <= MaxQualifiedNames ? qLength - 1 : 0];
-			qualifiedTypeName = internSimpleNames(qualifiedTypeName, false, false);
-			qualifiedTypeName = internedNames.add(qualifiedTypeName);
+			synchronized (ReferenceCollection.class) {
+				QualifiedNameSet internedNames = InternedQualifiedNames[qLength <= MaxQualifiedNames ? qLength - 1 : 0];
+				qualifiedTypeName = internSimpleNames(qualifiedTypeName, false, false);
+				qualifiedTypeName = internedNames.add(qualifiedTypeName);
+			}
 			int idx;
 			while ((idx = Arrays.binarySearch(this.qualifiedNameReferences, qualifiedTypeName, SortedCharArrays.CHAR_CHAR_ARR_COMPARATOR)) < 0) {
 				this.simpleNameReferences = ensureContainedInSortedOrder(this.simpleNameReferences, qualifiedTypeName[qualifiedTypeName.length - 1]);
@@ -93,6 +104,20 @@ public boolean includes(char[][] qualifiedName) {
 	return result;
 }
 
+/**
+ * Answers whether one of the given fields or methods may be referred to, either by name or through one of the
+ * supertypes of the defined types, whose members are used without being named.
+ *
+ * @param memberNames the sorted names of fields and methods, and the simple names of the types which declare them,
+ * 	as answered by {@link #internSimpleNames(char[][], boolean)}
+ * @see CompilationUnitScope#storeDependencyInfo()
+ */
+public boolean includesMember(char[][] memberNames) {
+	if (this.memberReferences == null)
+		return true;
+	return intersects(memberNames, this.memberReferences, SortedCharArrays.CHAR_ARR_COMPARATOR);
+}
+
 private static String qualifiedNamesToString(char[][][] qualifiedNames) {
 	if (qualifiedNames == null)
 		return "null"; //$NON-NLS-1$
@@ -275,6 +300,8 @@ static final char[][][] EmptyQualifiedNames = new char[0][][];
 static final char[][] EmptySimpleNames = CharOperation.NO_CHAR_CHAR;
 
 // each array contains qualified char[][], one for size 2, 3, 4, 5, 6, 7 & the rest
+// the interned names are shared by the concurrent builds of several projects, so they are only added to
+// while holding the lock of ReferenceCollection.class: the identity of an interned name must never change
 static final int MaxQualifiedNames = 7;
 static QualifiedNameSet[] InternedQualifiedNames = new QualifiedNameSet[MaxQualifiedNames];
 // each array contains simple char[], one for size 1 to 29 & the rest
@@ -336,7 +363,7 @@ public static char[][][] internQualifiedNames(char[][][] qualifiedNames, boolean
 	return internQualifiedNames(qualifiedNames, keepWellKnown, true);
 }
 
-static char[][][] internQualifiedNames(char[][][] qualifiedNames, boolean keepWellKnown, boolean doSort) {
+static synchronized char[][][] internQualifiedNames(char[][][] qualifiedNames, boolean keepWellKnown, boolean doSort) {
 	if (qualifiedNames == null) return EmptyQualifiedNames;
 	int length = qualifiedNames.length;
 	if (length == 0) return EmptyQualifiedNames;
@@ -439,7 +466,7 @@ public static char[][] internSimpleNames(StringSet simpleStrings, boolean remove
 public static char[][] internSimpleNames(char[][] simpleNames, boolean removeWellKnown) {
 	return internSimpleNames(simpleNames, removeWellKnown, true);
 }
-static char[][] internSimpleNames(char[][] simpleNames, boolean removeWellKnown, boolean doSort) {
+static synchronized char[][] internSimpleNames(char[][] simpleNames, boolean removeWellKnown, boolean doSort) {
 	if (simpleNames == null) return EmptySimpleNames;
 	int length = simpleNames.length;
 	if (length == 0) return EmptySimpleNames;
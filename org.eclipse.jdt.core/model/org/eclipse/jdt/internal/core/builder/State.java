@@ -18,12 +18,16 @@
  *******************************************************************************/
 package org.eclipse.jdt.internal.core.builder;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.DataInputStream;
 import java.io.DataOutputStream;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
@@ -40,7 +44,11 @@ import org.eclipse.core.resources.IResourceDelta;
 import org.eclipse.core.resources.IWorkspaceRoot;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IPath;
+import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.Path;
+import org.eclipse.core.runtime.Platform;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.jdt.core.JavaCore;
 import org.eclipse.jdt.core.compiler.CharOperation;
 import org.eclipse.jdt.internal.compiler.env.AccessRule;
 import org.eclipse.jdt.internal.compiler.env.AccessRuleSet;
@@ -51,6 +59,7 @@ import org.eclipse.jdt.internal.compiler.env.IUpdatableModule.UpdateKind;
 import org.eclipse.jdt.internal.compiler.util.SimpleLookupTable;
 import org.eclipse.jdt.internal.compiler.util.Util;
 import org.eclipse.jdt.internal.core.JavaModelManager;
+import org.eclipse.jdt.internal.core.util.Messages;
 
 @SuppressWarnings({"rawtypes", "unchecked"})
 public class State {
@@ -61,10 +70,17 @@ public ClasspathMultiDirectory[] sourceLocations;
 public ClasspathMultiDirectory[] testSourceLocations;
 public ClasspathLocation[] binaryLocations;
 public ClasspathLocation[] testBinaryLocations;
-// keyed by the project relative path of the type (i.e. "src1/p1/p2/A.java"), value is a ReferenceCollection or an AdditionalTypeCollection
-Map<String, ReferenceCollection> references;
+// keyed by the project relative path of the type (i.e. "src1/p1/p2/A.java"), value is a ReferenceCollection or an AdditionalTypeCollection,
+// null until the references table of a read state is decoded, see getReferences()
+private volatile Map<String, ReferenceCollection> references;
+// the references table of a read state as it was saved, and the type locators it is indexed by, until it is decoded
+private byte[] encodedReferences;
+private String[] encodedTypeLocators;
 // keyed by qualified type name "p1/p2/A", value is the project relative path which defines this type "src1/p1/p2/A.java"
 public Map<String, String> typeLocators;
+// keyed by the interned simple names of the references, value is the type locators which may reference the name,
+// built on demand and shared with the states of the next incremental builds, see getTypeLocatorsReferencing(char[][])
+private Map<char[], Set<String>> simpleNameReferencers;
 
 int buildNumber;
 long lastStructuralBuildTime;
@@ -76,7 +92,7 @@ private long previousStructuralBuildTime;
 private StringSet structurallyChangedTypes;
 public static int MaxStructurallyChangedTypes = 100; // keep track of ? structurally changed types, otherwise consider all to be changed
 
-public static final byte VERSION = 0x0024;
+public static final byte VERSION = 0x0026;
 
 static final byte SOURCE_FOLDER = 1;
 static final byte BINARY_FOLDER = 2;
@@ -119,20 +135,83 @@ void copyFrom(State lastState) {
 	this.lastStructuralBuildTime = lastState.lastStructuralBuildTime;
 	this.structuralBuildTimes = lastState.structuralBuildTimes;
 
-	this.references = new LinkedHashMap<>(lastState.references);
+	this.references = new LinkedHashMap<>(lastState.getReferences());
 	this.typeLocators = new LinkedHashMap<>(lastState.typeLocators);
+	this.simpleNameReferencers = lastState.simpleNameReferencers;
 }
 public char[][] getDefinedTypeNamesFor(String typeLocator) {
-	Object c = this.references.get(typeLocator);
+	Object c = getReferences().get(typeLocator);
 	if (c instanceof AdditionalTypeCollection)
 		return ((AdditionalTypeCollection) c).definedTypeNames;
 	return null; // means only one type is defined with the same name as the file... saves space
 }
 
+/**
+ * Answers the references table, decoded on the first call when the receiver was read from a saved state, so
+ * that the states of the projects which are not built again do not pay for it.
+ */
 public Map<String, ReferenceCollection> getReferences() {
+	Map<String, ReferenceCollection> result = this.references;
+	return result != null ? result : decodeReferences();
+}
+
+private synchronized Map<String, ReferenceCollection> decodeReferences() {
+	if (this.references == null) {
+		try {
+			this.references = readReferences(new DataInputStream(new ByteArrayInputStream(this.encodedReferences)), this.encodedTypeLocators);
+		} catch (IOException | RuntimeException e) {
+			throw new ImageBuilderInternalException(new CoreException(new Status(IStatus.ERROR, JavaCore.PLUGIN_ID, Platform.PLUGIN_ERROR,
+				"Error reading the references of the last build state for project " + this.javaProjectName, e))); //$NON-NLS-1$
+		}
+		this.encodedReferences = null;
+		this.encodedTypeLocators = null;
+	}
 	return this.references;
 }
 
+/**
+ * Answers the locators of the types which may reference one of the given simple names, interned as by
+ * {@link ReferenceCollection#internSimpleNames(char[][], boolean)}, so that the types affected by a change
+ * are found without asking the references of every type. The answer is a superset of these types: the
+ * references of each locator must still be checked, and the locators of removed types may be answered.
+ * <p>
+ * The index is only added to, as types are recorded. It is thus shared with the states of the next
+ * incremental builds, a superset for them as well, and rebuilt by the next full build.
+ * </p>
+ */
+Set<String> getTypeLocatorsReferencing(char[][] simpleNames) {
+	if (this.simpleNameReferencers == null) {
+		this.simpleNameReferencers = new HashMap<>();
+		for (Entry<String, ReferenceCollection> entry : getReferences().entrySet())
+			indexReferences(entry.getKey(), entry.getValue());
+	}
+	Set<String> result = new HashSet<>();
+	for (char[] simpleName : simpleNames) {
+		Set<String> typeLocators = this.simpleNameReferencers.get(simpleName);
+		if (typeLocators != null)
+			result.addAll(typeLocators);
+	}
+	return result;
+}
+
+private void indexReferences(String typeLocator, ReferenceCollection collection) {
+	for (char[] simpleName : collection.simpleNameReferences) { // interned, so keyed by identity
+		Set<String> typeLocators = this.simpleNameReferencers.get(simpleName);
+		if (typeLocators == null)
+			this.simpleNameReferencers.put(simpleName, typeLocators = new HashSet<>(4));
+		typeLocators.add(typeLocator);
+	}
+}
+
+void addDependencies(String typeLocator, String[] typeNameDependencies) {
+	ReferenceCollection collection = getReferences().get(typeLocator);
+	if (collection != null) {
+		collection.addDependencies(typeNameDependencies);
+		if (this.simpleNameReferencers != null)
+			indexReferences(typeLocator, collection);
+	}
+}
+
 StringSet getStructurallyChangedTypes(State prereqState) {
 	if (prereqState != null && prereqState.previousStructuralBuildTime > 0) {
 		Object o = this.structuralBuildTimes.get(prereqState.javaProjectName);
@@ -184,14 +263,18 @@ boolean isSourceFolderEmpty(IContainer sourceFolder) {
 	return true;
 }
 
-void record(String typeLocator, char[][][] qualifiedRefs, char[][] simpleRefs, char[][] rootRefs, char[] mainTypeName, ArrayList typeNames) {
+void record(String typeLocator, char[][][] qualifiedRefs, char[][] simpleRefs, char[][] rootRefs, char[][] memberRefs, char[] mainTypeName, ArrayList typeNames) {
+	ReferenceCollection collection;
 	if (typeNames.size() == 1 && CharOperation.equals(mainTypeName, (char[]) typeNames.get(0))) {
-		this.references.put(typeLocator, new ReferenceCollection(qualifiedRefs, simpleRefs, rootRefs));
+		collection = new ReferenceCollection(qualifiedRefs, simpleRefs, rootRefs, memberRefs);
 	} else {
 		char[][] definedTypeNames = new char[typeNames.size()][]; // can be empty when no types are defined
 		typeNames.toArray(definedTypeNames);
-		this.references.put(typeLocator, new AdditionalTypeCollection(definedTypeNames, qualifiedRefs, simpleRefs, rootRefs));
+		collection = new AdditionalTypeCollection(definedTypeNames, qualifiedRefs, simpleRefs, rootRefs, memberRefs);
 	}
+	getReferences().put(typeLocator, collection);
+	if (this.simpleNameReferencers != null)
+		indexReferences(typeLocator, collection);
 }
 
 void recordLocatorForType(String qualifiedTypeName, String typeLocator) {
@@ -211,7 +294,7 @@ void recordStructuralDependency(IProject prereqProject, State prereqState) {
 
 void removeLocator(String typeLocatorToRemove) {
 	this.knownPackageNames = null;
-	this.references.remove(typeLocatorToRemove);
+	getReferences().remove(typeLocatorToRemove);
 	this.typeLocators.values().removeIf(v -> typeLocatorToRemove.equals(v));
 }
 
@@ -274,59 +357,120 @@ static State read(IProject project, DataInputStream in) throws IOException, Core
 	length = in.readInt();
 	newState.typeLocators = new LinkedHashMap<>((int) (length / 0.75 + 1));
 	for (int i = 0; i < length; i++)
-		newState.recordLocatorForType(in.readUTF(), internedTypeLocators[in.readInt()]);
+		newState.recordLocatorForType(in.readUTF(), internedTypeLocators[readVarInt(in)]);
+
+	// the references table is only decoded when asked for, see getReferences()
+	byte[] encodedReferences = new byte[in.readInt()];
+	in.readFully(encodedReferences);
+	checkReferences(encodedReferences, internedTypeLocators.length);
+	newState.encodedReferences = encodedReferences;
+	newState.encodedTypeLocators = internedTypeLocators;
+	if (JavaBuilder.DEBUG)
+		System.out.println("Successfully read state for " + newState.javaProjectName); //$NON-NLS-1$
+	return newState;
+}
 
+private static Map<String, ReferenceCollection> readReferences(DataInputStream in, String[] internedTypeLocators) throws IOException {
 	/*
 	 * Here we read global arrays of names for the entire project - do not mess up the ordering while interning
 	 */
-	char[][] internedRootNames = ReferenceCollection.internSimpleNames(readNames(in), false /* keep well known */, false /* do not sort */);
-	char[][] internedSimpleNames = ReferenceCollection.internSimpleNames(readNames(in), false /* keep well known */, false /* do not sort */);
-	char[][][] internedQualifiedNames = new char[length = in.readInt()][][];
+	int length;
+	char[][] internedNames = new char[length = readVarInt(in)][];
 	for (int i = 0; i < length; i++) {
-		int qLength = in.readInt();
-		char[][] qName = new char[qLength][];
-		for (int j = 0; j < qLength; j++)
-			qName[j] = internedSimpleNames[in.readInt()];
-		internedQualifiedNames[i] = qName;
+		char[] name = new char[readVarInt(in)];
+		for (int j = 0, m = name.length; j < m; j++)
+			name[j] = (char) readVarInt(in);
+		internedNames[i] = name;
 	}
+	internedNames = ReferenceCollection.internSimpleNames(internedNames, false /* keep well known */, false /* do not sort */);
+	char[][][] internedQualifiedNames = new char[length = readVarInt(in)][][];
+	for (int i = 0; i < length; i++)
+		internedQualifiedNames[i] = readNames(in, internedNames);
 	internedQualifiedNames = ReferenceCollection.internQualifiedNames(internedQualifiedNames, false /* drop well known */, false /* do not sort */);
 
-	length = in.readInt();
-	newState.references = new LinkedHashMap((int) (length / 0.75 + 1));
-	for (int i = 0; i < length; i++) {
-		String typeLocator = internedTypeLocators[in.readInt()];
-		ReferenceCollection collection = null;
-		switch (in.readByte()) {
+	Map<String, ReferenceCollection> references = new LinkedHashMap<>((int) (internedTypeLocators.length / 0.75 + 1));
+	for (String typeLocator : internedTypeLocators) {
+		char[][] additionalTypeNames = in.readByte() == 1 ? readNames(in, internedNames) : null;
+		char[][][] qualifiedNames = new char[readVarInt(in)][][];
+		for (int j = 0, m = qualifiedNames.length; j < m; j++)
+			qualifiedNames[j] = internedQualifiedNames[readVarInt(in)];
+		char[][] simpleNames = readNames(in, internedNames);
+		char[][] rootNames = readNames(in, internedNames);
+		int mLength = readVarInt(in) - 1; // -1 when any member may be referred to
+		char[][] memberNames = null;
+		if (mLength >= 0) {
+			memberNames = new char[mLength][];
+			for (int j = 0; j < mLength; j++)
+				memberNames[j] = internedNames[readVarInt(in)];
+		}
+		references.put(typeLocator, additionalTypeNames != null
+			? new AdditionalTypeCollection(additionalTypeNames, qualifiedNames, simpleNames, rootNames, memberNames)
+			: new ReferenceCollection(qualifiedNames, simpleNames, rootNames, memberNames));
+	}
+	return references;
+}
+
+/*
+ * Walks an encoded references table without decoding it, so that a corrupt table fails the read of the state,
+ * which is then answered as missing and causes a full build, rather than its later decoding during a build.
+ */
+private static void checkReferences(byte[] bytes, int typeLocatorCount) throws IOException {
+	int[] position = new int[1];
+	int namesLength = checkVarInt(bytes, position, Integer.MAX_VALUE);
+	for (int i = 0; i < namesLength; i++) {
+		int nameLength = checkVarInt(bytes, position, Integer.MAX_VALUE);
+		for (int j = 0; j < nameLength; j++)
+			checkVarInt(bytes, position, Character.MAX_VALUE + 1);
+	}
+	int qualifiedNamesLength = checkVarInt(bytes, position, Integer.MAX_VALUE);
+	for (int i = 0; i < qualifiedNamesLength; i++)
+		checkIndexes(bytes, position, namesLength);
+	for (int i = 0; i < typeLocatorCount; i++) {
+		if (position[0] >= bytes.length)
+			throw new IOException(Messages.build_wrongFileFormat);
+		switch (bytes[position[0]++]) {
 			case 1 :
-				char[][] additionalTypeNames = readNames(in);
-				char[][][] qualifiedNames = new char[in.readInt()][][];
-				for (int j = 0, m = qualifiedNames.length; j < m; j++)
-					qualifiedNames[j] = internedQualifiedNames[in.readInt()];
-				char[][] simpleNames = new char[in.readInt()][];
-				for (int j = 0, m = simpleNames.length; j < m; j++)
-					simpleNames[j] = internedSimpleNames[in.readInt()];
-				char[][] rootNames = new char[in.readInt()][];
-				for (int j = 0, m = rootNames.length; j < m; j++)
-					rootNames[j] = internedRootNames[in.readInt()];
-				collection = new AdditionalTypeCollection(additionalTypeNames, qualifiedNames, simpleNames, rootNames);
+				checkIndexes(bytes, position, namesLength);
 				break;
 			case 2 :
-				char[][][] qNames = new char[in.readInt()][][];
-				for (int j = 0, m = qNames.length; j < m; j++)
-					qNames[j] = internedQualifiedNames[in.readInt()];
-				char[][] sNames = new char[in.readInt()][];
-				for (int j = 0, m = sNames.length; j < m; j++)
-					sNames[j] = internedSimpleNames[in.readInt()];
-				char[][] rNames = new char[in.readInt()][];
-				for (int j = 0, m = rNames.length; j < m; j++)
-					rNames[j] = internedRootNames[in.readInt()];
-				collection = new ReferenceCollection(qNames, sNames, rNames);
+				break;
+			default :
+				throw new IOException(Messages.build_wrongFileFormat);
 		}
-		newState.references.put(typeLocator, collection);
+		checkIndexes(bytes, position, qualifiedNamesLength);
+		checkIndexes(bytes, position, namesLength); // simple names
+		checkIndexes(bytes, position, namesLength); // root names
+		int mLength = checkVarInt(bytes, position, Integer.MAX_VALUE) - 1;
+		for (int j = 0; j < mLength; j++)
+			checkVarInt(bytes, position, namesLength);
 	}
-	if (JavaBuilder.DEBUG)
-		System.out.println("Successfully read state for " + newState.javaProjectName); //$NON-NLS-1$
-	return newState;
+	if (position[0] != bytes.length)
+		throw new IOException(Messages.build_wrongFileFormat);
+}
+
+private static void checkIndexes(byte[] bytes, int[] position, int limit) throws IOException {
+	int length = checkVarInt(bytes, position, Integer.MAX_VALUE);
+	for (int i = 0; i < length; i++)
+		checkVarInt(bytes, position, limit);
+}
+
+/*
+ * Answers the var int at the given position, which is moved past it, and checks that it is below the limit.
+ */
+private static int checkVarInt(byte[] bytes, int[] position, int limit) throws IOException {
+	int value = 0;
+	for (int shift = 0; shift < 32; shift += 7) {
+		if (position[0] >= bytes.length)
+			break;
+		byte b = bytes[position[0]++];
+		value |= (b & 0x7F) << shift;
+		if (b >= 0) {
+			if (value < 0 || value >= limit)
+				break;
+			return value;
+		}
+	}
+	throw new IOException(Messages.build_wrongFileFormat);
 }
 
 private static ClasspathMultiDirectory[] readSourceLocations(IProject project, DataInputStream in) throws IOException {
@@ -421,6 +565,23 @@ private static char[] readName(DataInputStream in) throws IOException {
 	return name;
 }
 
+private static char[][] readNames(DataInputStream in, char[][] internedNames) throws IOException {
+	char[][] names = new char[readVarInt(in)][];
+	for (int i = 0, l = names.length; i < l; i++)
+		names[i] = internedNames[readVarInt(in)];
+	return names;
+}
+
+private static int readVarInt(DataInputStream in) throws IOException {
+	int value = 0;
+	for (int shift = 0; ; shift += 7) {
+		byte b = in.readByte();
+		value |= (b & 0x7F) << shift;
+		if (b >= 0)
+			return value;
+	}
+}
+
 private static char[][] readNames(DataInputStream in) throws IOException {
 	int length = in.readInt();
 	char[][] names = new char[length][];
@@ -548,25 +709,28 @@ void write(DataOutputStream out) throws IOException {
 /*
  * String[]	Interned type locators
  */
-	out.writeInt(length = this.references.size());
+	String[] internedTypeLocatorNames;
+	byte[] encodedReferenceTable;
+	synchronized (this) {
+		internedTypeLocatorNames = this.encodedTypeLocators;
+		encodedReferenceTable = this.encodedReferences;
+	}
+	if (encodedReferenceTable == null) {
+		Map<String, ReferenceCollection> refs = getReferences();
+		internedTypeLocatorNames = refs.keySet().toArray(new String[refs.size()]);
+		encodedReferenceTable = encodeReferences(refs);
+	} // else the references were not decoded since the state was read, so they are saved unchanged
+	out.writeInt(length = internedTypeLocatorNames.length);
 	SimpleLookupTable internedTypeLocators = new SimpleLookupTable(length);
-	if (length > 0) {
-		Set<String> keys = this.references.keySet();
-		for (String key : keys) {
-			if (key != null) {
-				length--;
-				out.writeUTF(key);
-				internedTypeLocators.put(key, Integer.valueOf(internedTypeLocators.elementSize));
-			}
-		}
-		if (JavaBuilder.DEBUG && length != 0)
-			System.out.println("references table is inconsistent"); //$NON-NLS-1$
+	for (int i = 0; i < length; i++) {
+		out.writeUTF(internedTypeLocatorNames[i]);
+		internedTypeLocators.put(internedTypeLocatorNames[i], Integer.valueOf(i));
 	}
 
 /*
  * Type locators table
  * String		type name
- * int			interned locator id
+ * varint		interned locator id
  */
 	out.writeInt(length = this.typeLocators.size());
 	if (length > 0) {
@@ -578,7 +742,7 @@ void write(DataOutputStream out) throws IOException {
 				length--;
 				out.writeUTF(key);
 				Integer index = (Integer) internedTypeLocators.get(value);
-				out.writeInt(index.intValue());
+				writeVarInt(index.intValue(), out);
 			}
 		}
 		if (JavaBuilder.DEBUG && length != 0)
@@ -586,61 +750,62 @@ void write(DataOutputStream out) throws IOException {
 	}
 
 /*
- * char[][]	Interned root names
- * char[][][]	Interned qualified names
- * char[][]	Interned simple names
+ * int		length of the encoded references table
+ * byte[]	References table, see encodeReferences(Map)
+ */
+	out.writeInt(encodedReferenceTable.length);
+	out.write(encodedReferenceTable);
+}
+
+/*
+ * Encodes the references table, in the order of its type locators, with all the indices and lengths as varints:
+ *
+ * char[][]	Interned names, shared by the root, simple, member and defined type names: each as its characters
+ * char[][][]	Interned qualified names, as arrays of interned name ids
+ * for each type locator:
+ * byte		1 for an AdditionalTypeCollection, followed by its defined type name ids, or 2 for a ReferenceCollection
+ * int[]		qualified name ids
+ * int[]		simple name ids
+ * int[]		root name ids
+ * varint		member names length + 1, 0 when any member may be referred to, followed by the member name ids
  */
-	SimpleLookupTable internedRootNames = new SimpleLookupTable(3);
+private static byte[] encodeReferences(Map<String, ReferenceCollection> refs) throws IOException {
 	SimpleLookupTable internedQualifiedNames = new SimpleLookupTable(31);
-	SimpleLookupTable internedSimpleNames = new SimpleLookupTable(31);
-	for (ReferenceCollection collection : this.references.values()) {
-		char[][] rNames = collection.rootReferences;
-		for (int j = 0, m = rNames.length; j < m; j++) {
-			char[] rName = rNames[j];
-			if (!internedRootNames.containsKey(rName)) // remember the names have been interned
-				internedRootNames.put(rName, Integer.valueOf(internedRootNames.elementSize));
-		}
+	SimpleLookupTable internedNames = new SimpleLookupTable(31);
+	for (ReferenceCollection collection : refs.values()) {
+		if (collection instanceof AdditionalTypeCollection)
+			internNames(((AdditionalTypeCollection) collection).definedTypeNames, internedNames);
 		char[][][] qNames = collection.qualifiedNameReferences;
 		for (int j = 0, m = qNames.length; j < m; j++) {
 			char[][] qName = qNames[j];
 			if (!internedQualifiedNames.containsKey(qName)) { // remember the names have been interned
 				internedQualifiedNames.put(qName, Integer.valueOf(internedQualifiedNames.elementSize));
-				for (int k = 0, n = qName.length; k < n; k++) {
-					char[] sName = qName[k];
-					if (!internedSimpleNames.containsKey(sName)) // remember the names have been interned
-						internedSimpleNames.put(sName, Integer.valueOf(internedSimpleNames.elementSize));
-				}
+				internNames(qName, internedNames);
 			}
 		}
-		char[][] sNames = collection.simpleNameReferences;
-		for (int j = 0, m = sNames.length; j < m; j++) {
-			char[] sName = sNames[j];
-			if (!internedSimpleNames.containsKey(sName)) // remember the names have been interned
-				internedSimpleNames.put(sName, Integer.valueOf(internedSimpleNames.elementSize));
-		}
+		internNames(collection.simpleNameReferences, internedNames);
+		internNames(collection.rootReferences, internedNames);
+		internNames(collection.memberReferences, internedNames);
 	}
-	char[][] internedArray = new char[internedRootNames.elementSize][];
-	Object[] rootNames = internedRootNames.keyTable;
-	Object[] positions = internedRootNames.valueTable;
+
+	ByteArrayOutputStream bytes = new ByteArrayOutputStream(1024);
+	DataOutputStream out = new DataOutputStream(bytes);
+	char[][] internedArray = new char[internedNames.elementSize][];
+	Object[] names = internedNames.keyTable;
+	Object[] positions = internedNames.valueTable;
 	for (int i = positions.length; --i >= 0; ) {
 		if (positions[i] != null) {
 			int index = ((Integer) positions[i]).intValue();
-			internedArray[index] = (char[]) rootNames[i];
+			internedArray[index] = (char[]) names[i];
 		}
 	}
-	writeNames(internedArray, out);
-	// now write the interned simple names
-	internedArray = new char[internedSimpleNames.elementSize][];
-	Object[] simpleNames = internedSimpleNames.keyTable;
-	positions = internedSimpleNames.valueTable;
-	for (int i = positions.length; --i >= 0; ) {
-		if (positions[i] != null) {
-			int index = ((Integer) positions[i]).intValue();
-			internedArray[index] = (char[]) simpleNames[i];
-		}
+	writeVarInt(internedArray.length, out);
+	for (char[] name : internedArray) {
+		writeVarInt(name.length, out);
+		for (char c : name)
+			writeVarInt(c, out);
 	}
-	writeNames(internedArray, out);
-	// now write the interned qualified names as arrays of interned simple names
+	// now write the interned qualified names as arrays of interned names
 	char[][][] internedQArray = new char[internedQualifiedNames.elementSize][][];
 	Object[] qualifiedNames = internedQualifiedNames.keyTable;
 	positions = internedQualifiedNames.valueTable;
@@ -650,62 +815,57 @@ void write(DataOutputStream out) throws IOException {
 			internedQArray[index] = (char[][]) qualifiedNames[i];
 		}
 	}
-	out.writeInt(length = internedQArray.length);
-	for (int i = 0; i < length; i++) {
-		char[][] qName = internedQArray[i];
-		int qLength = qName.length;
-		out.writeInt(qLength);
-		for (int j = 0; j < qLength; j++) {
-			Integer index = (Integer) internedSimpleNames.get(qName[j]);
-			out.writeInt(index.intValue());
+	writeVarInt(internedQArray.length, out);
+	for (char[][] qName : internedQArray)
+		writeNameIds(qName, internedNames, out);
+
+	for (ReferenceCollection collection : refs.values()) {
+		if (collection instanceof AdditionalTypeCollection) {
+			out.writeByte(1);
+			writeNameIds(((AdditionalTypeCollection) collection).definedTypeNames, internedNames, out);
+		} else {
+			out.writeByte(2);
+		}
+		char[][][] qNames = collection.qualifiedNameReferences;
+		writeVarInt(qNames.length, out);
+		for (char[][] qName : qNames)
+			writeVarInt(((Integer) internedQualifiedNames.get(qName)).intValue(), out);
+		writeNameIds(collection.simpleNameReferences, internedNames, out);
+		writeNameIds(collection.rootReferences, internedNames, out);
+		char[][] mNames = collection.memberReferences;
+		if (mNames == null) {
+			writeVarInt(0, out); // any member may be referred to
+		} else {
+			writeVarInt(mNames.length + 1, out);
+			for (char[] mName : mNames)
+				writeVarInt(((Integer) internedNames.get(mName)).intValue(), out);
 		}
 	}
+	out.flush();
+	return bytes.toByteArray();
+}
 
-/*
- * References table
- * int		interned locator id
- * ReferenceCollection
-*/
-	out.writeInt(length = this.references.size());
-	if (length > 0) {
-		for (Entry<String, ReferenceCollection> entry : this.references.entrySet()) {
-			String key = entry.getKey();
-			length--;
-			Integer index = (Integer) internedTypeLocators.get(key);
-			out.writeInt(index.intValue());
-			ReferenceCollection collection = entry.getValue();
-			if (collection instanceof AdditionalTypeCollection) {
-				out.writeByte(1);
-				AdditionalTypeCollection atc = (AdditionalTypeCollection) collection;
-				writeNames(atc.definedTypeNames, out);
-			} else {
-				out.writeByte(2);
-			}
-			char[][][] qNames = collection.qualifiedNameReferences;
-			int qLength = qNames.length;
-			out.writeInt(qLength);
-			for (int j = 0; j < qLength; j++) {
-				index = (Integer) internedQualifiedNames.get(qNames[j]);
-				out.writeInt(index.intValue());
-			}
-			char[][] sNames = collection.simpleNameReferences;
-			int sLength = sNames.length;
-			out.writeInt(sLength);
-			for (int j = 0; j < sLength; j++) {
-				index = (Integer) internedSimpleNames.get(sNames[j]);
-				out.writeInt(index.intValue());
-			}
-			char[][] rNames = collection.rootReferences;
-			int rLength = rNames.length;
-			out.writeInt(rLength);
-			for (int j = 0; j < rLength; j++) {
-				index = (Integer) internedRootNames.get(rNames[j]);
-				out.writeInt(index.intValue());
-			}
-		}
-		if (JavaBuilder.DEBUG && length != 0)
-			System.out.println("references table is inconsistent"); //$NON-NLS-1$
+private static void internNames(char[][] names, SimpleLookupTable internedNames) {
+	if (names == null) return;
+	for (int i = 0, l = names.length; i < l; i++) {
+		char[] name = names[i];
+		if (!internedNames.containsKey(name)) // remember the names have been interned
+			internedNames.put(name, Integer.valueOf(internedNames.elementSize));
+	}
+}
+
+private static void writeNameIds(char[][] names, SimpleLookupTable internedNames, DataOutputStream out) throws IOException {
+	writeVarInt(names.length, out);
+	for (char[] name : names)
+		writeVarInt(((Integer) internedNames.get(name)).intValue(), out);
+}
+
+private static void writeVarInt(int value, DataOutputStream out) throws IOException {
+	while ((value & ~0x7F) != 0) {
+		out.writeByte((value & 0x7F) | 0x80);
+		value >>>= 7;
 	}
+	out.writeByte(value);
 }
 
 private void writeSourceLocations(DataOutputStream out, ClasspathMultiDirectory[] srcLocations) throws IOException {
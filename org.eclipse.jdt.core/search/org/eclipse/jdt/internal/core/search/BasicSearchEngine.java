@@ -32,6 +32,7 @@ import org.eclipse.jdt.internal.compiler.lookup.*;
 import org.eclipse.jdt.internal.compiler.parser.Parser;
 import org.eclipse.jdt.internal.compiler.problem.DefaultProblemFactory;
 import org.eclipse.jdt.internal.compiler.problem.ProblemReporter;
+import org.eclipse.jdt.internal.compiler.util.FlightRecorderEvent;
 import org.eclipse.jdt.internal.core.*;
 import org.eclipse.jdt.internal.core.search.indexing.*;
 import org.eclipse.jdt.internal.core.search.matching.*;
@@ -69,6 +70,9 @@ public class BasicSearchEngine {
 	 */
 	public static boolean VERBOSE = false;
 
+	private static final FlightRecorderEvent SEARCH_EVENT = FlightRecorderEvent.define("Search", "Search", //$NON-NLS-1$ //$NON-NLS-2$
+			new String[] { "pattern" }, new Class<?>[] { String.class }); //$NON-NLS-1$
+
 	/*
 	 * Creates a new search basic engine.
 	 */
@@ -598,7 +602,13 @@ public class BasicSearchEngine {
 		if (VERBOSE) {
 			Util.verbose("BasicSearchEngine.search(SearchPattern, SearchParticipant[], IJavaSearchScope, SearchRequestor, IProgressMonitor)"); //$NON-NLS-1$
 		}
-		findMatches(pattern, participants, scope, requestor, monitor);
+		Object event = SEARCH_EVENT.begin();
+		try {
+			findMatches(pattern, participants, scope, requestor, monitor);
+		} finally {
+			if (event != null)
+				SEARCH_EVENT.commit(event, String.valueOf(pattern));
+		}
 	}
 
 	public void searchAllConstructorDeclarations(
@@ -15,6 +15,7 @@ package org.eclipse.jdt.internal.core.search.processing;
 
 import org.eclipse.core.runtime.*;
 import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.jdt.internal.compiler.util.FlightRecorderEvent;
 import org.eclipse.jdt.internal.core.util.Messages;
 import org.eclipse.jdt.internal.core.util.Util;
 
@@ -35,6 +36,9 @@ public abstract class JobManager implements Runnable {
 	private int enableCount = 1;
 
 	public static boolean VERBOSE = false;
+
+	private static final FlightRecorderEvent JOB_EVENT = FlightRecorderEvent.define("IndexJob", "Indexing Job", //$NON-NLS-1$ //$NON-NLS-2$
+			new String[] { "job", "awaitingJobs" }, new Class<?>[] { String.class, int.class }); //$NON-NLS-1$ //$NON-NLS-2$
 	/* flag indicating that the activation has completed */
 	public boolean activated = false;
 
@@ -403,6 +407,7 @@ public abstract class JobManager implements Runnable {
 						Util.verbose(awaitingJobsCount() + " awaiting jobs"); //$NON-NLS-1$
 						Util.verbose("STARTING background job - " + job); //$NON-NLS-1$
 					}
+					Object event = JOB_EVENT.begin();
 					try {
 						this.executing = true;
 						if (this.progressJob == null) {
@@ -415,6 +420,8 @@ public abstract class JobManager implements Runnable {
 						//if (status == FAILED) request(job);
 					} finally {
 						this.executing = false;
+						if (event != null)
+							JOB_EVENT.commit(event, job.toString(), Integer.valueOf(awaitingJobsCount()));
 						if (VERBOSE)
 							Util.verbose("FINISHED background job - " + job); //$NON-NLS-1$
 						moveToNextJob();